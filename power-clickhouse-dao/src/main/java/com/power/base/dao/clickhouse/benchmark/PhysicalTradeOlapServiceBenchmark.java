@@ -263,6 +263,7 @@ public class PhysicalTradeOlapServiceBenchmark {
                     "settlement_item_trade_currencies Array(String), " +
                     "settlement_item_invoice_statuses Array(String), " +
                     "settlement_item_referenced_line_items Array(Array(String)), " +
+                    "settlement_item_line_ranges Array(String), " +
                     "total_line_items UInt32, " +
                     "total_settlement_items UInt32, " +
                     "total_quantity Float64, " +
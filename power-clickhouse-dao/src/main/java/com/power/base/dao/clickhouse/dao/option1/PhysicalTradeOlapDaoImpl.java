@@ -133,13 +133,13 @@ public class PhysicalTradeOlapDaoImpl implements PhysicalTradeOlapDao {
             "settlement_item_settlement_uoms, settlement_item_trade_uoms, settlement_item_deviation_amounts, " +
             "settlement_item_deviation_penalties, settlement_item_period_cashflows, " +
             "settlement_item_settlement_currencies, settlement_item_trade_currencies, " +
-            "settlement_item_invoice_statuses, settlement_item_referenced_line_items, " +
+            "settlement_item_invoice_statuses, settlement_item_referenced_line_items, settlement_item_line_ranges, " +
             "total_line_items, total_settlement_items, total_quantity, total_cashflow, " +
             "inserted_at, updated_at, source_system, version" +
             ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, " +
             "?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, " +
             "?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, " +
-            "?, ?, ?, ?, ?, ?, ?)";
+            "?, ?, ?, ?, ?, ?, ?, ?)";
     }
 
     private void setInsertParameters(PreparedStatement stmt, PhysicalTradeOlap trade) throws SQLException {
@@ -224,6 +224,7 @@ public class PhysicalTradeOlapDaoImpl implements PhysicalTradeOlapDao {
         stmt.setArray(paramIndex++, createArray(stmt.getConnection(), "String", trade.getSettlementItemInvoiceStatuses()));
         // Nested array for referenced line items
         stmt.setArray(paramIndex++, createNestedArray(stmt.getConnection(), trade.getSettlementItemReferencedLineItems()));
+        stmt.setArray(paramIndex++, createArray(stmt.getConnection(), "String", trade.getSettlementItemLineRanges()));
 
         // Computed columns
         stmt.setInt(paramIndex++, trade.getTotalLineItems() != null ? trade.getTotalLineItems() : 0);
@@ -306,27 +307,28 @@ public class PhysicalTradeOlapDaoImpl implements PhysicalTradeOlapDao {
         trade.setLineItemPeriodStartTimes(extractArray(rs, "line_item_period_start_times", Instant.class));
         trade.setLineItemPeriodEndDates(extractArray(rs, "line_item_period_end_dates", LocalDate.class));
         trade.setLineItemPeriodEndTimes(extractArray(rs, "line_item_period_end_times", Instant.class));
-        trade.setLineItemDayHours(extractArray(rs, "line_item_day_hours", String.class));
+        trade.setLineItemDayHours(extractInternedStrings(rs, "line_item_day_hours"));
         trade.setLineItemQuantities(extractArray(rs, "line_item_quantities", Double.class));
-        trade.setLineItemUoms(extractArray(rs, "line_item_uoms", String.class));
+        trade.setLineItemUoms(extractInternedStrings(rs, "line_item_uoms"));
         trade.setLineItemCapacities(extractArray(rs, "line_item_capacities", Double.class));
-        trade.setLineItemProfiles(extractArray(rs, "line_item_profiles", String.class));
+        trade.setLineItemProfiles(extractInternedStrings(rs, "line_item_profiles"));
 
         trade.setSettlementItemIds(extractArray(rs, "settlement_item_ids", String.class));
         trade.setSettlementItemDeliveryDates(extractArray(rs, "settlement_item_delivery_dates", LocalDate.class));
         trade.setSettlementItemActualQuantities(extractArray(rs, "settlement_item_actual_quantities", Double.class));
-        trade.setSettlementItemUoms(extractArray(rs, "settlement_item_uoms", String.class));
+        trade.setSettlementItemUoms(extractInternedStrings(rs, "settlement_item_uoms"));
         trade.setSettlementItemSettlementPrices(extractArray(rs, "settlement_item_settlement_prices", Double.class));
         trade.setSettlementItemTradePrices(extractArray(rs, "settlement_item_trade_prices", Double.class));
-        trade.setSettlementItemSettlementUoms(extractArray(rs, "settlement_item_settlement_uoms", String.class));
-        trade.setSettlementItemTradeUoms(extractArray(rs, "settlement_item_trade_uoms", String.class));
+        trade.setSettlementItemSettlementUoms(extractInternedStrings(rs, "settlement_item_settlement_uoms"));
+        trade.setSettlementItemTradeUoms(extractInternedStrings(rs, "settlement_item_trade_uoms"));
         trade.setSettlementItemDeviationAmounts(extractArray(rs, "settlement_item_deviation_amounts", Double.class));
         trade.setSettlementItemDeviationPenalties(extractArray(rs, "settlement_item_deviation_penalties", Double.class));
         trade.setSettlementItemPeriodCashflows(extractArray(rs, "settlement_item_period_cashflows", Double.class));
-        trade.setSettlementItemSettlementCurrencies(extractArray(rs, "settlement_item_settlement_currencies", String.class));
-        trade.setSettlementItemTradeCurrencies(extractArray(rs, "settlement_item_trade_currencies", String.class));
-        trade.setSettlementItemInvoiceStatuses(extractArray(rs, "settlement_item_invoice_statuses", String.class));
+        trade.setSettlementItemSettlementCurrencies(extractInternedStrings(rs, "settlement_item_settlement_currencies"));
+        trade.setSettlementItemTradeCurrencies(extractInternedStrings(rs, "settlement_item_trade_currencies"));
+        trade.setSettlementItemInvoiceStatuses(extractInternedStrings(rs, "settlement_item_invoice_statuses"));
         trade.setSettlementItemReferencedLineItems(extractNestedArray(rs, "settlement_item_referenced_line_items"));
+        trade.setSettlementItemLineRanges(extractArray(rs, "settlement_item_line_ranges", String.class));
 
         // Computed columns
         trade.setTotalLineItems(rs.getObject("total_line_items", Integer.class));
@@ -348,6 +350,10 @@ public class PhysicalTradeOlapDaoImpl implements PhysicalTradeOlapDao {
         return com.power.base.dao.clickhouse.util.ClickHouseArrayUtil.extractArray(rs, columnName, type);
     }
 
+    private List<String> extractInternedStrings(ResultSet rs, String columnName) throws SQLException {
+        return com.power.base.dao.clickhouse.util.ClickHouseArrayUtil.extractInternedStrings(rs, columnName);
+    }
+
     private List<List<String>> extractNestedArray(ResultSet rs, String columnName) throws SQLException {
         return com.power.base.dao.clickhouse.util.ClickHouseArrayUtil.extractNestedArray(rs, columnName);
     }
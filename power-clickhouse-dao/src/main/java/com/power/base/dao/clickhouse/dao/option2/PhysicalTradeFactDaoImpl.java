@@ -258,9 +258,9 @@ public class PhysicalTradeFactDaoImpl implements PhysicalTradeFactDao {
             "trade_id, settlement_item_index, settlement_id, delivery_date, " +
             "actual_quantity, uom, settlement_price, trade_price, settlement_uom, trade_uom, " +
             "deviation_amount, deviation_penalty, period_cashflow, settlement_currency, " +
-            "trade_currency, invoice_status, referenced_line_items, " +
+            "trade_currency, invoice_status, referenced_line_items, line_item_ranges, " +
             "tenant_id, trade_date, market, business_unit, inserted_at" +
-            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
     }
 
     private void setTradeFactParameters(PreparedStatement stmt, PhysicalTradeFact trade) throws SQLException {
@@ -361,6 +361,7 @@ public class PhysicalTradeFactDaoImpl implements PhysicalTradeFactDao {
         stmt.setString(paramIndex++, item.getTradeCurrency());
         stmt.setString(paramIndex++, item.getInvoiceStatus());
         stmt.setArray(paramIndex++, createArray(stmt.getConnection(), "String", item.getReferencedLineItems()));
+        stmt.setString(paramIndex++, item.getLineItemRanges());
 
         stmt.setString(paramIndex++, item.getTenantId());
         stmt.setObject(paramIndex++, item.getTradeDate());
@@ -486,6 +487,7 @@ public class PhysicalTradeFactDaoImpl implements PhysicalTradeFactDao {
             }
             fact.setReferencedLineItems(referencedItems);
         }
+        fact.setLineItemRanges(rs.getString("line_item_ranges"));
 
         fact.setTenantId(rs.getString("tenant_id"));
         fact.setTradeDate(rs.getObject("trade_date", LocalDate.class));
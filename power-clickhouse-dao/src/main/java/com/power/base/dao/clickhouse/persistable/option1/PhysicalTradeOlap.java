@@ -88,8 +88,10 @@ public class PhysicalTradeOlap {
     private List<String> settlementItemSettlementCurrencies;
     private List<String> settlementItemTradeCurrencies;
     private List<String> settlementItemInvoiceStatuses;
-    // Referenced line items as nested array (List of Lists of Strings)
+    // Referenced line items as nested array (List of Lists of Strings), only for free-form references
     private List<List<String>> settlementItemReferencedLineItems;
+    // Referenced line item index ranges per settlement item, empty when the references are free-form
+    private List<String> settlementItemLineRanges;
 
     // Computed/Derived columns
     private Integer totalLineItems;
@@ -648,6 +650,14 @@ public class PhysicalTradeOlap {
         this.settlementItemReferencedLineItems = settlementItemReferencedLineItems;
     }
 
+    public List<String> getSettlementItemLineRanges() {
+        return settlementItemLineRanges;
+    }
+
+    public void setSettlementItemLineRanges(List<String> settlementItemLineRanges) {
+        this.settlementItemLineRanges = settlementItemLineRanges;
+    }
+
     public Integer getTotalLineItems() {
         return totalLineItems;
     }
@@ -1,9 +1,22 @@
 package com.power.base.dao.clickhouse.persistable.option1;
 
-import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
+import com.power.base.datamodel.dto.common.BuySellIndicator;
+import com.power.base.datamodel.dto.common.DocumentType;
+import com.power.base.datamodel.dto.common.PartyRecord;
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.physicals.LineItemRefs;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
+import com.power.base.datamodel.dto.physicals.PhysicalMetadataRecord;
 import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeRecord;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementInfoRecord;
 import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemRecord;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsRecord;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderRecord;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -11,7 +24,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Mapper to convert PhysicalPowerTradeDto to PhysicalTradeOlap (Option 1).
+ * Mapper to convert PhysicalPowerTradeDto to PhysicalTradeOlap (Option 1), and rows back to immutable records.
  */
 public class PhysicalTradeOlapMapper {
 
@@ -86,41 +99,42 @@ public class PhysicalTradeOlapMapper {
         }
 
         // Line Items as Arrays
-        if (details != null && details.getLineItems() != null && !details.getLineItems().isEmpty()) {
-            List<PhysicalLineItemDto> lineItems = details.getLineItems();
-            olap.setLineItemPeriodStartDates(lineItems.stream()
-                    .map(PhysicalLineItemDto::getPeriodStartDate)
-                    .collect(Collectors.toList()));
-            olap.setLineItemPeriodStartTimes(lineItems.stream()
-                    .map(PhysicalLineItemDto::getPeriodStartTime)
-                    .collect(Collectors.toList()));
-            olap.setLineItemPeriodEndDates(lineItems.stream()
-                    .map(PhysicalLineItemDto::getPeriodEndDate)
-                    .collect(Collectors.toList()));
-            olap.setLineItemPeriodEndTimes(lineItems.stream()
-                    .map(PhysicalLineItemDto::getPeriodEndTime)
-                    .collect(Collectors.toList()));
-            olap.setLineItemDayHours(lineItems.stream()
-                    .map(PhysicalLineItemDto::getDayHour)
-                    .collect(Collectors.toList()));
-            olap.setLineItemQuantities(lineItems.stream()
-                    .map(PhysicalLineItemDto::getQuantity)
-                    .collect(Collectors.toList()));
-            olap.setLineItemUoms(lineItems.stream()
-                    .map(PhysicalLineItemDto::getUom)
-                    .collect(Collectors.toList()));
-            olap.setLineItemCapacities(lineItems.stream()
-                    .map(PhysicalLineItemDto::getCapacity)
-                    .collect(Collectors.toList()));
-            olap.setLineItemProfiles(lineItems.stream()
-                    .map(item -> item.getProfile() != null ? item.getProfile().name() : null)
-                    .collect(Collectors.toList()));
+        if (details != null && !details.schedule().isEmpty()) {
+            PhysicalLineItemSchedule schedule = details.schedule();
+            int size = schedule.size();
+            List<LocalDate> startDates = new ArrayList<>(size);
+            List<Instant> startTimes = new ArrayList<>(size);
+            List<LocalDate> endDates = new ArrayList<>(size);
+            List<Instant> endTimes = new ArrayList<>(size);
+            List<String> dayHours = new ArrayList<>(size);
+            List<Double> quantities = new ArrayList<>(size);
+            List<String> uoms = new ArrayList<>(size);
+            List<Double> capacities = new ArrayList<>(size);
+            List<String> profiles = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                startDates.add(schedule.getPeriodStartDate(i));
+                startTimes.add(schedule.getPeriodStartTime(i));
+                endDates.add(schedule.getPeriodEndDate(i));
+                endTimes.add(schedule.getPeriodEndTime(i));
+                dayHours.add(schedule.getDayHour(i));
+                quantities.add(schedule.getQuantity(i));
+                uoms.add(schedule.getUom(i));
+                capacities.add(schedule.getCapacity(i));
+                profiles.add(schedule.getProfile(i) != null ? schedule.getProfile(i).name() : null);
+            }
+            olap.setLineItemPeriodStartDates(startDates);
+            olap.setLineItemPeriodStartTimes(startTimes);
+            olap.setLineItemPeriodEndDates(endDates);
+            olap.setLineItemPeriodEndTimes(endTimes);
+            olap.setLineItemDayHours(dayHours);
+            olap.setLineItemQuantities(quantities);
+            olap.setLineItemUoms(uoms);
+            olap.setLineItemCapacities(capacities);
+            olap.setLineItemProfiles(profiles);
 
             // Compute total quantity
-            olap.setTotalQuantity(lineItems.stream()
-                    .mapToDouble(PhysicalLineItemDto::getQuantity)
-                    .sum());
-            olap.setTotalLineItems(lineItems.size());
+            olap.setTotalQuantity(schedule.totalQuantity());
+            olap.setTotalLineItems(size);
         } else {
             olap.setLineItemPeriodStartDates(Collections.emptyList());
             olap.setLineItemPeriodStartTimes(Collections.emptyList());
@@ -181,7 +195,12 @@ public class PhysicalTradeOlapMapper {
                     .map(PhysicalSettlementItemDto::getInvoiceStatus)
                     .collect(Collectors.toList()));
             olap.setSettlementItemReferencedLineItems(settlementItems.stream()
-                    .map(item -> new ArrayList<>(item.getReferencedLineItems()))
+                    .map(item -> item.lineItemRefs() != null
+                            ? new ArrayList<String>()
+                            : new ArrayList<>(item.getReferencedLineItems()))
+                    .collect(Collectors.toList()));
+            olap.setSettlementItemLineRanges(settlementItems.stream()
+                    .map(item -> item.lineItemRefs() != null ? item.lineItemRefs().encode() : "")
                     .collect(Collectors.toList()));
 
             // Compute total cashflow
@@ -205,6 +224,7 @@ public class PhysicalTradeOlapMapper {
             olap.setSettlementItemTradeCurrencies(Collections.emptyList());
             olap.setSettlementItemInvoiceStatuses(Collections.emptyList());
             olap.setSettlementItemReferencedLineItems(Collections.emptyList());
+            olap.setSettlementItemLineRanges(Collections.emptyList());
             olap.setTotalCashflow(0.0);
             olap.setTotalSettlementItems(0);
         }
@@ -215,5 +235,114 @@ public class PhysicalTradeOlapMapper {
 
         return olap;
     }
-}
 
+    /**
+     * Rebuilds the immutable trade from a row, reading the line item and settlement item arrays by index.
+     */
+    public static PhysicalPowerTradeRecord toRecord(PhysicalTradeOlap olap) {
+        if (olap == null) {
+            return null;
+        }
+        PhysicalTradeHeaderRecord header = PhysicalTradeHeaderRecord.builder()
+                .tradeId(olap.getTradeId())
+                .tenantId(olap.getTenantId())
+                .tradeDate(olap.getTradeDate())
+                .tradeTime(olap.getTradeTime())
+                .documentType(olap.getDocumentType() != null ? DocumentType.valueOf(olap.getDocumentType()) : null)
+                .documentVersion(olap.getDocumentVersion())
+                .buyerParty(toPartyRecord(olap.getBuyerPartyId(), olap.getBuyerPartyName(), olap.getBuyerPartyRole()))
+                .sellerParty(toPartyRecord(olap.getSellerPartyId(), olap.getSellerPartyName(), olap.getSellerPartyRole()))
+                .businessUnit(olap.getBusinessUnit())
+                .bookStrategy(olap.getBookStrategy())
+                .traderName(olap.getTraderName())
+                .agreementId(olap.getAgreementId())
+                .market(olap.getMarket())
+                .commodity(olap.getCommodity())
+                .transactionType(olap.getTransactionType())
+                .deliveryPoint(olap.getDeliveryPoint())
+                .loadType(olap.getLoadType())
+                .buySellIndicator(olap.getBuySellIndicator() != null
+                        ? BuySellIndicator.valueOf(olap.getBuySellIndicator()) : null)
+                .amendmentIndicator(olap.isAmendmentIndicator())
+                .build();
+
+        int lineItemCount = size(olap.getLineItemPeriodStartTimes());
+        PhysicalLineItemSchedule lineItems = new PhysicalLineItemSchedule(lineItemCount);
+        for (int i = 0; i < lineItemCount; i++) {
+            String profile = olap.getLineItemProfiles().get(i);
+            lineItems.add(
+                    olap.getLineItemPeriodStartTimes().get(i),
+                    olap.getLineItemPeriodEndTimes().get(i),
+                    olap.getLineItemPeriodStartDates().get(i),
+                    olap.getLineItemPeriodEndDates().get(i),
+                    olap.getLineItemDayHours().get(i),
+                    valueOrZero(olap.getLineItemQuantities().get(i)),
+                    olap.getLineItemUoms().get(i),
+                    valueOrZero(olap.getLineItemCapacities().get(i)),
+                    profile != null ? Profile.valueOf(profile) : null);
+        }
+
+        int settlementItemCount = size(olap.getSettlementItemIds());
+        PhysicalSettlementItemRecord[] settlementItems = new PhysicalSettlementItemRecord[settlementItemCount];
+        for (int i = 0; i < settlementItemCount; i++) {
+            String ranges = olap.getSettlementItemLineRanges() != null ? olap.getSettlementItemLineRanges().get(i) : "";
+            settlementItems[i] = new PhysicalSettlementItemRecord(
+                    olap.getSettlementItemIds().get(i),
+                    ranges == null || ranges.isEmpty()
+                            ? olap.getSettlementItemReferencedLineItems().get(i)
+                            : LineItemRefs.parse(ranges).labels(),
+                    olap.getSettlementItemDeliveryDates().get(i),
+                    valueOrZero(olap.getSettlementItemActualQuantities().get(i)),
+                    olap.getSettlementItemUoms().get(i),
+                    valueOrZero(olap.getSettlementItemSettlementPrices().get(i)),
+                    valueOrZero(olap.getSettlementItemTradePrices().get(i)),
+                    olap.getSettlementItemSettlementUoms().get(i),
+                    olap.getSettlementItemTradeUoms().get(i),
+                    valueOrZero(olap.getSettlementItemDeviationAmounts().get(i)),
+                    valueOrZero(olap.getSettlementItemDeviationPenalties().get(i)),
+                    valueOrZero(olap.getSettlementItemPeriodCashflows().get(i)),
+                    olap.getSettlementItemSettlementCurrencies().get(i),
+                    olap.getSettlementItemTradeCurrencies().get(i),
+                    olap.getSettlementItemInvoiceStatuses().get(i));
+        }
+
+        PhysicalSettlementInfoRecord settlementInfo = PhysicalSettlementInfoRecord.builder()
+                .totalVolume(valueOrZero(olap.getTotalVolume()))
+                .totalVolumeUom(olap.getTotalVolumeUom())
+                .pricingMechanism(olap.getPricingMechanism())
+                .settlementPrice(valueOrZero(olap.getSettlementPrice()))
+                .tradePrice(valueOrZero(olap.getTradePrice()))
+                .settlementCurrency(olap.getSettlementCurrency())
+                .tradeCurrency(olap.getTradeCurrency())
+                .settlementUom(olap.getSettlementUom())
+                .tradeUom(olap.getTradeUom())
+                .startApplicabilityDate(olap.getStartApplicabilityDate())
+                .startApplicabilityTime(olap.getStartApplicabilityTime())
+                .endApplicabilityDate(olap.getEndApplicabilityDate())
+                .endApplicabilityTime(olap.getEndApplicabilityTime())
+                .paymentEvent(olap.getPaymentEvent())
+                .paymentOffset(valueOrZero(olap.getPaymentOffset()))
+                .totalContractValue(valueOrZero(olap.getTotalContractValue()))
+                .rounding(valueOrZero(olap.getRounding()))
+                .settlementItems(List.of(settlementItems))
+                .build();
+
+        return new PhysicalPowerTradeRecord(
+                header,
+                PhysicalTradeDetailsRecord.of(lineItems),
+                settlementInfo,
+                new PhysicalMetadataRecord(olap.getEffectiveDate(), olap.getTerminationDate(), olap.getGoverningLaw()));
+    }
+
+    private static PartyRecord toPartyRecord(String id, String name, String role) {
+        return id == null && name == null && role == null ? null : new PartyRecord(id, name, role);
+    }
+
+    private static int size(List<?> values) {
+        return values == null ? 0 : values.size();
+    }
+
+    private static double valueOrZero(Double value) {
+        return value == null ? 0d : value;
+    }
+}
@@ -154,7 +154,13 @@ public class PhysicalTradeFactMapper {
             fact.setSettlementCurrency(item.getSettlementCurrency());
             fact.setTradeCurrency(item.getTradeCurrency());
             fact.setInvoiceStatus(item.getInvoiceStatus());
-            fact.setReferencedLineItems(new ArrayList<>(item.getReferencedLineItems()));
+            if (item.lineItemRefs() != null) {
+                fact.setReferencedLineItems(new ArrayList<>());
+                fact.setLineItemRanges(item.lineItemRefs().encode());
+            } else {
+                fact.setReferencedLineItems(new ArrayList<>(item.getReferencedLineItems()));
+                fact.setLineItemRanges("");
+            }
 
             // Denormalized trade info
             fact.setTenantId(header.getTenantId());
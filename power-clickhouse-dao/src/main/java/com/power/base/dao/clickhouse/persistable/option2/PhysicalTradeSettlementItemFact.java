@@ -26,7 +26,8 @@ public class PhysicalTradeSettlementItemFact {
     private String settlementCurrency;
     private String tradeCurrency;
     private String invoiceStatus;
-    private List<String> referencedLineItems;  // Array of line item references
+    private List<String> referencedLineItems;  // Array of free-form line item references
+    private String lineItemRanges;  // Line item index ranges, empty for free-form references
 
     // Denormalized trade info
     private String tenantId;
@@ -177,6 +178,14 @@ public class PhysicalTradeSettlementItemFact {
         this.referencedLineItems = referencedLineItems;
     }
 
+    public String getLineItemRanges() {
+        return lineItemRanges;
+    }
+
+    public void setLineItemRanges(String lineItemRanges) {
+        this.lineItemRanges = lineItemRanges;
+    }
+
     public String getTenantId() {
         return tenantId;
     }
@@ -1,5 +1,7 @@
 package com.power.base.dao.clickhouse.util;
 
+import com.power.base.datamodel.intern.StringInterner;
+
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
@@ -155,7 +157,7 @@ public class ClickHouseArrayUtil {
                     for (Object innerObj : innerArray) {
                         innerList.add(innerObj != null ? innerObj.toString() : null);
                     }
-                    result.add(innerList);
+                    result.add(new java.util.ArrayList<>(innerList));
                 } else if (obj instanceof List) {
                     @SuppressWarnings("unchecked")
                     List<String> innerList = (List<String>) obj;
@@ -165,5 +167,24 @@ public class ClickHouseArrayUtil {
         }
         return result;
     }
+
+    /**
+     * Extract a string array of a low-cardinality column (uoms, currencies, statuses, profiles, day-hour labels) and
+     * hand out the shared {@link StringInterner} instance for every element. Columns of ids such as settlement item
+     * ids or line references must use {@link #extractArray} instead: the interner never evicts, and ids would fill it
+     * before the values it is meant for.
+     *
+     * @param rs         the ResultSet
+     * @param columnName the column name
+     * @return list of interned values
+     * @throws SQLException if extraction fails
+     */
+    public static List<String> extractInternedStrings(java.sql.ResultSet rs, String columnName) throws SQLException {
+        List<String> values = extractArray(rs, columnName, String.class);
+        if (!values.isEmpty()) {
+            values.replaceAll(StringInterner.shared()::intern);
+        }
+        return values;
+    }
 }
 
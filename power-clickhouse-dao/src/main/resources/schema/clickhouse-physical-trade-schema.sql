@@ -87,8 +87,10 @@ CREATE TABLE IF NOT EXISTS physical_trades_olap
     settlement_item_settlement_currencies Array(String),
     settlement_item_trade_currencies Array(String),
     settlement_item_invoice_statuses Array(String),
-    -- Referenced line items as nested array (Array of Arrays of Strings)
+    -- Referenced line items as nested array (Array of Arrays of Strings), only for free-form references
     settlement_item_referenced_line_items Array(Array(String)),
+    -- Referenced line item index ranges per settlement item, e.g. '0-59,120'; empty for free-form references
+    settlement_item_line_ranges Array(String),
     
     -- Computed/Derived columns for analytics
     total_line_items UInt32,  -- length(line_item_quantities)
@@ -243,7 +245,8 @@ CREATE TABLE IF NOT EXISTS physical_trade_settlement_items_fact
     settlement_currency String,
     trade_currency String,
     invoice_status String,
-    referenced_line_items Array(String),  -- Array of line item references
+    referenced_line_items Array(String),  -- Array of free-form line item references
+    line_item_ranges String,  -- Line item index ranges, e.g. '0-59,120'; empty for free-form references
     
     -- Denormalized trade info
     tenant_id String,
@@ -0,0 +1,62 @@
+package com.power.base.dao.clickhouse.util;
+
+import com.power.base.datamodel.intern.StringInterner;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClickHouseArrayUtilTest {
+
+    @Test
+    void extractInternedStringsHandsOutSharedInstances() throws SQLException {
+        String first = new String("MWh-array-test");
+        String second = new String("MWh-array-test");
+        ResultSet rs = resultSet("line_item_uoms", new Object[]{first, second});
+
+        List<String> uoms = ClickHouseArrayUtil.extractInternedStrings(rs, "line_item_uoms");
+
+        assertThat(uoms).containsExactly("MWh-array-test", "MWh-array-test");
+        assertThat(uoms.get(1)).isSameAs(uoms.get(0));
+        assertThat(StringInterner.shared().intern(new String("MWh-array-test"))).isSameAs(uoms.get(0));
+    }
+
+    @Test
+    void extractArrayKeepsIdsOutOfTheInterner() throws SQLException {
+        String id = new String("SET-array-test-0001");
+        ResultSet rs = resultSet("settlement_item_ids", new Object[]{id});
+        int entries = StringInterner.shared().size();
+
+        List<String> ids = ClickHouseArrayUtil.extractArray(rs, "settlement_item_ids", String.class);
+
+        assertThat(ids).containsExactly("SET-array-test-0001");
+        assertThat(ids.get(0)).isSameAs(id);
+        assertThat(StringInterner.shared().size()).isEqualTo(entries);
+    }
+
+    @Test
+    void extractNestedArrayKeepsLineReferencesOutOfTheInterner() throws SQLException {
+        ResultSet rs = resultSet("settlement_item_referenced_line_items",
+                new Object[]{new Object[]{"LI-array-test-1", "LI-array-test-2"}});
+        int entries = StringInterner.shared().size();
+
+        List<List<String>> refs = ClickHouseArrayUtil.extractNestedArray(rs, "settlement_item_referenced_line_items");
+
+        assertThat(refs).containsExactly(List.of("LI-array-test-1", "LI-array-test-2"));
+        assertThat(StringInterner.shared().size()).isEqualTo(entries);
+    }
+
+    private static ResultSet resultSet(String column, Object[] values) throws SQLException {
+        Array array = mock(Array.class);
+        when(array.getArray()).thenReturn(values);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getArray(column)).thenReturn(array);
+        return rs;
+    }
+}
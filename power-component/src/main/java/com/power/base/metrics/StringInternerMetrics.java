@@ -0,0 +1,43 @@
+package com.power.base.metrics;
+
+import com.power.base.datamodel.intern.StringInterner;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the counters of the shared {@link StringInterner} under {@code power.intern.*}.
+ */
+@Component
+public class StringInternerMetrics implements MeterBinder {
+
+    private final StringInterner interner = StringInterner.shared();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("power.intern.entries", interner, StringInterner::size)
+                .description("Distinct strings held by the shared interner")
+                .register(registry);
+        Gauge.builder("power.intern.hit.ratio", interner, value -> value.stats().getHitRate())
+                .description("Share of lookups answered with an existing canonical instance")
+                .register(registry);
+        Gauge.builder("power.intern.saved", interner, value -> value.stats().getBytesSaved())
+                .description("Estimated bytes of duplicate strings replaced by canonical instances")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("power.intern.lookups", interner, value -> value.stats().getHits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("power.intern.lookups", interner, value -> value.stats().getMisses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("power.intern.lookups", interner, value -> value.stats().getRejected())
+                .tag("result", "rejected")
+                .register(registry);
+        FunctionCounter.builder("power.intern.lookups", interner, value -> value.stats().getBypassed())
+                .tag("result", "bypassed")
+                .register(registry);
+    }
+}
@@ -0,0 +1,135 @@
+package com.power.base;
+
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
+import com.power.base.dao.rdbms.jpa.service.PhysicalTradeService;
+import com.power.base.datamodel.dto.common.BuySellIndicator;
+import com.power.base.datamodel.dto.common.DocumentType;
+import com.power.base.datamodel.dto.common.PartyDto;
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalMetadataDto;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementInfoDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the application with its own {@code application.yml}, so the second-level cache settings are the ones Spring
+ * hands to Hibernate rather than those of the standalone persistence unit.
+ */
+@SpringBootTest(
+        classes = PowerApplication.class,
+        properties = "spring.datasource.url=jdbc:h2:mem:power-component-cache;DB_CLOSE_DELAY=-1;MODE=LEGACY")
+class PowerApplicationCacheTest {
+
+    @Autowired
+    private PhysicalTradeService physicalTradeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void findByTradeIdPopulatesThePhysicalTradeRegion() {
+        physicalTradeService.persist(buildPhysicalTrade("PWR-CACHE-001"));
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictAllRegions();
+        assertFalse(cache.containsEntity(PhysicalTradeEntity.class, "PWR-CACHE-001"));
+
+        physicalTradeService.findByTradeId("PWR-CACHE-001").orElseThrow();
+
+        assertTrue(cache.containsEntity(PhysicalTradeEntity.class, "PWR-CACHE-001"));
+    }
+
+    private PhysicalPowerTradeDto buildPhysicalTrade(String tradeId) {
+        PhysicalTradeHeaderDto header = new PhysicalTradeHeaderDto();
+        header.setTradeId(tradeId);
+        header.setTenantId("TENANT_A");
+        header.setTradeDate(LocalDate.of(2025, 11, 7));
+        header.setTradeTime(Instant.parse("2025-11-07T14:30:00Z"));
+        header.setDocumentType(DocumentType.CONFIRMATION);
+        header.setDocumentVersion("1.0");
+        header.setBuyerParty(new PartyDto("10X1001A1001A450F6", "Utility EU Ltd", "Buyer"));
+        header.setSellerParty(new PartyDto("10XFR-ENTSOE-0000000A", "GenCo US Inc", "Seller"));
+        header.setBusinessUnit("Nord Pool Trading Desk");
+        header.setBookStrategy("Physical Hedging Book");
+        header.setTraderName("John Doe (TRDR-456)");
+        header.setAgreementId("EFET-2023-001");
+        header.setMarket("EPEX-SPOT");
+        header.setCommodity("Power");
+        header.setTransactionType("FOR");
+        header.setDeliveryPoint("DE-LU");
+        header.setLoadType("Base Load");
+        header.setBuySellIndicator(BuySellIndicator.BUY);
+        header.setAmendmentIndicator(false);
+
+        PhysicalLineItemDto lineItem = new PhysicalLineItemDto(
+                LocalDate.of(2025, 11, 7),
+                Instant.parse("2025-11-07T00:00:00Z"),
+                LocalDate.of(2025, 11, 7),
+                Instant.parse("2025-11-07T01:00:00Z"),
+                "Fri 00:00-01:00",
+                12.5,
+                "MWh",
+                50.0,
+                Profile.ONE_HOUR
+        );
+        PhysicalSettlementItemDto settlementItem = new PhysicalSettlementItemDto(
+                "SET-2025-11-07",
+                List.of("LI-001"),
+                LocalDate.of(2025, 11, 7),
+                12.5,
+                "MWh",
+                50.0,
+                50.0,
+                "EUR/MWh",
+                "EUR/MWh",
+                0.0,
+                0.0,
+                625.0,
+                "EUR",
+                "EUR",
+                "Provisional"
+        );
+        PhysicalSettlementInfoDto settlementInfo = new PhysicalSettlementInfoDto(
+                12.5,
+                "MWh",
+                "Fixed",
+                50.0,
+                50.0,
+                "EUR",
+                "EUR",
+                "EUR/MWh",
+                "EUR/MWh",
+                LocalDate.of(2025, 11, 7),
+                null,
+                LocalDate.of(2025, 11, 14),
+                null,
+                "Schedule_Date",
+                5,
+                625.0,
+                2,
+                List.of(settlementItem)
+        );
+        PhysicalMetadataDto metadata = new PhysicalMetadataDto(
+                LocalDate.of(2025, 11, 7),
+                LocalDate.of(2025, 11, 14),
+                "EU (German Law)"
+        );
+        return new PhysicalPowerTradeDto(header, new PhysicalTradeDetailsDto(List.of(lineItem)), settlementInfo,
+                metadata);
+    }
+}
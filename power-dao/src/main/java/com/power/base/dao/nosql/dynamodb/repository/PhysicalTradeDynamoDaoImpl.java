@@ -2,14 +2,18 @@ package com.power.base.dao.nosql.dynamodb.repository;
 
 import com.power.base.dao.nosql.dynamodb.DynamoDbDaoException;
 import com.power.base.dao.rdbms.jpa.repository.physical.PhysicalTradeSearchCriteria;
+import com.power.base.datamodel.diff.PhysicalTradeChangeSet;
+import com.power.base.datamodel.diff.PhysicalTradeDiff;
 import com.power.base.datamodel.dto.common.Profile;
-import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
+import com.power.base.datamodel.dto.physicals.LineItemRefs;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
 import com.power.base.datamodel.dto.physicals.PhysicalMetadataDto;
 import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
 import com.power.base.datamodel.dto.physicals.PhysicalSettlementInfoDto;
 import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
 import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
 import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderDto;
+import com.power.base.datamodel.intern.StringInterner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
@@ -27,6 +31,7 @@ import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -50,6 +55,8 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
     private static final String ENTITY_LINE_ITEM = "LINE_ITEM";
     private static final String ENTITY_SETTLEMENT_ITEM = "SETTLEMENT_ITEM";
 
+    private static final String LINE_KEY_PREFIX = "LINE#";
+
     private static final int TRANSACT_WRITE_MAX_ITEMS = 25;
 
     private final DynamoDbClient dynamoDbClient;
@@ -64,6 +71,10 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
 
         String tradeId = tradeDto.getTradeHeader().getTradeId();
 
+        if (tradeDto.getTradeHeader().isAmendmentIndicator() && saveAmendment(tradeId, tradeDto)) {
+            return tradeDto;
+        }
+
         // Remove any existing representation before writing the new graph
         deleteByTradeId(tradeId);
 
@@ -117,23 +128,91 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
                 return;
             }
 
-            List<WriteRequest> deletes = items.stream()
-                    .map(item -> WriteRequest.builder()
-                            .deleteRequest(DeleteRequest.builder()
-                                    .key(Map.of(
-                                            ATTR_PK, item.get(ATTR_PK),
-                                            ATTR_SK, item.get(ATTR_SK)))
-                                    .build())
-                            .build())
-                    .collect(Collectors.toList());
+            deleteSortKeys(tradeId, items.stream()
+                    .map(item -> attrString(item, ATTR_SK))
+                    .collect(Collectors.toList()));
+        } catch (Exception ex) {
+            throw new DynamoDbDaoException("Failed to delete physical trade " + tradeId, ex);
+        }
+    }
 
-            for (List<WriteRequest> chunk : chunks(deletes, 25)) {
-                dynamoDbClient.batchWriteItem(BatchWriteItemRequest.builder()
-                        .requestItems(Map.of(TABLE_NAME, chunk))
-                        .build());
+    /**
+     * Writes an amendment as a delta against the stored graph. Line item sort keys are positional, so a line item is
+     * rewritten when it changed or when an insert or delete ahead of it shifted its position; unchanged prefixes and
+     * settlement items are left alone.
+     *
+     * @return {@code false} when there is no stored graph or it cannot be matched by key, leaving the caller to
+     * replace the trade wholesale
+     */
+    private boolean saveAmendment(String tradeId, PhysicalPowerTradeDto tradeDto) {
+        List<Map<String, AttributeValue>> storedItems;
+        PhysicalTradeChangeSet changes;
+        try {
+            storedItems = queryAllItems(tradeId);
+            if (storedItems.isEmpty()) {
+                return false;
             }
+            changes = PhysicalTradeDiff.between(fromItems(tradeId, storedItems), tradeDto);
         } catch (Exception ex) {
-            throw new DynamoDbDaoException("Failed to delete physical trade " + tradeId, ex);
+            throw new DynamoDbDaoException("Failed to load physical trade " + tradeId, ex);
+        }
+        if (changes.requiresFullRewrite()) {
+            return false;
+        }
+
+        long storedLineCount = storedItems.stream()
+                .filter(item -> ENTITY_LINE_ITEM.equals(attrString(item, ATTR_ENTITY_TYPE)))
+                .count();
+        PhysicalLineItemSchedule schedule = Optional.ofNullable(tradeDto.getTradeDetails())
+                .map(PhysicalTradeDetailsDto::schedule)
+                .orElseGet(PhysicalLineItemSchedule::new);
+        boolean[] changed = new boolean[schedule.size()];
+        for (int index : changes.getUpdatedLineItems()) {
+            changed[index] = true;
+        }
+
+        List<Map<String, AttributeValue>> puts = new ArrayList<>();
+        puts.add(buildHeaderItem(tradeDto));
+        for (int i = 0; i < schedule.size(); i++) {
+            if (changed[i] || changes.getStoredIndex(i) != i) {
+                puts.add(buildLineItem(tradeDto, schedule, i));
+            }
+        }
+        changes.getUpdatedSettlementItems()
+                .forEach(settlementItem -> puts.add(buildSettlementItem(tradeDto, settlementItem)));
+        changes.getInsertedSettlementItems()
+                .forEach(settlementItem -> puts.add(buildSettlementItem(tradeDto, settlementItem)));
+
+        List<String> deletes = new ArrayList<>();
+        for (int index = schedule.size(); index < storedLineCount; index++) {
+            deletes.add(lineSortKey(index));
+        }
+        changes.getDeletedSettlementIds().forEach(settlementId -> deletes.add("SETTLEMENT#" + settlementId));
+
+        writeInTransactions(puts);
+        try {
+            deleteSortKeys(tradeId, deletes);
+        } catch (Exception ex) {
+            throw new DynamoDbDaoException("Failed to amend physical trade " + tradeId, ex);
+        }
+        return true;
+    }
+
+    private void deleteSortKeys(String tradeId, List<String> sortKeys) {
+        List<WriteRequest> deletes = sortKeys.stream()
+                .map(sortKey -> WriteRequest.builder()
+                        .deleteRequest(DeleteRequest.builder()
+                                .key(Map.of(
+                                        ATTR_PK, AttributeValue.builder().s(tradeId).build(),
+                                        ATTR_SK, AttributeValue.builder().s(sortKey).build()))
+                                .build())
+                        .build())
+                .collect(Collectors.toList());
+
+        for (List<WriteRequest> chunk : chunks(deletes, 25)) {
+            dynamoDbClient.batchWriteItem(BatchWriteItemRequest.builder()
+                    .requestItems(Map.of(TABLE_NAME, chunk))
+                    .build());
         }
     }
 
@@ -152,11 +231,11 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
 
         items.add(buildHeaderItem(dto));
 
-        List<PhysicalLineItemDto> lineItems = Optional.ofNullable(dto.getTradeDetails())
-                .map(PhysicalTradeDetailsDto::getLineItems)
-                .orElse(List.of());
-        for (int i = 0; i < lineItems.size(); i++) {
-            items.add(buildLineItem(dto, lineItems.get(i), i + 1));
+        PhysicalLineItemSchedule schedule = Optional.ofNullable(dto.getTradeDetails())
+                .map(PhysicalTradeDetailsDto::schedule)
+                .orElseGet(PhysicalLineItemSchedule::new);
+        for (int i = 0; i < schedule.size(); i++) {
+            items.add(buildLineItem(dto, schedule, i));
         }
 
         PhysicalSettlementInfoDto settlementInfo = dto.getSettlementInfo();
@@ -164,7 +243,7 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
                 ? List.of()
                 : Optional.ofNullable(settlementInfo.getSettlementItems()).orElse(List.of());
         for (int i = 0; i < settlementItems.size(); i++) {
-            items.add(buildSettlementItem(dto, settlementItems.get(i), i + 1));
+            items.add(buildSettlementItem(dto, settlementItems.get(i)));
         }
 
         return items;
@@ -236,29 +315,30 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
         return item;
     }
 
-    private Map<String, AttributeValue> buildLineItem(PhysicalPowerTradeDto dto, PhysicalLineItemDto lineItem, int sequence) {
+    private Map<String, AttributeValue> buildLineItem(PhysicalPowerTradeDto dto, PhysicalLineItemSchedule schedule, int index) {
         PhysicalTradeHeaderDto header = dto.getTradeHeader();
 
         Map<String, AttributeValue> item = new HashMap<>();
         item.put(ATTR_PK, AttributeValue.builder().s(header.getTradeId()).build());
-        item.put(ATTR_SK, AttributeValue.builder().s(String.format("LINE#%04d", sequence)).build());
+        item.put(ATTR_SK, AttributeValue.builder().s(lineSortKey(index)).build());
         item.put(ATTR_ENTITY_TYPE, AttributeValue.builder().s(ENTITY_LINE_ITEM).build());
         putString(item, ATTR_TENANT_ID, header.getTenantId());
 
-        putDate(item, "period_start_date", lineItem.getPeriodStartDate());
-        putInstant(item, "period_start_time", lineItem.getPeriodStartTime());
-        putDate(item, "period_end_date", lineItem.getPeriodEndDate());
-        putInstant(item, "period_end_time", lineItem.getPeriodEndTime());
-        putString(item, "day_hour_label", lineItem.getDayHour());
-        putNumber(item, "quantity", lineItem.getQuantity());
-        putString(item, "uom", lineItem.getUom());
-        putNumber(item, "capacity", lineItem.getCapacity());
-        putString(item, "profile", lineItem.getProfile() == null ? null : lineItem.getProfile().name());
+        Profile profile = schedule.getProfile(index);
+        putDate(item, "period_start_date", schedule.getPeriodStartDate(index));
+        putInstant(item, "period_start_time", schedule.getPeriodStartTime(index));
+        putDate(item, "period_end_date", schedule.getPeriodEndDate(index));
+        putInstant(item, "period_end_time", schedule.getPeriodEndTime(index));
+        putString(item, "day_hour_label", schedule.getDayHour(index));
+        putNumber(item, "quantity", schedule.getQuantity(index));
+        putString(item, "uom", schedule.getUom(index));
+        putNumber(item, "capacity", schedule.getCapacity(index));
+        putString(item, "profile", profile == null ? null : profile.name());
 
         return item;
     }
 
-    private Map<String, AttributeValue> buildSettlementItem(PhysicalPowerTradeDto dto, PhysicalSettlementItemDto settlementItem, int sequence) {
+    private Map<String, AttributeValue> buildSettlementItem(PhysicalPowerTradeDto dto, PhysicalSettlementItemDto settlementItem) {
         PhysicalTradeHeaderDto header = dto.getTradeHeader();
 
         Map<String, AttributeValue> item = new HashMap<>();
@@ -282,7 +362,13 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
         putString(item, "trade_currency", settlementItem.getTradeCurrency());
         putString(item, "invoice_status", settlementItem.getInvoiceStatus());
 
-        if (settlementItem.getReferencedLineItems() != null && !settlementItem.getReferencedLineItems().isEmpty()) {
+        // index based references are stored as one compact range string, free-form ones as a string set
+        LineItemRefs ranges = settlementItem.lineItemRefs();
+        if (ranges != null) {
+            if (!ranges.isEmpty()) {
+                putString(item, "line_ranges", ranges.encode());
+            }
+        } else if (!settlementItem.getReferencedLineItems().isEmpty()) {
             item.put("line_refs", AttributeValue.builder().ss(settlementItem.getReferencedLineItems()).build());
         }
 
@@ -311,6 +397,18 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
         return results;
     }
 
+    /**
+     * Sort key of the line item at {@code index}. Keys are zero padded to four digits only, so from line 10,000 on
+     * their string order differs from the line order; order and compare them with {@link #lineIndex} instead.
+     */
+    private static String lineSortKey(int index) {
+        return String.format("%s%04d", LINE_KEY_PREFIX, index + 1);
+    }
+
+    private static int lineIndex(String sortKey) {
+        return Integer.parseInt(sortKey.substring(LINE_KEY_PREFIX.length())) - 1;
+    }
+
     private PhysicalPowerTradeDto fromItems(String tradeId, List<Map<String, AttributeValue>> items) {
         Map<String, AttributeValue> headerItem = items.stream()
                 .filter(item -> ENTITY_HEADER.equals(attrString(item, ATTR_ENTITY_TYPE)))
@@ -318,13 +416,12 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
                 .orElseThrow(() -> new DynamoDbDaoException("Missing header record for trade " + tradeId));
 
         PhysicalTradeHeaderDto headerDto = buildHeaderDto(tradeId, headerItem);
-        PhysicalTradeDetailsDto detailsDto = new PhysicalTradeDetailsDto(
-                items.stream()
-                        .filter(item -> ENTITY_LINE_ITEM.equals(attrString(item, ATTR_ENTITY_TYPE)))
-                        .sorted((a, b) -> attrString(a, ATTR_SK).compareTo(attrString(b, ATTR_SK)))
-                        .map(this::buildLineItemDto)
-                        .collect(Collectors.toList())
-        );
+        PhysicalLineItemSchedule schedule = new PhysicalLineItemSchedule();
+        items.stream()
+                .filter(item -> ENTITY_LINE_ITEM.equals(attrString(item, ATTR_ENTITY_TYPE)))
+                .sorted(Comparator.comparingInt(item -> lineIndex(attrString(item, ATTR_SK))))
+                .forEachOrdered(item -> appendLineItem(schedule, item));
+        PhysicalTradeDetailsDto detailsDto = new PhysicalTradeDetailsDto(schedule);
 
         PhysicalSettlementInfoDto settlementInfoDto = buildSettlementInfoDto(headerItem,
                 items.stream()
@@ -345,17 +442,17 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
     private PhysicalTradeHeaderDto buildHeaderDto(String tradeId, Map<String, AttributeValue> item) {
         PhysicalTradeHeaderDto header = new PhysicalTradeHeaderDto();
         header.setTradeId(tradeId);
-        header.setTenantId(attrString(item, ATTR_TENANT_ID));
-        header.setBusinessUnit(attrString(item, "business_unit"));
-        header.setBookStrategy(attrString(item, "book_strategy"));
-        header.setTraderName(attrString(item, "trader_name"));
+        header.setTenantId(attrInternedString(item, ATTR_TENANT_ID));
+        header.setBusinessUnit(attrInternedString(item, "business_unit"));
+        header.setBookStrategy(attrInternedString(item, "book_strategy"));
+        header.setTraderName(attrInternedString(item, "trader_name"));
         header.setAgreementId(attrString(item, "agreement_id"));
-        header.setMarket(attrString(item, "market"));
-        header.setCommodity(attrString(item, "commodity"));
-        header.setTransactionType(attrString(item, "transaction_type"));
-        header.setDeliveryPoint(attrString(item, "delivery_point"));
-        header.setLoadType(attrString(item, "load_type"));
-        header.setDocumentVersion(attrString(item, "document_version"));
+        header.setMarket(attrInternedString(item, "market"));
+        header.setCommodity(attrInternedString(item, "commodity"));
+        header.setTransactionType(attrInternedString(item, "transaction_type"));
+        header.setDeliveryPoint(attrInternedString(item, "delivery_point"));
+        header.setLoadType(attrInternedString(item, "load_type"));
+        header.setDocumentVersion(attrInternedString(item, "document_version"));
         header.setTradeDate(attrLocalDate(item, "trade_date"));
         header.setTradeTime(attrInstant(item, "trade_time"));
         header.setAmendmentIndicator(attrBoolean(item, "amendment_indicator"));
@@ -384,19 +481,19 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
                                                              List<PhysicalSettlementItemDto> settlementItems) {
         PhysicalSettlementInfoDto settlementInfo = new PhysicalSettlementInfoDto();
         settlementInfo.setTotalVolume(attrDouble(headerItem, "settlement_total_volume"));
-        settlementInfo.setTotalVolumeUom(attrString(headerItem, "settlement_total_volume_uom"));
-        settlementInfo.setPricingMechanism(attrString(headerItem, "settlement_pricing_mechanism"));
+        settlementInfo.setTotalVolumeUom(attrInternedString(headerItem, "settlement_total_volume_uom"));
+        settlementInfo.setPricingMechanism(attrInternedString(headerItem, "settlement_pricing_mechanism"));
         settlementInfo.setSettlementPrice(attrDouble(headerItem, "settlement_price"));
         settlementInfo.setTradePrice(attrDouble(headerItem, "trade_price"));
-        settlementInfo.setSettlementCurrency(attrString(headerItem, "settlement_currency"));
-        settlementInfo.setTradeCurrency(attrString(headerItem, "trade_currency"));
-        settlementInfo.setSettlementUom(attrString(headerItem, "settlement_uom"));
-        settlementInfo.setTradeUom(attrString(headerItem, "trade_uom"));
+        settlementInfo.setSettlementCurrency(attrInternedString(headerItem, "settlement_currency"));
+        settlementInfo.setTradeCurrency(attrInternedString(headerItem, "trade_currency"));
+        settlementInfo.setSettlementUom(attrInternedString(headerItem, "settlement_uom"));
+        settlementInfo.setTradeUom(attrInternedString(headerItem, "trade_uom"));
         settlementInfo.setStartApplicabilityDate(attrLocalDate(headerItem, "settlement_start_date"));
         settlementInfo.setStartApplicabilityTime(attrInstant(headerItem, "settlement_start_time"));
         settlementInfo.setEndApplicabilityDate(attrLocalDate(headerItem, "settlement_end_date"));
         settlementInfo.setEndApplicabilityTime(attrInstant(headerItem, "settlement_end_time"));
-        settlementInfo.setPaymentEvent(attrString(headerItem, "settlement_payment_event"));
+        settlementInfo.setPaymentEvent(attrInternedString(headerItem, "settlement_payment_event"));
         settlementInfo.setPaymentOffset(attrDouble(headerItem, "settlement_payment_offset"));
         settlementInfo.setTotalContractValue(attrDouble(headerItem, "settlement_total_value"));
         settlementInfo.setRounding(attrDouble(headerItem, "settlement_rounding"));
@@ -409,35 +506,40 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
         dto.setSettlementId(attrString(item, "settlement_id"));
         dto.setDeliveryDate(attrLocalDate(item, "delivery_date"));
         dto.setActualQuantity(attrDouble(item, "actual_quantity"));
-        dto.setUom(attrString(item, "uom"));
+        dto.setUom(attrInternedString(item, "uom"));
         dto.setSettlementPrice(attrDouble(item, "settlement_price"));
         dto.setTradePrice(attrDouble(item, "trade_price"));
-        dto.setSettlementUom(attrString(item, "settlement_uom"));
-        dto.setTradeUom(attrString(item, "trade_uom"));
+        dto.setSettlementUom(attrInternedString(item, "settlement_uom"));
+        dto.setTradeUom(attrInternedString(item, "trade_uom"));
         dto.setDeviationAmount(attrDouble(item, "deviation_amount"));
         dto.setDeviationPenalty(attrDouble(item, "deviation_penalty"));
         dto.setPeriodCashflow(attrDouble(item, "period_cashflow"));
-        dto.setSettlementCurrency(attrString(item, "settlement_currency"));
-        dto.setTradeCurrency(attrString(item, "trade_currency"));
-        dto.setInvoiceStatus(attrString(item, "invoice_status"));
-        if (item.containsKey("line_refs") && item.get("line_refs").ss() != null) {
-            dto.setReferencedLineItems(new ArrayList<>(item.get("line_refs").ss()));
+        dto.setSettlementCurrency(attrInternedString(item, "settlement_currency"));
+        dto.setTradeCurrency(attrInternedString(item, "trade_currency"));
+        dto.setInvoiceStatus(attrInternedString(item, "invoice_status"));
+        if (item.containsKey("line_ranges")) {
+            dto.setLineItemRefs(LineItemRefs.parse(attrString(item, "line_ranges")));
+        } else if (item.containsKey("line_refs") && item.get("line_refs").ss() != null) {
+            // a string set has no order of its own; in line item order canonical labels pack into ranges
+            List<String> lineRefs = new ArrayList<>(item.get("line_refs").ss());
+            lineRefs.sort(Comparator.comparingInt(LineItemRefs::indexOf).thenComparing(Comparator.naturalOrder()));
+            dto.setReferencedLineItems(lineRefs);
         }
         return dto;
     }
 
-    private PhysicalLineItemDto buildLineItemDto(Map<String, AttributeValue> item) {
-        PhysicalLineItemDto dto = new PhysicalLineItemDto();
-        dto.setPeriodStartDate(attrLocalDate(item, "period_start_date"));
-        dto.setPeriodStartTime(attrInstant(item, "period_start_time"));
-        dto.setPeriodEndDate(attrLocalDate(item, "period_end_date"));
-        dto.setPeriodEndTime(attrInstant(item, "period_end_time"));
-        dto.setDayHour(attrString(item, "day_hour_label"));
-        dto.setQuantity(attrDouble(item, "quantity"));
-        dto.setUom(attrString(item, "uom"));
-        dto.setCapacity(attrDouble(item, "capacity"));
-        dto.setProfile(attrProfile(item, "profile"));
-        return dto;
+    private void appendLineItem(PhysicalLineItemSchedule schedule, Map<String, AttributeValue> item) {
+        schedule.add(
+                attrInstant(item, "period_start_time"),
+                attrInstant(item, "period_end_time"),
+                attrLocalDate(item, "period_start_date"),
+                attrLocalDate(item, "period_end_date"),
+                attrInternedString(item, "day_hour_label"),
+                attrDouble(item, "quantity"),
+                attrInternedString(item, "uom"),
+                attrDouble(item, "capacity"),
+                attrProfile(item, "profile")
+        );
     }
 
     private ScanRequest buildHeaderScanRequest(PhysicalTradeSearchCriteria criteria) {
@@ -541,6 +643,10 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
         return value == null ? null : value.s();
     }
 
+    private String attrInternedString(Map<String, AttributeValue> item, String key) {
+        return StringInterner.shared().intern(attrString(item, key));
+    }
+
     private double attrDouble(Map<String, AttributeValue> item, String key) {
         AttributeValue value = item.get(key);
         return value == null || value.n() == null ? 0d : Double.parseDouble(value.n());
@@ -580,9 +686,9 @@ public class PhysicalTradeDynamoDaoImpl implements PhysicalTradeDynamoDao {
                                                                    String idKey,
                                                                    String nameKey,
                                                                    String roleKey) {
-        String id = attrString(item, idKey);
-        String name = attrString(item, nameKey);
-        String role = attrString(item, roleKey);
+        String id = attrInternedString(item, idKey);
+        String name = attrInternedString(item, nameKey);
+        String role = attrInternedString(item, roleKey);
         if (id == null && name == null && role == null) {
             return null;
         }
@@ -1,15 +1,17 @@
 package com.power.base.dao.nosql.dynamodb.repository;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.power.base.dao.nosql.dynamodb.DynamoDbDaoException;
 import com.power.base.dao.rdbms.jpa.repository.swap.SwapTradeSearchCriteria;
+import com.power.base.datamodel.codec.CodecException;
+import com.power.base.datamodel.codec.PowerTradeCodec;
 import com.power.base.datamodel.dto.financials.SwapPowerTradeDto;
 import com.power.base.datamodel.dto.financials.SwapTradeHeaderDto;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
@@ -34,6 +36,7 @@ public class SwapTradeDynamoDaoImpl implements SwapTradeDynamoDao {
     static final String TABLE_NAME = "SWAP_TRADE";
     static final String TRADE_ID = "trade_id";
     static final String PAYLOAD = "payload";
+    static final String PAYLOAD_BINARY = "payload_bin";
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
             .registerModule(new JavaTimeModule())
@@ -119,7 +122,7 @@ public class SwapTradeDynamoDaoImpl implements SwapTradeDynamoDao {
         SwapTradeHeaderDto header = dto.getTradeHeader();
 
         item.put(TRADE_ID, AttributeValue.builder().s(header.getTradeId()).build());
-        item.put(PAYLOAD, AttributeValue.builder().s(writePayload(dto)).build());
+        item.put(PAYLOAD_BINARY, AttributeValue.builder().b(writePayload(dto)).build());
 
         putIfPresent(item, "tenant_id", header.getTenantId());
         putIfPresent(item, "business_unit", header.getBusinessUnit());
@@ -135,28 +138,43 @@ public class SwapTradeDynamoDaoImpl implements SwapTradeDynamoDao {
         return item;
     }
 
-    private String writePayload(SwapPowerTradeDto dto) {
+    private SdkBytes writePayload(SwapPowerTradeDto dto) {
         try {
-            return OBJECT_MAPPER.writeValueAsString(dto);
-        } catch (JsonProcessingException e) {
+            return SdkBytes.fromByteArrayUnsafe(PowerTradeCodec.encodeSwap(dto));
+        } catch (CodecException e) {
             throw new DynamoDbDaoException("Failed to serialize swap trade payload", e);
         }
     }
 
     private SwapPowerTradeDto fromItem(Map<String, AttributeValue> item) {
+        SwapPowerTradeDto dto = readPayload(item);
+        if (dto.getTradeHeader() != null && (dto.getTradeHeader().getTenantId() == null || dto.getTradeHeader().getTenantId().isBlank())) {
+            AttributeValue tenantAttr = item.get("tenant_id");
+            if (tenantAttr != null && tenantAttr.s() != null) {
+                dto.getTradeHeader().setTenantId(tenantAttr.s());
+            }
+        }
+        return dto;
+    }
+
+    /**
+     * Reads the binary payload, falling back to the JSON attribute written before the binary codec was introduced.
+     */
+    private SwapPowerTradeDto readPayload(Map<String, AttributeValue> item) {
+        AttributeValue binary = item.get(PAYLOAD_BINARY);
+        if (binary != null && binary.b() != null) {
+            try {
+                return PowerTradeCodec.decodeSwap(binary.b().asByteArrayUnsafe());
+            } catch (CodecException e) {
+                throw new DynamoDbDaoException("Failed to deserialize swap trade payload", e);
+            }
+        }
         AttributeValue payload = item.get(PAYLOAD);
         if (payload == null || payload.s() == null) {
             throw new DynamoDbDaoException("Missing payload attribute for swap trade record");
         }
         try {
-            SwapPowerTradeDto dto = OBJECT_MAPPER.readValue(payload.s(), SwapPowerTradeDto.class);
-            if (dto.getTradeHeader() != null && (dto.getTradeHeader().getTenantId() == null || dto.getTradeHeader().getTenantId().isBlank())) {
-                AttributeValue tenantAttr = item.get("tenant_id");
-                if (tenantAttr != null && tenantAttr.s() != null) {
-                    dto.getTradeHeader().setTenantId(tenantAttr.s());
-                }
-            }
-            return dto;
+            return OBJECT_MAPPER.readValue(payload.s(), SwapPowerTradeDto.class);
         } catch (IOException e) {
             throw new DynamoDbDaoException("Failed to deserialize swap trade payload", e);
         }
@@ -0,0 +1,20 @@
+package com.power.base.dao.rdbms.async;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the {@link TradeLookupExecutor} behind the async trade services. Unless {@code power.async.max-concurrency}
+ * is set, it runs as many calls at once as the Hikari pool has connections, 10 being Hikari's default.
+ */
+@Configuration
+public class TradeLookupConfig {
+
+    @Bean(destroyMethod = "close")
+    public TradeLookupExecutor tradeLookupExecutor(
+            @Value("${power.async.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int maxConcurrency) {
+        return new TradeLookupExecutor(maxConcurrency);
+    }
+}
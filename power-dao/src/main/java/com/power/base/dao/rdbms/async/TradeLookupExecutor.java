@@ -0,0 +1,86 @@
+package com.power.base.dao.rdbms.async;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs trade service calls on virtual threads, at most {@link #maxConcurrency()} at a time. Every call holds a
+ * connection while it runs, so the limit is meant to match the connection pool: more concurrent calls would only
+ * queue inside the pool, holding a pool wait timeout against them, while here they wait on a permit instead.
+ */
+public class TradeLookupExecutor implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    public TradeLookupExecutor(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try {
+                return call.get();
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Looks every distinct id up in a call of its own.
+     *
+     * @return the trades found, keyed by id in the order the ids were given; ids without a trade are left out. Fails
+     * with the first failed lookup once all of them are done.
+     */
+    public <T> CompletableFuture<Map<String, T>> findAll(Collection<String> tradeIds,
+                                                         Function<String, Optional<T>> lookup) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(tradeIds));
+        List<CompletableFuture<Optional<T>>> lookups = ids.stream()
+                .map(id -> submit(() -> lookup.apply(id)))
+                .toList();
+        return CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            Map<String, T> trades = new LinkedHashMap<>();
+            for (int i = 0; i < ids.size(); i++) {
+                String id = ids.get(i);
+                lookups.get(i).join().ifPresent(trade -> trades.put(id, trade));
+            }
+            return trades;
+        });
+    }
+
+    /**
+     * Stops accepting calls and waits for the running ones to finish.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,20 @@
+package com.power.base.dao.rdbms.jpa.config;
+
+import com.power.base.dao.rdbms.jpa.schema.SchemaMigrator;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs the trade schema migrations once the entity manager factory, and with it Hibernate's schema generation, is up.
+ */
+@Configuration
+@ConditionalOnProperty(name = "power.schema.migrate", havingValue = "true")
+public class SchemaMigrationConfig {
+
+    @Bean(initMethod = "migrate")
+    public SchemaMigrator schemaMigrator(EntityManagerFactory entityManagerFactory) {
+        return new SchemaMigrator(entityManagerFactory);
+    }
+}
@@ -0,0 +1,32 @@
+package com.power.base.dao.rdbms.jpa.persistence;
+
+import java.util.List;
+
+/**
+ * Names of the second-level cache regions used by the trade entities. Each name doubles as the JCache cache name, so
+ * per-region sizing in {@code power-trade-cache.conf} is keyed by these values.
+ */
+public final class TradeCacheRegions {
+
+    public static final String PHYSICAL_TRADE = "power-physical-trade";
+    public static final String PHYSICAL_TRADE_LINE_ITEMS = "power-physical-trade-line-items";
+    public static final String PHYSICAL_TRADE_SETTLEMENT_ITEMS = "power-physical-trade-settlement-items";
+    public static final String PHYSICAL_LINE_ITEM = "power-physical-line-item";
+    public static final String PHYSICAL_SETTLEMENT_ITEM = "power-physical-settlement-item";
+    public static final String PHYSICAL_SETTLEMENT_LINE_REFS = "power-physical-settlement-item-line-refs";
+    public static final String SWAP_TRADE = "power-swap-trade";
+    public static final String SWAP_TRADE_PERIODS = "power-swap-trade-periods";
+    public static final String SWAP_PERIOD = "power-swap-period";
+
+    /**
+     * Query cache region for trade searches; only populated when {@code hibernate.cache.use_query_cache} is on.
+     */
+    public static final String TRADE_SEARCH = "power-trade-search";
+
+    public static final List<String> DOMAIN_REGIONS = List.of(
+            PHYSICAL_TRADE, PHYSICAL_TRADE_LINE_ITEMS, PHYSICAL_TRADE_SETTLEMENT_ITEMS, PHYSICAL_LINE_ITEM,
+            PHYSICAL_SETTLEMENT_ITEM, PHYSICAL_SETTLEMENT_LINE_REFS, SWAP_TRADE, SWAP_TRADE_PERIODS, SWAP_PERIOD);
+
+    private TradeCacheRegions() {
+    }
+}
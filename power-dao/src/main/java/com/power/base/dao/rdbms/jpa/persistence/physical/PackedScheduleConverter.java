@@ -0,0 +1,23 @@
+package com.power.base.dao.rdbms.jpa.persistence.physical;
+
+import com.power.base.datamodel.codec.PhysicalLineItemScheduleCodec;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a whole line item schedule in one binary column using {@link PhysicalLineItemScheduleCodec}.
+ */
+@Converter
+public class PackedScheduleConverter implements AttributeConverter<PhysicalLineItemSchedule, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(PhysicalLineItemSchedule schedule) {
+        return schedule == null ? null : PhysicalLineItemScheduleCodec.encode(schedule);
+    }
+
+    @Override
+    public PhysicalLineItemSchedule convertToEntityAttribute(byte[] column) {
+        return column == null ? null : PhysicalLineItemScheduleCodec.decode(column);
+    }
+}
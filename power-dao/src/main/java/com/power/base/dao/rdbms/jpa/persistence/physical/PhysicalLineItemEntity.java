@@ -1,7 +1,11 @@
 package com.power.base.dao.rdbms.jpa.persistence.physical;
 
+import com.power.base.dao.rdbms.jpa.persistence.TradeCacheRegions;
 import com.power.base.datamodel.dto.common.Profile;
 import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
+import com.power.base.datamodel.intern.StringInterner;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
@@ -13,17 +17,27 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TradeCacheRegions.PHYSICAL_LINE_ITEM)
 @Table(name = "physical_trade_line_items")
 public class PhysicalLineItemEntity {
 
+    /**
+     * Pooled sequence rather than IDENTITY: Hibernate hands out ids from an allocated block without a round-trip
+     * per row, which is what lets inserts go out as JDBC batches. The allocation size is the sequence increment.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "physical_line_item_seq")
+    @SequenceGenerator(name = "physical_line_item_seq", sequenceName = "physical_line_item_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -79,6 +93,42 @@ public class PhysicalLineItemEntity {
         return entity;
     }
 
+    public static PhysicalLineItemEntity fromSchedule(PhysicalLineItemSchedule schedule, int index, PhysicalTradeEntity trade) {
+        PhysicalLineItemEntity entity = new PhysicalLineItemEntity();
+        entity.setTrade(trade);
+        entity.copyFrom(schedule, index);
+        return entity;
+    }
+
+    /**
+     * Overwrites the period and volume columns with one slot of the schedule, keeping the identity of this row.
+     */
+    public void copyFrom(PhysicalLineItemSchedule schedule, int index) {
+        setPeriodStartDate(schedule.getPeriodStartDate(index));
+        setPeriodStartTime(schedule.getPeriodStartTime(index));
+        setPeriodEndDate(schedule.getPeriodEndDate(index));
+        setPeriodEndTime(schedule.getPeriodEndTime(index));
+        setDayHour(schedule.getDayHour(index));
+        setQuantity(schedule.getQuantity(index));
+        setUom(schedule.getUom(index));
+        setCapacity(schedule.getCapacity(index));
+        setProfile(schedule.getProfile(index));
+    }
+
+    public void appendTo(PhysicalLineItemSchedule schedule) {
+        schedule.add(
+                periodStartTime,
+                periodEndTime,
+                periodStartDate,
+                periodEndDate,
+                StringInterner.shared().intern(dayHour),
+                quantity,
+                StringInterner.shared().intern(uom),
+                capacity,
+                profile
+        );
+    }
+
     public PhysicalLineItemDto toDto() {
         return new PhysicalLineItemDto(
                 periodStartDate,
@@ -1,6 +1,11 @@
 package com.power.base.dao.rdbms.jpa.persistence.physical;
 
+import com.power.base.dao.rdbms.jpa.persistence.TradeCacheRegions;
+import com.power.base.datamodel.intern.StringInterner;
+import com.power.base.datamodel.dto.physicals.LineItemRefs;
 import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemRecord;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
@@ -11,7 +16,10 @@ import jakarta.persistence.Id;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -19,11 +27,16 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TradeCacheRegions.PHYSICAL_SETTLEMENT_ITEM)
 @Table(name = "physical_settlement_items")
 public class PhysicalSettlementItemEntity {
 
+    private static final int MAX_ENCODED_RANGES = 2048;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "physical_settlement_item_seq")
+    @SequenceGenerator(name = "physical_settlement_item_seq", sequenceName = "physical_settlement_item_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -33,6 +46,14 @@ public class PhysicalSettlementItemEntity {
     @Column(name = "settlement_id", nullable = false)
     private String settlementId;
 
+    /**
+     * Index ranges of the referenced line items in {@link LineItemRefs#encode()} form. When set, the line refs
+     * collection stays empty; it is only used for free-form references and for rows written before this column.
+     */
+    @Column(name = "line_item_ranges", length = MAX_ENCODED_RANGES)
+    private String lineItemRanges;
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TradeCacheRegions.PHYSICAL_SETTLEMENT_LINE_REFS)
     @ElementCollection
     @CollectionTable(name = "physical_settlement_line_refs", joinColumns = @JoinColumn(name = "settlement_item_id"))
     @Column(name = "line_item_ref")
@@ -80,44 +101,91 @@ public class PhysicalSettlementItemEntity {
     public static PhysicalSettlementItemEntity fromDto(PhysicalSettlementItemDto dto, PhysicalTradeEntity trade) {
         PhysicalSettlementItemEntity entity = new PhysicalSettlementItemEntity();
         entity.setTrade(trade);
-        entity.setSettlementId(dto.getSettlementId());
-        entity.setReferencedLineItems(dto.getReferencedLineItems() == null
-                ? new ArrayList<>()
-                : new ArrayList<>(dto.getReferencedLineItems()));
-        entity.setDeliveryDate(dto.getDeliveryDate());
-        entity.setActualQuantity(dto.getActualQuantity());
-        entity.setUom(dto.getUom());
-        entity.setSettlementPrice(dto.getSettlementPrice());
-        entity.setTradePrice(dto.getTradePrice());
-        entity.setSettlementUom(dto.getSettlementUom());
-        entity.setDeviationAmount(dto.getDeviationAmount());
-        entity.setDeviationPenalty(dto.getDeviationPenalty());
-        entity.setPeriodCashflow(dto.getPeriodCashflow());
-        entity.setSettlementCurrency(dto.getSettlementCurrency());
-        entity.setTradeCurrency(dto.getTradeCurrency());
-        entity.setTradeUom(dto.getTradeUom());
-        entity.setInvoiceStatus(dto.getInvoiceStatus());
+        entity.copyFrom(dto);
         return entity;
     }
 
+    /**
+     * Overwrites every column and the line references with the DTO values, keeping the identity of this row.
+     */
+    public void copyFrom(PhysicalSettlementItemDto dto) {
+        setSettlementId(dto.getSettlementId());
+        LineItemRefs refs = dto.lineItemRefs();
+        String encoded = refs == null ? null : refs.encode();
+        if (encoded != null && encoded.length() <= MAX_ENCODED_RANGES) {
+            lineItemRanges = encoded;
+            referencedLineItems.clear();
+        } else {
+            lineItemRanges = null;
+            List<String> labels = dto.getReferencedLineItems();
+            if (!referencedLineItems.equals(labels)) {
+                referencedLineItems.clear();
+                referencedLineItems.addAll(labels);
+            }
+        }
+        setDeliveryDate(dto.getDeliveryDate());
+        setActualQuantity(dto.getActualQuantity());
+        setUom(dto.getUom());
+        setSettlementPrice(dto.getSettlementPrice());
+        setTradePrice(dto.getTradePrice());
+        setSettlementUom(dto.getSettlementUom());
+        setDeviationAmount(dto.getDeviationAmount());
+        setDeviationPenalty(dto.getDeviationPenalty());
+        setPeriodCashflow(dto.getPeriodCashflow());
+        setSettlementCurrency(dto.getSettlementCurrency());
+        setTradeCurrency(dto.getTradeCurrency());
+        setTradeUom(dto.getTradeUom());
+        setInvoiceStatus(dto.getInvoiceStatus());
+    }
+
     public PhysicalSettlementItemDto toDto() {
-        return new PhysicalSettlementItemDto(
+        PhysicalSettlementItemDto dto = new PhysicalSettlementItemDto(
                 settlementId,
-                new ArrayList<>(referencedLineItems),
+                null,
                 deliveryDate,
                 actualQuantity,
-                uom,
+                intern(uom),
                 settlementPrice,
                 tradePrice,
-                settlementUom,
-                tradeUom,
+                intern(settlementUom),
+                intern(tradeUom),
                 deviationAmount,
                 deviationPenalty,
                 periodCashflow,
-                settlementCurrency,
-                tradeCurrency,
-                invoiceStatus
+                intern(settlementCurrency),
+                intern(tradeCurrency),
+                intern(invoiceStatus)
         );
+        if (lineItemRanges != null) {
+            dto.setLineItemRefs(LineItemRefs.parse(lineItemRanges));
+        } else {
+            dto.setReferencedLineItems(new ArrayList<>(referencedLineItems));
+        }
+        return dto;
+    }
+
+    public PhysicalSettlementItemRecord toRecord() {
+        return new PhysicalSettlementItemRecord(
+                settlementId,
+                lineItemRanges != null ? LineItemRefs.parse(lineItemRanges).labels() : referencedLineItems,
+                deliveryDate,
+                actualQuantity,
+                intern(uom),
+                settlementPrice,
+                tradePrice,
+                intern(settlementUom),
+                intern(tradeUom),
+                deviationAmount,
+                deviationPenalty,
+                periodCashflow,
+                intern(settlementCurrency),
+                intern(tradeCurrency),
+                intern(invoiceStatus)
+        );
+    }
+
+    private static String intern(String value) {
+        return StringInterner.shared().intern(value);
     }
 
     public Long getId() {
@@ -140,6 +208,14 @@ public class PhysicalSettlementItemEntity {
         this.settlementId = settlementId;
     }
 
+    public String getLineItemRanges() {
+        return lineItemRanges;
+    }
+
+    public void setLineItemRanges(String lineItemRanges) {
+        this.lineItemRanges = lineItemRanges;
+    }
+
     public List<String> getReferencedLineItems() {
         return referencedLineItems;
     }
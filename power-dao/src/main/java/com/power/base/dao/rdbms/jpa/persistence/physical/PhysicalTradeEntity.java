@@ -1,32 +1,70 @@
 package com.power.base.dao.rdbms.jpa.persistence.physical;
 
+import com.power.base.dao.rdbms.jpa.persistence.TradeCacheRegions;
+import com.power.base.datamodel.diff.PhysicalTradeChangeSet;
+import com.power.base.datamodel.dto.common.PartyRecord;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
 import com.power.base.datamodel.dto.physicals.PhysicalMetadataDto;
+import com.power.base.datamodel.dto.physicals.PhysicalMetadataRecord;
 import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeRecord;
 import com.power.base.datamodel.dto.physicals.PhysicalSettlementInfoDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementInfoRecord;
 import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemRecord;
 import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsRecord;
 import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderRecord;
+import com.power.base.datamodel.intern.StringInterner;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.type.descriptor.java.Immutability;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "physical_trades")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TradeCacheRegions.PHYSICAL_TRADE)
+@Table(name = "physical_trades",
+        indexes = {
+                @Index(name = "idx_physical_trades_trade_date_id", columnList = "trade_date, trade_id"),
+                @Index(name = "idx_physical_trades_trade_time", columnList = "trade_time")
+        })
 public class PhysicalTradeEntity {
 
+    private static final int MAX_PACKED_SCHEDULE_BYTES = 16 * 1024 * 1024;
+
     @Id
     @Column(name = "trade_id", nullable = false, updatable = false, length = 64)
     private String tradeId;
 
+    /**
+     * Optimistic lock; the native upsert in the DAO bumps it in the same statement that writes the header.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Embedded
     private PhysicalTradeHeaderEmbeddable header;
 
@@ -51,9 +89,27 @@ public class PhysicalTradeEntity {
     @Column(name = "trade_price")
     private Double tradePrice;
 
+    /**
+     * Sum of the line item quantities, kept in step with the schedule on every write so summary searches need not
+     * read the line items.
+     */
+    @Column(name = "total_quantity")
+    private Double totalQuantity;
+
+    /**
+     * The schedule of a trade stored as {@link ScheduleStorage#PACKED}; the line items are then empty. Replaced on
+     * every amendment and never modified in place.
+     */
+    @Convert(converter = PackedScheduleConverter.class)
+    @Mutability(Immutability.class)
+    @Column(name = "line_item_schedule", length = MAX_PACKED_SCHEDULE_BYTES)
+    private PhysicalLineItemSchedule packedSchedule;
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TradeCacheRegions.PHYSICAL_TRADE_LINE_ITEMS)
     @OneToMany(mappedBy = "trade", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<PhysicalLineItemEntity> lineItems = new ArrayList<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TradeCacheRegions.PHYSICAL_TRADE_SETTLEMENT_ITEMS)
     @OneToMany(mappedBy = "trade", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<PhysicalSettlementItemEntity> settlementItems = new ArrayList<>();
 
@@ -61,31 +117,14 @@ public class PhysicalTradeEntity {
         PhysicalTradeEntity entity = new PhysicalTradeEntity();
         entity.tradeId = dto.getTradeHeader().getTradeId();
 
-        entity.header = toHeaderEmbeddable(dto.getTradeHeader());
-        entity.metadata = toMetadataEmbeddable(dto.getMetadata());
-        if (dto.getSettlementInfo() != null) {
-            var settlementInfo = dto.getSettlementInfo();
-            entity.settlementCurrency = settlementInfo.getSettlementCurrency();
-            entity.tradeCurrency = settlementInfo.getTradeCurrency();
-            entity.settlementUom = settlementInfo.getSettlementUom();
-            entity.tradeUom = settlementInfo.getTradeUom();
-            entity.settlementPrice = settlementInfo.getSettlementPrice();
-            entity.tradePrice = settlementInfo.getTradePrice();
-        } else {
-            entity.settlementCurrency = null;
-            entity.tradeCurrency = null;
-            entity.settlementUom = null;
-            entity.tradeUom = null;
-            entity.settlementPrice = null;
-            entity.tradePrice = null;
-        }
+        entity.copyScalarsFrom(dto);
 
         entity.lineItems.clear();
-        if (dto.getTradeDetails() != null && dto.getTradeDetails().getLineItems() != null) {
-            dto.getTradeDetails().getLineItems().forEach(lineItemDto -> {
-                PhysicalLineItemEntity line = PhysicalLineItemEntity.fromDto(lineItemDto, entity);
-                entity.lineItems.add(line);
-            });
+        if (dto.getTradeDetails() != null) {
+            PhysicalLineItemSchedule schedule = dto.getTradeDetails().schedule();
+            for (int i = 0; i < schedule.size(); i++) {
+                entity.lineItems.add(PhysicalLineItemEntity.fromSchedule(schedule, i, entity));
+            }
         }
 
         entity.settlementItems.clear();
@@ -99,11 +138,108 @@ public class PhysicalTradeEntity {
         return entity;
     }
 
+    /**
+     * Moves the line items into the packed schedule column, so the trade is written as a single row. Does nothing if
+     * the trade is packed already.
+     */
+    public void packSchedule() {
+        if (packedSchedule == null) {
+            packedSchedule = lineItemSchedule();
+            lineItems.clear();
+        }
+    }
+
+    /**
+     * Rows this trade writes: its own, one per line and settlement item and one per free-form line reference.
+     */
+    public long rowCount() {
+        long rows = 1L + lineItems.size() + settlementItems.size();
+        for (PhysicalSettlementItemEntity item : settlementItems) {
+            rows += item.getReferencedLineItems().size();
+        }
+        return rows;
+    }
+
+    /**
+     * Brings this managed entity in line with an amended trade by touching only the children named in the change set:
+     * unchanged line and settlement items keep their rows, updated ones are overwritten in place, deleted ones are
+     * dropped through orphan removal and inserted ones are added. A packed schedule is replaced as a whole. The change
+     * set must have been computed against {@link #toDto()} of this entity and must not require a full rewrite.
+     */
+    public void applyChanges(PhysicalPowerTradeDto dto, PhysicalTradeChangeSet changes) {
+        if (changes.requiresFullRewrite()) {
+            throw new IllegalArgumentException("Change set requires a full rewrite of trade " + tradeId);
+        }
+        copyScalarsFrom(dto);
+
+        PhysicalLineItemSchedule schedule = dto.getTradeDetails() == null
+                ? new PhysicalLineItemSchedule(0)
+                : dto.getTradeDetails().schedule();
+        if (packedSchedule == null) {
+            applyLineItemChanges(schedule, changes);
+        } else if (changes.getInsertedLineItems().length + changes.getUpdatedLineItems().length
+                + changes.getDeletedLineItems().length > 0) {
+            packedSchedule = schedule.copy();
+        }
+
+        Map<String, PhysicalSettlementItemEntity> storedSettlements = new HashMap<>();
+        settlementItems.forEach(item -> storedSettlements.put(item.getSettlementId(), item));
+        changes.getUpdatedSettlementItems()
+                .forEach(itemDto -> storedSettlements.get(itemDto.getSettlementId()).copyFrom(itemDto));
+        changes.getDeletedSettlementIds()
+                .forEach(settlementId -> settlementItems.remove(storedSettlements.get(settlementId)));
+        changes.getInsertedSettlementItems()
+                .forEach(itemDto -> settlementItems.add(PhysicalSettlementItemEntity.fromDto(itemDto, this)));
+    }
+
+    private void applyLineItemChanges(PhysicalLineItemSchedule schedule, PhysicalTradeChangeSet changes) {
+        boolean[] updated = new boolean[schedule.size()];
+        for (int index : changes.getUpdatedLineItems()) {
+            updated[index] = true;
+        }
+        List<PhysicalLineItemEntity> amendedLineItems = new ArrayList<>(schedule.size());
+        for (int i = 0; i < schedule.size(); i++) {
+            int storedIndex = changes.getStoredIndex(i);
+            if (storedIndex < 0) {
+                amendedLineItems.add(PhysicalLineItemEntity.fromSchedule(schedule, i, this));
+            } else {
+                PhysicalLineItemEntity lineItem = lineItems.get(storedIndex);
+                if (updated[i]) {
+                    lineItem.copyFrom(schedule, i);
+                }
+                amendedLineItems.add(lineItem);
+            }
+        }
+        lineItems.clear();
+        lineItems.addAll(amendedLineItems);
+    }
+
+    private void copyScalarsFrom(PhysicalPowerTradeDto dto) {
+        header = toHeaderEmbeddable(dto.getTradeHeader());
+        metadata = toMetadataEmbeddable(dto.getMetadata());
+        totalQuantity = dto.getTradeDetails() == null ? 0d : dto.getTradeDetails().schedule().totalQuantity();
+        PhysicalSettlementInfoDto settlementInfo = dto.getSettlementInfo();
+        if (settlementInfo != null) {
+            settlementCurrency = settlementInfo.getSettlementCurrency();
+            tradeCurrency = settlementInfo.getTradeCurrency();
+            settlementUom = settlementInfo.getSettlementUom();
+            tradeUom = settlementInfo.getTradeUom();
+            settlementPrice = settlementInfo.getSettlementPrice();
+            tradePrice = settlementInfo.getTradePrice();
+        } else {
+            settlementCurrency = null;
+            tradeCurrency = null;
+            settlementUom = null;
+            tradeUom = null;
+            settlementPrice = null;
+            tradePrice = null;
+        }
+    }
+
     public PhysicalPowerTradeDto toDto() {
         PhysicalTradeHeaderDto headerDto = toHeaderDto(header, tradeId);
         PhysicalTradeDetailsDto detailsDto = new PhysicalTradeDetailsDto(
-                lineItems.stream().map(PhysicalLineItemEntity::toDto).collect(Collectors.toList())
-        );
+                packedSchedule == null ? lineItemSchedule() : packedSchedule.copy());
 
         List<PhysicalSettlementItemDto> settlementItemDtos = settlementItems.stream()
                 .map(PhysicalSettlementItemEntity::toDto)
@@ -115,10 +251,10 @@ public class PhysicalTradeEntity {
                 null,
                 settlementPrice == null ? 0d : settlementPrice,
                 tradePrice == null ? 0d : tradePrice,
-                settlementCurrency,
-                tradeCurrency,
-                settlementUom,
-                tradeUom,
+                intern(settlementCurrency),
+                intern(tradeCurrency),
+                intern(settlementUom),
+                intern(tradeUom),
                 null,
                 null,
                 null,
@@ -143,6 +279,45 @@ public class PhysicalTradeEntity {
         );
     }
 
+    private PhysicalLineItemSchedule lineItemSchedule() {
+        PhysicalLineItemSchedule schedule = new PhysicalLineItemSchedule(lineItems.size());
+        lineItems.forEach(lineItem -> lineItem.appendTo(schedule));
+        return schedule;
+    }
+
+    /**
+     * Immutable variant of {@link #toDto()}; the line items stay columnar behind the details record.
+     */
+    public PhysicalPowerTradeRecord toRecord() {
+        PhysicalTradeDetailsRecord detailsRecord = PhysicalTradeDetailsRecord.of(
+                packedSchedule == null ? lineItemSchedule() : packedSchedule);
+        List<PhysicalSettlementItemRecord> settlementItemRecords = settlementItems.stream()
+                .map(PhysicalSettlementItemEntity::toRecord)
+                .collect(Collectors.toUnmodifiableList());
+
+        PhysicalSettlementInfoRecord settlementInfoRecord = PhysicalSettlementInfoRecord.builder()
+                .totalVolume(settlementItemRecords.stream().mapToDouble(PhysicalSettlementItemRecord::actualQuantity).sum())
+                .settlementPrice(settlementPrice == null ? 0d : settlementPrice)
+                .tradePrice(tradePrice == null ? 0d : tradePrice)
+                .settlementCurrency(intern(settlementCurrency))
+                .tradeCurrency(intern(tradeCurrency))
+                .settlementUom(intern(settlementUom))
+                .tradeUom(intern(tradeUom))
+                .settlementItems(settlementItemRecords)
+                .build();
+        PhysicalMetadataRecord metadataRecord = metadata == null
+                ? new PhysicalMetadataRecord(null, null, null)
+                : new PhysicalMetadataRecord(metadata.getEffectiveDate(), metadata.getTerminationDate(),
+                        metadata.getGoverningLaw());
+
+        return new PhysicalPowerTradeRecord(
+                toHeaderRecord(header, tradeId),
+                detailsRecord,
+                settlementInfoRecord,
+                metadataRecord
+        );
+    }
+
     private static PhysicalTradeHeaderEmbeddable toHeaderEmbeddable(PhysicalTradeHeaderDto headerDto) {
         PhysicalTradeHeaderEmbeddable headerEmbeddable = new PhysicalTradeHeaderEmbeddable();
         headerEmbeddable.setTenantId(headerDto.getTenantId());
@@ -192,39 +367,74 @@ public class PhysicalTradeEntity {
     private static PhysicalTradeHeaderDto toHeaderDto(PhysicalTradeHeaderEmbeddable header, String tradeId) {
         PhysicalTradeHeaderDto dto = new PhysicalTradeHeaderDto();
         dto.setTradeId(tradeId);
-        dto.setTenantId(header.getTenantId());
+        dto.setTenantId(intern(header.getTenantId()));
         dto.setTradeDate(header.getTradeDate());
         dto.setTradeTime(header.getTradeTime());
         dto.setDocumentType(header.getDocumentType());
-        dto.setDocumentVersion(header.getDocumentVersion());
+        dto.setDocumentVersion(intern(header.getDocumentVersion()));
         if (header.getBuyerParty() != null) {
             dto.setBuyerParty(new com.power.base.datamodel.dto.common.PartyDto(
-                    header.getBuyerParty().getId(),
-                    header.getBuyerParty().getName(),
-                    header.getBuyerParty().getRole()
+                    intern(header.getBuyerParty().getId()),
+                    intern(header.getBuyerParty().getName()),
+                    intern(header.getBuyerParty().getRole())
             ));
         }
         if (header.getSellerParty() != null) {
             dto.setSellerParty(new com.power.base.datamodel.dto.common.PartyDto(
-                    header.getSellerParty().getId(),
-                    header.getSellerParty().getName(),
-                    header.getSellerParty().getRole()
+                    intern(header.getSellerParty().getId()),
+                    intern(header.getSellerParty().getName()),
+                    intern(header.getSellerParty().getRole())
             ));
         }
-        dto.setBusinessUnit(header.getBusinessUnit());
-        dto.setBookStrategy(header.getBookStrategy());
-        dto.setTraderName(header.getTraderName());
+        dto.setBusinessUnit(intern(header.getBusinessUnit()));
+        dto.setBookStrategy(intern(header.getBookStrategy()));
+        dto.setTraderName(intern(header.getTraderName()));
         dto.setAgreementId(header.getAgreementId());
-        dto.setMarket(header.getMarket());
-        dto.setCommodity(header.getCommodity());
-        dto.setTransactionType(header.getTransactionType());
-        dto.setDeliveryPoint(header.getDeliveryPoint());
-        dto.setLoadType(header.getLoadType());
+        dto.setMarket(intern(header.getMarket()));
+        dto.setCommodity(intern(header.getCommodity()));
+        dto.setTransactionType(intern(header.getTransactionType()));
+        dto.setDeliveryPoint(intern(header.getDeliveryPoint()));
+        dto.setLoadType(intern(header.getLoadType()));
         dto.setBuySellIndicator(header.getBuySellIndicator());
         dto.setAmendmentIndicator(header.isAmendmentIndicator());
         return dto;
     }
 
+    private static PhysicalTradeHeaderRecord toHeaderRecord(PhysicalTradeHeaderEmbeddable header, String tradeId) {
+        return PhysicalTradeHeaderRecord.builder()
+                .tradeId(tradeId)
+                .tenantId(intern(header.getTenantId()))
+                .tradeDate(header.getTradeDate())
+                .tradeTime(header.getTradeTime())
+                .documentType(header.getDocumentType())
+                .documentVersion(intern(header.getDocumentVersion()))
+                .buyerParty(toPartyRecord(header.getBuyerParty()))
+                .sellerParty(toPartyRecord(header.getSellerParty()))
+                .businessUnit(intern(header.getBusinessUnit()))
+                .bookStrategy(intern(header.getBookStrategy()))
+                .traderName(intern(header.getTraderName()))
+                .agreementId(header.getAgreementId())
+                .market(intern(header.getMarket()))
+                .commodity(intern(header.getCommodity()))
+                .transactionType(intern(header.getTransactionType()))
+                .deliveryPoint(intern(header.getDeliveryPoint()))
+                .loadType(intern(header.getLoadType()))
+                .buySellIndicator(header.getBuySellIndicator())
+                .amendmentIndicator(header.isAmendmentIndicator())
+                .build();
+    }
+
+    private static PartyRecord toPartyRecord(PhysicalPartyEmbeddable party) {
+        if (party == null) {
+            return null;
+        }
+        return new PartyRecord(intern(party.getId()), intern(party.getName()), intern(party.getRole()));
+    }
+
+    private static String intern(String value) {
+        return StringInterner.shared().intern(value);
+    }
+
     private static double settlementInfoDtosTotalVolume(List<PhysicalSettlementItemDto> items) {
         return items.stream().mapToDouble(PhysicalSettlementItemDto::getActualQuantity).sum();
     }
@@ -233,6 +443,14 @@ public class PhysicalTradeEntity {
         return tradeId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public PhysicalTradeHeaderEmbeddable getHeader() {
         return header;
     }
@@ -257,6 +475,14 @@ public class PhysicalTradeEntity {
         this.lineItems = lineItems;
     }
 
+    public PhysicalLineItemSchedule getPackedSchedule() {
+        return packedSchedule;
+    }
+
+    public void setPackedSchedule(PhysicalLineItemSchedule packedSchedule) {
+        this.packedSchedule = packedSchedule;
+    }
+
     public List<PhysicalSettlementItemEntity> getSettlementItems() {
         return settlementItems;
     }
@@ -312,5 +538,12 @@ public class PhysicalTradeEntity {
     public void setTradePrice(Double tradePrice) {
         this.tradePrice = tradePrice;
     }
-}
 
+    public Double getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(Double totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+}
@@ -0,0 +1,18 @@
+package com.power.base.dao.rdbms.jpa.persistence.physical;
+
+/**
+ * How the line item schedule of a physical trade is written.
+ */
+public enum ScheduleStorage {
+
+    /**
+     * One {@code physical_trade_line_items} row per line item.
+     */
+    ROWS,
+
+    /**
+     * The whole schedule compressed into the {@code line_item_schedule} column of the trade row. Suited to long
+     * intraday schedules that are always read and written as a whole.
+     */
+    PACKED
+}
@@ -1,6 +1,9 @@
 package com.power.base.dao.rdbms.jpa.persistence.swap;
 
+import com.power.base.dao.rdbms.jpa.persistence.TradeCacheRegions;
 import com.power.base.datamodel.dto.financials.SwapPeriodDto;
+import com.power.base.datamodel.dto.financials.SwapPeriodRecord;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -9,17 +12,23 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TradeCacheRegions.SWAP_PERIOD)
 @Table(name = "swap_periods")
 public class SwapPeriodEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "swap_period_seq")
+    @SequenceGenerator(name = "swap_period_seq", sequenceName = "swap_period_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -82,6 +91,20 @@ public class SwapPeriodEntity {
         );
     }
 
+    public SwapPeriodRecord toRecord() {
+        return new SwapPeriodRecord(
+                notionalQuantity,
+                notionalUom,
+                termStartDate,
+                termStartTime,
+                termEndDate,
+                termEndTime,
+                periodFrequency,
+                fixingIndex,
+                loadShape
+        );
+    }
+
     public Long getId() {
         return id;
     }
@@ -1,31 +1,52 @@
 package com.power.base.dao.rdbms.jpa.persistence.swap;
 
+import com.power.base.dao.rdbms.jpa.persistence.TradeCacheRegions;
+import com.power.base.datamodel.dto.common.PartyRecord;
 import com.power.base.datamodel.dto.financials.SwapMetadataDto;
+import com.power.base.datamodel.dto.financials.SwapMetadataRecord;
 import com.power.base.datamodel.dto.financials.SwapPowerTradeDto;
+import com.power.base.datamodel.dto.financials.SwapPowerTradeRecord;
 import com.power.base.datamodel.dto.financials.SwapSettlementInfoDto;
+import com.power.base.datamodel.dto.financials.SwapSettlementInfoRecord;
 import com.power.base.datamodel.dto.financials.SwapTradeDetailsDto;
+import com.power.base.datamodel.dto.financials.SwapTradeDetailsRecord;
 import com.power.base.datamodel.dto.financials.SwapTradeHeaderDto;
+import com.power.base.datamodel.dto.financials.SwapTradeHeaderRecord;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "swap_trades")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TradeCacheRegions.SWAP_TRADE)
+@Table(name = "swap_trades",
+        indexes = @Index(name = "idx_swap_trades_trade_date_id", columnList = "trade_date, trade_id"))
 public class SwapTradeEntity {
 
     @Id
     @Column(name = "trade_id", nullable = false, updatable = false, length = 64)
     private String tradeId;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Embedded
     private SwapTradeHeaderEmbeddable header;
 
@@ -35,6 +56,7 @@ public class SwapTradeEntity {
     @Embedded
     private SwapMetadataEmbeddable metadata;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TradeCacheRegions.SWAP_TRADE_PERIODS)
     @OneToMany(mappedBy = "trade", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<SwapPeriodEntity> periods = new ArrayList<>();
 
@@ -71,6 +93,19 @@ public class SwapTradeEntity {
         );
     }
 
+    public SwapPowerTradeRecord toRecord() {
+        SwapTradeDetailsRecord detailsRecord = new SwapTradeDetailsRecord(
+                periods.stream().map(SwapPeriodEntity::toRecord).collect(Collectors.toUnmodifiableList())
+        );
+
+        return new SwapPowerTradeRecord(
+                toHeaderRecord(header, tradeId),
+                detailsRecord,
+                toSettlementRecord(settlementInfo),
+                toMetadataRecord(metadata)
+        );
+    }
+
     private static SwapTradeHeaderEmbeddable toHeaderEmbeddable(SwapTradeHeaderDto dto) {
         SwapTradeHeaderEmbeddable header = new SwapTradeHeaderEmbeddable();
         header.setTenantId(dto.getTenantId());
@@ -179,6 +214,75 @@ public class SwapTradeEntity {
         return dto;
     }
 
+    private static SwapTradeHeaderRecord toHeaderRecord(SwapTradeHeaderEmbeddable header, String tradeId) {
+        return SwapTradeHeaderRecord.builder()
+                .tradeId(tradeId)
+                .tenantId(header.getTenantId())
+                .tradeDate(header.getTradeDate())
+                .tradeTime(header.getTradeTime())
+                .documentType(header.getDocumentType())
+                .documentVersion(header.getDocumentVersion())
+                .buyerParty(toPartyRecord(header.getBuyerParty()))
+                .sellerParty(toPartyRecord(header.getSellerParty()))
+                .businessUnit(header.getBusinessUnit())
+                .bookStrategy(header.getBookStrategy())
+                .traderName(header.getTraderName())
+                .agreementId(header.getAgreementId())
+                .market(header.getMarket())
+                .commodity(header.getCommodity())
+                .transactionType(header.getTransactionType())
+                .referenceZone(header.getReferenceZone())
+                .buySellIndicator(header.getBuySellIndicator())
+                .amendmentIndicator(header.isAmendmentIndicator())
+                .build();
+    }
+
+    private static PartyRecord toPartyRecord(SwapPartyEmbeddable party) {
+        if (party == null) {
+            return null;
+        }
+        return new PartyRecord(party.getId(), party.getName(), party.getRole());
+    }
+
+    private static SwapSettlementInfoRecord toSettlementRecord(SwapSettlementInfoEmbeddable embeddable) {
+        if (embeddable == null) {
+            return SwapSettlementInfoRecord.builder().build();
+        }
+        return SwapSettlementInfoRecord.builder()
+                .totalNotional(embeddable.getTotalNotional())
+                .totalNotionalUom(embeddable.getTotalNotionalUom())
+                .pricingMechanism(embeddable.getPricingMechanism())
+                .fixedPrice(embeddable.getFixedPrice())
+                .spread(embeddable.getSpread())
+                .settlementCurrency(embeddable.getSettlementCurrency())
+                .tradeCurrency(embeddable.getTradeCurrency())
+                .settlementUom(embeddable.getSettlementUom())
+                .tradeUom(embeddable.getTradeUom())
+                .settlementType(embeddable.getSettlementType())
+                .settlementDate(embeddable.getSettlementDate())
+                .startApplicabilityDate(embeddable.getStartApplicabilityDate())
+                .startApplicabilityTime(embeddable.getStartApplicabilityTime())
+                .endApplicabilityDate(embeddable.getEndApplicabilityDate())
+                .endApplicabilityTime(embeddable.getEndApplicabilityTime())
+                .paymentOffset(embeddable.getPaymentOffset())
+                .totalExpectedValue(embeddable.getTotalExpectedValue())
+                .rounding(embeddable.getRounding())
+                .build();
+    }
+
+    private static SwapMetadataRecord toMetadataRecord(SwapMetadataEmbeddable embeddable) {
+        if (embeddable == null) {
+            return new SwapMetadataRecord(null, null, null, false, null);
+        }
+        return new SwapMetadataRecord(
+                embeddable.getEffectiveDate(),
+                embeddable.getTerminationDate(),
+                embeddable.getGoverningLaw(),
+                embeddable.isClearable(),
+                embeddable.getUti()
+        );
+    }
+
     private static SwapSettlementInfoDto toSettlementDto(SwapSettlementInfoEmbeddable embeddable) {
         if (embeddable == null) {
             return new SwapSettlementInfoDto();
@@ -222,6 +326,14 @@ public class SwapTradeEntity {
         return tradeId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public SwapTradeHeaderEmbeddable getHeader() {
         return header;
     }
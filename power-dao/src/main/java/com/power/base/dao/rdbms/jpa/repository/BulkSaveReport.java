@@ -0,0 +1,21 @@
+package com.power.base.dao.rdbms.jpa.repository;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a bulk save: how many trades and table rows (trade, child and collection rows) were written, and how
+ * long it took including the final flush.
+ */
+public record BulkSaveReport(int trades, long rows, int flushes, Duration elapsed) {
+
+    public double rowsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0d : rows * 1_000_000_000d / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d trades, %d rows in %d ms over %d flushes (%.0f rows/s)",
+                trades, rows, elapsed.toMillis(), flushes, rowsPerSecond());
+    }
+}
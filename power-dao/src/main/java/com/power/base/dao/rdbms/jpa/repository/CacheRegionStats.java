@@ -0,0 +1,19 @@
+package com.power.base.dao.rdbms.jpa.repository;
+
+/**
+ * Counters of one second-level cache region since the statistics were last cleared. They only move while
+ * {@code hibernate.generate_statistics} is on; {@code elementCount} is -1 when the provider does not report it.
+ */
+public record CacheRegionStats(String region, long hitCount, long missCount, long putCount, long elementCount) {
+
+    public double hitRatio() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0d : (double) hitCount / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d hits, %d misses, %d puts, %d entries (%.0f%% hit ratio)",
+                region, hitCount, missCount, putCount, elementCount, hitRatio() * 100);
+    }
+}
@@ -0,0 +1,187 @@
+package com.power.base.dao.rdbms.jpa.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.Generator;
+import org.hibernate.metamodel.mapping.AttributeMapping;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.metamodel.mapping.ModelPart;
+import org.hibernate.metamodel.mapping.SelectableMapping;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.java.JavaType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Column layout of a table written by {@link TableCopy}, and the rows of its entities in that layout. The layout of an
+ * entity table is read from the Hibernate mapping, so it follows the entity without a column list to keep in step;
+ * values come out as the plain Java type of their column: {@link Long}, {@link Integer}, {@link Short},
+ * {@link Double}, {@link Float}, {@link Boolean}, {@link String}, {@link LocalDate}, {@link LocalTime},
+ * {@link LocalDateTime}, {@link Instant} or {@code byte[]}.
+ */
+public final class CopyTable {
+
+    /**
+     * A column and its {@link SqlTypes} code.
+     */
+    public record Column(String name, int sqlType) {
+
+        public Column {
+            javaType(name, sqlType);
+        }
+    }
+
+    private final String name;
+    private final List<Column> columns;
+    private final EntityPersister persister;
+    private final List<ModelPart> parts;
+
+    private CopyTable(String name, List<Column> columns, EntityPersister persister, List<ModelPart> parts) {
+        this.name = name;
+        this.columns = List.copyOf(columns);
+        this.persister = persister;
+        this.parts = parts;
+    }
+
+    /**
+     * The table of an entity: its identifier and every insertable column of its attributes; collections are left to
+     * tables of their own.
+     */
+    public static CopyTable of(EntityManagerFactory entityManagerFactory, Class<?> entityClass) {
+        EntityPersister persister = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+        List<ModelPart> parts = new ArrayList<>();
+        parts.add(persister.getIdentifierMapping());
+        persister.forEachAttributeMapping(attribute -> {
+            if (!attribute.isPluralAttributeMapping()) {
+                parts.add(attribute);
+            }
+        });
+        List<Column> columns = new ArrayList<>();
+        for (ModelPart part : parts) {
+            part.forEachSelectable((index, selectable) -> {
+                if (isWritten(selectable)) {
+                    columns.add(new Column(selectable.getSelectionExpression(), sqlType(selectable.getJdbcMapping())));
+                }
+            });
+        }
+        return new CopyTable(persister.getMappedTableDetails().getTableName(), columns, persister, parts);
+    }
+
+    /**
+     * A table without an entity, such as the table of an element collection; its rows are built by the caller.
+     */
+    public static CopyTable of(String name, Column... columns) {
+        return new CopyTable(name, List.of(columns), null, List.of());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public List<Column> columns() {
+        return columns;
+    }
+
+    public String columnList() {
+        return columns.stream().map(Column::name).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Gives the entity its identifier from the entity's own generator, so rows of child tables can refer to it before
+     * anything is written. Sequence generators hand out ids from the same pooled blocks as regular inserts.
+     */
+    public Object assignId(Object entity, SharedSessionContractImplementor session) {
+        Generator generator = requirePersister().getGenerator();
+        if (!(generator instanceof BeforeExecutionGenerator beforeExecution)) {
+            throw new IllegalStateException("Ids of " + name + " are generated by the database and cannot be assigned"
+                    + " up front");
+        }
+        Object id = beforeExecution.generate(session, entity, null, EventType.INSERT);
+        persister.setIdentifier(entity, id, session);
+        return id;
+    }
+
+    /**
+     * The values of the entity in {@link #columns()} order.
+     */
+    public Object[] row(Object entity, SharedSessionContractImplementor session) {
+        EntityPersister entityPersister = requirePersister();
+        Object[] row = new Object[columns.size()];
+        int[] column = {0};
+        for (ModelPart part : parts) {
+            Object value = part instanceof AttributeMapping attribute
+                    ? attribute.getValue(entity)
+                    : entityPersister.getIdentifier(entity, session);
+            part.decompose(value, 0, row, session, (index, values, options, jdbcValue, selectable) -> {
+                if (isWritten(selectable)) {
+                    values[column[0]++] = toColumnType(selectable, jdbcValue, options);
+                }
+            }, session);
+        }
+        return row;
+    }
+
+    static Class<?> javaType(String column, int sqlType) {
+        return switch (sqlType) {
+            case SqlTypes.BIGINT -> Long.class;
+            case SqlTypes.INTEGER -> Integer.class;
+            case SqlTypes.SMALLINT, SqlTypes.TINYINT -> Short.class;
+            case SqlTypes.DOUBLE, SqlTypes.FLOAT -> Double.class;
+            case SqlTypes.REAL -> Float.class;
+            case SqlTypes.BOOLEAN, SqlTypes.BIT -> Boolean.class;
+            case SqlTypes.CHAR, SqlTypes.VARCHAR, SqlTypes.LONGVARCHAR, SqlTypes.LONG32VARCHAR, SqlTypes.NCHAR,
+                 SqlTypes.NVARCHAR, SqlTypes.LONGNVARCHAR, SqlTypes.LONG32NVARCHAR, SqlTypes.ENUM,
+                 SqlTypes.NAMED_ENUM, SqlTypes.CLOB -> String.class;
+            case SqlTypes.DATE -> LocalDate.class;
+            case SqlTypes.TIME -> LocalTime.class;
+            case SqlTypes.TIMESTAMP -> LocalDateTime.class;
+            case SqlTypes.TIMESTAMP_UTC, SqlTypes.TIMESTAMP_WITH_TIMEZONE -> Instant.class;
+            case SqlTypes.BINARY, SqlTypes.VARBINARY, SqlTypes.LONGVARBINARY, SqlTypes.LONG32VARBINARY,
+                 SqlTypes.BLOB -> byte[].class;
+            default -> throw new IllegalArgumentException("Column " + column + " has SQL type " + sqlType
+                    + ", which cannot be copied");
+        };
+    }
+
+    private static boolean isWritten(SelectableMapping selectable) {
+        return selectable.isInsertable() && !selectable.isFormula();
+    }
+
+    private static int sqlType(JdbcMapping jdbcMapping) {
+        return jdbcMapping.getJdbcType().getDefaultSqlTypeCode();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object toColumnType(SelectableMapping selectable, Object jdbcValue,
+                                       SharedSessionContractImplementor session) {
+        if (jdbcValue == null) {
+            return null;
+        }
+        JdbcMapping jdbcMapping = selectable.getJdbcMapping();
+        Class<?> javaType = javaType(selectable.getSelectionExpression(), sqlType(jdbcMapping));
+        if (javaType.isInstance(jdbcValue)) {
+            return jdbcValue;
+        }
+        JavaType<Object> jdbcJavaType = (JavaType<Object>) jdbcMapping.getJdbcJavaType();
+        return jdbcJavaType.unwrap(jdbcValue, (Class<Object>) javaType, session);
+    }
+
+    private EntityPersister requirePersister() {
+        if (persister == null) {
+            throw new IllegalStateException("Table " + name + " is not mapped by an entity");
+        }
+        return persister;
+    }
+}
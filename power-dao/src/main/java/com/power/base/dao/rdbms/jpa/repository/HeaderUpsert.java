@@ -0,0 +1,189 @@
+package com.power.base.dao.rdbms.jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.BindableType;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Writes a trade header row with a single native statement: {@code INSERT ... ON CONFLICT} on PostgreSQL and
+ * {@code MERGE} on H2. An insert starts the row at version 0, an update bumps the version by one and, when an expected
+ * version is given, only happens if the stored row still carries it. The statement hands back the row's new version,
+ * so callers learn in the same round trip whether the row was inserted, updated or rejected.
+ */
+public final class HeaderUpsert {
+
+    public static final String VERSION_COLUMN = "version";
+
+    private static final Map<Class<?>, BindableType<?>> BINDABLE_TYPES = Map.ofEntries(
+            Map.entry(Long.class, StandardBasicTypes.LONG),
+            Map.entry(Integer.class, StandardBasicTypes.INTEGER),
+            Map.entry(Short.class, StandardBasicTypes.SHORT),
+            Map.entry(Double.class, StandardBasicTypes.DOUBLE),
+            Map.entry(Float.class, StandardBasicTypes.FLOAT),
+            Map.entry(Boolean.class, StandardBasicTypes.BOOLEAN),
+            Map.entry(String.class, StandardBasicTypes.STRING),
+            Map.entry(LocalDate.class, StandardBasicTypes.LOCAL_DATE),
+            Map.entry(LocalTime.class, StandardBasicTypes.LOCAL_TIME),
+            Map.entry(LocalDateTime.class, StandardBasicTypes.LOCAL_DATE_TIME),
+            Map.entry(Instant.class, StandardBasicTypes.INSTANT),
+            Map.entry(byte[].class, StandardBasicTypes.BINARY));
+
+    private final String table;
+    private String querySpace;
+    private final List<String> columns = new ArrayList<>();
+    private final List<BindableType<?>> types = new ArrayList<>();
+    private final List<Object> values = new ArrayList<>();
+
+    private HeaderUpsert(String table) {
+        this.table = table;
+        this.querySpace = table;
+    }
+
+    /**
+     * Starts an upsert of the row identified by {@code key}; the key column must carry a unique constraint.
+     */
+    public static <K> HeaderUpsert into(String table, String keyColumn, BindableType<K> keyType, K key) {
+        return new HeaderUpsert(table).set(keyColumn, keyType, key);
+    }
+
+    /**
+     * Starts an upsert of the row of {@code entity} with every column {@code table} reads from its mapping, keyed by
+     * the identifier; the version column is left to the upsert. A column added to the entity is written without a
+     * column list to keep in step.
+     */
+    public static HeaderUpsert of(CopyTable table, Object entity, SharedSessionContractImplementor session) {
+        Object[] row = table.row(entity, session);
+        HeaderUpsert upsert = new HeaderUpsert(table.name());
+        for (int i = 0; i < row.length; i++) {
+            CopyTable.Column column = table.columns().get(i);
+            if (!column.name().equals(VERSION_COLUMN)) {
+                upsert.columns.add(column.name());
+                upsert.types.add(BINDABLE_TYPES.get(CopyTable.javaType(column.name(), column.sqlType())));
+                upsert.values.add(row[i]);
+            }
+        }
+        return upsert;
+    }
+
+    /**
+     * Whether the database behind the entity manager has a native upsert this class can render.
+     */
+    public static boolean isSupported(EntityManager entityManager) {
+        Dialect dialect = dialect(entityManager);
+        return dialect instanceof PostgreSQLDialect || dialect instanceof H2Dialect;
+    }
+
+    /**
+     * Replaces the table as the query space the statement is synchronized on, e.g. with
+     * {@link TradeCache#CALLER_EVICTED_SPACE} when the caller evicts the affected cache entries itself.
+     */
+    public HeaderUpsert synchronizedOn(String querySpace) {
+        this.querySpace = querySpace;
+        return this;
+    }
+
+    public <T> HeaderUpsert set(String column, BindableType<T> type, T value) {
+        columns.add(column);
+        types.add(type);
+        values.add(value);
+        return this;
+    }
+
+    /**
+     * Runs the upsert and returns the row's new version, 0 when it was inserted. Returns empty when the row exists
+     * but its version differs from {@code expectedVersion}; a {@code null} expected version updates unconditionally.
+     */
+    public OptionalLong execute(EntityManager entityManager, Long expectedVersion) {
+        boolean postgres = dialect(entityManager) instanceof PostgreSQLDialect;
+        NativeQuery<?> query = entityManager
+                .createNativeQuery(postgres ? postgresSql(expectedVersion != null) : h2Sql(expectedVersion != null))
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(querySpace);
+        int position = 1;
+        if (postgres) {
+            position = bind(query, position, 0);
+        } else {
+            position = bindValue(query, position, 0);
+            if (expectedVersion != null) {
+                query.setParameter(position++, expectedVersion);
+            }
+            position = bind(query, position, 1);
+            position = bind(query, position, 0);
+        }
+        if (postgres && expectedVersion != null) {
+            query.setParameter(position, expectedVersion);
+        }
+        List<?> versions = query.getResultList();
+        return versions.isEmpty()
+                ? OptionalLong.empty()
+                : OptionalLong.of(((Number) versions.get(0)).longValue());
+    }
+
+    private String postgresSql(boolean guarded) {
+        StringBuilder sql = new StringBuilder("insert into ").append(table).append(" as t (");
+        sql.append(String.join(", ", columns)).append(", ").append(VERSION_COLUMN).append(") values (");
+        columns.forEach(column -> sql.append("?, "));
+        sql.append("0) on conflict (").append(columns.get(0)).append(") do update set ");
+        for (int i = 1; i < columns.size(); i++) {
+            sql.append(columns.get(i)).append(" = excluded.").append(columns.get(i)).append(", ");
+        }
+        sql.append(VERSION_COLUMN).append(" = t.").append(VERSION_COLUMN).append(" + 1");
+        if (guarded) {
+            sql.append(" where t.").append(VERSION_COLUMN).append(" = ?");
+        }
+        return sql.append(" returning ").append(VERSION_COLUMN).toString();
+    }
+
+    private String h2Sql(boolean guarded) {
+        StringBuilder sql = new StringBuilder("select ").append(VERSION_COLUMN).append(" from final table (merge into ")
+                .append(table).append(" t using (select 1) s on (t.").append(columns.get(0)).append(" = ?)")
+                .append(" when matched");
+        if (guarded) {
+            sql.append(" and t.").append(VERSION_COLUMN).append(" = ?");
+        }
+        sql.append(" then update set ");
+        for (int i = 1; i < columns.size(); i++) {
+            sql.append(columns.get(i)).append(" = ?, ");
+        }
+        sql.append(VERSION_COLUMN).append(" = t.").append(VERSION_COLUMN).append(" + 1");
+        sql.append(" when not matched then insert (").append(String.join(", ", columns)).append(", ")
+                .append(VERSION_COLUMN).append(") values (");
+        columns.forEach(column -> sql.append("?, "));
+        return sql.append("0))").toString();
+    }
+
+    private int bind(NativeQuery<?> query, int position, int fromColumn) {
+        for (int i = fromColumn; i < columns.size(); i++) {
+            position = bindValue(query, position, i);
+        }
+        return position;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int bindValue(NativeQuery<?> query, int position, int column) {
+        query.setParameter(position, values.get(column), (BindableType) types.get(column));
+        return position + 1;
+    }
+
+    private static Dialect dialect(EntityManager entityManager) {
+        return entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+    }
+}
@@ -0,0 +1,59 @@
+package com.power.base.dao.rdbms.jpa.repository;
+
+import org.hibernate.ScrollableResults;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Adapts a forward-only {@link ScrollableResults} to a sequential {@link Stream} that reads the rows in batches. Each
+ * batch is handed to {@code prepareBatch} before its first element is consumed, so children can be fetched for the
+ * whole batch at once, and every element is passed to {@code release} once the stream has consumed it, so the
+ * persistence context does not grow with the result. Closing the stream closes the scroll.
+ */
+public final class ScrollingStream {
+
+    private ScrollingStream() {
+    }
+
+    public static <T> Stream<T> of(ScrollableResults<T> scroll, int batchSize, Consumer<List<T>> prepareBatch,
+                                   Consumer<T> release) {
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+
+            private final Deque<T> batch = new ArrayDeque<>(batchSize);
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (batch.isEmpty() && !fill()) {
+                    return false;
+                }
+                T element = batch.poll();
+                action.accept(element);
+                release.accept(element);
+                return true;
+            }
+
+            private boolean fill() {
+                List<T> rows = new ArrayList<>(batchSize);
+                while (rows.size() < batchSize && scroll.next()) {
+                    rows.add(scroll.get());
+                }
+                if (rows.isEmpty()) {
+                    return false;
+                }
+                prepareBatch.accept(rows);
+                batch.addAll(rows);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(scroll::close);
+    }
+}
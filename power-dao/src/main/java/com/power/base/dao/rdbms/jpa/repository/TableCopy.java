@@ -0,0 +1,354 @@
+package com.power.base.dao.rdbms.jpa.repository;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Streams rows into one {@link CopyTable} without a statement per row: with {@code COPY ... FROM STDIN} in the binary
+ * format on PostgreSQL, and through a CSV file read by {@code CSVREAD} on H2, which has no COPY and only backs tests.
+ * Rows are written in the order of the table's columns, as the Java types {@link CopyTable} produces; the copy is part
+ * of the connection's transaction and complete once {@link #finish()} returns.
+ */
+public abstract class TableCopy implements AutoCloseable {
+
+    protected final CopyTable table;
+    private long rows;
+
+    private TableCopy(CopyTable table) {
+        this.table = table;
+    }
+
+    public static TableCopy open(Connection connection, CopyTable table) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            return new PostgresBinary(connection, table);
+        }
+        if ("H2".equalsIgnoreCase(product)) {
+            return new H2Csv(connection, table);
+        }
+        throw new SQLException("Copying rows is not supported on " + product);
+    }
+
+    public void write(Object[] row) throws SQLException {
+        if (row.length != table.columns().size()) {
+            throw new IllegalArgumentException("Table " + table.name() + " has " + table.columns().size()
+                    + " columns, the row " + row.length + " values");
+        }
+        try {
+            writeRow(row);
+        } catch (IOException e) {
+            throw new SQLException("Writing a row of " + table.name() + " failed", e);
+        }
+        rows++;
+    }
+
+    /**
+     * Ends the copy and hands the rows to the database.
+     *
+     * @return the number of rows written
+     */
+    public long finish() throws SQLException {
+        try {
+            complete();
+        } catch (IOException e) {
+            throw new SQLException("Copying into " + table.name() + " failed", e);
+        }
+        return rows;
+    }
+
+    protected abstract void writeRow(Object[] row) throws IOException;
+
+    protected abstract void complete() throws IOException, SQLException;
+
+    /**
+     * Abandons the copy if {@link #finish()} was not reached and releases what it holds.
+     */
+    @Override
+    public abstract void close() throws SQLException;
+
+    /**
+     * Copies with {@code COPY ... FROM STDIN} in the binary format, encoded by {@link BinaryCopyFormat}.
+     */
+    private static final class PostgresBinary extends TableCopy {
+
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final PGCopyOutputStream copy;
+        private final BinaryCopyFormat format;
+
+        private PostgresBinary(Connection connection, CopyTable table) throws SQLException {
+            super(table);
+            copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), "copy " + table.name() + " ("
+                    + table.columnList() + ") from stdin with (format binary)", BUFFER_SIZE);
+            format = new BinaryCopyFormat(copy, table.name());
+            try {
+                format.writeHeader();
+            } catch (IOException e) {
+                close();
+                throw new SQLException("Starting the copy into " + table.name() + " failed", e);
+            }
+        }
+
+        @Override
+        protected void writeRow(Object[] row) throws IOException {
+            format.writeRow(row);
+        }
+
+        @Override
+        protected void complete() throws IOException, SQLException {
+            format.writeTrailer();
+            copy.endCopy();
+        }
+
+        @Override
+        public void close() {
+            if (copy.isActive()) {
+                try {
+                    copy.cancelCopy();
+                } catch (SQLException e) {
+                    // the copy is abandoned either way; the transaction is rolled back by the caller
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the binary COPY format: a signature and header, then per row the field count and every field as its
+     * length and network-order bytes, -1 standing for null, and a field count of -1 as trailer. Each value is encoded
+     * as the type its column has in a schema generated by Hibernate: {@code timestamp(tz)} as microseconds and
+     * {@code date} as days since 2000-01-01, {@code time} as microseconds of the day, text as UTF-8.
+     */
+    static final class BinaryCopyFormat {
+
+        private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+        private static final long POSTGRES_EPOCH_DAY = LocalDate.of(2000, 1, 1).toEpochDay();
+        private static final long POSTGRES_EPOCH_SECOND = POSTGRES_EPOCH_DAY * 86_400L;
+
+        private final DataOutputStream out;
+        private final String tableName;
+
+        BinaryCopyFormat(OutputStream out, String tableName) {
+            this.out = new DataOutputStream(out);
+            this.tableName = tableName;
+        }
+
+        void writeHeader() throws IOException {
+            out.write(SIGNATURE);
+            out.writeInt(0);
+            out.writeInt(0);
+        }
+
+        void writeRow(Object[] row) throws IOException {
+            out.writeShort(row.length);
+            for (Object value : row) {
+                writeField(value);
+            }
+        }
+
+        void writeTrailer() throws IOException {
+            out.writeShort(-1);
+            out.flush();
+        }
+
+        private void writeField(Object value) throws IOException {
+            switch (value) {
+                case null -> out.writeInt(-1);
+                case Long l -> {
+                    out.writeInt(8);
+                    out.writeLong(l);
+                }
+                case Integer i -> {
+                    out.writeInt(4);
+                    out.writeInt(i);
+                }
+                case Short s -> {
+                    out.writeInt(2);
+                    out.writeShort(s);
+                }
+                case Double d -> {
+                    out.writeInt(8);
+                    out.writeDouble(d);
+                }
+                case Float f -> {
+                    out.writeInt(4);
+                    out.writeFloat(f);
+                }
+                case Boolean b -> {
+                    out.writeInt(1);
+                    out.writeByte(b ? 1 : 0);
+                }
+                case String s -> writeBytes(s.getBytes(StandardCharsets.UTF_8));
+                case byte[] bytes -> writeBytes(bytes);
+                case LocalDate date -> {
+                    out.writeInt(4);
+                    out.writeInt(Math.toIntExact(date.toEpochDay() - POSTGRES_EPOCH_DAY));
+                }
+                case Instant instant -> writeMicros(instant.getEpochSecond(), instant.getNano());
+                case LocalDateTime dateTime -> writeMicros(dateTime.toEpochSecond(ZoneOffset.UTC), dateTime.getNano());
+                case LocalTime time -> {
+                    out.writeInt(8);
+                    out.writeLong(time.toNanoOfDay() / 1_000L);
+                }
+                default -> throw new IllegalArgumentException("Cannot copy a " + value.getClass().getName()
+                        + " into " + tableName);
+            }
+        }
+
+        private void writeBytes(byte[] bytes) throws IOException {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeMicros(long epochSecond, int nanos) throws IOException {
+            out.writeInt(8);
+            out.writeLong(Math.addExact(Math.multiplyExact(epochSecond - POSTGRES_EPOCH_SECOND, 1_000_000L),
+                    nanos / 1_000L));
+        }
+    }
+
+    /**
+     * Writes the rows to a temporary CSV file with a header row and inserts them with one
+     * {@code INSERT ... SELECT * FROM CSVREAD}. The database converts the text to the column types, so every value is
+     * written in a form H2 parses: ISO dates and times and UTC offsets for instants. Strings are quoted, so an empty
+     * string stays distinct from the empty field CSVREAD reads as null. Binary columns, which H2 cannot read from text,
+     * are left out of the file and set afterwards by one batched update keyed by the table's first column.
+     */
+    private static final class H2Csv extends TableCopy {
+
+        private final Connection connection;
+        private final List<CopyTable.Column> textColumns = new ArrayList<>();
+        private final List<CopyTable.Column> binaryColumns = new ArrayList<>();
+        private final int[] binaryIndexes;
+        private final List<Object[]> binaryRows = new ArrayList<>();
+        private final Path file;
+        private final Writer out;
+
+        private H2Csv(Connection connection, CopyTable table) throws SQLException {
+            super(table);
+            this.connection = connection;
+            List<Integer> indexes = new ArrayList<>();
+            for (int i = 0; i < table.columns().size(); i++) {
+                CopyTable.Column column = table.columns().get(i);
+                if (i > 0 && CopyTable.javaType(column.name(), column.sqlType()) == byte[].class) {
+                    binaryColumns.add(column);
+                    indexes.add(i);
+                } else {
+                    textColumns.add(column);
+                }
+            }
+            binaryIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+            try {
+                file = Files.createTempFile("power-copy-" + table.name() + "-", ".csv");
+                out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                writeLine(textColumns.stream().map(CopyTable.Column::name).toArray());
+            } catch (IOException e) {
+                throw new SQLException("Starting the copy into " + table.name() + " failed", e);
+            }
+        }
+
+        @Override
+        protected void writeRow(Object[] row) throws IOException {
+            if (binaryIndexes.length == 0) {
+                writeLine(row);
+                return;
+            }
+            Object[] text = new Object[textColumns.size()];
+            Object[] binary = new Object[binaryIndexes.length + 1];
+            boolean hasBinary = false;
+            for (int i = 0, t = 0, b = 0; i < row.length; i++) {
+                if (b < binaryIndexes.length && binaryIndexes[b] == i) {
+                    binary[b++] = row[i];
+                    hasBinary |= row[i] != null;
+                } else {
+                    text[t++] = row[i];
+                }
+            }
+            writeLine(text);
+            if (hasBinary) {
+                binary[binaryIndexes.length] = row[0];
+                binaryRows.add(binary);
+            }
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(format(values[i]));
+            }
+            out.write('\n');
+        }
+
+        private static String format(Object value) {
+            return switch (value) {
+                case null -> "";
+                case String s -> '"' + s.replace("\"", "\"\"") + '"';
+                case Instant instant -> instant.atOffset(ZoneOffset.UTC).toString();
+                default -> value.toString();
+            };
+        }
+
+        @Override
+        protected void complete() throws IOException, SQLException {
+            out.close();
+            String columnList = textColumns.stream().map(CopyTable.Column::name).collect(Collectors.joining(", "));
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("insert into " + table.name() + " (" + columnList + ") select " + columnList
+                        + " from csvread(" + literal(file.toString()) + ", null, 'charset=UTF-8')");
+            }
+            if (binaryRows.isEmpty()) {
+                return;
+            }
+            String assignments = binaryColumns.stream().map(column -> column.name() + " = ?")
+                    .collect(Collectors.joining(", "));
+            try (PreparedStatement update = connection.prepareStatement("update " + table.name() + " set "
+                    + assignments + " where " + table.columns().get(0).name() + " = ?")) {
+                for (Object[] binary : binaryRows) {
+                    for (int i = 0; i < binary.length; i++) {
+                        update.setObject(i + 1, binary[i]);
+                    }
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+        }
+
+        /**
+         * CSVREAD reads its arguments while the statement is prepared, so they cannot be bind parameters.
+         */
+        private static String literal(String value) {
+            return "'" + value.replace("'", "''") + "'";
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                out.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new SQLException("Removing " + file + " failed", e);
+            }
+        }
+    }
+}
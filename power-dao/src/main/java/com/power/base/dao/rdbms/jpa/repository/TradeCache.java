@@ -0,0 +1,83 @@
+package com.power.base.dao.rdbms.jpa.repository;
+
+import com.power.base.dao.rdbms.jpa.persistence.TradeCacheRegions;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Second-level cache upkeep for writes that go around the persistence context, and region metrics.
+ */
+public final class TradeCache {
+
+    /**
+     * Query space for native writes whose cache effects the caller evicts itself. It names no mapped table, so running
+     * such a statement neither empties whole entity regions nor touches the query cache timestamps.
+     */
+    public static final String CALLER_EVICTED_SPACE = "power_caller_evicted";
+
+    private TradeCache() {
+    }
+
+    /**
+     * Evicts one trade and its collections now and again once the transaction completes, so entries recached from
+     * the pre-commit rows in between do not outlive the commit. Cached searches are dropped with it. Child entities
+     * of replaced collections are left in place; nothing reaches them once the collection entries are gone.
+     */
+    public static void evictTrade(EntityManager entityManager, Class<?> entityClass, String tradeId,
+                                  String... collections) {
+        Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        evict(cache, entityClass, tradeId, collections);
+        entityManager.unwrap(SessionImplementor.class).getActionQueue()
+                .registerProcess((success, session) -> evict(cache, entityClass, tradeId, collections));
+    }
+
+    /**
+     * Marks a search as cacheable in the {@link TradeCacheRegions#TRADE_SEARCH} region. Criteria of the same shape and
+     * values render the same SQL and parameters, which is the query cache key; the hint is ignored unless
+     * {@code hibernate.cache.use_query_cache} is on.
+     */
+    public static <T> TypedQuery<T> cachedSearch(TypedQuery<T> query) {
+        return query.setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, TradeCacheRegions.TRADE_SEARCH);
+    }
+
+    /**
+     * Counters of every trade region, the search query region included.
+     */
+    public static List<CacheRegionStats> regionStatistics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStats> regions = new ArrayList<>(TradeCacheRegions.DOMAIN_REGIONS.size() + 1);
+        for (String region : TradeCacheRegions.DOMAIN_REGIONS) {
+            regions.add(stats(region, statistics.getDomainDataRegionStatistics(region)));
+        }
+        regions.add(stats(TradeCacheRegions.TRADE_SEARCH,
+                statistics.getQueryRegionStatistics(TradeCacheRegions.TRADE_SEARCH)));
+        return regions;
+    }
+
+    private static void evict(Cache cache, Class<?> entityClass, String tradeId, String[] collections) {
+        cache.evictEntityData(entityClass, tradeId);
+        for (String collection : collections) {
+            cache.evictCollectionData(entityClass.getName() + "." + collection, tradeId);
+        }
+        cache.evictQueryRegion(TradeCacheRegions.TRADE_SEARCH);
+    }
+
+    private static CacheRegionStats stats(String region, CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return new CacheRegionStats(region, 0, 0, 0, 0);
+        }
+        return new CacheRegionStats(region, statistics.getHitCount(), statistics.getMissCount(),
+                statistics.getPutCount(), statistics.getElementCountInMemory());
+    }
+}
@@ -0,0 +1,15 @@
+package com.power.base.dao.rdbms.jpa.repository;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Keyset position in a trade search ordered by trade date, then trade id: the next page starts strictly after it.
+ */
+public record TradeCursor(LocalDate tradeDate, String tradeId) {
+
+    public TradeCursor {
+        Objects.requireNonNull(tradeDate, "tradeDate");
+        Objects.requireNonNull(tradeId, "tradeId");
+    }
+}
@@ -0,0 +1,23 @@
+package com.power.base.dao.rdbms.jpa.repository;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated trade search. {@code next} is the cursor to pass for the following page, or
+ * {@code null} when this is the last one.
+ */
+public record TradePage<T>(List<T> items, TradeCursor next) {
+
+    public TradePage {
+        items = List.copyOf(items);
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    public <R> TradePage<R> map(Function<? super T, ? extends R> mapper) {
+        return new TradePage<>(items.stream().<R>map(mapper).toList(), next);
+    }
+}
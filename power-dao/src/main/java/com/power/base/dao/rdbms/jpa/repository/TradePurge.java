@@ -0,0 +1,158 @@
+package com.power.base.dao.rdbms.jpa.repository;
+
+import com.power.base.dao.rdbms.jpa.schema.TradeSchema;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Deletes or archives whole trades with one native statement per table, children first, for a chunk of trade ids at
+ * a time, instead of loading each graph and letting the cascades remove it row by row. Archiving first copies the rows
+ * into the {@link TradeSchema#archiveOf archive tables} with {@code insert ... select}, naming the columns of each
+ * archive table as the database reports them: a column Hibernate later adds to a trade table is left out of the copy
+ * instead of failing it.
+ * <p>
+ * The statements go around the persistence context: pending changes are flushed before, managed copies of the trades
+ * are detached and their cache entries evicted after.
+ */
+public final class TradePurge {
+
+    /**
+     * Trades per chunk of the retention loops. Every chunk is meant to commit on its own, so each holds its row locks
+     * only for the few statements of one chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private static final String TRADE_IDS = "tradeIds";
+
+    private final Class<?> entityClass;
+    private final String[] collections;
+    private final List<Table> tables = new ArrayList<>();
+
+    private TradePurge(Class<?> entityClass, String[] collections) {
+        this.entityClass = entityClass;
+        this.collections = collections;
+    }
+
+    /**
+     * Starts the purge of the trades mapped by {@code entityClass}; {@code collections} are the cached collections
+     * evicted with each trade.
+     */
+    public static TradePurge of(Class<?> entityClass, String... collections) {
+        return new TradePurge(entityClass, collections);
+    }
+
+    /**
+     * Adds the next table in child-first order; {@code tradeIdFilter} selects its rows of the trades bound to
+     * {@code :tradeIds}. The trade table itself comes last.
+     */
+    public TradePurge table(String table, String tradeIdFilter) {
+        tables.add(new Table(table, tradeIdFilter));
+        return this;
+    }
+
+    /**
+     * @return the number of trades deleted
+     */
+    public int delete(EntityManager entityManager, List<String> tradeIds) {
+        if (tradeIds.isEmpty()) {
+            return 0;
+        }
+        entityManager.flush();
+        int deleted = 0;
+        for (Table table : tables) {
+            deleted = execute(entityManager, "delete from " + table.name() + " where " + table.tradeIdFilter(),
+                    tradeIds);
+        }
+        detachAndEvict(entityManager, tradeIds);
+        return deleted;
+    }
+
+    /**
+     * Copies the rows of the trades into the archive tables, then deletes them.
+     *
+     * @return the number of trades archived
+     */
+    public int archive(EntityManager entityManager, List<String> tradeIds) {
+        if (tradeIds.isEmpty()) {
+            return 0;
+        }
+        entityManager.flush();
+        for (Table table : tables) {
+            String archive = TradeSchema.archiveOf(table.name());
+            String columns = entityManager.unwrap(Session.class)
+                    .doReturningWork(connection -> columnsOf(connection, archive));
+            execute(entityManager, "insert into " + archive + " (" + columns + ") select " + columns + " from "
+                    + table.name() + " where " + table.tradeIdFilter(), tradeIds);
+        }
+        return delete(entityManager, tradeIds);
+    }
+
+    /**
+     * Runs {@code chunk} with {@link #DEFAULT_CHUNK_SIZE} as its limit until it handles fewer trades than that.
+     *
+     * @return the number of trades handled by all chunks
+     */
+    public static long untilDone(IntUnaryOperator chunk) {
+        long total = 0;
+        int handled;
+        do {
+            handled = chunk.applyAsInt(DEFAULT_CHUNK_SIZE);
+            total += handled;
+        } while (handled >= DEFAULT_CHUNK_SIZE);
+        return total;
+    }
+
+    private static int execute(EntityManager entityManager, String sql, List<String> tradeIds) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(TradeCache.CALLER_EVICTED_SPACE)
+                .setParameterList(TRADE_IDS, tradeIds)
+                .executeUpdate();
+    }
+
+    private static String columnsOf(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        String escape = metaData.getSearchStringEscape();
+        String pattern = escape == null ? name : name.replace("_", escape + "_");
+        List<String> columns = new ArrayList<>();
+        try (ResultSet resultSet = metaData.getColumns(connection.getCatalog(), connection.getSchema(), pattern,
+                null)) {
+            while (resultSet.next()) {
+                columns.add(resultSet.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        if (columns.isEmpty()) {
+            throw new IllegalStateException("Archive table " + table + " does not exist");
+        }
+        return String.join(", ", columns);
+    }
+
+    private void detachAndEvict(EntityManager entityManager, List<String> tradeIds) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass);
+        for (String tradeId : tradeIds) {
+            Object managed = session.getPersistenceContextInternal()
+                    .getEntity(session.generateEntityKey(tradeId, persister));
+            if (managed != null) {
+                entityManager.detach(managed);
+            }
+            TradeCache.evictTrade(entityManager, entityClass, tradeId, collections);
+        }
+    }
+
+    private record Table(String name, String tradeIdFilter) {
+    }
+}
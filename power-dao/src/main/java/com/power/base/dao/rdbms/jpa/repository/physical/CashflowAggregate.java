@@ -0,0 +1,10 @@
+package com.power.base.dao.rdbms.jpa.repository.physical;
+
+import java.time.LocalDate;
+
+/**
+ * Settled quantity and cashflow of the matching physical trades on one delivery date.
+ */
+public record CashflowAggregate(String tenantId, String market, String deliveryPoint, LocalDate deliveryDate,
+                                double actualQuantity, double cashflow, long settlementItems) {
+}
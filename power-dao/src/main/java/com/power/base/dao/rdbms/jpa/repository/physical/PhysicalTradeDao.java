@@ -1,18 +1,72 @@
 package com.power.base.dao.rdbms.jpa.repository.physical;
 
 import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
+import com.power.base.dao.rdbms.jpa.repository.BulkSaveReport;
+import com.power.base.dao.rdbms.jpa.repository.TradeCursor;
+import com.power.base.dao.rdbms.jpa.repository.TradePage;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeSummary;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PhysicalTradeDao {
 
     PhysicalTradeEntity save(PhysicalTradeEntity entity);
 
+    /**
+     * Inserts new trades and merges existing ones in chunks, flushing and clearing the persistence context after
+     * each chunk so child rows go out as JDBC batches and memory stays bounded. Saved entities are detached.
+     */
+    BulkSaveReport saveAll(Collection<PhysicalTradeEntity> entities);
+
     Optional<PhysicalTradeEntity> findByTradeId(String tradeId);
 
     void deleteByTradeId(String tradeId);
 
+    /**
+     * Deletes up to {@code limit} of the matching trades with one statement per table, children first, and returns
+     * how many it deleted. Callers purging more repeat it, committing in between, until it returns less than
+     * {@code limit}; {@link com.power.base.dao.rdbms.jpa.service.PhysicalTradeService#deleteByCriteria} does.
+     */
+    int deleteByCriteria(PhysicalTradeSearchCriteria criteria, int limit);
+
+    /**
+     * Moves up to {@code limit} trades dated before {@code tradeDate} and their children into the archive tables and
+     * returns how many it moved; repeated like {@link #deleteByCriteria}.
+     */
+    int archiveBefore(LocalDate tradeDate, int limit);
+
     List<PhysicalTradeEntity> findByCriteria(PhysicalTradeSearchCriteria criteria);
-}
 
+    /**
+     * Header-only search for list screens; its cost does not depend on the size of the trades' schedules.
+     */
+    List<PhysicalTradeSummary> findSummaries(PhysicalTradeSearchCriteria criteria);
+
+    /**
+     * Keyset-paginated search ordered by trade date, then trade id; pass the previous page's {@code next} cursor, or
+     * {@code null} for the first page. Trades without a trade date are not returned.
+     */
+    TradePage<PhysicalTradeEntity> findPage(PhysicalTradeSearchCriteria criteria, TradeCursor after, int pageSize);
+
+    /**
+     * Streams the matching trades from a forward-only cursor, fetching children batch by batch and detaching each
+     * trade once consumed. Must be consumed inside a transaction and closed, e.g. with try-with-resources.
+     */
+    Stream<PhysicalTradeEntity> streamByCriteria(PhysicalTradeSearchCriteria criteria);
+
+    /**
+     * Sums the scheduled line item quantity of the matching trades per tenant, market, delivery point and delivery
+     * bucket in the database; rows are ordered by those keys, nulls first.
+     */
+    List<VolumeAggregate> aggregateVolumes(PhysicalTradeSearchCriteria criteria, PositionBucket bucket);
+
+    /**
+     * Sums the settled quantity and cashflow of the matching trades per tenant, market, delivery point and delivery
+     * date in the database; rows are ordered by those keys.
+     */
+    List<CashflowAggregate> aggregateCashflows(PhysicalTradeSearchCriteria criteria);
+}
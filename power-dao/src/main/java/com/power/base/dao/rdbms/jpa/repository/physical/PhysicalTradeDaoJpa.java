@@ -1,91 +1,464 @@
 package com.power.base.dao.rdbms.jpa.repository.physical;
 
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalSettlementItemEntity;
 import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
+import com.power.base.dao.rdbms.jpa.persistence.physical.ScheduleStorage;
+import com.power.base.dao.rdbms.jpa.repository.BulkSaveReport;
+import com.power.base.dao.rdbms.jpa.repository.CopyTable;
+import com.power.base.dao.rdbms.jpa.repository.HeaderUpsert;
+import com.power.base.dao.rdbms.jpa.repository.ScrollingStream;
+import com.power.base.dao.rdbms.jpa.repository.TradeCache;
+import com.power.base.dao.rdbms.jpa.repository.TradeCursor;
+import com.power.base.dao.rdbms.jpa.repository.TradePage;
+import com.power.base.dao.rdbms.jpa.repository.TradePurge;
+import com.power.base.dao.rdbms.jpa.schema.TradeSchema;
+import com.power.base.datamodel.dto.common.BuySellIndicator;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeSummary;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.TypedQuery;
 
-import java.time.Instant;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 @Transactional
 public class PhysicalTradeDaoJpa implements PhysicalTradeDao {
 
+    /**
+     * Trades per flush in {@link #saveAll}; every trade adds its own child rows to the JDBC batches.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 50;
+
+    /**
+     * Trade ids per IN list when {@link #findByCriteria} fetches the children of its results.
+     */
+    public static final int FETCH_BATCH_SIZE = 1000;
+
+    /**
+     * JDBC fetch size of {@link #streamByCriteria}, and the number of trades whose children are fetched together.
+     */
+    public static final int STREAM_BATCH_SIZE = 100;
+
+    private static final TradePurge PURGE = TradePurge.of(PhysicalTradeEntity.class, "lineItems", "settlementItems")
+            .table("physical_settlement_line_refs", "settlement_item_id in"
+                    + " (select id from physical_settlement_items where trade_id in (:tradeIds))")
+            .table("physical_settlement_items", "trade_id in (:tradeIds)")
+            .table("physical_trade_line_items", "trade_id in (:tradeIds)")
+            .table(TradeSchema.PHYSICAL_TRADES, "trade_id in (:tradeIds)");
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    private static final Comparator<VolumeAggregate> VOLUME_ORDER = Comparator
+            .comparing(VolumeAggregate::tenantId, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(VolumeAggregate::market, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(VolumeAggregate::deliveryPoint, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(VolumeAggregate::day, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(VolumeAggregate::hour, Comparator.nullsFirst(Comparator.naturalOrder()));
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private ScheduleStorage scheduleStorage = ScheduleStorage.ROWS;
+
+    private CopyTable headerTable;
+
     void setEntityManager(EntityManager entityManager) {
         this.entityManager = entityManager;
     }
 
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * How schedules are written by {@link #save} and {@link #saveAll}. Reads understand both forms, so a deployment can
+     * switch at any time: stored trades keep their form until they are written from a DTO again.
+     */
+    @Value("${power.physical.schedule-storage:ROWS}")
+    public void setScheduleStorage(ScheduleStorage scheduleStorage) {
+        if (scheduleStorage == null) {
+            throw new IllegalArgumentException("scheduleStorage must not be null");
+        }
+        this.scheduleStorage = scheduleStorage;
+    }
+
+    /**
+     * Managed trades are left to the flush, which writes only what changed and checks the version. Detached trades
+     * built from a DTO are written without loading the stored graph: one native upsert writes the header, with the
+     * whole schedule under {@link ScheduleStorage#PACKED}, and bumps the version. An existing trade's children are
+     * then replaced with a bulk delete per child table and batched inserts, and only this trade's cache entries are
+     * evicted. A non-null version on the entity is the version the caller read; if the stored row moved on since,
+     * nothing is written and an {@link OptimisticLockException} is thrown.
+     */
     @Override
     public PhysicalTradeEntity save(PhysicalTradeEntity entity) {
-        if (entityManager.find(PhysicalTradeEntity.class, entity.getTradeId()) == null) {
-            entityManager.persist(entity);
+        if (entityManager.contains(entity)) {
             return entity;
         }
-        return entityManager.merge(entity);
+        applyScheduleStorage(entity);
+        if (!HeaderUpsert.isSupported(entityManager) || hasStoredChildren(entity)) {
+            return findAndMerge(entity);
+        }
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        long version = HeaderUpsert.of(headerTable(), entity, session)
+                .synchronizedOn(TradeCache.CALLER_EVICTED_SPACE)
+                .execute(entityManager, entity.getVersion())
+                .orElseThrow(() -> new OptimisticLockException("Physical trade " + entity.getTradeId()
+                        + " no longer has version " + entity.getVersion()));
+        entity.setVersion(version);
+        if (version > 0) {
+            deleteChildren("delete from physical_settlement_line_refs where settlement_item_id in"
+                    + " (select id from physical_settlement_items where trade_id = ?)", entity.getTradeId());
+            deleteChildren("delete from physical_settlement_items where trade_id = ?", entity.getTradeId());
+            deleteChildren("delete from physical_trade_line_items where trade_id = ?", entity.getTradeId());
+        }
+        TradeCache.evictTrade(entityManager, PhysicalTradeEntity.class, entity.getTradeId(),
+                "lineItems", "settlementItems");
+        entity.getLineItems().forEach(entityManager::persist);
+        entity.getSettlementItems().forEach(entityManager::persist);
+        return entity;
     }
 
     @Override
+    public BulkSaveReport saveAll(Collection<PhysicalTradeEntity> entities) {
+        long started = System.nanoTime();
+        long rows = 0;
+        int flushes = 0;
+        List<PhysicalTradeEntity> chunk = new ArrayList<>(Math.min(chunkSize, entities.size()));
+        for (PhysicalTradeEntity entity : entities) {
+            applyScheduleStorage(entity);
+            chunk.add(entity);
+            rows += entity.rowCount();
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk);
+                flushes++;
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk);
+            flushes++;
+        }
+        return new BulkSaveReport(entities.size(), rows, flushes, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<PhysicalTradeEntity> findByTradeId(String tradeId) {
         return Optional.ofNullable(entityManager.find(PhysicalTradeEntity.class, tradeId));
     }
 
+    /**
+     * Deletes the trade with a statement per table rather than loading it and cascading the removal row by row.
+     */
     @Override
     public void deleteByTradeId(String tradeId) {
-        findByTradeId(tradeId).ifPresent(entityManager::remove);
+        PURGE.delete(entityManager, List.of(tradeId));
+    }
+
+    @Override
+    public int deleteByCriteria(PhysicalTradeSearchCriteria criteria, int limit) {
+        PhysicalTradeQueryShape shape = PhysicalTradeQueryShape.of(criteria);
+        TypedQuery<String> query = entityManager.createQuery(shape.tradeIds(), String.class);
+        return PURGE.delete(entityManager, shape.bind(query, criteria)
+                .setMaxResults(positive(limit))
+                .getResultList());
+    }
+
+    @Override
+    public int archiveBefore(LocalDate tradeDate, int limit) {
+        return PURGE.archive(entityManager, entityManager.createQuery(
+                        "select t.tradeId from PhysicalTradeEntity t where t.header.tradeDate < :tradeDate",
+                        String.class)
+                .setParameter("tradeDate", tradeDate)
+                .setMaxResults(positive(limit))
+                .getResultList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PhysicalTradeEntity> findByCriteria(PhysicalTradeSearchCriteria criteria) {
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<PhysicalTradeEntity> query = cb.createQuery(PhysicalTradeEntity.class);
-        Root<PhysicalTradeEntity> root = query.from(PhysicalTradeEntity.class);
+        PhysicalTradeQueryShape shape = PhysicalTradeQueryShape.of(criteria);
+        TypedQuery<PhysicalTradeEntity> query = entityManager.createQuery(shape.search(), PhysicalTradeEntity.class);
+        List<PhysicalTradeEntity> trades = TradeCache.cachedSearch(shape.bind(query, criteria)).getResultList();
+        fetchChildren(trades);
+        return trades;
+    }
+
+    /**
+     * Selects only header columns into summaries with a constructor expression; no child row is read.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PhysicalTradeSummary> findSummaries(PhysicalTradeSearchCriteria criteria) {
+        PhysicalTradeQueryShape shape = PhysicalTradeQueryShape.of(criteria);
+        TypedQuery<PhysicalTradeSummary> query =
+                entityManager.createQuery(shape.summaries(), PhysicalTradeSummary.class);
+        return TradeCache.cachedSearch(shape.bind(query, criteria)).getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TradePage<PhysicalTradeEntity> findPage(PhysicalTradeSearchCriteria criteria, TradeCursor after, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        PhysicalTradeQueryShape shape = PhysicalTradeQueryShape.of(criteria);
+        TypedQuery<PhysicalTradeEntity> query =
+                entityManager.createQuery(shape.page(after == null), PhysicalTradeEntity.class);
+        if (after != null) {
+            query.setParameter("afterDate", after.tradeDate())
+                    .setParameter("afterTradeId", after.tradeId());
+        }
 
-        List<Predicate> predicates = new ArrayList<>();
+        List<PhysicalTradeEntity> trades = shape.bind(query, criteria)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+        TradeCursor next = null;
+        if (trades.size() > pageSize) {
+            trades = trades.subList(0, pageSize);
+            PhysicalTradeEntity last = trades.get(pageSize - 1);
+            next = new TradeCursor(last.getHeader().getTradeDate(), last.getTradeId());
+        }
+        fetchChildren(trades);
+        return new TradePage<>(trades, next);
+    }
 
-        criteria.getTenantId()
-                .ifPresent(tenant -> predicates.add(cb.equal(root.get("header").get("tenantId"), tenant)));
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public Stream<PhysicalTradeEntity> streamByCriteria(PhysicalTradeSearchCriteria criteria) {
+        PhysicalTradeQueryShape shape = PhysicalTradeQueryShape.of(criteria);
+        TypedQuery<PhysicalTradeEntity> query = entityManager.createQuery(shape.search(), PhysicalTradeEntity.class);
 
-        criteria.getBusinessUnit()
-                .ifPresent(bu -> predicates.add(cb.equal(root.get("header").get("businessUnit"), bu)));
+        ScrollableResults<PhysicalTradeEntity> scroll = shape.bind(query, criteria)
+                .unwrap(Query.class)
+                .setFetchSize(STREAM_BATCH_SIZE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        return ScrollingStream.of(scroll, STREAM_BATCH_SIZE, this::fetchChildren, entityManager::detach);
+    }
 
-        criteria.getMarket()
-                .ifPresent(market -> predicates.add(cb.equal(root.get("header").get("market"), market)));
+    /**
+     * Groups the line item rows with one SQL aggregation. Packed schedules have no rows to group, so the schedules of
+     * the matching packed trades are streamed and added to the same buckets in memory.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<VolumeAggregate> aggregateVolumes(PhysicalTradeSearchCriteria criteria, PositionBucket bucket) {
+        if (bucket == null) {
+            throw new IllegalArgumentException("bucket must not be null");
+        }
+        boolean hourly = bucket == PositionBucket.HOUR;
+        PhysicalTradeQueryShape shape = PhysicalTradeQueryShape.of(criteria);
+        Map<VolumeKey, double[]> totals = new HashMap<>();
+        for (Object[] row : shape.bind(entityManager.createQuery(shape.volumes(bucket), Object[].class), criteria)
+                .getResultList()) {
+            int sums = hourly ? 5 : 4;
+            VolumeKey key = hourly
+                    ? VolumeKey.hourly((String) row[0], (String) row[1], (String) row[2], (LocalDate) row[3],
+                            row[4] == null ? null : ((Number) row[4]).longValue())
+                    : new VolumeKey((String) row[0], (String) row[1], (String) row[2], (LocalDate) row[3], null);
+            add(totals, key, ((Number) row[sums]).doubleValue(), ((Number) row[sums + 1]).doubleValue(),
+                    ((Number) row[sums + 2]).longValue());
+        }
+        try (Stream<Object[]> packed = shape.bind(
+                entityManager.createQuery(shape.packedSchedules(), Object[].class), criteria).getResultStream()) {
+            packed.forEach(row -> {
+                double sign = row[3] == BuySellIndicator.SELL ? -1d : 1d;
+                PhysicalLineItemSchedule schedule = (PhysicalLineItemSchedule) row[4];
+                for (int i = 0; i < schedule.size(); i++) {
+                    VolumeKey key = hourly
+                            ? VolumeKey.hourly((String) row[0], (String) row[1], (String) row[2],
+                                    schedule.getPeriodStartDate(i), schedule.hasPeriodStartTime(i)
+                                            ? Math.floorDiv(schedule.getPeriodStartEpochMilli(i), MILLIS_PER_HOUR)
+                                            : null)
+                            : new VolumeKey((String) row[0], (String) row[1], (String) row[2],
+                                    schedule.getPeriodStartDate(i), null);
+                    add(totals, key, schedule.getQuantity(i), sign * schedule.getQuantity(i), 1);
+                }
+            });
+        }
+        return totals.entrySet().stream()
+                .map(entry -> entry.getKey().toAggregate(entry.getValue()))
+                .sorted(VOLUME_ORDER)
+                .toList();
+    }
 
-        criteria.getTraderName()
-                .ifPresent(trader -> predicates.add(cb.equal(root.get("header").get("traderName"), trader)));
+    @Override
+    @Transactional(readOnly = true)
+    public List<CashflowAggregate> aggregateCashflows(PhysicalTradeSearchCriteria criteria) {
+        PhysicalTradeQueryShape shape = PhysicalTradeQueryShape.of(criteria);
+        return shape.bind(entityManager.createQuery(shape.cashflows(), Object[].class), criteria)
+                .getResultList()
+                .stream()
+                .map(row -> new CashflowAggregate((String) row[0], (String) row[1], (String) row[2],
+                        (LocalDate) row[3], ((Number) row[4]).doubleValue(), ((Number) row[5]).doubleValue(),
+                        ((Number) row[6]).longValue()))
+                .toList();
+    }
 
-        criteria.getAgreementId()
-                .ifPresent(agreement -> predicates.add(cb.equal(root.get("header").get("agreementId"), agreement)));
+    /**
+     * Looks up which trades of the chunk already exist with one query instead of a find per trade.
+     */
+    private void saveChunk(List<PhysicalTradeEntity> chunk) {
+        Map<String, Long> existing = new HashMap<>();
+        entityManager.createQuery(
+                        "select t.tradeId, t.version from PhysicalTradeEntity t where t.tradeId in :tradeIds",
+                        Object[].class)
+                .setParameter("tradeIds", chunk.stream().map(PhysicalTradeEntity::getTradeId).toList())
+                .getResultList()
+                .forEach(row -> existing.put((String) row[0], (Long) row[1]));
+        for (PhysicalTradeEntity entity : chunk) {
+            Long storedVersion = existing.get(entity.getTradeId());
+            if (storedVersion != null) {
+                if (entity.getVersion() == null) {
+                    entity.setVersion(storedVersion);
+                }
+                entityManager.merge(entity);
+            } else {
+                entityManager.persist(entity);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
 
-        criteria.getCommodity()
-                .ifPresent(commodity -> predicates.add(cb.equal(root.get("header").get("commodity"), commodity)));
+    /**
+     * Initializes the children of a whole result page with IN-list queries, so converting the trades costs no further
+     * queries: one for the line items, one for the settlement items and, only if some item keeps free-form references
+     * instead of index ranges, one for the line refs collection, per {@link #FETCH_BATCH_SIZE} trades. The two lists
+     * are bags and cannot be join fetched together with the trades.
+     */
+    private void fetchChildren(List<PhysicalTradeEntity> trades) {
+        for (int from = 0; from < trades.size(); from += FETCH_BATCH_SIZE) {
+            List<String> tradeIds = trades.subList(from, Math.min(from + FETCH_BATCH_SIZE, trades.size())).stream()
+                    .map(PhysicalTradeEntity::getTradeId)
+                    .toList();
+            entityManager.createQuery("select distinct t from PhysicalTradeEntity t left join fetch t.lineItems"
+                            + " where t.tradeId in :tradeIds", PhysicalTradeEntity.class)
+                    .setParameter("tradeIds", tradeIds)
+                    .getResultList();
+            List<PhysicalTradeEntity> fetched = entityManager.createQuery("select distinct t from PhysicalTradeEntity t"
+                            + " left join fetch t.settlementItems where t.tradeId in :tradeIds",
+                            PhysicalTradeEntity.class)
+                    .setParameter("tradeIds", tradeIds)
+                    .getResultList();
+            boolean freeFormRefs = fetched.stream()
+                    .flatMap(trade -> trade.getSettlementItems().stream())
+                    .anyMatch(item -> item.getLineItemRanges() == null);
+            if (freeFormRefs) {
+                entityManager.createQuery("select distinct s from PhysicalSettlementItemEntity s"
+                                + " left join fetch s.referencedLineItems"
+                                + " where s.trade.tradeId in :tradeIds and s.lineItemRanges is null",
+                                PhysicalSettlementItemEntity.class)
+                        .setParameter("tradeIds", tradeIds)
+                        .getResultList();
+            }
+        }
+    }
 
-        criteria.getTransactionType()
-                .ifPresent(type -> predicates.add(cb.equal(root.get("header").get("transactionType"), type)));
+    /**
+     * Fallback for databases without a native upsert and for graphs whose children already carry ids. A DTO-built
+     * entity has no version yet, so it takes the stored one; a version set by the caller is checked by the merge.
+     */
+    private PhysicalTradeEntity findAndMerge(PhysicalTradeEntity entity) {
+        PhysicalTradeEntity stored = entityManager.find(PhysicalTradeEntity.class, entity.getTradeId());
+        if (stored == null) {
+            entityManager.persist(entity);
+            return entity;
+        }
+        if (entity.getVersion() == null) {
+            entity.setVersion(stored.getVersion());
+        }
+        return entityManager.merge(entity);
+    }
+
+    private void applyScheduleStorage(PhysicalTradeEntity entity) {
+        if (scheduleStorage == ScheduleStorage.PACKED) {
+            entity.packSchedule();
+        }
+    }
+
+    private void deleteChildren(String sql, String tradeId) {
+        entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(TradeCache.CALLER_EVICTED_SPACE)
+                .setParameter(1, tradeId)
+                .executeUpdate();
+    }
+
+    private static void add(Map<VolumeKey, double[]> totals, VolumeKey key, double quantity, double netQuantity,
+                            long lineItems) {
+        double[] total = totals.computeIfAbsent(key, ignored -> new double[3]);
+        total[0] += quantity;
+        total[1] += netQuantity;
+        total[2] += lineItems;
+    }
 
-        criteria.getTradeDate()
-                .ifPresent(date -> predicates.add(cb.equal(root.get("header").get("tradeDate"), date)));
+    private static int positive(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return limit;
+    }
 
-        if (criteria.getTradeTimeFrom().isPresent() || criteria.getTradeTimeTo().isPresent()) {
-            Instant from = criteria.getTradeTimeFrom().orElse(Instant.MIN);
-            Instant to = criteria.getTradeTimeTo().orElse(Instant.MAX);
-            predicates.add(cb.between(root.get("header").get("tradeTime"), from, to));
+    /**
+     * Columns of the header upsert, read from the mapping of the first trade saved.
+     */
+    private CopyTable headerTable() {
+        if (headerTable == null) {
+            headerTable = CopyTable.of(entityManager.getEntityManagerFactory(), PhysicalTradeEntity.class);
         }
+        return headerTable;
+    }
 
-        query.where(predicates.toArray(Predicate[]::new));
+    private static boolean hasStoredChildren(PhysicalTradeEntity entity) {
+        return entity.getLineItems().stream().anyMatch(lineItem -> lineItem.getId() != null)
+                || entity.getSettlementItems().stream().anyMatch(item -> item.getId() != null);
+    }
 
-        return entityManager.createQuery(query).getResultList();
+    private record VolumeKey(String tenantId, String market, String deliveryPoint, LocalDate day, Integer hour) {
+
+        /**
+         * Bucket of the UTC date and hour of the period start; periods without a start time keep their start date.
+         */
+        static VolumeKey hourly(String tenantId, String market, String deliveryPoint, LocalDate periodStartDate,
+                                Long epochHour) {
+            if (epochHour == null) {
+                return new VolumeKey(tenantId, market, deliveryPoint, periodStartDate, null);
+            }
+            return new VolumeKey(tenantId, market, deliveryPoint, LocalDate.ofEpochDay(Math.floorDiv(epochHour, 24L)),
+                    (int) Math.floorMod(epochHour, 24L));
+        }
+
+        VolumeAggregate toAggregate(double[] total) {
+            return new VolumeAggregate(tenantId, market, deliveryPoint, day, hour, total[0], total[1],
+                    (long) total[2]);
+        }
     }
 }
@@ -0,0 +1,190 @@
+package com.power.base.dao.rdbms.jpa.repository.physical;
+
+import com.power.base.dao.rdbms.jpa.schema.IndexAdvisor;
+import com.power.base.dao.rdbms.jpa.schema.TradeSchema;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The JPQL of every physical trade search for one combination of populated criteria fields. Each combination is
+ * rendered once and its strings are reused, so repeated searches hit Hibernate's query plan cache and only bind
+ * parameters. A trade time range with a single bound compares against that bound alone instead of widening the other
+ * end to {@code Instant.MIN} or {@code Instant.MAX}, which keeps the trade time index usable. A new combination is
+ * reported to the {@link IndexAdvisor} when it is first rendered.
+ * <p>
+ * The aggregations join the child rows to the trades they filter, so they apply the same criteria as the searches.
+ */
+final class PhysicalTradeQueryShape {
+
+    private static final String FROM = " from PhysicalTradeEntity t";
+
+    private static final String SUMMARY_SELECT =
+            "select new com.power.base.datamodel.dto.physicals.PhysicalTradeSummary(t.tradeId,"
+            + " t.header.tenantId, t.header.tradeDate, t.header.tradeTime, t.header.businessUnit,"
+            + " t.header.traderName, t.header.market, t.header.commodity, t.header.deliveryPoint,"
+            + " t.header.buySellIndicator, t.header.amendmentIndicator, t.tradePrice, t.tradeCurrency,"
+            + " t.totalQuantity)";
+
+    private static final String GROUP = "t.header.tenantId, t.header.market, t.header.deliveryPoint";
+
+    /**
+     * Hours since the epoch of the period start from the epoch column, or from the timestamp for rows written without
+     * it. The caller splits it into the UTC date and hour, so both halves of an hourly bucket come from one instant.
+     */
+    private static final String EPOCH_HOUR = "coalesce(l.periodStartEpochMillis / 3600000,"
+            + " extract(epoch from l.periodStartTime) / 3600)";
+
+    private static final String VOLUME_SUMS = "sum(l.quantity), sum(case when t.header.buySellIndicator"
+            + " = com.power.base.datamodel.dto.common.BuySellIndicator.SELL then -l.quantity else l.quantity end),"
+            + " count(l)";
+
+    private static final String VOLUMES_FROM = " from PhysicalLineItemEntity l join l.trade t";
+
+    private static final String CASHFLOWS_FROM = " from PhysicalSettlementItemEntity s join s.trade t";
+
+    private static final String PAGE_ORDER = " order by t.header.tradeDate, t.tradeId";
+
+    private static final List<Filter> FILTERS = List.of(
+            new Filter("t.header.tenantId = :tenantId", "tenantId", "tenant_id",
+                    PhysicalTradeSearchCriteria::getTenantId),
+            new Filter("t.header.businessUnit = :businessUnit", "businessUnit", "business_unit",
+                    PhysicalTradeSearchCriteria::getBusinessUnit),
+            new Filter("t.header.market = :market", "market", "market", PhysicalTradeSearchCriteria::getMarket),
+            new Filter("t.header.traderName = :traderName", "traderName", "trader_name",
+                    PhysicalTradeSearchCriteria::getTraderName),
+            new Filter("t.header.agreementId = :agreementId", "agreementId", "agreement_id",
+                    PhysicalTradeSearchCriteria::getAgreementId),
+            new Filter("t.header.commodity = :commodity", "commodity", "commodity",
+                    PhysicalTradeSearchCriteria::getCommodity),
+            new Filter("t.header.transactionType = :transactionType", "transactionType", "transaction_type",
+                    PhysicalTradeSearchCriteria::getTransactionType),
+            new Filter("t.header.tradeDate = :tradeDate", "tradeDate", "trade_date",
+                    PhysicalTradeSearchCriteria::getTradeDate),
+            new Filter("t.header.tradeTime >= :tradeTimeFrom", "tradeTimeFrom", "trade_time",
+                    PhysicalTradeSearchCriteria::getTradeTimeFrom),
+            new Filter("t.header.tradeTime <= :tradeTimeTo", "tradeTimeTo", "trade_time",
+                    PhysicalTradeSearchCriteria::getTradeTimeTo));
+
+    private static final Map<Integer, PhysicalTradeQueryShape> SHAPES = new ConcurrentHashMap<>();
+
+    private final int populated;
+    private final String search;
+    private final String tradeIds;
+    private final String summaries;
+    private final String firstPage;
+    private final String nextPage;
+    private final String dailyVolumes;
+    private final String hourlyVolumes;
+    private final String packedSchedules;
+    private final String cashflows;
+
+    private PhysicalTradeQueryShape(int populated) {
+        this.populated = populated;
+        List<String> conditions = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+        for (int i = 0; i < FILTERS.size(); i++) {
+            if ((populated & 1 << i) != 0) {
+                conditions.add(FILTERS.get(i).condition());
+                columns.add(FILTERS.get(i).column());
+            }
+        }
+        IndexAdvisor.shared().record(TradeSchema.PHYSICAL_TRADES, columns);
+        String where = where(conditions);
+        this.search = "select t" + FROM + where;
+        this.tradeIds = "select t.tradeId" + FROM + where;
+        this.summaries = SUMMARY_SELECT + FROM + where;
+        this.dailyVolumes = "select " + GROUP + ", l.periodStartDate, " + VOLUME_SUMS + VOLUMES_FROM + where
+                + " group by " + GROUP + ", l.periodStartDate";
+        this.hourlyVolumes = "select " + GROUP + ", l.periodStartDate, " + EPOCH_HOUR + ", " + VOLUME_SUMS
+                + VOLUMES_FROM + where + " group by " + GROUP + ", l.periodStartDate, " + EPOCH_HOUR;
+        this.cashflows = "select " + GROUP + ", s.deliveryDate, sum(s.actualQuantity), sum(s.periodCashflow),"
+                + " count(s)" + CASHFLOWS_FROM + where + " group by " + GROUP + ", s.deliveryDate"
+                + " order by " + GROUP + ", s.deliveryDate";
+        this.packedSchedules = "select " + GROUP + ", t.header.buySellIndicator, t.packedSchedule" + FROM + where
+                + (where.isEmpty() ? " where " : " and ") + "t.packedSchedule is not null";
+
+        conditions.add("t.header.tradeDate is not null");
+        this.firstPage = "select t" + FROM + where(conditions) + PAGE_ORDER;
+        conditions.add("(t.header.tradeDate > :afterDate"
+                + " or (t.header.tradeDate = :afterDate and t.tradeId > :afterTradeId))");
+        this.nextPage = "select t" + FROM + where(conditions) + PAGE_ORDER;
+    }
+
+    static PhysicalTradeQueryShape of(PhysicalTradeSearchCriteria criteria) {
+        int populated = 0;
+        for (int i = 0; i < FILTERS.size(); i++) {
+            if (FILTERS.get(i).value().apply(criteria).isPresent()) {
+                populated |= 1 << i;
+            }
+        }
+        return SHAPES.computeIfAbsent(populated, PhysicalTradeQueryShape::new);
+    }
+
+    String search() {
+        return search;
+    }
+
+    String tradeIds() {
+        return tradeIds;
+    }
+
+    String summaries() {
+        return summaries;
+    }
+
+    /**
+     * Trades with a trade date in keyset order; the next page additionally binds {@code afterDate} and
+     * {@code afterTradeId}.
+     */
+    String page(boolean first) {
+        return first ? firstPage : nextPage;
+    }
+
+    /**
+     * Tenant, market, delivery point, period start date[, epoch hour], summed quantity, net quantity and line item
+     * count per bucket of the line item rows.
+     */
+    String volumes(PositionBucket bucket) {
+        return bucket == PositionBucket.HOUR ? hourlyVolumes : dailyVolumes;
+    }
+
+    /**
+     * Tenant, market, delivery point, buy/sell indicator and schedule of the matching trades whose schedule is packed and therefore has
+     * no line item rows to aggregate.
+     */
+    String packedSchedules() {
+        return packedSchedules;
+    }
+
+    /**
+     * Tenant, market, delivery point, delivery date, summed actual quantity, summed cashflow and settlement item
+     * count per delivery date.
+     */
+    String cashflows() {
+        return cashflows;
+    }
+
+    <T> TypedQuery<T> bind(TypedQuery<T> query, PhysicalTradeSearchCriteria criteria) {
+        for (int i = 0; i < FILTERS.size(); i++) {
+            if ((populated & 1 << i) != 0) {
+                Filter filter = FILTERS.get(i);
+                query.setParameter(filter.parameter(), filter.value().apply(criteria).orElseThrow());
+            }
+        }
+        return query;
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+    }
+
+    private record Filter(String condition, String parameter, String column,
+                          Function<PhysicalTradeSearchCriteria, Optional<?>> value) {
+    }
+}
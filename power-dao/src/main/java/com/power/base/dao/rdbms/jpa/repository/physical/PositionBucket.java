@@ -0,0 +1,19 @@
+package com.power.base.dao.rdbms.jpa.repository.physical;
+
+/**
+ * Delivery period granularity of {@link PhysicalTradeDao#aggregateVolumes}.
+ */
+public enum PositionBucket {
+
+    /**
+     * One row per delivery day, the period start date of the line items.
+     */
+    DAY,
+
+    /**
+     * One row per UTC date and UTC hour of the period start, so a bucket never pairs a local delivery day with a UTC
+     * hour; quarter-hour periods add up into their hour. Periods stored without a start time fall back to their
+     * period start date and no hour.
+     */
+    HOUR
+}
@@ -0,0 +1,13 @@
+package com.power.base.dao.rdbms.jpa.repository.physical;
+
+import java.time.LocalDate;
+
+/**
+ * Scheduled volume of the matching physical trades in one delivery bucket: {@code quantity} adds up all line items,
+ * {@code netQuantity} subtracts those of sell trades. For {@link PositionBucket#HOUR}, {@code day} and {@code hour} are
+ * the UTC date and hour of the period start. {@code hour} is {@code null} for {@link PositionBucket#DAY} and for stored
+ * periods without a start time.
+ */
+public record VolumeAggregate(String tenantId, String market, String deliveryPoint, LocalDate day, Integer hour,
+                              double quantity, double netQuantity, long lineItems) {
+}
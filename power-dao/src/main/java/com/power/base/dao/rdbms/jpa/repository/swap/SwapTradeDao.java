@@ -1,18 +1,61 @@
 package com.power.base.dao.rdbms.jpa.repository.swap;
 
 import com.power.base.dao.rdbms.jpa.persistence.swap.SwapTradeEntity;
+import com.power.base.dao.rdbms.jpa.repository.BulkSaveReport;
+import com.power.base.dao.rdbms.jpa.repository.TradeCursor;
+import com.power.base.dao.rdbms.jpa.repository.TradePage;
+import com.power.base.datamodel.dto.financials.SwapTradeSummary;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface SwapTradeDao {
 
     SwapTradeEntity save(SwapTradeEntity entity);
 
+    /**
+     * Inserts new trades and merges existing ones in chunks, flushing and clearing the persistence context after
+     * each chunk so child rows go out as JDBC batches and memory stays bounded. Saved entities are detached.
+     */
+    BulkSaveReport saveAll(Collection<SwapTradeEntity> entities);
+
     Optional<SwapTradeEntity> findByTradeId(String tradeId);
 
     void deleteByTradeId(String tradeId);
 
+    /**
+     * Deletes up to {@code limit} of the matching trades with one statement per table, children first, and returns
+     * how many it deleted. Callers purging more repeat it, committing in between, until it returns less than
+     * {@code limit}; {@link com.power.base.dao.rdbms.jpa.service.SwapTradeService#deleteByCriteria} does.
+     */
+    int deleteByCriteria(SwapTradeSearchCriteria criteria, int limit);
+
+    /**
+     * Moves up to {@code limit} trades dated before {@code tradeDate} and their periods into the archive tables and
+     * returns how many it moved; repeated like {@link #deleteByCriteria}.
+     */
+    int archiveBefore(LocalDate tradeDate, int limit);
+
     List<SwapTradeEntity> findByCriteria(SwapTradeSearchCriteria criteria);
+
+    /**
+     * Header-only search for list screens; its cost does not depend on the size of the trades' schedules.
+     */
+    List<SwapTradeSummary> findSummaries(SwapTradeSearchCriteria criteria);
+
+    /**
+     * Keyset-paginated search ordered by trade date, then trade id; pass the previous page's {@code next} cursor, or
+     * {@code null} for the first page. Trades without a trade date are not returned.
+     */
+    TradePage<SwapTradeEntity> findPage(SwapTradeSearchCriteria criteria, TradeCursor after, int pageSize);
+
+    /**
+     * Streams the matching trades from a forward-only cursor, fetching children batch by batch and detaching each
+     * trade once consumed. Must be consumed inside a transaction and closed, e.g. with try-with-resources.
+     */
+    Stream<SwapTradeEntity> streamByCriteria(SwapTradeSearchCriteria criteria);
 }
 
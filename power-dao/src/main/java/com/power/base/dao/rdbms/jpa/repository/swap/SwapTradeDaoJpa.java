@@ -1,95 +1,372 @@
 package com.power.base.dao.rdbms.jpa.repository.swap;
 
 import com.power.base.dao.rdbms.jpa.persistence.swap.SwapTradeEntity;
+import com.power.base.dao.rdbms.jpa.repository.BulkSaveReport;
+import com.power.base.dao.rdbms.jpa.repository.CopyTable;
+import com.power.base.dao.rdbms.jpa.repository.HeaderUpsert;
+import com.power.base.dao.rdbms.jpa.repository.ScrollingStream;
+import com.power.base.dao.rdbms.jpa.repository.TradeCache;
+import com.power.base.dao.rdbms.jpa.repository.TradeCursor;
+import com.power.base.dao.rdbms.jpa.repository.TradePage;
+import com.power.base.dao.rdbms.jpa.repository.TradePurge;
+import com.power.base.dao.rdbms.jpa.schema.IndexAdvisor;
+import com.power.base.dao.rdbms.jpa.schema.TradeSchema;
+import com.power.base.datamodel.dto.financials.SwapTradeSummary;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import jakarta.transaction.Transactional;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @Transactional
 public class SwapTradeDaoJpa implements SwapTradeDao {
 
+    /**
+     * Trades per flush in {@link #saveAll}; every trade adds its own child rows to the JDBC batches.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 50;
+
+    /**
+     * Trade ids per IN list when {@link #findByCriteria} fetches the periods of its results.
+     */
+    public static final int FETCH_BATCH_SIZE = 1000;
+
+    /**
+     * JDBC fetch size of {@link #streamByCriteria}, and the number of trades whose children are fetched together.
+     */
+    public static final int STREAM_BATCH_SIZE = 100;
+
+    private static final TradePurge PURGE = TradePurge.of(SwapTradeEntity.class, "periods")
+            .table("swap_periods", "trade_id in (:tradeIds)")
+            .table(TradeSchema.SWAP_TRADES, "trade_id in (:tradeIds)");
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private CopyTable headerTable;
+
     void setEntityManager(EntityManager entityManager) {
         this.entityManager = entityManager;
     }
 
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Same write path as the physical DAO: managed trades are left to the flush, detached ones get a versioned native
+     * header upsert and, when the trade already existed, a bulk delete and batched re-insert of their periods and
+     * eviction of that trade's cache entries.
+     */
     @Override
     public SwapTradeEntity save(SwapTradeEntity entity) {
-        if (entityManager.find(SwapTradeEntity.class, entity.getTradeId()) == null) {
-            entityManager.persist(entity);
+        if (entityManager.contains(entity)) {
             return entity;
         }
-        return entityManager.merge(entity);
+        if (!HeaderUpsert.isSupported(entityManager)
+                || entity.getPeriods().stream().anyMatch(period -> period.getId() != null)) {
+            return findAndMerge(entity);
+        }
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        long version = HeaderUpsert.of(headerTable(), entity, session)
+                .synchronizedOn(TradeCache.CALLER_EVICTED_SPACE)
+                .execute(entityManager, entity.getVersion())
+                .orElseThrow(() -> new OptimisticLockException("Swap trade " + entity.getTradeId()
+                        + " no longer has version " + entity.getVersion()));
+        entity.setVersion(version);
+        if (version > 0) {
+            entityManager.createNativeQuery("delete from swap_periods where trade_id = ?")
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedQuerySpace(TradeCache.CALLER_EVICTED_SPACE)
+                    .setParameter(1, entity.getTradeId())
+                    .executeUpdate();
+        }
+        TradeCache.evictTrade(entityManager, SwapTradeEntity.class, entity.getTradeId(), "periods");
+        entity.getPeriods().forEach(entityManager::persist);
+        return entity;
+    }
+
+    @Override
+    public BulkSaveReport saveAll(Collection<SwapTradeEntity> entities) {
+        long started = System.nanoTime();
+        long rows = 0;
+        int flushes = 0;
+        List<SwapTradeEntity> chunk = new ArrayList<>(Math.min(chunkSize, entities.size()));
+        for (SwapTradeEntity entity : entities) {
+            chunk.add(entity);
+            rows += rowCount(entity);
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk);
+                flushes++;
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk);
+            flushes++;
+        }
+        return new BulkSaveReport(entities.size(), rows, flushes, Duration.ofNanos(System.nanoTime() - started));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<SwapTradeEntity> findByTradeId(String tradeId) {
         return Optional.ofNullable(entityManager.find(SwapTradeEntity.class, tradeId));
     }
 
     @Override
     public void deleteByTradeId(String tradeId) {
-        findByTradeId(tradeId).ifPresent(entityManager::remove);
+        PURGE.delete(entityManager, List.of(tradeId));
     }
 
     @Override
+    public int deleteByCriteria(SwapTradeSearchCriteria criteria, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<SwapTradeEntity> root = query.from(SwapTradeEntity.class);
+        query.select(root.get("tradeId"))
+                .where(predicates(cb, root, criteria).toArray(Predicate[]::new));
+        return PURGE.delete(entityManager, entityManager.createQuery(query)
+                .setMaxResults(positive(limit))
+                .getResultList());
+    }
+
+    @Override
+    public int archiveBefore(LocalDate tradeDate, int limit) {
+        return PURGE.archive(entityManager, entityManager.createQuery(
+                        "select t.tradeId from SwapTradeEntity t where t.header.tradeDate < :tradeDate", String.class)
+                .setParameter("tradeDate", tradeDate)
+                .setMaxResults(positive(limit))
+                .getResultList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<SwapTradeEntity> findByCriteria(SwapTradeSearchCriteria criteria) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<SwapTradeEntity> query = cb.createQuery(SwapTradeEntity.class);
         Root<SwapTradeEntity> root = query.from(SwapTradeEntity.class);
+        query.where(predicates(cb, root, criteria).toArray(Predicate[]::new));
 
-        List<Predicate> predicates = new ArrayList<>();
-
-        criteria.getTenantId()
-                .ifPresent(tenant -> predicates.add(cb.equal(root.get("header").get("tenantId"), tenant)));
+        List<SwapTradeEntity> trades = TradeCache.cachedSearch(entityManager.createQuery(query)).getResultList();
+        fetchChildren(trades);
+        return trades;
+    }
 
-        criteria.getBusinessUnit()
-                .ifPresent(bu -> predicates.add(cb.equal(root.get("header").get("businessUnit"), bu)));
+    /**
+     * Selects only header columns into summaries with a constructor expression; no child row is read.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SwapTradeSummary> findSummaries(SwapTradeSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SwapTradeSummary> query = cb.createQuery(SwapTradeSummary.class);
+        Root<SwapTradeEntity> root = query.from(SwapTradeEntity.class);
+        Path<Object> header = root.get("header");
+        Path<Object> settlementInfo = root.get("settlementInfo");
+        query.select(cb.construct(SwapTradeSummary.class,
+                root.get("tradeId"),
+                header.get("tenantId"),
+                header.get("tradeDate"),
+                header.get("tradeTime"),
+                header.get("businessUnit"),
+                header.get("traderName"),
+                header.get("market"),
+                header.get("commodity"),
+                header.get("referenceZone"),
+                header.get("buySellIndicator"),
+                header.get("amendmentIndicator"),
+                settlementInfo.get("fixedPrice"),
+                settlementInfo.get("totalNotional"),
+                settlementInfo.get("totalNotionalUom"),
+                settlementInfo.get("settlementCurrency")));
+        query.where(predicates(cb, root, criteria).toArray(Predicate[]::new));
+        return TradeCache.cachedSearch(entityManager.createQuery(query)).getResultList();
+    }
 
-        criteria.getMarket()
-                .ifPresent(market -> predicates.add(cb.equal(root.get("header").get("market"), market)));
+    @Override
+    @Transactional(readOnly = true)
+    public TradePage<SwapTradeEntity> findPage(SwapTradeSearchCriteria criteria, TradeCursor after, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SwapTradeEntity> query = cb.createQuery(SwapTradeEntity.class);
+        Root<SwapTradeEntity> root = query.from(SwapTradeEntity.class);
+        Path<LocalDate> tradeDate = root.get("header").get("tradeDate");
+        Path<String> tradeId = root.get("tradeId");
 
-        criteria.getTraderName()
-                .ifPresent(trader -> predicates.add(cb.equal(root.get("header").get("traderName"), trader)));
+        List<Predicate> predicates = predicates(cb, root, criteria);
+        predicates.add(cb.isNotNull(tradeDate));
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.greaterThan(tradeDate, after.tradeDate()),
+                    cb.and(cb.equal(tradeDate, after.tradeDate()), cb.greaterThan(tradeId, after.tradeId()))));
+        }
+        query.where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(tradeDate), cb.asc(tradeId));
 
-        criteria.getAgreementId()
-                .ifPresent(agreement -> predicates.add(cb.equal(root.get("header").get("agreementId"), agreement)));
+        List<SwapTradeEntity> trades = entityManager.createQuery(query)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+        TradeCursor next = null;
+        if (trades.size() > pageSize) {
+            trades = trades.subList(0, pageSize);
+            SwapTradeEntity last = trades.get(pageSize - 1);
+            next = new TradeCursor(last.getHeader().getTradeDate(), last.getTradeId());
+        }
+        fetchChildren(trades);
+        return new TradePage<>(trades, next);
+    }
 
-        criteria.getCommodity()
-                .ifPresent(commodity -> predicates.add(cb.equal(root.get("header").get("commodity"), commodity)));
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public Stream<SwapTradeEntity> streamByCriteria(SwapTradeSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SwapTradeEntity> query = cb.createQuery(SwapTradeEntity.class);
+        Root<SwapTradeEntity> root = query.from(SwapTradeEntity.class);
+        query.where(predicates(cb, root, criteria).toArray(Predicate[]::new));
 
-        criteria.getTransactionType()
-                .ifPresent(type -> predicates.add(cb.equal(root.get("header").get("transactionType"), type)));
+        ScrollableResults<SwapTradeEntity> scroll = entityManager.createQuery(query)
+                .unwrap(Query.class)
+                .setFetchSize(STREAM_BATCH_SIZE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        return ScrollingStream.of(scroll, STREAM_BATCH_SIZE, this::fetchChildren, entityManager::detach);
+    }
 
-        criteria.getReferenceZone()
-                .ifPresent(zone -> predicates.add(cb.equal(root.get("header").get("referenceZone"), zone)));
+    private static List<Predicate> predicates(CriteriaBuilder cb, Root<SwapTradeEntity> root, SwapTradeSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+        Path<Object> header = root.get("header");
 
-        criteria.getTradeDate()
-                .ifPresent(date -> predicates.add(cb.equal(root.get("header").get("tradeDate"), date)));
+        equal(cb, header, "tenantId", "tenant_id", criteria.getTenantId(), predicates, columns);
+        equal(cb, header, "businessUnit", "business_unit", criteria.getBusinessUnit(), predicates, columns);
+        equal(cb, header, "market", "market", criteria.getMarket(), predicates, columns);
+        equal(cb, header, "traderName", "trader_name", criteria.getTraderName(), predicates, columns);
+        equal(cb, header, "agreementId", "agreement_id", criteria.getAgreementId(), predicates, columns);
+        equal(cb, header, "commodity", "commodity", criteria.getCommodity(), predicates, columns);
+        equal(cb, header, "transactionType", "transaction_type", criteria.getTransactionType(), predicates, columns);
+        equal(cb, header, "referenceZone", "reference_zone", criteria.getReferenceZone(), predicates, columns);
+        equal(cb, header, "tradeDate", "trade_date", criteria.getTradeDate(), predicates, columns);
 
         if (criteria.getTradeTimeFrom().isPresent() || criteria.getTradeTimeTo().isPresent()) {
             Instant from = criteria.getTradeTimeFrom().orElse(Instant.MIN);
             Instant to = criteria.getTradeTimeTo().orElse(Instant.MAX);
-            predicates.add(cb.between(root.get("header").get("tradeTime"), from, to));
+            predicates.add(cb.between(header.get("tradeTime"), from, to));
+            columns.add("trade_time");
         }
 
-        query.where(predicates.toArray(Predicate[]::new));
+        IndexAdvisor.shared().record(TradeSchema.SWAP_TRADES, columns);
+        return predicates;
+    }
+
+    private static void equal(CriteriaBuilder cb, Path<Object> header, String attribute, String column,
+                              Optional<?> value, List<Predicate> predicates, List<String> columns) {
+        value.ifPresent(present -> {
+            predicates.add(cb.equal(header.get(attribute), present));
+            columns.add(column);
+        });
+    }
 
-        return entityManager.createQuery(query).getResultList();
+    /**
+     * Looks up which trades of the chunk already exist with one query instead of a find per trade.
+     */
+    private void saveChunk(List<SwapTradeEntity> chunk) {
+        Map<String, Long> existing = new HashMap<>();
+        entityManager.createQuery(
+                        "select t.tradeId, t.version from SwapTradeEntity t where t.tradeId in :tradeIds",
+                        Object[].class)
+                .setParameter("tradeIds", chunk.stream().map(SwapTradeEntity::getTradeId).toList())
+                .getResultList()
+                .forEach(row -> existing.put((String) row[0], (Long) row[1]));
+        for (SwapTradeEntity entity : chunk) {
+            Long storedVersion = existing.get(entity.getTradeId());
+            if (storedVersion != null) {
+                if (entity.getVersion() == null) {
+                    entity.setVersion(storedVersion);
+                }
+                entityManager.merge(entity);
+            } else {
+                entityManager.persist(entity);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
     }
-}
 
+    /**
+     * Initializes the periods of a whole result page with one IN-list query per {@link #FETCH_BATCH_SIZE} trades.
+     */
+    private void fetchChildren(List<SwapTradeEntity> trades) {
+        for (int from = 0; from < trades.size(); from += FETCH_BATCH_SIZE) {
+            List<String> tradeIds = trades.subList(from, Math.min(from + FETCH_BATCH_SIZE, trades.size())).stream()
+                    .map(SwapTradeEntity::getTradeId)
+                    .toList();
+            entityManager.createQuery("select distinct t from SwapTradeEntity t left join fetch t.periods"
+                            + " where t.tradeId in :tradeIds", SwapTradeEntity.class)
+                    .setParameter("tradeIds", tradeIds)
+                    .getResultList();
+        }
+    }
+
+    private SwapTradeEntity findAndMerge(SwapTradeEntity entity) {
+        SwapTradeEntity stored = entityManager.find(SwapTradeEntity.class, entity.getTradeId());
+        if (stored == null) {
+            entityManager.persist(entity);
+            return entity;
+        }
+        if (entity.getVersion() == null) {
+            entity.setVersion(stored.getVersion());
+        }
+        return entityManager.merge(entity);
+    }
 
+    /**
+     * Columns of the header upsert, read from the mapping of the first trade saved.
+     */
+    private CopyTable headerTable() {
+        if (headerTable == null) {
+            headerTable = CopyTable.of(entityManager.getEntityManagerFactory(), SwapTradeEntity.class);
+        }
+        return headerTable;
+    }
+
+    private static int positive(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return limit;
+    }
+
+    private static long rowCount(SwapTradeEntity entity) {
+        return 1L + entity.getPeriods().size();
+    }
+}
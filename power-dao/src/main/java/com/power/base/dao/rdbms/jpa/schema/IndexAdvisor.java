@@ -0,0 +1,61 @@
+package com.power.base.dao.rdbms.jpa.schema;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watches which combinations of columns trade searches filter on and logs, once per combination, those that no
+ * {@link TradeSchema} index can serve, i.e. where no index leads with one of the filtered columns. Such searches scan
+ * the whole table; a recurring warning is the cue to add an index to {@link TradeSchema} in a new migration.
+ */
+public final class IndexAdvisor {
+
+    private static final System.Logger LOG = System.getLogger(IndexAdvisor.class.getName());
+
+    private static final IndexAdvisor SHARED = new IndexAdvisor(TradeSchema.indexes());
+
+    private final List<TradeIndex> indexes;
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+    private final Set<String> unindexed = ConcurrentHashMap.newKeySet();
+
+    IndexAdvisor(List<TradeIndex> indexes) {
+        this.indexes = List.copyOf(indexes);
+    }
+
+    public static IndexAdvisor shared() {
+        return SHARED;
+    }
+
+    /**
+     * Records a search on {@code table} filtering on {@code columns}; searches without filters are full scans by
+     * request and are not reported.
+     */
+    public void record(String table, Collection<String> columns) {
+        if (columns.isEmpty()) {
+            return;
+        }
+        Set<String> filtered = new TreeSet<>(columns);
+        String search = table + filtered;
+        if (!seen.add(search) || isIndexed(table, filtered)) {
+            return;
+        }
+        unindexed.add(search);
+        LOG.log(System.Logger.Level.WARNING, "Trade search on {0} filtering on {1} has no index to use and scans "
+                + "the table", table, filtered);
+    }
+
+    public boolean isIndexed(String table, Collection<String> columns) {
+        return indexes.stream()
+                .anyMatch(index -> index.table().equals(table) && columns.contains(index.columns().get(0)));
+    }
+
+    /**
+     * The searches reported so far, as {@code table[column, ...]}.
+     */
+    public Set<String> unindexedSearches() {
+        return Set.copyOf(unindexed);
+    }
+}
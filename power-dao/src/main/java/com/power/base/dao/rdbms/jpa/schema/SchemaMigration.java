@@ -0,0 +1,19 @@
+package com.power.base.dao.rdbms.jpa.schema;
+
+import java.util.List;
+
+/**
+ * One versioned step of the trade schema. Statements must be idempotent, so a step that was interrupted before its
+ * version was recorded can simply run again. {@code objects} names the indexes and tables the statements create; a
+ * recorded step runs again when one of them is missing, as after Hibernate recreated the trade tables.
+ */
+public record SchemaMigration(int version, String description, List<String> statements, List<String> objects) {
+
+    public SchemaMigration {
+        if (version < 1) {
+            throw new IllegalArgumentException("Migration version must be positive");
+        }
+        statements = List.copyOf(statements);
+        objects = List.copyOf(objects);
+    }
+}
@@ -0,0 +1,178 @@
+package com.power.base.dao.rdbms.jpa.schema;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the {@link TradeSchema} migrations that a database has not seen yet and records each applied version in
+ * {@value #HISTORY_TABLE}. Every migration runs in its own transaction together with its history row; on PostgreSQL
+ * the history table is locked first, so instances starting side by side apply each version once.
+ * <p>
+ * The history alone is not trusted: Hibernate does not manage {@value #HISTORY_TABLE}, so with {@code hbm2ddl.auto}
+ * set to {@code create} it recreates the trade tables without their indexes while the history survives. A recorded
+ * migration whose {@link SchemaMigration#objects() objects} are not all in the database runs again. After the
+ * migrations the id sequences are {@link #alignSequences() aligned} with the rows already in their tables.
+ */
+public class SchemaMigrator {
+
+    public static final String HISTORY_TABLE = "power_schema_history";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean postgres;
+    private final List<SchemaMigration> migrations;
+
+    public SchemaMigrator(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.postgres = isPostgres(entityManagerFactory);
+        this.migrations = TradeSchema.migrations(postgres);
+    }
+
+    /**
+     * @return the migrations applied or restored by this call, in version order
+     */
+    public List<SchemaMigration> migrate() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            inTransaction(entityManager, () -> entityManager.createNativeQuery("create table if not exists "
+                    + HISTORY_TABLE + " (version integer primary key, description varchar(200) not null,"
+                    + " applied_at timestamp not null)").executeUpdate());
+            List<SchemaMigration> applied = new ArrayList<>();
+            for (SchemaMigration migration : migrations) {
+                if (apply(entityManager, migration)) {
+                    applied.add(migration);
+                }
+            }
+            alignSequences();
+            return applied;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Moves every {@link TradeSchema#ID_SEQUENCES id sequence} past the largest id of its table, for rows written
+     * without the sequence, such as rows from before the sequences existed or loaded by a bulk import. A sequence only
+     * ever moves forward, and each call spends one value of every sequence.
+     *
+     * @return the sequences that were moved
+     */
+    public List<String> alignSequences() {
+        SequenceSupport sequences = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<String> moved = new ArrayList<>();
+            TradeSchema.ID_SEQUENCES.forEach((table, sequence) -> inTransaction(entityManager, () -> {
+                long next = ((Number) entityManager.createNativeQuery(sequences.getSequenceNextValString(sequence))
+                        .getSingleResult()).longValue();
+                Number maxId = (Number) entityManager.createNativeQuery("select max(id) from " + table)
+                        .getSingleResult();
+                if (maxId != null && next <= maxId.longValue()) {
+                    entityManager.createNativeQuery("alter sequence " + sequence + " restart with "
+                            + (maxId.longValue() + 1)).executeUpdate();
+                    moved.add(sequence);
+                }
+            }));
+            return moved;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    public Set<Integer> appliedVersions() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return appliedVersions(entityManager);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private boolean apply(EntityManager entityManager, SchemaMigration migration) {
+        EntityTransaction transaction = entityManager.getTransaction();
+        transaction.begin();
+        try {
+            if (postgres) {
+                entityManager.createNativeQuery("lock table " + HISTORY_TABLE + " in exclusive mode").executeUpdate();
+            }
+            boolean recorded = appliedVersions(entityManager).contains(migration.version());
+            if (recorded && existingObjects(entityManager).containsAll(migration.objects())) {
+                transaction.commit();
+                return false;
+            }
+            for (String statement : migration.statements()) {
+                entityManager.createNativeQuery(statement).executeUpdate();
+            }
+            if (recorded) {
+                transaction.commit();
+                return true;
+            }
+            entityManager.createNativeQuery("insert into " + HISTORY_TABLE
+                            + " (version, description, applied_at) values (?, ?, ?)")
+                    .setParameter(1, migration.version())
+                    .setParameter(2, migration.description())
+                    .setParameter(3, Timestamp.from(Instant.now()))
+                    .executeUpdate();
+            transaction.commit();
+            return true;
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw new IllegalStateException("Schema migration " + migration.version() + " ("
+                    + migration.description() + ") failed", e);
+        }
+    }
+
+    private static Set<Integer> appliedVersions(EntityManager entityManager) {
+        List<?> versions = entityManager.createNativeQuery("select version from " + HISTORY_TABLE).getResultList();
+        return versions.stream().map(version -> ((Number) version).intValue()).collect(Collectors.toSet());
+    }
+
+    /**
+     * Lower-case names of the tables and indexes in the current schema.
+     */
+    private Set<String> existingObjects(EntityManager entityManager) {
+        String indexes = postgres
+                ? "select indexname from pg_indexes where schemaname = current_schema"
+                : "select index_name from information_schema.indexes where table_schema = current_schema";
+        List<?> names = entityManager.createNativeQuery(indexes + " union all select table_name"
+                        + " from information_schema.tables where table_schema = current_schema")
+                .getResultList();
+        return names.stream().map(name -> ((String) name).toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    }
+
+    private static void inTransaction(EntityManager entityManager, Runnable work) {
+        EntityTransaction transaction = entityManager.getTransaction();
+        transaction.begin();
+        try {
+            work.run();
+            transaction.commit();
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isPostgres(EntityManagerFactory entityManagerFactory) {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+}
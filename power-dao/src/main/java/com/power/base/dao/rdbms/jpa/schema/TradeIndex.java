@@ -0,0 +1,24 @@
+package com.power.base.dao.rdbms.jpa.schema;
+
+import java.util.List;
+
+/**
+ * A secondary index on one of the trade tables.
+ */
+public record TradeIndex(String name, String table, List<String> columns) {
+
+    public TradeIndex {
+        columns = List.copyOf(columns);
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Index " + name + " needs at least one column");
+        }
+    }
+
+    static TradeIndex on(String table, String name, String... columns) {
+        return new TradeIndex(name, table, List.of(columns));
+    }
+
+    String createSql() {
+        return "create index if not exists " + name + " on " + table + " (" + String.join(", ", columns) + ")";
+    }
+}
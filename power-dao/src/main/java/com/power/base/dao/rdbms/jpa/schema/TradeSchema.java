@@ -0,0 +1,124 @@
+package com.power.base.dao.rdbms.jpa.schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Indexes and versioned migrations of the trade tables. Hibernate still creates the tables and columns; the migrations
+ * add what the entity mappings cannot express per database and what must be tuned without a redeploy of the mappings.
+ * <p>
+ * The search indexes lead with the selective equality filters of the search criteria and end with the trade date, so
+ * a search narrowed to a window of days reads one index range. Commodity and transaction type have too few distinct
+ * values to be worth an index of their own; the {@link IndexAdvisor} reports searches that filter on nothing else.
+ */
+public final class TradeSchema {
+
+    public static final String PHYSICAL_TRADES = "physical_trades";
+    public static final String SWAP_TRADES = "swap_trades";
+
+    /**
+     * Tables holding the rows of a physical trade, children first: the order in which whole trades are archived and
+     * deleted.
+     */
+    public static final List<String> PHYSICAL_TABLES = List.of("physical_settlement_line_refs",
+            "physical_settlement_items", "physical_trade_line_items", PHYSICAL_TRADES);
+
+    public static final List<String> SWAP_TABLES = List.of("swap_periods", SWAP_TRADES);
+
+    /**
+     * Indexes declared on the entities and created by Hibernate; repeated here so the advisor knows about them and a
+     * schema not generated by Hibernate still gets them.
+     */
+    public static final List<TradeIndex> ENTITY_INDEXES = List.of(
+            TradeIndex.on(PHYSICAL_TRADES, "idx_physical_trades_trade_date_id", "trade_date", "trade_id"),
+            TradeIndex.on(PHYSICAL_TRADES, "idx_physical_trades_trade_time", "trade_time"),
+            TradeIndex.on(SWAP_TRADES, "idx_swap_trades_trade_date_id", "trade_date", "trade_id"));
+
+    public static final List<TradeIndex> SEARCH_INDEXES = List.of(
+            TradeIndex.on(PHYSICAL_TRADES, "idx_physical_trades_tenant_date", "tenant_id", "trade_date"),
+            TradeIndex.on(PHYSICAL_TRADES, "idx_physical_trades_desk_date", "business_unit", "trader_name",
+                    "trade_date"),
+            TradeIndex.on(PHYSICAL_TRADES, "idx_physical_trades_trader_date", "trader_name", "trade_date"),
+            TradeIndex.on(PHYSICAL_TRADES, "idx_physical_trades_market_date", "market", "trade_date"),
+            TradeIndex.on(PHYSICAL_TRADES, "idx_physical_trades_agreement", "agreement_id"),
+            TradeIndex.on(SWAP_TRADES, "idx_swap_trades_tenant_date", "tenant_id", "trade_date"),
+            TradeIndex.on(SWAP_TRADES, "idx_swap_trades_desk_date", "business_unit", "trader_name", "trade_date"),
+            TradeIndex.on(SWAP_TRADES, "idx_swap_trades_trader_date", "trader_name", "trade_date"),
+            TradeIndex.on(SWAP_TRADES, "idx_swap_trades_market_date", "market", "trade_date"),
+            TradeIndex.on(SWAP_TRADES, "idx_swap_trades_agreement", "agreement_id"),
+            TradeIndex.on(SWAP_TRADES, "idx_swap_trades_trade_time", "trade_time"));
+
+    /**
+     * Indexes on the foreign keys of the child tables, which neither Hibernate nor PostgreSQL create. Loading, deleting
+     * and replacing the children of a trade all filter on these columns.
+     */
+    public static final List<TradeIndex> CHILD_INDEXES = List.of(
+            TradeIndex.on("physical_trade_line_items", "idx_physical_line_items_trade", "trade_id"),
+            TradeIndex.on("physical_settlement_items", "idx_physical_settlement_items_trade", "trade_id"),
+            TradeIndex.on("physical_settlement_line_refs", "idx_physical_settlement_line_refs_item",
+                    "settlement_item_id"),
+            TradeIndex.on("swap_periods", "idx_swap_periods_trade", "trade_id"));
+
+    /**
+     * The sequence handing out the ids of each child table, as named on the entities. Hibernate takes them through its
+     * pooled-lo optimizer, so every value starts a block of ids owned by whoever fetched it.
+     */
+    public static final Map<String, String> ID_SEQUENCES = Map.of(
+            "physical_trade_line_items", "physical_line_item_seq",
+            "physical_settlement_items", "physical_settlement_item_seq",
+            "swap_periods", "swap_period_seq");
+
+    private static final String BRIN_TRADE_DATE = "brin_physical_trades_trade_date";
+
+    private TradeSchema() {
+    }
+
+    public static List<TradeIndex> indexes() {
+        return Stream.of(ENTITY_INDEXES, SEARCH_INDEXES, CHILD_INDEXES).flatMap(List::stream).toList();
+    }
+
+    /**
+     * The migrations in version order. Steps that only apply to PostgreSQL are kept, without statements, on other
+     * databases so every database records the same versions.
+     */
+    public static List<SchemaMigration> migrations(boolean postgres) {
+        List<TradeIndex> headerIndexes = Stream.concat(ENTITY_INDEXES.stream(), SEARCH_INDEXES.stream()).toList();
+        List<String> archives = Stream.concat(PHYSICAL_TABLES.stream(), SWAP_TABLES.stream())
+                .map(TradeSchema::archiveOf)
+                .toList();
+        List<SchemaMigration> migrations = new ArrayList<>();
+        migrations.add(new SchemaMigration(1, "Search indexes on the trade headers", createAll(headerIndexes),
+                namesOf(headerIndexes)));
+        migrations.add(new SchemaMigration(2, "Foreign key indexes on the child tables", createAll(CHILD_INDEXES),
+                namesOf(CHILD_INDEXES)));
+        migrations.add(new SchemaMigration(3, "Block range index on the physical trade date", postgres
+                ? List.of("create index if not exists " + BRIN_TRADE_DATE + " on " + PHYSICAL_TRADES
+                        + " using brin (trade_date)")
+                : List.of(), postgres ? List.of(BRIN_TRADE_DATE) : List.of()));
+        migrations.add(new SchemaMigration(4, "Archive tables of the trade tables", Stream.concat(
+                        PHYSICAL_TABLES.stream(), SWAP_TABLES.stream())
+                .map(table -> "create table if not exists " + archiveOf(table) + " as select * from " + table
+                        + " with no data")
+                .toList(), archives));
+        return migrations;
+    }
+
+    /**
+     * The archive table of a trade table. It starts as a column-for-column copy without constraints; archiving copies
+     * the columns the archive table has, so a migration that adds a column to a trade table must add it to the archive
+     * table as well for its values to be kept.
+     */
+    public static String archiveOf(String table) {
+        return table + "_archive";
+    }
+
+    private static List<String> createAll(List<TradeIndex> indexes) {
+        return indexes.stream().map(TradeIndex::createSql).toList();
+    }
+
+    private static List<String> namesOf(List<TradeIndex> indexes) {
+        return indexes.stream().map(TradeIndex::name).toList();
+    }
+}
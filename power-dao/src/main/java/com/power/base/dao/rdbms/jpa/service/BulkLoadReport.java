@@ -0,0 +1,34 @@
+package com.power.base.dao.rdbms.jpa.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Progress or outcome of a bulk load: trades and table rows committed so far, the ids of trades that could not be
+ * converted or inserted, and the time since the load started.
+ */
+public record BulkLoadReport(int loaded, long rows, List<String> failedTradeIds, Duration elapsed) {
+
+    public BulkLoadReport {
+        failedTradeIds = List.copyOf(failedTradeIds);
+    }
+
+    public double tradesPerSecond() {
+        return perSecond(loaded);
+    }
+
+    public double rowsPerSecond() {
+        return perSecond(rows);
+    }
+
+    private double perSecond(long count) {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0d : count * 1_000_000_000d / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d trades, %d rows in %d ms (%.0f trades/s, %.0f rows/s), %d failed",
+                loaded, rows, elapsed.toMillis(), tradesPerSecond(), rowsPerSecond(), failedTradeIds.size());
+    }
+}
@@ -0,0 +1,47 @@
+package com.power.base.dao.rdbms.jpa.service;
+
+import com.power.base.dao.rdbms.async.TradeLookupExecutor;
+import com.power.base.dao.rdbms.jpa.repository.physical.PhysicalTradeSearchCriteria;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link PhysicalTradeService} on virtual threads. Every call runs in a transaction of its own, so callers that need
+ * many trades, such as a portfolio valuation, can wait for all of them at once instead of one after the other.
+ */
+@Service
+public class PhysicalTradeAsyncService {
+
+    private final PhysicalTradeService tradeService;
+    private final TradeLookupExecutor executor;
+
+    public PhysicalTradeAsyncService(PhysicalTradeService tradeService, TradeLookupExecutor executor) {
+        this.tradeService = tradeService;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<PhysicalPowerTradeDto> persist(PhysicalPowerTradeDto tradeDto) {
+        return executor.submit(() -> tradeService.persist(tradeDto));
+    }
+
+    public CompletableFuture<Optional<PhysicalPowerTradeDto>> findByTradeId(String tradeId) {
+        return executor.submit(() -> tradeService.findByTradeId(tradeId));
+    }
+
+    /**
+     * @return the trades found, keyed by trade id in the order the ids were given
+     */
+    public CompletableFuture<Map<String, PhysicalPowerTradeDto>> findByTradeIds(Collection<String> tradeIds) {
+        return executor.findAll(tradeIds, tradeService::findByTradeId);
+    }
+
+    public CompletableFuture<List<PhysicalPowerTradeDto>> searchByCriteria(PhysicalTradeSearchCriteria criteria) {
+        return executor.submit(() -> tradeService.searchByCriteria(criteria));
+    }
+}
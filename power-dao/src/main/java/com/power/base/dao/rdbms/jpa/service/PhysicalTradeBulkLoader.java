@@ -0,0 +1,341 @@
+package com.power.base.dao.rdbms.jpa.service;
+
+import com.power.base.dao.rdbms.jpa.persistence.TradeCacheRegions;
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalLineItemEntity;
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalSettlementItemEntity;
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
+import com.power.base.dao.rdbms.jpa.persistence.physical.ScheduleStorage;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Initial load of physical trades, for onboarding a tenant or replaying history. Unlike
+ * {@link PhysicalTradeService#persistAll} it keeps no persistence context: producer threads convert the DTOs with
+ * {@link PhysicalTradeEntity#fromDto} into a bounded queue, and writer threads insert them through a
+ * {@link StatelessSession} each, committing every batch in its own transaction. Memory and per-trade cost stay flat
+ * however many trades are loaded, and a full queue holds the producers back when the database is the bottleneck.
+ * <p>
+ * Trades are inserted, never merged, so the trades must not exist yet. A batch that fails is rolled back and retried
+ * trade by trade; trades that still fail, or could not be converted, are reported by id and the load carries on.
+ */
+@Service
+public class PhysicalTradeBulkLoader {
+
+    public static final int DEFAULT_BATCH_SIZE = 200;
+    public static final int DEFAULT_QUEUE_CAPACITY = 2_000;
+
+    private static final System.Logger LOG = System.getLogger(PhysicalTradeBulkLoader.class.getName());
+
+    private static final String INSERT_LINE_REF =
+            "insert into physical_settlement_line_refs (settlement_item_id, line_item_ref) values (?, ?)";
+
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private static final Pending END = new Pending(null, 0);
+
+    private final SessionFactory sessionFactory;
+
+    private int producerThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int writerThreads = 4;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    private ScheduleStorage scheduleStorage = ScheduleStorage.ROWS;
+
+    public PhysicalTradeBulkLoader(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public void setProducerThreads(int producerThreads) {
+        this.producerThreads = positive(producerThreads, "producerThreads");
+    }
+
+    /**
+     * Writers each hold one connection for the whole load; keep them below the pool size so regular traffic is
+     * still served.
+     */
+    public void setWriterThreads(int writerThreads) {
+        this.writerThreads = positive(writerThreads, "writerThreads");
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = positive(batchSize, "batchSize");
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = positive(queueCapacity, "queueCapacity");
+    }
+
+    /**
+     * How schedules are written; follows the setting of the DAO so loaded trades look like saved ones.
+     */
+    @Value("${power.physical.schedule-storage:ROWS}")
+    public void setScheduleStorage(ScheduleStorage scheduleStorage) {
+        if (scheduleStorage == null) {
+            throw new IllegalArgumentException("scheduleStorage must not be null");
+        }
+        this.scheduleStorage = scheduleStorage;
+    }
+
+    public BulkLoadReport load(Collection<PhysicalPowerTradeDto> trades) {
+        return load(trades.iterator(), report -> LOG.log(System.Logger.Level.DEBUG, "Bulk load: {0}", report));
+    }
+
+    /**
+     * Loads every trade the iterator yields. The iterator is only read by one producer at a time, so it need not be
+     * thread-safe. {@code progress} receives a report after every committed batch; it is called from the writer
+     * threads, concurrently, and must not block for long.
+     *
+     * @return the final report, once every trade is committed or reported as failed
+     */
+    public BulkLoadReport load(Iterator<PhysicalPowerTradeDto> trades, Consumer<BulkLoadReport> progress) {
+        BulkLoadReport report = new Run(trades, progress).execute();
+        LOG.log(System.Logger.Level.INFO, "Bulk load finished: {0}", report);
+        return report;
+    }
+
+    private static int positive(int value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    private record Pending(PhysicalTradeEntity trade, long rows) {
+    }
+
+    private interface Task {
+        void run() throws InterruptedException;
+    }
+
+    private final class Run {
+
+        private final Iterator<PhysicalPowerTradeDto> source;
+        private final Consumer<BulkLoadReport> progress;
+        private final BlockingQueue<Pending> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicInteger loaded = new AtomicInteger();
+        private final AtomicLong rows = new AtomicLong();
+        private final List<String> failedTradeIds = new ArrayList<>();
+        private final long started = System.nanoTime();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean aborted;
+
+        private Run(Iterator<PhysicalPowerTradeDto> source, Consumer<BulkLoadReport> progress) {
+            this.source = source;
+            this.progress = progress;
+        }
+
+        BulkLoadReport execute() {
+            ExecutorService executor = Executors.newFixedThreadPool(producerThreads + writerThreads);
+            try {
+                List<Future<?>> producers = new ArrayList<>();
+                for (int i = 0; i < producerThreads; i++) {
+                    producers.add(executor.submit(() -> guard(this::produce)));
+                }
+                List<Future<?>> writers = new ArrayList<>();
+                for (int i = 0; i < writerThreads; i++) {
+                    writers.add(executor.submit(() -> guard(this::write)));
+                }
+                awaitAll(producers);
+                for (int i = 0; i < writerThreads && !aborted; i++) {
+                    while (!queue.offer(END, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS) && !aborted) {
+                        // a writer still drains the queue
+                    }
+                }
+                if (aborted) {
+                    executor.shutdownNow();
+                }
+                awaitAll(writers);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Bulk load interrupted", e);
+            } finally {
+                aborted = true;
+                executor.shutdownNow();
+            }
+            if (failure.get() != null) {
+                throw new IllegalStateException("Bulk load failed", failure.get());
+            }
+            return report();
+        }
+
+        /**
+         * Runs a producer or writer; the first unexpected failure stops the whole load, interruption only the task.
+         */
+        private void guard(Task task) {
+            try {
+                task.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException | Error e) {
+                failure.compareAndSet(null, e);
+                aborted = true;
+            }
+        }
+
+        private void produce() throws InterruptedException {
+            PhysicalPowerTradeDto dto;
+            while (!aborted && (dto = next()) != null) {
+                PhysicalTradeEntity trade;
+                try {
+                    trade = PhysicalTradeEntity.fromDto(dto);
+                    if (scheduleStorage == ScheduleStorage.PACKED) {
+                        trade.packSchedule();
+                    }
+                } catch (RuntimeException e) {
+                    fail(List.of(String.valueOf(dto.getTradeHeader() == null ? null
+                            : dto.getTradeHeader().getTradeId())), e);
+                    continue;
+                }
+                Pending pending = new Pending(trade, trade.rowCount());
+                while (!queue.offer(pending, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (aborted) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        private PhysicalPowerTradeDto next() {
+            synchronized (source) {
+                return source.hasNext() ? source.next() : null;
+            }
+        }
+
+        private void write() throws InterruptedException {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                boolean done = false;
+                while (!done) {
+                    Pending pending = queue.take();
+                    if (pending == END) {
+                        done = true;
+                    } else {
+                        batch.add(pending);
+                    }
+                    if (batch.size() == batchSize || done && !batch.isEmpty()) {
+                        writeBatch(session, batch);
+                        batch.clear();
+                    }
+                }
+            }
+        }
+
+        private void writeBatch(StatelessSession session, List<Pending> batch) {
+            RuntimeException failure = insert(session, batch);
+            if (failure == null) {
+                committed(batch);
+            } else if (batch.size() == 1) {
+                fail(List.of(batch.get(0).trade().getTradeId()), failure);
+            } else {
+                for (Pending pending : batch) {
+                    writeBatch(session, List.of(pending));
+                }
+            }
+        }
+
+        private RuntimeException insert(StatelessSession session, List<Pending> batch) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                for (Pending pending : batch) {
+                    insert(session, pending.trade());
+                }
+                transaction.commit();
+                return null;
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                return e;
+            }
+        }
+
+        /**
+         * A stateless session neither cascades nor writes element collections, so the children are inserted one by
+         * one and the free-form line references with a JDBC batch of their own, once the session's pending batch has
+         * written the settlement items they point to.
+         */
+        private void insert(StatelessSession session, PhysicalTradeEntity trade) {
+            session.insert(trade);
+            for (PhysicalLineItemEntity lineItem : trade.getLineItems()) {
+                session.insert(lineItem);
+            }
+            for (PhysicalSettlementItemEntity settlementItem : trade.getSettlementItems()) {
+                session.insert(settlementItem);
+            }
+            if (trade.getSettlementItems().stream().anyMatch(item -> !item.getReferencedLineItems().isEmpty())) {
+                ((SharedSessionContractImplementor) session).getJdbcCoordinator().executeBatch();
+                session.doWork(connection -> {
+                    try (PreparedStatement statement = connection.prepareStatement(INSERT_LINE_REF)) {
+                        for (PhysicalSettlementItemEntity settlementItem : trade.getSettlementItems()) {
+                            for (String lineItemRef : settlementItem.getReferencedLineItems()) {
+                                statement.setLong(1, settlementItem.getId());
+                                statement.setString(2, lineItemRef);
+                                statement.addBatch();
+                            }
+                        }
+                        statement.executeBatch();
+                    }
+                });
+            }
+        }
+
+        /**
+         * Cached searches may have missed the new trades; trade entries need no eviction, none existed.
+         */
+        private void committed(List<Pending> batch) {
+            loaded.addAndGet(batch.size());
+            rows.addAndGet(batch.stream().mapToLong(Pending::rows).sum());
+            sessionFactory.getCache().evictQueryRegion(TradeCacheRegions.TRADE_SEARCH);
+            progress.accept(report());
+        }
+
+        private void fail(List<String> tradeIds, RuntimeException cause) {
+            synchronized (failedTradeIds) {
+                failedTradeIds.addAll(tradeIds);
+            }
+            LOG.log(System.Logger.Level.WARNING, "Bulk load skipped trade(s) " + tradeIds, cause);
+        }
+
+        private BulkLoadReport report() {
+            List<String> failed;
+            synchronized (failedTradeIds) {
+                failed = List.copyOf(failedTradeIds);
+            }
+            return new BulkLoadReport(loaded.get(), rows.get(), failed, Duration.ofNanos(System.nanoTime() - started));
+        }
+
+        private void awaitAll(List<Future<?>> futures) throws InterruptedException {
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failure.compareAndSet(null, e.getCause());
+                }
+            }
+        }
+    }
+}
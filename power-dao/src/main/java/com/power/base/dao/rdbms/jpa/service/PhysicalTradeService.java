@@ -1,14 +1,28 @@
 package com.power.base.dao.rdbms.jpa.service;
 
 import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
+import com.power.base.dao.rdbms.jpa.repository.BulkSaveReport;
+import com.power.base.dao.rdbms.jpa.repository.TradeCursor;
+import com.power.base.dao.rdbms.jpa.repository.TradePage;
+import com.power.base.dao.rdbms.jpa.repository.TradePurge;
+import com.power.base.dao.rdbms.jpa.repository.physical.CashflowAggregate;
 import com.power.base.dao.rdbms.jpa.repository.physical.PhysicalTradeDao;
 import com.power.base.dao.rdbms.jpa.repository.physical.PhysicalTradeSearchCriteria;
+import com.power.base.dao.rdbms.jpa.repository.physical.PositionBucket;
+import com.power.base.dao.rdbms.jpa.repository.physical.VolumeAggregate;
+import com.power.base.datamodel.diff.PhysicalTradeChangeSet;
+import com.power.base.datamodel.diff.PhysicalTradeDiff;
 import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeSummary;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class PhysicalTradeService {
@@ -19,24 +33,103 @@ public class PhysicalTradeService {
         this.tradeDao = tradeDao;
     }
 
+    /**
+     * Stores the trade. Amendments of an existing trade are applied as a delta: only line and settlement items that
+     * were inserted, changed or removed are written, everything else keeps its row. Amendments that need a full
+     * rewrite are upserted against the version that was read, so a concurrent writer in between is not overwritten.
+     */
+    @Transactional
     public PhysicalPowerTradeDto persist(PhysicalPowerTradeDto tradeDto) {
+        if (tradeDto.getTradeHeader().isAmendmentIndicator()) {
+            Optional<PhysicalTradeEntity> stored = tradeDao.findByTradeId(tradeDto.getTradeHeader().getTradeId());
+            if (stored.isPresent()) {
+                PhysicalTradeChangeSet changes = PhysicalTradeDiff.between(stored.get().toDto(), tradeDto);
+                if (!changes.requiresFullRewrite()) {
+                    stored.get().applyChanges(tradeDto, changes);
+                    return tradeDao.save(stored.get()).toDto();
+                }
+                PhysicalTradeEntity rewrite = PhysicalTradeEntity.fromDto(tradeDto);
+                rewrite.setVersion(stored.get().getVersion());
+                return tradeDao.save(rewrite).toDto();
+            }
+        }
         PhysicalTradeEntity entity = PhysicalTradeEntity.fromDto(tradeDto);
         PhysicalTradeEntity saved = tradeDao.save(entity);
         return saved.toDto();
     }
 
+    /**
+     * Bulk load path: converts and saves the trades in flushed chunks without the per-trade amendment diff.
+     */
+    @Transactional
+    public BulkSaveReport persistAll(Collection<PhysicalPowerTradeDto> tradeDtos) {
+        return tradeDao.saveAll(tradeDtos.stream().map(PhysicalTradeEntity::fromDto).toList());
+    }
+
+    @Transactional(readOnly = true)
     public Optional<PhysicalPowerTradeDto> findByTradeId(String tradeId) {
         return tradeDao.findByTradeId(tradeId).map(PhysicalTradeEntity::toDto);
     }
 
+    @Transactional(readOnly = true)
     public List<PhysicalPowerTradeDto> searchByCriteria(PhysicalTradeSearchCriteria criteria) {
         return tradeDao.findByCriteria(criteria).stream()
                 .map(PhysicalTradeEntity::toDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<PhysicalTradeSummary> searchSummaries(PhysicalTradeSearchCriteria criteria) {
+        return tradeDao.findSummaries(criteria);
+    }
+
+    @Transactional(readOnly = true)
+    public TradePage<PhysicalPowerTradeDto> searchPage(PhysicalTradeSearchCriteria criteria, TradeCursor after, int pageSize) {
+        return tradeDao.findPage(criteria, after, pageSize).map(PhysicalTradeEntity::toDto);
+    }
+
+    /**
+     * Net scheduled volume per market, delivery point and delivery bucket, summed by the database.
+     */
+    @Transactional(readOnly = true)
+    public List<VolumeAggregate> aggregateVolumes(PhysicalTradeSearchCriteria criteria, PositionBucket bucket) {
+        return tradeDao.aggregateVolumes(criteria, bucket);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CashflowAggregate> aggregateCashflows(PhysicalTradeSearchCriteria criteria) {
+        return tradeDao.aggregateCashflows(criteria);
+    }
+
+    /**
+     * Maps trades to DTOs as the stream is consumed; call inside a transaction and close the stream when done.
+     */
+    public Stream<PhysicalPowerTradeDto> streamByCriteria(PhysicalTradeSearchCriteria criteria) {
+        return tradeDao.streamByCriteria(criteria).map(PhysicalTradeEntity::toDto);
+    }
+
     public void deleteByTradeId(String tradeId) {
         tradeDao.deleteByTradeId(tradeId);
     }
+
+    /**
+     * Deletes every matching trade in chunks of {@link TradePurge#DEFAULT_CHUNK_SIZE}. Called outside a transaction,
+     * each chunk commits on its own, so no lock is held longer than one chunk takes.
+     *
+     * @return the number of trades deleted
+     */
+    public long deleteByCriteria(PhysicalTradeSearchCriteria criteria) {
+        return TradePurge.untilDone(limit -> tradeDao.deleteByCriteria(criteria, limit));
+    }
+
+    /**
+     * Moves every trade dated before {@code tradeDate} into the archive tables, chunked like
+     * {@link #deleteByCriteria}.
+     *
+     * @return the number of trades archived
+     */
+    public long archiveBefore(LocalDate tradeDate) {
+        return TradePurge.untilDone(limit -> tradeDao.archiveBefore(tradeDate, limit));
+    }
 }
 
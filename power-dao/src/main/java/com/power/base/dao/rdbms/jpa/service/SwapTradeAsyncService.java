@@ -0,0 +1,46 @@
+package com.power.base.dao.rdbms.jpa.service;
+
+import com.power.base.dao.rdbms.async.TradeLookupExecutor;
+import com.power.base.dao.rdbms.jpa.repository.swap.SwapTradeSearchCriteria;
+import com.power.base.datamodel.dto.financials.SwapPowerTradeDto;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link SwapTradeService} on virtual threads, each call in a transaction of its own.
+ */
+@Service
+public class SwapTradeAsyncService {
+
+    private final SwapTradeService tradeService;
+    private final TradeLookupExecutor executor;
+
+    public SwapTradeAsyncService(SwapTradeService tradeService, TradeLookupExecutor executor) {
+        this.tradeService = tradeService;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<SwapPowerTradeDto> persist(SwapPowerTradeDto tradeDto) {
+        return executor.submit(() -> tradeService.persist(tradeDto));
+    }
+
+    public CompletableFuture<Optional<SwapPowerTradeDto>> findByTradeId(String tradeId) {
+        return executor.submit(() -> tradeService.findByTradeId(tradeId));
+    }
+
+    /**
+     * @return the trades found, keyed by trade id in the order the ids were given
+     */
+    public CompletableFuture<Map<String, SwapPowerTradeDto>> findByTradeIds(Collection<String> tradeIds) {
+        return executor.findAll(tradeIds, tradeService::findByTradeId);
+    }
+
+    public CompletableFuture<List<SwapPowerTradeDto>> searchByCriteria(SwapTradeSearchCriteria criteria) {
+        return executor.submit(() -> tradeService.searchByCriteria(criteria));
+    }
+}
@@ -1,14 +1,23 @@
 package com.power.base.dao.rdbms.jpa.service;
 
 import com.power.base.dao.rdbms.jpa.persistence.swap.SwapTradeEntity;
+import com.power.base.dao.rdbms.jpa.repository.BulkSaveReport;
+import com.power.base.dao.rdbms.jpa.repository.TradeCursor;
+import com.power.base.dao.rdbms.jpa.repository.TradePage;
+import com.power.base.dao.rdbms.jpa.repository.TradePurge;
 import com.power.base.dao.rdbms.jpa.repository.swap.SwapTradeDao;
 import com.power.base.dao.rdbms.jpa.repository.swap.SwapTradeSearchCriteria;
 import com.power.base.datamodel.dto.financials.SwapPowerTradeDto;
+import com.power.base.datamodel.dto.financials.SwapTradeSummary;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class SwapTradeService {
@@ -25,18 +34,62 @@ public class SwapTradeService {
         return saved.toDto();
     }
 
+    @Transactional
+    public BulkSaveReport persistAll(Collection<SwapPowerTradeDto> tradeDtos) {
+        return tradeDao.saveAll(tradeDtos.stream().map(SwapTradeEntity::fromDto).toList());
+    }
+
+    @Transactional(readOnly = true)
     public Optional<SwapPowerTradeDto> findByTradeId(String tradeId) {
         return tradeDao.findByTradeId(tradeId).map(SwapTradeEntity::toDto);
     }
 
+    @Transactional(readOnly = true)
     public List<SwapPowerTradeDto> searchByCriteria(SwapTradeSearchCriteria criteria) {
         return tradeDao.findByCriteria(criteria).stream()
                 .map(SwapTradeEntity::toDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<SwapTradeSummary> searchSummaries(SwapTradeSearchCriteria criteria) {
+        return tradeDao.findSummaries(criteria);
+    }
+
+    @Transactional(readOnly = true)
+    public TradePage<SwapPowerTradeDto> searchPage(SwapTradeSearchCriteria criteria, TradeCursor after, int pageSize) {
+        return tradeDao.findPage(criteria, after, pageSize).map(SwapTradeEntity::toDto);
+    }
+
+    /**
+     * Maps trades to DTOs as the stream is consumed; call inside a transaction and close the stream when done.
+     */
+    public Stream<SwapPowerTradeDto> streamByCriteria(SwapTradeSearchCriteria criteria) {
+        return tradeDao.streamByCriteria(criteria).map(SwapTradeEntity::toDto);
+    }
+
     public void deleteByTradeId(String tradeId) {
         tradeDao.deleteByTradeId(tradeId);
     }
+
+    /**
+     * Deletes every matching trade in chunks of {@link TradePurge#DEFAULT_CHUNK_SIZE}. Called outside a transaction,
+     * each chunk commits on its own, so no lock is held longer than one chunk takes.
+     *
+     * @return the number of trades deleted
+     */
+    public long deleteByCriteria(SwapTradeSearchCriteria criteria) {
+        return TradePurge.untilDone(limit -> tradeDao.deleteByCriteria(criteria, limit));
+    }
+
+    /**
+     * Moves every trade dated before {@code tradeDate} into the archive tables, chunked like
+     * {@link #deleteByCriteria}.
+     *
+     * @return the number of trades archived
+     */
+    public long archiveBefore(LocalDate tradeDate) {
+        return TradePurge.untilDone(limit -> tradeDao.archiveBefore(tradeDate, limit));
+    }
 }
 
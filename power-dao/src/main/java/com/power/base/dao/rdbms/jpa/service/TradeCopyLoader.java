@@ -0,0 +1,215 @@
+package com.power.base.dao.rdbms.jpa.service;
+
+import com.power.base.dao.rdbms.jpa.persistence.TradeCacheRegions;
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalLineItemEntity;
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalSettlementItemEntity;
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
+import com.power.base.dao.rdbms.jpa.persistence.physical.ScheduleStorage;
+import com.power.base.dao.rdbms.jpa.persistence.swap.SwapPeriodEntity;
+import com.power.base.dao.rdbms.jpa.persistence.swap.SwapTradeEntity;
+import com.power.base.dao.rdbms.jpa.repository.BulkSaveReport;
+import com.power.base.dao.rdbms.jpa.repository.CopyTable;
+import com.power.base.dao.rdbms.jpa.repository.TableCopy;
+import com.power.base.datamodel.dto.financials.SwapPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.type.SqlTypes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Backfills physical and swap trades with {@link TableCopy}, i.e. {@code COPY} in the binary format on PostgreSQL,
+ * instead of an insert per row. Trades are taken from the iterator a chunk at a time; every chunk gets its child ids
+ * from the entities' sequences up front and is then copied table by table, parents first, in a transaction of its own.
+ * <p>
+ * Trades are inserted, never merged: a chunk containing a trade that already exists fails as a whole, after the chunks
+ * before it were committed. Cached searches are evicted after every chunk.
+ */
+@Service
+public class TradeCopyLoader {
+
+    public static final int DEFAULT_CHUNK_SIZE = 5_000;
+
+    private static final CopyTable SETTLEMENT_LINE_REFS = CopyTable.of("physical_settlement_line_refs",
+            new CopyTable.Column("settlement_item_id", SqlTypes.BIGINT),
+            new CopyTable.Column("line_item_ref", SqlTypes.VARCHAR));
+
+    private final SessionFactory sessionFactory;
+    private final CopyTable physicalTrades;
+    private final CopyTable physicalLineItems;
+    private final CopyTable physicalSettlementItems;
+    private final CopyTable swapTrades;
+    private final CopyTable swapPeriods;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private ScheduleStorage scheduleStorage = ScheduleStorage.ROWS;
+
+    public TradeCopyLoader(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.physicalTrades = CopyTable.of(entityManagerFactory, PhysicalTradeEntity.class);
+        this.physicalLineItems = CopyTable.of(entityManagerFactory, PhysicalLineItemEntity.class);
+        this.physicalSettlementItems = CopyTable.of(entityManagerFactory, PhysicalSettlementItemEntity.class);
+        this.swapTrades = CopyTable.of(entityManagerFactory, SwapTradeEntity.class);
+        this.swapPeriods = CopyTable.of(entityManagerFactory, SwapPeriodEntity.class);
+    }
+
+    /**
+     * Trades per transaction; a chunk's entities are held in memory until it is committed.
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * How schedules are written; follows the setting of the DAO so copied trades look like saved ones.
+     */
+    @Value("${power.physical.schedule-storage:ROWS}")
+    public void setScheduleStorage(ScheduleStorage scheduleStorage) {
+        if (scheduleStorage == null) {
+            throw new IllegalArgumentException("scheduleStorage must not be null");
+        }
+        this.scheduleStorage = scheduleStorage;
+    }
+
+    public BulkSaveReport loadPhysical(Collection<PhysicalPowerTradeDto> trades) {
+        return loadPhysical(trades.iterator());
+    }
+
+    /**
+     * @return the trades and rows copied, with one flush per committed chunk
+     */
+    public BulkSaveReport loadPhysical(Iterator<PhysicalPowerTradeDto> trades) {
+        return load(trades, dto -> {
+            PhysicalTradeEntity trade = PhysicalTradeEntity.fromDto(dto);
+            if (scheduleStorage == ScheduleStorage.PACKED) {
+                trade.packSchedule();
+            }
+            return trade;
+        }, this::copyPhysical);
+    }
+
+    public BulkSaveReport loadSwaps(Collection<SwapPowerTradeDto> trades) {
+        return loadSwaps(trades.iterator());
+    }
+
+    public BulkSaveReport loadSwaps(Iterator<SwapPowerTradeDto> trades) {
+        return load(trades, SwapTradeEntity::fromDto, this::copySwaps);
+    }
+
+    private <D, E> BulkSaveReport load(Iterator<D> trades, Function<D, E> toEntity, ChunkCopy<E> chunkCopy) {
+        long started = System.nanoTime();
+        int loaded = 0;
+        long rows = 0;
+        int chunks = 0;
+        List<E> chunk = new ArrayList<>();
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            while (trades.hasNext()) {
+                chunk.clear();
+                while (chunk.size() < chunkSize && trades.hasNext()) {
+                    chunk.add(toEntity.apply(trades.next()));
+                }
+                try {
+                    rows += copyChunk(session, chunk, chunkCopy);
+                } catch (RuntimeException e) {
+                    throw new IllegalStateException("Copying trades failed after " + loaded
+                            + " trades were committed", e);
+                }
+                loaded += chunk.size();
+                chunks++;
+                sessionFactory.getCache().evictQueryRegion(TradeCacheRegions.TRADE_SEARCH);
+            }
+        }
+        return new BulkSaveReport(loaded, rows, chunks, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private static <E> long copyChunk(StatelessSession session, List<E> chunk, ChunkCopy<E> chunkCopy) {
+        SharedSessionContractImplementor implementor = (SharedSessionContractImplementor) session;
+        Transaction transaction = session.beginTransaction();
+        try {
+            long rows = session.doReturningWork(connection -> chunkCopy.copy(connection, chunk, implementor));
+            transaction.commit();
+            return rows;
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        }
+    }
+
+    private long copyPhysical(Connection connection, List<PhysicalTradeEntity> trades,
+                              SharedSessionContractImplementor session) throws SQLException {
+        List<PhysicalLineItemEntity> lineItems = new ArrayList<>();
+        List<PhysicalSettlementItemEntity> settlementItems = new ArrayList<>();
+        List<Object[]> lineRefs = new ArrayList<>();
+        for (PhysicalTradeEntity trade : trades) {
+            if (trade.getVersion() == null) {
+                trade.setVersion(0L);
+            }
+            for (PhysicalLineItemEntity lineItem : trade.getLineItems()) {
+                physicalLineItems.assignId(lineItem, session);
+                lineItems.add(lineItem);
+            }
+            for (PhysicalSettlementItemEntity settlementItem : trade.getSettlementItems()) {
+                Object id = physicalSettlementItems.assignId(settlementItem, session);
+                settlementItems.add(settlementItem);
+                settlementItem.getReferencedLineItems().forEach(ref -> lineRefs.add(new Object[]{id, ref}));
+            }
+        }
+        long rows = copy(connection, physicalTrades, trades, session);
+        rows += copy(connection, physicalLineItems, lineItems, session);
+        rows += copy(connection, physicalSettlementItems, settlementItems, session);
+        try (TableCopy copy = TableCopy.open(connection, SETTLEMENT_LINE_REFS)) {
+            for (Object[] lineRef : lineRefs) {
+                copy.write(lineRef);
+            }
+            return rows + copy.finish();
+        }
+    }
+
+    private long copySwaps(Connection connection, List<SwapTradeEntity> trades,
+                           SharedSessionContractImplementor session) throws SQLException {
+        List<SwapPeriodEntity> periods = new ArrayList<>();
+        for (SwapTradeEntity trade : trades) {
+            if (trade.getVersion() == null) {
+                trade.setVersion(0L);
+            }
+            for (SwapPeriodEntity period : trade.getPeriods()) {
+                swapPeriods.assignId(period, session);
+                periods.add(period);
+            }
+        }
+        return copy(connection, swapTrades, trades, session) + copy(connection, swapPeriods, periods, session);
+    }
+
+    private static long copy(Connection connection, CopyTable table, List<?> entities,
+                             SharedSessionContractImplementor session) throws SQLException {
+        try (TableCopy copy = TableCopy.open(connection, table)) {
+            for (Object entity : entities) {
+                copy.write(table.row(entity, session));
+            }
+            return copy.finish();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkCopy<E> {
+        long copy(Connection connection, List<E> chunk, SharedSessionContractImplementor session) throws SQLException;
+    }
+}
@@ -0,0 +1,41 @@
+package com.power.base.dao.rdbms.mybatis.persistence;
+
+import com.power.base.dao.rdbms.jpa.persistence.physical.PackedScheduleConverter;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads and writes the packed {@code line_item_schedule} column the way JPA does, through
+ * {@link PackedScheduleConverter}, so trades saved packed by the JPA layer read back with their schedule.
+ */
+public class PackedScheduleTypeHandler extends BaseTypeHandler<PhysicalLineItemSchedule> {
+
+    private static final PackedScheduleConverter CONVERTER = new PackedScheduleConverter();
+
+    @Override
+    public void setNonNullParameter(PreparedStatement statement, int index, PhysicalLineItemSchedule schedule,
+                                    JdbcType jdbcType) throws SQLException {
+        statement.setBytes(index, CONVERTER.convertToDatabaseColumn(schedule));
+    }
+
+    @Override
+    public PhysicalLineItemSchedule getNullableResult(ResultSet resultSet, String column) throws SQLException {
+        return CONVERTER.convertToEntityAttribute(resultSet.getBytes(column));
+    }
+
+    @Override
+    public PhysicalLineItemSchedule getNullableResult(ResultSet resultSet, int index) throws SQLException {
+        return CONVERTER.convertToEntityAttribute(resultSet.getBytes(index));
+    }
+
+    @Override
+    public PhysicalLineItemSchedule getNullableResult(CallableStatement statement, int index) throws SQLException {
+        return CONVERTER.convertToEntityAttribute(statement.getBytes(index));
+    }
+}
@@ -4,7 +4,9 @@ import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalLineItemEntity;
 import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalSettlementItemEntity;
 import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.RowBounds;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,4 +43,39 @@ public interface PhysicalTradeMapper {
 
     int insertSettlementLineRef(@Param("settlementItemId") Long settlementItemId,
                                 @Param("lineRef") String lineReference);
+
+    int updateLineItem(@Param("id") Long id,
+                       @Param("item") PhysicalLineItemEntity lineItem);
+
+    int deleteLineItemById(@Param("id") Long id);
+
+    int updateSettlementItem(@Param("id") Long id,
+                             @Param("item") PhysicalSettlementItemEntity settlementItem);
+
+    int deleteSettlementItemById(@Param("id") Long id);
+
+    int deleteSettlementLineRefsBySettlementItemId(@Param("settlementItemId") Long settlementItemId);
+
+    /**
+     * Ids of the matching trades; {@code rowBounds} caps how many are read.
+     */
+    List<String> selectTradeIdsByCriteria(PhysicalTradeSearchCriteria criteria, RowBounds rowBounds);
+
+    List<String> selectTradeIdsBefore(@Param("tradeDate") LocalDate tradeDate, RowBounds rowBounds);
+
+    int deleteSettlementLineRefsByTradeIds(@Param("tradeIds") List<String> tradeIds);
+
+    int deleteSettlementItemsByTradeIds(@Param("tradeIds") List<String> tradeIds);
+
+    int deleteLineItemsByTradeIds(@Param("tradeIds") List<String> tradeIds);
+
+    int deleteByTradeIds(@Param("tradeIds") List<String> tradeIds);
+
+    int archiveSettlementLineRefsByTradeIds(@Param("tradeIds") List<String> tradeIds);
+
+    int archiveSettlementItemsByTradeIds(@Param("tradeIds") List<String> tradeIds);
+
+    int archiveLineItemsByTradeIds(@Param("tradeIds") List<String> tradeIds);
+
+    int archiveByTradeIds(@Param("tradeIds") List<String> tradeIds);
 }
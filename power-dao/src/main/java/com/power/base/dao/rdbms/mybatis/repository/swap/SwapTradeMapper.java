@@ -3,7 +3,9 @@ package com.power.base.dao.rdbms.mybatis.repository.swap;
 import com.power.base.dao.rdbms.jpa.persistence.swap.SwapPeriodEntity;
 import com.power.base.dao.rdbms.jpa.persistence.swap.SwapTradeEntity;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.RowBounds;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +28,19 @@ public interface SwapTradeMapper {
 
     int insertPeriod(@Param("tradeId") String tradeId,
                      @Param("period") SwapPeriodEntity period);
+
+    /**
+     * Ids of the matching trades; {@code rowBounds} caps how many are read.
+     */
+    List<String> selectTradeIdsByCriteria(SwapTradeSearchCriteria criteria, RowBounds rowBounds);
+
+    List<String> selectTradeIdsBefore(@Param("tradeDate") LocalDate tradeDate, RowBounds rowBounds);
+
+    int deletePeriodsByTradeIds(@Param("tradeIds") List<String> tradeIds);
+
+    int deleteByTradeIds(@Param("tradeIds") List<String> tradeIds);
+
+    int archivePeriodsByTradeIds(@Param("tradeIds") List<String> tradeIds);
+
+    int archiveByTradeIds(@Param("tradeIds") List<String> tradeIds);
 }
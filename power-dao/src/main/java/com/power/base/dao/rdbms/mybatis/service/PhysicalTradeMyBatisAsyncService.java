@@ -0,0 +1,66 @@
+package com.power.base.dao.rdbms.mybatis.service;
+
+import com.power.base.dao.rdbms.async.TradeLookupExecutor;
+import com.power.base.dao.rdbms.mybatis.repository.physical.PhysicalTradeMapper;
+import com.power.base.dao.rdbms.mybatis.repository.physical.PhysicalTradeSearchCriteria;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * {@link PhysicalTradeMyBatisService} on virtual threads. A {@link SqlSession} must not be shared between threads, so
+ * every call opens a session of its own; reads auto-commit, a persist commits once the trade and its children are
+ * written.
+ */
+public class PhysicalTradeMyBatisAsyncService {
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final TradeLookupExecutor executor;
+
+    public PhysicalTradeMyBatisAsyncService(SqlSessionFactory sqlSessionFactory, TradeLookupExecutor executor) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<PhysicalPowerTradeDto> persist(PhysicalPowerTradeDto tradeDto) {
+        return executor.submit(() -> {
+            try (SqlSession session = sqlSessionFactory.openSession(false)) {
+                PhysicalPowerTradeDto persisted = service(session).persist(tradeDto);
+                session.commit();
+                return persisted;
+            }
+        });
+    }
+
+    public CompletableFuture<Optional<PhysicalPowerTradeDto>> findByTradeId(String tradeId) {
+        return executor.submit(() -> read(service -> service.findByTradeId(tradeId)));
+    }
+
+    /**
+     * @return the trades found, keyed by trade id in the order the ids were given
+     */
+    public CompletableFuture<Map<String, PhysicalPowerTradeDto>> findByTradeIds(Collection<String> tradeIds) {
+        return executor.findAll(tradeIds, tradeId -> read(service -> service.findByTradeId(tradeId)));
+    }
+
+    public CompletableFuture<List<PhysicalPowerTradeDto>> searchByCriteria(PhysicalTradeSearchCriteria criteria) {
+        return executor.submit(() -> read(service -> service.searchByCriteria(criteria)));
+    }
+
+    private <T> T read(Function<PhysicalTradeMyBatisService, T> call) {
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            return call.apply(service(session));
+        }
+    }
+
+    private static PhysicalTradeMyBatisService service(SqlSession session) {
+        return new PhysicalTradeMyBatisService(session.getMapper(PhysicalTradeMapper.class));
+    }
+}
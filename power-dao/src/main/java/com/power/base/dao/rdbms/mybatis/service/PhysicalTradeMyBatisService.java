@@ -3,16 +3,27 @@ package com.power.base.dao.rdbms.mybatis.service;
 import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalLineItemEntity;
 import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalSettlementItemEntity;
 import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
+import com.power.base.dao.rdbms.jpa.repository.TradePurge;
 import com.power.base.dao.rdbms.mybatis.repository.physical.PhysicalTradeMapper;
 import com.power.base.dao.rdbms.mybatis.repository.physical.PhysicalTradeSearchCriteria;
+import com.power.base.datamodel.diff.PhysicalTradeChangeSet;
+import com.power.base.datamodel.diff.PhysicalTradeDiff;
 import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
+import jakarta.persistence.OptimisticLockException;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
- * MyBatis-backed service facade for physical trades.
+ * MyBatis-backed service facade for physical trades. Its reads are declared read-only, so when it is a Spring bean
+ * over a {@code SqlSessionTemplate} they go to a replica under {@code ReplicaRoutingConfig}.
  */
 public class PhysicalTradeMyBatisService {
 
@@ -26,7 +37,24 @@ public class PhysicalTradeMyBatisService {
         PhysicalTradeEntity entity = PhysicalTradeEntity.fromDto(tradeDto);
         String tradeId = entity.getTradeId();
 
-        mapper.upsert(entity);
+        if (tradeDto.getTradeHeader().isAmendmentIndicator()) {
+            Optional<PhysicalTradeEntity> stored = mapper.findByTradeId(tradeId);
+            // the amendment was diffed against this version, so it must still be the stored one when it is written
+            stored.ifPresent(found -> entity.setVersion(found.getVersion()));
+            // a packed schedule has no line item rows to update in place, so it is rewritten as rows
+            if (stored.isPresent() && stored.get().getPackedSchedule() == null) {
+                PhysicalTradeChangeSet changes = PhysicalTradeDiff.between(stored.get().toDto(), tradeDto);
+                if (!changes.requiresFullRewrite()) {
+                    upsert(entity);
+                    applyChanges(tradeId, stored.get(), entity, changes);
+                    return mapper.findByTradeId(tradeId)
+                            .map(PhysicalTradeEntity::toDto)
+                            .orElseGet(entity::toDto);
+                }
+            }
+        }
+
+        upsert(entity);
 
         // Replace child collections
         mapper.deleteSettlementLineRefsByTradeId(tradeId);
@@ -42,12 +70,7 @@ public class PhysicalTradeMyBatisService {
         if (entity.getSettlementItems() != null) {
             for (PhysicalSettlementItemEntity settlementItem : entity.getSettlementItems()) {
                 mapper.insertSettlementItem(tradeId, settlementItem);
-                Long settlementItemId = settlementItem.getId();
-                if (settlementItem.getReferencedLineItems() != null) {
-                    for (String lineRef : settlementItem.getReferencedLineItems()) {
-                        mapper.insertSettlementLineRef(settlementItemId, lineRef);
-                    }
-                }
+                insertLineRefs(settlementItem.getId(), settlementItem);
             }
         }
 
@@ -56,11 +79,75 @@ public class PhysicalTradeMyBatisService {
                 .orElseGet(entity::toDto);
     }
 
+    /**
+     * Writes the header row and bumps its version. An entity carrying a version is only written over a row that still
+     * has it, as in {@code PhysicalTradeDaoJpa#save}, so a concurrent writer of either layer is never overwritten.
+     */
+    private void upsert(PhysicalTradeEntity entity) {
+        if (mapper.upsert(entity) == 0) {
+            throw new OptimisticLockException("Physical trade " + entity.getTradeId() + " no longer has version "
+                    + entity.getVersion());
+        }
+    }
+
+    /**
+     * Writes only the rows named in the change set. {@code amended} is the entity built from the incoming trade, so
+     * its children are index aligned with the change set, while {@code stored} supplies the row ids.
+     */
+    private void applyChanges(String tradeId,
+                              PhysicalTradeEntity stored,
+                              PhysicalTradeEntity amended,
+                              PhysicalTradeChangeSet changes) {
+        for (int storedIndex : changes.getDeletedLineItems()) {
+            mapper.deleteLineItemById(stored.getLineItems().get(storedIndex).getId());
+        }
+        for (int index : changes.getUpdatedLineItems()) {
+            Long id = stored.getLineItems().get(changes.getStoredIndex(index)).getId();
+            mapper.updateLineItem(id, amended.getLineItems().get(index));
+        }
+        for (int index : changes.getInsertedLineItems()) {
+            mapper.insertLineItem(tradeId, amended.getLineItems().get(index));
+        }
+
+        Map<String, Long> settlementRowIds = new HashMap<>();
+        stored.getSettlementItems().forEach(item -> settlementRowIds.put(item.getSettlementId(), item.getId()));
+        Map<String, PhysicalSettlementItemEntity> amendedSettlements = new HashMap<>();
+        amended.getSettlementItems().forEach(item -> amendedSettlements.put(item.getSettlementId(), item));
+
+        for (String settlementId : changes.getDeletedSettlementIds()) {
+            Long id = settlementRowIds.get(settlementId);
+            mapper.deleteSettlementLineRefsBySettlementItemId(id);
+            mapper.deleteSettlementItemById(id);
+        }
+        for (PhysicalSettlementItemDto itemDto : changes.getUpdatedSettlementItems()) {
+            Long id = settlementRowIds.get(itemDto.getSettlementId());
+            PhysicalSettlementItemEntity settlementItem = amendedSettlements.get(itemDto.getSettlementId());
+            mapper.updateSettlementItem(id, settlementItem);
+            mapper.deleteSettlementLineRefsBySettlementItemId(id);
+            insertLineRefs(id, settlementItem);
+        }
+        for (PhysicalSettlementItemDto itemDto : changes.getInsertedSettlementItems()) {
+            PhysicalSettlementItemEntity settlementItem = amendedSettlements.get(itemDto.getSettlementId());
+            mapper.insertSettlementItem(tradeId, settlementItem);
+            insertLineRefs(settlementItem.getId(), settlementItem);
+        }
+    }
+
+    private void insertLineRefs(Long settlementItemId, PhysicalSettlementItemEntity settlementItem) {
+        if (settlementItem.getReferencedLineItems() != null) {
+            for (String lineRef : settlementItem.getReferencedLineItems()) {
+                mapper.insertSettlementLineRef(settlementItemId, lineRef);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Optional<PhysicalPowerTradeDto> findByTradeId(String tradeId) {
         return mapper.findByTradeId(tradeId)
                 .map(PhysicalTradeEntity::toDto);
     }
 
+    @Transactional(readOnly = true)
     public List<PhysicalPowerTradeDto> searchByCriteria(PhysicalTradeSearchCriteria criteria) {
         return mapper.findByCriteria(criteria).stream()
                 .map(PhysicalTradeEntity::toDto)
@@ -73,4 +160,44 @@ public class PhysicalTradeMyBatisService {
         mapper.deleteLineItemsByTradeId(tradeId);
         mapper.deleteByTradeId(tradeId);
     }
+
+    /**
+     * Deletes every matching trade, {@link TradePurge#DEFAULT_CHUNK_SIZE} trades at a time with one statement per
+     * table, children first. With an auto-committing session or a transaction per chunk, no lock outlives its chunk.
+     *
+     * @return the number of trades deleted
+     */
+    public long deleteByCriteria(PhysicalTradeSearchCriteria criteria) {
+        return TradePurge.untilDone(limit ->
+                deleteTrades(mapper.selectTradeIdsByCriteria(criteria, new RowBounds(0, limit))));
+    }
+
+    /**
+     * Copies every trade dated before {@code tradeDate} into the archive tables and deletes it, chunked like
+     * {@link #deleteByCriteria}.
+     *
+     * @return the number of trades archived
+     */
+    public long archiveBefore(LocalDate tradeDate) {
+        return TradePurge.untilDone(limit -> {
+            List<String> tradeIds = mapper.selectTradeIdsBefore(tradeDate, new RowBounds(0, limit));
+            if (!tradeIds.isEmpty()) {
+                mapper.archiveSettlementLineRefsByTradeIds(tradeIds);
+                mapper.archiveSettlementItemsByTradeIds(tradeIds);
+                mapper.archiveLineItemsByTradeIds(tradeIds);
+                mapper.archiveByTradeIds(tradeIds);
+            }
+            return deleteTrades(tradeIds);
+        });
+    }
+
+    private int deleteTrades(List<String> tradeIds) {
+        if (tradeIds.isEmpty()) {
+            return 0;
+        }
+        mapper.deleteSettlementLineRefsByTradeIds(tradeIds);
+        mapper.deleteSettlementItemsByTradeIds(tradeIds);
+        mapper.deleteLineItemsByTradeIds(tradeIds);
+        return mapper.deleteByTradeIds(tradeIds);
+    }
 }
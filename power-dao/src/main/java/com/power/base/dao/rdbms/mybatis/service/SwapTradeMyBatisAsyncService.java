@@ -0,0 +1,65 @@
+package com.power.base.dao.rdbms.mybatis.service;
+
+import com.power.base.dao.rdbms.async.TradeLookupExecutor;
+import com.power.base.dao.rdbms.mybatis.repository.swap.SwapTradeMapper;
+import com.power.base.dao.rdbms.mybatis.repository.swap.SwapTradeSearchCriteria;
+import com.power.base.datamodel.dto.financials.SwapPowerTradeDto;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * {@link SwapTradeMyBatisService} on virtual threads, with a {@link SqlSession} per call like
+ * {@link PhysicalTradeMyBatisAsyncService}.
+ */
+public class SwapTradeMyBatisAsyncService {
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final TradeLookupExecutor executor;
+
+    public SwapTradeMyBatisAsyncService(SqlSessionFactory sqlSessionFactory, TradeLookupExecutor executor) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<SwapPowerTradeDto> persist(SwapPowerTradeDto tradeDto) {
+        return executor.submit(() -> {
+            try (SqlSession session = sqlSessionFactory.openSession(false)) {
+                SwapPowerTradeDto persisted = service(session).persist(tradeDto);
+                session.commit();
+                return persisted;
+            }
+        });
+    }
+
+    public CompletableFuture<Optional<SwapPowerTradeDto>> findByTradeId(String tradeId) {
+        return executor.submit(() -> read(service -> service.findByTradeId(tradeId)));
+    }
+
+    /**
+     * @return the trades found, keyed by trade id in the order the ids were given
+     */
+    public CompletableFuture<Map<String, SwapPowerTradeDto>> findByTradeIds(Collection<String> tradeIds) {
+        return executor.findAll(tradeIds, tradeId -> read(service -> service.findByTradeId(tradeId)));
+    }
+
+    public CompletableFuture<List<SwapPowerTradeDto>> searchByCriteria(SwapTradeSearchCriteria criteria) {
+        return executor.submit(() -> read(service -> service.searchByCriteria(criteria)));
+    }
+
+    private <T> T read(Function<SwapTradeMyBatisService, T> call) {
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            return call.apply(service(session));
+        }
+    }
+
+    private static SwapTradeMyBatisService service(SqlSession session) {
+        return new SwapTradeMyBatisService(session.getMapper(SwapTradeMapper.class));
+    }
+}
@@ -2,16 +2,21 @@ package com.power.base.dao.rdbms.mybatis.service;
 
 import com.power.base.dao.rdbms.jpa.persistence.swap.SwapPeriodEntity;
 import com.power.base.dao.rdbms.jpa.persistence.swap.SwapTradeEntity;
+import com.power.base.dao.rdbms.jpa.repository.TradePurge;
 import com.power.base.dao.rdbms.mybatis.repository.swap.SwapTradeMapper;
 import com.power.base.dao.rdbms.mybatis.repository.swap.SwapTradeSearchCriteria;
 import com.power.base.datamodel.dto.financials.SwapPowerTradeDto;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
- * MyBatis-backed service facade for financial swap trades.
+ * MyBatis-backed service facade for financial swap trades. Its reads are declared read-only, so when it is a Spring bean
+ * over a {@code SqlSessionTemplate} they go to a replica under {@code ReplicaRoutingConfig}.
  */
 public class SwapTradeMyBatisService {
 
@@ -39,11 +44,13 @@ public class SwapTradeMyBatisService {
                 .orElseGet(entity::toDto);
     }
 
+    @Transactional(readOnly = true)
     public Optional<SwapPowerTradeDto> findByTradeId(String tradeId) {
         return mapper.findByTradeId(tradeId)
                 .map(SwapTradeEntity::toDto);
     }
 
+    @Transactional(readOnly = true)
     public List<SwapPowerTradeDto> searchByCriteria(SwapTradeSearchCriteria criteria) {
         return mapper.findByCriteria(criteria).stream()
                 .map(SwapTradeEntity::toDto)
@@ -54,4 +61,40 @@ public class SwapTradeMyBatisService {
         mapper.deletePeriodsByTradeId(tradeId);
         mapper.deleteByTradeId(tradeId);
     }
+
+    /**
+     * Deletes every matching trade, {@link TradePurge#DEFAULT_CHUNK_SIZE} trades at a time with one statement per
+     * table, periods first.
+     *
+     * @return the number of trades deleted
+     */
+    public long deleteByCriteria(SwapTradeSearchCriteria criteria) {
+        return TradePurge.untilDone(limit ->
+                deleteTrades(mapper.selectTradeIdsByCriteria(criteria, new RowBounds(0, limit))));
+    }
+
+    /**
+     * Copies every trade dated before {@code tradeDate} into the archive tables and deletes it, chunked like
+     * {@link #deleteByCriteria}.
+     *
+     * @return the number of trades archived
+     */
+    public long archiveBefore(LocalDate tradeDate) {
+        return TradePurge.untilDone(limit -> {
+            List<String> tradeIds = mapper.selectTradeIdsBefore(tradeDate, new RowBounds(0, limit));
+            if (!tradeIds.isEmpty()) {
+                mapper.archivePeriodsByTradeIds(tradeIds);
+                mapper.archiveByTradeIds(tradeIds);
+            }
+            return deleteTrades(tradeIds);
+        });
+    }
+
+    private int deleteTrades(List<String> tradeIds) {
+        if (tradeIds.isEmpty()) {
+            return 0;
+        }
+        mapper.deletePeriodsByTradeIds(tradeIds);
+        return mapper.deleteByTradeIds(tradeIds);
+    }
 }
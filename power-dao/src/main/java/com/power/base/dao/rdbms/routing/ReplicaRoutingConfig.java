@@ -0,0 +1,84 @@
+package com.power.base.dao.rdbms.routing;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source with one that sends read-only transactions to the replicas. The returned
+ * proxy only fetches a physical connection at the first statement, after the transaction manager has marked the
+ * connection read-only, so both JPA and MyBatis transactions declared {@code readOnly} land on a replica while every
+ * other connection comes from the primary pool.
+ * <p>
+ * The primary pool is tuned with {@code spring.datasource.hikari.*} as without replicas; every replica gets a pool
+ * of its own, tuned with {@code power.datasource.replicas.hikari.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "power.datasource.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties({DataSourceProperties.class, ReplicaProperties.class})
+public class ReplicaRoutingConfig {
+
+    @Bean(autowireCandidate = false, destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties primaryProperties) {
+        return primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Pool settings shared by the replica pools; connection details are filled in per replica.
+     */
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("power.datasource.replicas.hikari")
+    public HikariConfig replicaPoolConfig() {
+        return new HikariConfig();
+    }
+
+    /**
+     * Closing it closes the replica pools.
+     */
+    @Bean(autowireCandidate = false, destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties primaryProperties,
+                                                             ReplicaProperties replicaProperties) {
+        HikariConfig poolConfig = replicaPoolConfig();
+        String username = replicaProperties.getUsername() == null
+                ? primaryProperties.determineUsername()
+                : replicaProperties.getUsername();
+        String password = replicaProperties.getPassword() == null
+                ? primaryProperties.determinePassword()
+                : replicaProperties.getPassword();
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaProperties.getUrls()) {
+            HikariConfig config = new HikariConfig();
+            poolConfig.copyStateTo(config);
+            config.setDriverClassName(primaryProperties.determineDriverClassName());
+            config.setJdbcUrl(url);
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource(primaryProperties), replicas,
+                replicaProperties.getMaxLag(), replicaProperties.getLagCheckInterval(),
+                replicaProperties.getLagQuery());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties primaryProperties, ReplicaProperties replicaProperties) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                primaryDataSource(primaryProperties));
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource(primaryProperties, replicaProperties));
+        return dataSource;
+    }
+}
@@ -0,0 +1,171 @@
+package com.power.base.dao.rdbms.routing;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out connections to read replicas in round-robin order, skipping replicas that lag behind the primary by more
+ * than {@code maxLag} or failed to connect, and falls back to the primary when no replica is usable.
+ * <p>
+ * A replica's lag is measured with {@code lagQuery}, which must return the lag in seconds, at most once per
+ * {@code lagCheckInterval} and by whichever thread first asks for a connection after the interval has passed; no
+ * background thread is involved. Without a lag query only connection failures take a replica out of rotation, until
+ * the next check.
+ * <p>
+ * Used as the read-only target of a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} (see
+ * {@link ReplicaRoutingConfig}), it serves every read-only transaction, whether JPA or MyBatis runs in it. It can also
+ * back a MyBatis session factory of its own for mappers that only read.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    /**
+     * Replay lag of a PostgreSQL standby; zero when it has replayed everything it received.
+     */
+    public static final String POSTGRES_LAG_QUERY = "select case"
+            + " when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0"
+            + " else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagNanos;
+    private final long lagCheckIntervalNanos;
+    private final String lagQuery;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag,
+                                    Duration lagCheckInterval, String lagQuery) {
+        this(primary, replicas, maxLag, lagCheckInterval, lagQuery, System::nanoTime);
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag,
+                             Duration lagCheckInterval, String lagQuery, LongSupplier nanoClock) {
+        if (maxLag.isNegative() || lagCheckInterval.isNegative()) {
+            throw new IllegalArgumentException("maxLag and lagCheckInterval must not be negative");
+        }
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagNanos = maxLag.toNanos();
+        this.lagCheckIntervalNanos = lagCheckInterval.toNanos();
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = size == 0 ? 0 : Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isUsable()) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.markDown();
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Replicas are only reached with the credentials of their pools, so a connection for other credentials comes from
+     * the primary.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Number of replicas that would currently be offered connections, refreshing stale lag measurements.
+     */
+    public int usableReplicaCount() {
+        return (int) replicas.stream().filter(Replica::isUsable).count();
+    }
+
+    List<DataSource> replicaDataSources() {
+        return replicas.stream().map(replica -> replica.dataSource).toList();
+    }
+
+    /**
+     * Closes the replica data sources that can be closed, such as their pools; the primary is left to its owner.
+     */
+    @Override
+    public void close() throws Exception {
+        Exception failure = null;
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private final class Replica {
+
+        private final DataSource dataSource;
+        private final AtomicBoolean checking = new AtomicBoolean();
+        private volatile boolean usable = true;
+        private volatile long checkedAt;
+        private volatile boolean checked;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        boolean isUsable() {
+            long now = nanoClock.getAsLong();
+            if ((!checked || now - checkedAt >= lagCheckIntervalNanos) && checking.compareAndSet(false, true)) {
+                try {
+                    usable = lagQuery == null || measureLagNanos() <= maxLagNanos;
+                } catch (SQLException e) {
+                    usable = false;
+                } finally {
+                    checkedAt = now;
+                    checked = true;
+                    checking.set(false);
+                }
+            }
+            return usable;
+        }
+
+        void markDown() {
+            usable = false;
+            checkedAt = nanoClock.getAsLong();
+            checked = true;
+        }
+
+        private long measureLagNanos() throws SQLException {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("Lag query returned no row");
+                }
+                return (long) (resultSet.getDouble(1) * 1_000_000_000d);
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.power.base.datamodel.dto.common.BuySellIndicator;
 import com.power.base.datamodel.dto.common.DocumentType;
 import com.power.base.datamodel.dto.common.PartyDto;
 import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.physicals.LineItemRefs;
 import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
 import com.power.base.datamodel.dto.physicals.PhysicalMetadataDto;
 import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
@@ -15,6 +16,7 @@ import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
 import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
@@ -44,8 +46,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -113,6 +117,98 @@ class PhysicalTradeDynamoDaoImplTest {
         assertThat(reloaded.get().getTradeDetails().getLineItems()).hasSize(40);
     }
 
+    @Test
+    void save_amendmentWritesOnlyChangedItems() {
+        dao.save(buildTrade("PWR-TEST-008", 3, 2));
+        clearInvocations(dynamoDbClient);
+
+        PhysicalPowerTradeDto amendment = buildTrade("PWR-TEST-008", 3, 2);
+        amendment.getTradeHeader().setAmendmentIndicator(true);
+        PhysicalLineItemDto amendedLine = amendment.getTradeDetails().getLineItems().get(2);
+        amendedLine.setQuantity(99.0);
+        amendment.getTradeDetails().getLineItems().set(2, amendedLine);
+        amendment.getSettlementInfo().getSettlementItems().get(1).setInvoiceStatus("Final");
+
+        dao.save(amendment);
+
+        ArgumentCaptor<TransactWriteItemsRequest> captor = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(dynamoDbClient).transactWriteItems(captor.capture());
+        assertThat(captor.getValue().transactItems())
+                .extracting(write -> write.put().item().get("sort_key").s())
+                .containsExactlyInAnyOrder("HEADER#", "LINE#0003", "SETTLEMENT#SET-2");
+        verify(dynamoDbClient, never()).batchWriteItem(any(BatchWriteItemRequest.class));
+
+        PhysicalPowerTradeDto reloaded = dao.findByTradeId("PWR-TEST-008").orElseThrow();
+        assertThat(reloaded.getTradeHeader().isAmendmentIndicator()).isTrue();
+        assertThat(reloaded.getTradeDetails().getLineItems()).hasSize(3);
+        assertThat(reloaded.getTradeDetails().getLineItems().get(2).getQuantity()).isEqualTo(99.0);
+        assertThat(reloaded.getSettlementInfo().getSettlementItems())
+                .extracting(PhysicalSettlementItemDto::getInvoiceStatus)
+                .containsExactlyInAnyOrder("Pending", "Final");
+    }
+
+    @Test
+    void save_amendmentDeletesTrailingLinesAndRemovedSettlements() {
+        dao.save(buildTrade("PWR-TEST-009", 4, 2));
+
+        PhysicalPowerTradeDto amendment = buildTrade("PWR-TEST-009", 2, 1);
+        amendment.getTradeHeader().setAmendmentIndicator(true);
+        dao.save(amendment);
+
+        assertThat(dataStore.get("PWR-TEST-009").keySet())
+                .containsExactlyInAnyOrder("HEADER#", "LINE#0001", "LINE#0002", "SETTLEMENT#SET-1");
+        PhysicalPowerTradeDto reloaded = dao.findByTradeId("PWR-TEST-009").orElseThrow();
+        assertThat(reloaded.getTradeDetails().getLineItems()).hasSize(2);
+        assertThat(reloaded.getSettlementInfo().getSettlementItems()).hasSize(1);
+    }
+
+    @Test
+    void save_amendmentOrdersLinesByNumberBeyondFourDigitSortKeys() {
+        dao.save(buildTrade("PWR-TEST-010", 10_005, 1));
+
+        PhysicalPowerTradeDto amendment = buildTrade("PWR-TEST-010", 10_002, 1);
+        amendment.getTradeHeader().setAmendmentIndicator(true);
+        PhysicalLineItemDto amendedLine = amendment.getTradeDetails().getLineItems().get(9_998);
+        amendedLine.setQuantity(-1.0);
+        amendment.getTradeDetails().getLineItems().set(9_998, amendedLine);
+        dao.save(amendment);
+
+        assertThat(dataStore.get("PWR-TEST-010"))
+                .containsKeys("LINE#9999", "LINE#10000", "LINE#10002")
+                .doesNotContainKeys("LINE#10003", "LINE#10004", "LINE#10005")
+                .hasSize(10_002 + 2);
+        List<PhysicalLineItemDto> lineItems = dao.findByTradeId("PWR-TEST-010").orElseThrow()
+                .getTradeDetails().getLineItems();
+        assertThat(lineItems).hasSize(10_002);
+        assertThat(lineItems.get(9_998).getQuantity()).isEqualTo(-1.0);
+        assertThat(lineItems.get(9_999).getQuantity()).isEqualTo(10.0 + 9_999);
+        assertThat(lineItems.get(10_001).getQuantity()).isEqualTo(10.0 + 10_001);
+    }
+
+    @Test
+    void save_storesLineReferencesAsRangesAndReadsLegacyStringSets() {
+        PhysicalPowerTradeDto trade = buildTrade("PWR-TEST-010", 24, 2);
+        trade.getSettlementInfo().getSettlementItems().get(0)
+                .setLineItemRefs(LineItemRefs.ofRanges(0, 12, 20, 24));
+        trade.getSettlementInfo().getSettlementItems().get(1).setReferencedLineItems(List.of("LI-EXTERNAL"));
+
+        dao.save(trade);
+
+        Map<String, AttributeValue> ranged = dataStore.get("PWR-TEST-010").get("SETTLEMENT#SET-1");
+        assertThat(ranged.get("line_ranges").s()).isEqualTo("0-11,20-23");
+        assertThat(ranged).doesNotContainKey("line_refs");
+        Map<String, AttributeValue> legacy = dataStore.get("PWR-TEST-010").get("SETTLEMENT#SET-2");
+        assertThat(legacy).doesNotContainKey("line_ranges");
+        legacy.put("line_refs", AttributeValue.builder().ss("LINE#0002", "LINE#0001").build());
+
+        PhysicalPowerTradeDto reloaded = dao.findByTradeId("PWR-TEST-010").orElseThrow();
+        Map<String, PhysicalSettlementItemDto> items = reloaded.getSettlementInfo().getSettlementItems().stream()
+                .collect(Collectors.toMap(PhysicalSettlementItemDto::getSettlementId, item -> item));
+        assertThat(items.get("SET-1").lineItemRefs()).isEqualTo(LineItemRefs.ofRanges(0, 12, 20, 24));
+        assertThat(items.get("SET-1").getReferencedLineItems()).hasSize(16).startsWith("LINE#0001").endsWith("LINE#0024");
+        assertThat(items.get("SET-2").lineItemRefs()).isEqualTo(LineItemRefs.range(0, 2));
+    }
+
     @Test
     void searchByCriteria_filtersByHeadersAndTemporalBounds() {
         PhysicalPowerTradeDto match = buildTrade("PWR-TEST-004", 2, 0);
@@ -0,0 +1,79 @@
+package com.power.base.dao.rdbms.async;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TradeLookupExecutorTest {
+
+    @Test
+    void findAllKeepsTheOrderOfDistinctIdsAndLeavesOutMissingTrades() {
+        try (TradeLookupExecutor executor = new TradeLookupExecutor(4)) {
+            Map<String, String> trades = executor.findAll(List.of("T-3", "T-1", "MISSING", "T-2", "T-1"),
+                    id -> id.startsWith("T-") ? Optional.of("trade " + id) : Optional.<String>empty()).join();
+
+            assertEquals(List.of("T-3", "T-1", "T-2"), List.copyOf(trades.keySet()));
+            assertEquals("trade T-2", trades.get("T-2"));
+        }
+    }
+
+    @Test
+    void neverRunsMoreCallsThanMaxConcurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        try (TradeLookupExecutor executor = new TradeLookupExecutor(3)) {
+            List<CompletableFuture<Integer>> calls = new ArrayList<>();
+            for (int i = 0; i < 24; i++) {
+                int call = i;
+                calls.add(executor.submit(() -> {
+                    mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    return call;
+                }));
+            }
+
+            for (int i = 0; i < calls.size(); i++) {
+                assertEquals(i, calls.get(i).join());
+            }
+        }
+        assertTrue(mostRunning.get() <= 3, "at most 3 calls at once, saw " + mostRunning.get());
+        assertTrue(mostRunning.get() > 1, "calls ran one after the other");
+    }
+
+    @Test
+    void findAllFailsWithTheFailedLookup() {
+        try (TradeLookupExecutor executor = new TradeLookupExecutor(2)) {
+            CompletableFuture<Map<String, String>> trades = executor.findAll(List.of("T-1", "T-2"), id -> {
+                if (id.equals("T-2")) {
+                    throw new IllegalStateException("lookup of " + id + " failed");
+                }
+                return Optional.of(id);
+            });
+
+            CompletionException failure = assertThrows(CompletionException.class, trades::join);
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+            assertEquals("lookup of T-2 failed", failure.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void rejectsAConcurrencyBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> new TradeLookupExecutor(0));
+    }
+}
@@ -0,0 +1,97 @@
+package com.power.base.dao.rdbms.jpa.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the PostgreSQL binary COPY encoding byte by byte. Every expected field is the length followed by the value
+ * as PostgreSQL's binary send function writes it for the column type.
+ */
+class TableCopyTest {
+
+    @Test
+    void framesRowsWithSignatureHeaderFieldCountsAndTrailer() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TableCopy.BinaryCopyFormat format = new TableCopy.BinaryCopyFormat(bytes, "physical_trades");
+
+        format.writeHeader();
+        format.writeRow(new Object[]{7L, null});
+        format.writeTrailer();
+
+        assertEquals("5047434f50590aff0d0a00" + "00000000" + "00000000"
+                        + "0002" + "00000008" + "0000000000000007" + "ffffffff"
+                        + "ffff",
+                HexFormat.of().formatHex(bytes.toByteArray()));
+    }
+
+    @Test
+    void encodesNumbersAndBooleansInNetworkOrder() throws IOException {
+        assertEquals("00000008" + "fffffffffffffffe", field(-2L));
+        assertEquals("00000004" + "00000457", field(1111));
+        assertEquals("00000002" + "0457", field((short) 1111));
+        assertEquals("00000008" + "3ff8000000000000", field(1.5d));
+        assertEquals("00000004" + "3fc00000", field(1.5f));
+        assertEquals("00000001" + "01", field(true));
+        assertEquals("00000001" + "00", field(false));
+    }
+
+    @Test
+    void encodesTextAsUtf8AndByteaAsItsRawBytes() throws IOException {
+        assertEquals("00000005" + "4dc3bc6c6c", field("Müll"));
+        assertEquals("00000000", field(""));
+        assertEquals("00000003" + "00ff7f", field(new byte[]{0, (byte) 0xFF, 0x7F}));
+    }
+
+    @Test
+    void encodesDatesAsDaysSince2000() throws IOException {
+        assertEquals("00000004" + "00000000", field(LocalDate.of(2000, 1, 1)));
+        assertEquals("00000004" + "000024e2", field(LocalDate.of(2025, 11, 7)));
+        assertEquals("00000004" + "ffffd533", field(LocalDate.of(1970, 1, 1)));
+    }
+
+    @Test
+    void encodesTimestampsAsMicrosecondsSince2000() throws IOException {
+        assertEquals("00000008" + "0000000000000000", field(Instant.parse("2000-01-01T00:00:00Z")));
+        assertEquals("00000008" + "fffca2fec4c82000", field(Instant.EPOCH));
+        // sub-microsecond digits are dropped, as PostgreSQL keeps microseconds
+        assertEquals("00000008" + "0000000000000001", field(Instant.parse("2000-01-01T00:00:00.000001999Z")));
+        assertEquals("00000008" + "ffffffffffffffff", field(Instant.parse("1999-12-31T23:59:59.999999Z")));
+        assertEquals("00000008" + "0002e600c8ff8a00", field(LocalDateTime.of(2025, 11, 7, 14, 30)));
+    }
+
+    @Test
+    void encodesTimesAsMicrosecondsOfTheDay() throws IOException {
+        assertEquals("00000008" + "0000000a0eebb1f4", field(LocalTime.of(12, 0, 0, 500_000)));
+    }
+
+    @Test
+    void rejectsValuesWithoutAnEncoding() {
+        TableCopy.BinaryCopyFormat format = new TableCopy.BinaryCopyFormat(new ByteArrayOutputStream(), "swap_trades");
+
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+                () -> format.writeRow(new Object[]{new StringBuilder()}));
+        assertEquals("Cannot copy a java.lang.StringBuilder into swap_trades", failure.getMessage());
+    }
+
+    /**
+     * The bytes of {@code value} as the only field of a row, without the field count.
+     */
+    private static String field(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TableCopy.BinaryCopyFormat format = new TableCopy.BinaryCopyFormat(bytes, "physical_trades");
+        format.writeRow(new Object[]{value});
+        format.writeTrailer();
+        String row = HexFormat.of().formatHex(bytes.toByteArray());
+        return row.substring("0001".length(), row.length() - "ffff".length());
+    }
+}
@@ -1,7 +1,27 @@
 package com.power.base.dao.rdbms.jpa.repository.physical;
 
+import com.power.base.dao.rdbms.jpa.persistence.TradeCacheRegions;
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
+import com.power.base.dao.rdbms.jpa.persistence.physical.ScheduleStorage;
+import com.power.base.dao.rdbms.jpa.repository.BulkSaveReport;
+import com.power.base.dao.rdbms.jpa.repository.CacheRegionStats;
+import com.power.base.dao.rdbms.jpa.repository.TradeCache;
+import com.power.base.dao.rdbms.jpa.repository.TradeCursor;
+import com.power.base.dao.rdbms.jpa.repository.TradePage;
+import com.power.base.dao.rdbms.jpa.schema.IndexAdvisor;
+import com.power.base.dao.rdbms.jpa.schema.SchemaMigrator;
+import com.power.base.dao.rdbms.jpa.schema.TradeSchema;
+import com.power.base.dao.rdbms.jpa.service.BulkLoadReport;
+import com.power.base.dao.rdbms.jpa.service.PhysicalTradeBulkLoader;
 import com.power.base.dao.rdbms.jpa.service.PhysicalTradeService;
+import com.power.base.dao.rdbms.jpa.service.TradeCopyLoader;
+import com.power.base.datamodel.dto.common.BuySellIndicator;
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
 import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeRecord;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsRecord;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeSummary;
 import org.dbunit.IDatabaseTester;
 import org.dbunit.JdbcDatabaseTester;
 import org.dbunit.dataset.IDataSet;
@@ -11,17 +31,30 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.Persistence;
 
 import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PhysicalTradeDaoJpaDbUnitTest {
@@ -38,6 +71,7 @@ class PhysicalTradeDaoJpaDbUnitTest {
     @BeforeAll
     static void initFactory() {
         entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT);
+        new SchemaMigrator(entityManagerFactory).migrate();
     }
 
     @AfterAll
@@ -59,6 +93,9 @@ class PhysicalTradeDaoJpaDbUnitTest {
         databaseTester.setTearDownOperation(DatabaseOperation.DELETE_ALL);
         databaseTester.setDataSet(loadDataset("/datasets/physical-trades.xml"));
         databaseTester.onSetup();
+        // the fixtures carry their own ids, like rows written before the sequences existed
+        new SchemaMigrator(entityManagerFactory).alignSequences();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
 
         entityManager.clear();
     }
@@ -80,6 +117,17 @@ class PhysicalTradeDaoJpaDbUnitTest {
         assertEquals("Nord Pool Trading Desk", result.get().getTradeHeader().getBusinessUnit());
     }
 
+    @Test
+    void toRecordMatchesToDto() {
+        PhysicalTradeEntity entity = dao.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+
+        PhysicalPowerTradeRecord trade = entity.toRecord();
+
+        assertEquals(PhysicalPowerTradeRecord.fromDto(entity.toDto()), trade);
+        assertEquals("Nord Pool Trading Desk", trade.tradeHeader().businessUnit());
+        assertEquals(entity.getLineItems().size(), trade.tradeDetails().lineItems().size());
+    }
+
     @Test
     void searchByCriteriaMatchesTrade() {
         PhysicalTradeSearchCriteria criteria = new PhysicalTradeSearchCriteria();
@@ -93,6 +141,588 @@ class PhysicalTradeDaoJpaDbUnitTest {
         assertEquals("Power", trade.getTradeHeader().getCommodity());
     }
 
+    @Test
+    void searchByCriteriaAppliesOneSidedTradeTimeBounds() {
+        Instant tradeTime = service.findByTradeId("PWR-2025-11-07-001").orElseThrow().getTradeHeader().getTradeTime();
+        PhysicalTradeSearchCriteria from = new PhysicalTradeSearchCriteria();
+        from.setTradeTimeFrom(tradeTime);
+        PhysicalTradeSearchCriteria before = new PhysicalTradeSearchCriteria();
+        before.setTradeTimeTo(tradeTime.minusSeconds(1));
+        PhysicalTradeSearchCriteria later = new PhysicalTradeSearchCriteria();
+        later.setTradeTimeFrom(tradeTime.plusSeconds(1));
+
+        assertEquals(1, service.searchByCriteria(from).size());
+        assertEquals(0, service.searchByCriteria(before).size());
+        assertEquals(0, service.searchByCriteria(later).size());
+        assertSame(PhysicalTradeQueryShape.of(from), PhysicalTradeQueryShape.of(later));
+    }
+
+    @Test
+    void searchOnUnindexedColumnsIsReportedByTheIndexAdvisor() {
+        PhysicalTradeSearchCriteria criteria = new PhysicalTradeSearchCriteria();
+        criteria.setCommodity("Power");
+        criteria.setTransactionType("FOR");
+
+        assertEquals(1, service.searchByCriteria(criteria).size());
+        criteria.setTenantId("TENANT_A");
+        service.searchByCriteria(criteria);
+
+        Set<String> unindexed = IndexAdvisor.shared().unindexedSearches();
+        assertTrue(unindexed.contains("physical_trades[commodity, transaction_type]"));
+        assertFalse(unindexed.contains("physical_trades[commodity, tenant_id, transaction_type]"));
+    }
+
+    @Test
+    void searchByCriteriaLoadsChildrenWithConstantQueryCount() {
+        PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        entityManager.clear();
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < 5; i++) {
+            trade.getTradeHeader().setTradeId("PWR-SEARCH-" + i);
+            dao.save(PhysicalTradeEntity.fromDto(trade));
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PhysicalTradeSearchCriteria criteria = new PhysicalTradeSearchCriteria();
+        criteria.setTenantId(trade.getTradeHeader().getTenantId());
+        List<PhysicalPowerTradeDto> trades = service.searchByCriteria(criteria);
+
+        assertEquals(6, trades.size());
+        trades.forEach(found -> {
+            assertEquals(1, found.getTradeDetails().getLineItems().size());
+            assertEquals(List.of("LI-001"),
+                    found.getSettlementInfo().getSettlementItems().get(0).getReferencedLineItems());
+        });
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void keysetPagesAndStreamVisitEveryTradeOnce() {
+        PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        entityManager.clear();
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < 4; i++) {
+            trade.getTradeHeader().setTradeId("PWR-PAGE-" + i);
+            trade.getTradeHeader().setTradeDate(LocalDate.of(2025, 11, 6 + i % 2));
+            dao.save(PhysicalTradeEntity.fromDto(trade));
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        PhysicalTradeSearchCriteria criteria = new PhysicalTradeSearchCriteria();
+        criteria.setTenantId(trade.getTradeHeader().getTenantId());
+
+        List<String> paged = new ArrayList<>();
+        TradeCursor cursor = null;
+        int pages = 0;
+        do {
+            TradePage<PhysicalPowerTradeDto> page = service.searchPage(criteria, cursor, 2);
+            page.items().forEach(found -> paged.add(found.getTradeHeader().getTradeId()));
+            cursor = page.next();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of("PWR-PAGE-0", "PWR-PAGE-2", "PWR-2025-11-07-001", "PWR-PAGE-1", "PWR-PAGE-3"), paged);
+        assertEquals(3, pages);
+
+        entityManager.getTransaction().begin();
+        try (Stream<PhysicalPowerTradeDto> stream = service.streamByCriteria(criteria)) {
+            List<PhysicalPowerTradeDto> streamed = stream.toList();
+            assertEquals(5, streamed.size());
+            streamed.forEach(found -> assertEquals(1, found.getTradeDetails().getLineItems().size()));
+        }
+        entityManager.getTransaction().commit();
+    }
+
+    @Test
+    void searchSummariesReadsOnlyTheHeaderRow() {
+        PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        trade.getTradeHeader().setTradeId("PWR-SUMMARY-1");
+        trade.getTradeDetails().setLineItems(PhysicalLineItemDto.generateSchedule(
+                Instant.parse("2025-11-08T00:00:00Z"), Instant.parse("2025-11-08T02:00:00Z"),
+                Profile.FIFTEEN_MIN, ZoneId.of("UTC"), 2.5, "MWh", 10.0));
+        entityManager.clear();
+        entityManager.getTransaction().begin();
+        service.persist(trade);
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PhysicalTradeSearchCriteria criteria = new PhysicalTradeSearchCriteria();
+        criteria.setTenantId(trade.getTradeHeader().getTenantId());
+        List<PhysicalTradeSummary> summaries = service.searchSummaries(criteria);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        PhysicalTradeSummary summary = summaries.stream()
+                .filter(found -> found.tradeId().equals("PWR-SUMMARY-1"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(20.0, summary.totalQuantity());
+        assertEquals("Nord Pool Trading Desk", summary.businessUnit());
+        assertEquals(trade.getTradeHeader().getBuySellIndicator(), summary.buySellIndicator());
+        assertEquals(2, summaries.size());
+    }
+
+    @Test
+    void persistAmendmentKeepsUnchangedChildRows() {
+        PhysicalPowerTradeDto amendment = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        amendment.getTradeHeader().setAmendmentIndicator(true);
+        amendment.getTradeDetails().getLineItems().add(new PhysicalLineItemDto(
+                LocalDate.of(2025, 11, 7),
+                Instant.parse("2025-11-07T01:00:00Z"),
+                LocalDate.of(2025, 11, 7),
+                Instant.parse("2025-11-07T02:00:00Z"),
+                "Fri 01:00-02:00",
+                14.0,
+                "MWh",
+                50.0,
+                Profile.ONE_HOUR
+        ));
+        amendment.getSettlementInfo().getSettlementItems().get(0).setInvoiceStatus("Final");
+        entityManager.clear();
+
+        entityManager.getTransaction().begin();
+        PhysicalPowerTradeDto persisted = service.persist(amendment);
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        assertEquals(2, persisted.getTradeDetails().getLineItems().size());
+        PhysicalTradeEntity reloaded = dao.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        assertTrue(reloaded.getHeader().isAmendmentIndicator());
+        assertEquals(2, reloaded.getLineItems().size());
+        assertEquals(1L, reloaded.getLineItems().stream()
+                .filter(lineItem -> lineItem.getQuantity() == 12.5)
+                .findFirst()
+                .orElseThrow()
+                .getId());
+        assertEquals(1, reloaded.getSettlementItems().size());
+        assertEquals(1L, reloaded.getSettlementItems().get(0).getId());
+        assertEquals("Final", reloaded.getSettlementItems().get(0).getInvoiceStatus());
+    }
+
+    @Test
+    void saveAllBatchesNewAndExistingTradesInChunks() {
+        PhysicalPowerTradeDto existing = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        existing.getTradeHeader().setBookStrategy("Bulk Loaded Book");
+        List<PhysicalTradeEntity> trades = new ArrayList<>();
+        trades.add(PhysicalTradeEntity.fromDto(existing));
+        Instant start = Instant.parse("2025-11-08T00:00:00Z");
+        for (int i = 0; i < 2; i++) {
+            PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+            trade.getTradeHeader().setTradeId("PWR-BULK-" + i);
+            trade.getTradeDetails().setLineItems(PhysicalLineItemDto.generateSchedule(start, start.plusSeconds(3600),
+                    Profile.ONE_MIN, ZoneId.of("UTC"), 1.5, "MWh", 10.0));
+            trades.add(PhysicalTradeEntity.fromDto(trade));
+        }
+        entityManager.clear();
+        dao.setChunkSize(2);
+
+        entityManager.getTransaction().begin();
+        BulkSaveReport report = dao.saveAll(trades);
+        entityManager.getTransaction().commit();
+
+        assertEquals(3, report.trades());
+        assertEquals(2, report.flushes());
+        assertEquals(3 + 1 + 2 * 60 + 3 + 3, report.rows());
+        assertTrue(report.rowsPerSecond() > 0);
+        assertEquals(60, dao.findByTradeId("PWR-BULK-1").orElseThrow().getLineItems().size());
+        assertEquals("Bulk Loaded Book", dao.findByTradeId("PWR-2025-11-07-001").orElseThrow()
+                .getHeader().getBookStrategy());
+    }
+
+    @Test
+    void saveUpsertsDetachedTradesAndBumpsTheVersion() {
+        PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        trade.getTradeHeader().setTradeId("PWR-UPSERT-1");
+        entityManager.clear();
+
+        entityManager.getTransaction().begin();
+        PhysicalTradeEntity inserted = dao.save(PhysicalTradeEntity.fromDto(trade));
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        trade.getTradeHeader().setBookStrategy("Upserted Book");
+        trade.getSettlementInfo().getSettlementItems().get(0).setInvoiceStatus("Final");
+        entityManager.getTransaction().begin();
+        PhysicalTradeEntity updated = dao.save(PhysicalTradeEntity.fromDto(trade));
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        assertEquals(0L, inserted.getVersion());
+        assertEquals(1L, updated.getVersion());
+        PhysicalTradeEntity reloaded = dao.findByTradeId("PWR-UPSERT-1").orElseThrow();
+        assertEquals(1L, reloaded.getVersion());
+        assertEquals("Upserted Book", reloaded.getHeader().getBookStrategy());
+        assertEquals(trade.getTradeDetails().getLineItems().size(), reloaded.getLineItems().size());
+        assertEquals(1, reloaded.getSettlementItems().size());
+        assertEquals("Final", reloaded.getSettlementItems().get(0).getInvoiceStatus());
+        assertEquals(trade.getSettlementInfo().getSettlementItems().get(0).getReferencedLineItems(),
+                reloaded.getSettlementItems().get(0).getReferencedLineItems());
+        assertEquals(trade.getTradeHeader().getTradeTime(), reloaded.getHeader().getTradeTime());
+        PhysicalPowerTradeRecord expected = PhysicalPowerTradeRecord.fromDto(trade);
+        assertEquals(expected.tradeHeader(), reloaded.toRecord().tradeHeader());
+        assertEquals(expected.metadata(), reloaded.toRecord().metadata());
+    }
+
+    @Test
+    void saveRejectsStaleVersion() {
+        PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        entityManager.clear();
+        PhysicalTradeEntity stale = PhysicalTradeEntity.fromDto(trade);
+        stale.setVersion(7L);
+
+        entityManager.getTransaction().begin();
+        assertThrows(OptimisticLockException.class, () -> dao.save(stale));
+        entityManager.getTransaction().rollback();
+        entityManager.clear();
+
+        assertEquals(0L, dao.findByTradeId("PWR-2025-11-07-001").orElseThrow().getVersion());
+    }
+
+    @Test
+    void findByTradeIdServesRepeatReadsFromTheSecondLevelCache() {
+        entityManager.getTransaction().begin();
+        service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        entityManager.getTransaction().begin();
+        PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        entityManager.getTransaction().commit();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals("Nord Pool Trading Desk", trade.getTradeHeader().getBusinessUnit());
+        assertEquals(1, trade.getTradeDetails().getLineItems().size());
+        assertEquals(List.of("LI-001"), trade.getSettlementInfo().getSettlementItems().get(0).getReferencedLineItems());
+        CacheRegionStats tradeRegion = TradeCache.regionStatistics(entityManagerFactory).stream()
+                .filter(region -> region.region().equals(TradeCacheRegions.PHYSICAL_TRADE))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, tradeRegion.hitCount());
+        assertEquals(0, tradeRegion.missCount());
+    }
+
+    @Test
+    void saveEvictsOnlyTheUpsertedTrade() {
+        PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        trade.getTradeHeader().setTradeId("PWR-CACHE-1");
+        entityManager.clear();
+        entityManager.getTransaction().begin();
+        dao.save(PhysicalTradeEntity.fromDto(trade));
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        entityManager.getTransaction().begin();
+        service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        service.findByTradeId("PWR-CACHE-1").orElseThrow();
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        trade.getTradeHeader().setBookStrategy("Cached Book");
+        trade.getTradeDetails().getLineItems().add(trade.getTradeDetails().getLineItems().get(0));
+        entityManager.getTransaction().begin();
+        dao.save(PhysicalTradeEntity.fromDto(trade));
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        entityManager.getTransaction().begin();
+        service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        assertEquals(0, statistics.getPrepareStatementCount());
+        PhysicalPowerTradeDto reloaded = service.findByTradeId("PWR-CACHE-1").orElseThrow();
+        entityManager.getTransaction().commit();
+
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+        assertEquals("Cached Book", reloaded.getTradeHeader().getBookStrategy());
+        assertEquals(2, reloaded.getTradeDetails().getLineItems().size());
+    }
+
+    @Test
+    void repeatedSummarySearchIsServedFromTheQueryCacheUntilATradeIsSaved() {
+        PhysicalTradeSearchCriteria criteria = new PhysicalTradeSearchCriteria();
+        criteria.setBusinessUnit("Nord Pool Trading Desk");
+        PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        entityManager.clear();
+        entityManager.getTransaction().begin();
+        assertEquals(1, service.searchSummaries(criteria).size());
+        entityManager.getTransaction().commit();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        entityManager.getTransaction().begin();
+        assertEquals(1, service.searchSummaries(criteria).size());
+        entityManager.getTransaction().commit();
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        trade.getTradeHeader().setTradeId("PWR-CACHE-2");
+        entityManager.getTransaction().begin();
+        dao.save(PhysicalTradeEntity.fromDto(trade));
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        entityManager.getTransaction().begin();
+        assertEquals(2, service.searchSummaries(criteria).size());
+        entityManager.getTransaction().commit();
+    }
+
+    @Test
+    void packedStorageKeepsTheScheduleInTheTradeRow() {
+        PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        trade.getTradeHeader().setTradeId("PWR-PACKED-1");
+        Instant start = Instant.parse("2025-11-08T00:00:00Z");
+        trade.getTradeDetails().setLineItems(PhysicalLineItemDto.generateSchedule(start, start.plusSeconds(86400),
+                Profile.FIFTEEN_MIN, ZoneId.of("Europe/Berlin"), 12.5, "MWh", 50.0));
+        entityManager.clear();
+        dao.setScheduleStorage(ScheduleStorage.PACKED);
+
+        entityManager.getTransaction().begin();
+        dao.save(PhysicalTradeEntity.fromDto(trade));
+        dao.save(PhysicalTradeEntity.fromDto(service.findByTradeId("PWR-2025-11-07-001").orElseThrow()));
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        assertEquals(0L, lineItemRows("PWR-PACKED-1"));
+        assertEquals(0L, lineItemRows("PWR-2025-11-07-001"));
+        PhysicalTradeEntity packed = dao.findByTradeId("PWR-PACKED-1").orElseThrow();
+        assertTrue(packed.getLineItems().isEmpty());
+        assertEquals(96, packed.getPackedSchedule().size());
+        assertEquals(PhysicalTradeDetailsRecord.fromDto(trade.getTradeDetails()), packed.toRecord().tradeDetails());
+        assertEquals(PhysicalTradeDetailsRecord.fromDto(trade.getTradeDetails()),
+                PhysicalTradeDetailsRecord.fromDto(packed.toDto().getTradeDetails()));
+        entityManager.clear();
+
+        PhysicalPowerTradeDto amendment = service.findByTradeId("PWR-PACKED-1").orElseThrow();
+        amendment.getTradeHeader().setAmendmentIndicator(true);
+        PhysicalLineItemDto amended = amendment.getTradeDetails().getLineItems().get(5);
+        amended.setQuantity(20.0);
+        amendment.getTradeDetails().getLineItems().set(5, amended);
+        entityManager.clear();
+        entityManager.getTransaction().begin();
+        service.persist(amendment);
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        PhysicalPowerTradeDto reloaded = service.findByTradeId("PWR-PACKED-1").orElseThrow();
+        assertEquals(20.0, reloaded.getTradeDetails().getLineItems().get(5).getQuantity());
+        assertEquals(12.5 * 95 + 20.0, dao.findByTradeId("PWR-PACKED-1").orElseThrow().getTotalQuantity());
+        assertEquals(0L, lineItemRows("PWR-PACKED-1"));
+    }
+
+    @Test
+    void aggregatesVolumesAndCashflowsInTheDatabaseIncludingPackedSchedules() {
+        PhysicalPowerTradeDto sell = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        sell.getTradeHeader().setTradeId("PWR-AGG-SELL");
+        sell.getTradeHeader().setBuySellIndicator(BuySellIndicator.SELL);
+        Instant start = Instant.parse("2025-11-07T00:00:00Z");
+        sell.getTradeDetails().setLineItems(PhysicalLineItemDto.generateSchedule(start, start.plusSeconds(3600),
+                Profile.FIFTEEN_MIN, ZoneId.of("UTC"), 2.0, "MWh", 10.0));
+        PhysicalPowerTradeDto packed = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        packed.getTradeHeader().setTradeId("PWR-AGG-PACKED");
+        packed.getTradeDetails().setLineItems(PhysicalLineItemDto.generateSchedule(start.plusSeconds(3600),
+                start.plusSeconds(7200), Profile.FIFTEEN_MIN, ZoneId.of("UTC"), 3.0, "MWh", 10.0));
+        entityManager.clear();
+
+        entityManager.getTransaction().begin();
+        dao.save(PhysicalTradeEntity.fromDto(sell));
+        dao.setScheduleStorage(ScheduleStorage.PACKED);
+        dao.save(PhysicalTradeEntity.fromDto(packed));
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        PhysicalTradeSearchCriteria criteria = new PhysicalTradeSearchCriteria();
+        criteria.setMarket("EPEX-SPOT");
+        LocalDate day = LocalDate.parse("2025-11-07");
+        assertEquals(List.of(
+                        new VolumeAggregate("TENANT_A", "EPEX-SPOT", "DE-LU", day, 0, 20.5, 4.5, 5),
+                        new VolumeAggregate("TENANT_A", "EPEX-SPOT", "DE-LU", day, 1, 12.0, 12.0, 4)),
+                service.aggregateVolumes(criteria, PositionBucket.HOUR));
+        assertEquals(List.of(new VolumeAggregate("TENANT_A", "EPEX-SPOT", "DE-LU", day, null, 32.5, 16.5, 9)),
+                service.aggregateVolumes(criteria, PositionBucket.DAY));
+        assertEquals(List.of(new CashflowAggregate("TENANT_A", "EPEX-SPOT", "DE-LU", day, 3 * 1198.5,
+                        3 * 90462.75, 3)),
+                service.aggregateCashflows(criteria));
+
+        criteria.setTenantId("TENANT_B");
+        assertTrue(service.aggregateVolumes(criteria, PositionBucket.DAY).isEmpty());
+        assertTrue(service.aggregateCashflows(criteria).isEmpty());
+    }
+
+    @Test
+    void hourlyVolumesBucketRowsAndPackedSchedulesByTheUtcDateAndHour() {
+        // midnight in Berlin, so the local period start date is a day after the UTC one
+        Instant start = Instant.parse("2025-11-06T23:00:00Z");
+        PhysicalPowerTradeDto rows = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        rows.getTradeHeader().setTradeId("PWR-HOUR-ROWS");
+        rows.getTradeHeader().setMarket("EPEX-HOURLY");
+        rows.getTradeDetails().setLineItems(PhysicalLineItemDto.generateSchedule(start, start.plusSeconds(7200),
+                Profile.ONE_HOUR, ZoneId.of("Europe/Berlin"), 1.0, "MWh", 10.0));
+        PhysicalPowerTradeDto packed = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        packed.getTradeHeader().setTradeId("PWR-HOUR-PACKED");
+        packed.getTradeHeader().setMarket("EPEX-HOURLY");
+        packed.getTradeDetails().setLineItems(PhysicalLineItemDto.generateSchedule(start, start.plusSeconds(7200),
+                Profile.ONE_HOUR, ZoneId.of("Europe/Berlin"), 2.0, "MWh", 10.0));
+        entityManager.clear();
+
+        entityManager.getTransaction().begin();
+        dao.save(PhysicalTradeEntity.fromDto(rows));
+        dao.setScheduleStorage(ScheduleStorage.PACKED);
+        dao.save(PhysicalTradeEntity.fromDto(packed));
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        PhysicalTradeSearchCriteria criteria = new PhysicalTradeSearchCriteria();
+        criteria.setMarket("EPEX-HOURLY");
+        assertEquals(List.of(
+                        new VolumeAggregate("TENANT_A", "EPEX-HOURLY", "DE-LU", LocalDate.parse("2025-11-06"), 23,
+                                3.0, 3.0, 2),
+                        new VolumeAggregate("TENANT_A", "EPEX-HOURLY", "DE-LU", LocalDate.parse("2025-11-07"), 0,
+                                3.0, 3.0, 2)),
+                service.aggregateVolumes(criteria, PositionBucket.HOUR));
+        assertEquals(List.of(new VolumeAggregate("TENANT_A", "EPEX-HOURLY", "DE-LU", LocalDate.parse("2025-11-07"),
+                        null, 6.0, 6.0, 4)),
+                service.aggregateVolumes(criteria, PositionBucket.DAY));
+    }
+
+    @Test
+    void deleteByCriteriaRemovesWholeTradesChunkByChunk() {
+        saveCopies(LocalDate.parse("2025-11-07"), "PWR-PURGE-1", "PWR-PURGE-2");
+        PhysicalTradeEntity managed = dao.findByTradeId("PWR-PURGE-1").orElseThrow();
+        PhysicalTradeSearchCriteria criteria = new PhysicalTradeSearchCriteria();
+        criteria.setMarket("EPEX-SPOT");
+
+        entityManager.getTransaction().begin();
+        assertEquals(2, dao.deleteByCriteria(criteria, 2));
+        assertFalse(entityManager.contains(managed));
+        assertEquals(1, dao.deleteByCriteria(criteria, 2));
+        assertEquals(0, dao.deleteByCriteria(criteria, 2));
+        entityManager.getTransaction().commit();
+
+        assertTrue(dao.findByTradeId("PWR-PURGE-1").isEmpty());
+        assertTrue(service.searchByCriteria(new PhysicalTradeSearchCriteria()).isEmpty());
+        TradeSchema.PHYSICAL_TABLES.forEach(table -> assertEquals(0L, rows(table)));
+    }
+
+    @Test
+    void archiveBeforeMovesOldTradesIntoTheArchiveTables() {
+        saveCopies(LocalDate.parse("2020-01-15"), "PWR-ARCHIVE-1", "PWR-ARCHIVE-2");
+        TradeSchema.PHYSICAL_TABLES.forEach(table -> clear(TradeSchema.archiveOf(table)));
+
+        entityManager.getTransaction().begin();
+        assertEquals(2L, service.archiveBefore(LocalDate.parse("2021-01-01")));
+        entityManager.getTransaction().commit();
+
+        assertTrue(dao.findByTradeId("PWR-ARCHIVE-1").isEmpty());
+        assertTrue(dao.findByTradeId("PWR-2025-11-07-001").isPresent());
+        assertEquals(2L, rows(TradeSchema.archiveOf(TradeSchema.PHYSICAL_TRADES)));
+        assertEquals(2L, rows(TradeSchema.archiveOf("physical_trade_line_items")));
+        assertEquals(2L, rows(TradeSchema.archiveOf("physical_settlement_items")));
+        assertEquals(1L, rows("physical_trade_line_items"));
+        TradeSchema.PHYSICAL_TABLES.forEach(table -> clear(TradeSchema.archiveOf(table)));
+    }
+
+    @Test
+    void bulkLoaderInsertsTradesThroughStatelessSessionsAndReportsFailedTradeIds() {
+        List<PhysicalPowerTradeDto> trades = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+            trade.getTradeHeader().setTradeId("PWR-LOAD-" + i);
+            trades.add(trade);
+        }
+        trades.add(5, service.findByTradeId("PWR-2025-11-07-001").orElseThrow());
+        entityManager.clear();
+        PhysicalTradeBulkLoader loader = new PhysicalTradeBulkLoader(entityManagerFactory);
+        loader.setProducerThreads(2);
+        loader.setWriterThreads(2);
+        loader.setBatchSize(3);
+        loader.setQueueCapacity(4);
+        List<BulkLoadReport> progress = Collections.synchronizedList(new ArrayList<>());
+
+        BulkLoadReport report = loader.load(trades.iterator(), progress::add);
+
+        assertEquals(10, report.loaded());
+        assertEquals(10 * 4, report.rows());
+        assertEquals(List.of("PWR-2025-11-07-001"), report.failedTradeIds());
+        assertTrue(report.tradesPerSecond() > 0);
+        assertFalse(progress.isEmpty());
+        assertTrue(progress.stream().allMatch(step -> step.loaded() <= 10));
+        PhysicalPowerTradeDto expected = trades.get(8);
+        assertEquals(PhysicalPowerTradeRecord.fromDto(expected),
+                PhysicalPowerTradeRecord.fromDto(service.findByTradeId("PWR-LOAD-7").orElseThrow()));
+        assertEquals(1L + 10L, rows("physical_settlement_line_refs"));
+    }
+
+    @Test
+    void copyLoaderWritesTradesTableByTableIncludingPackedSchedules() {
+        List<PhysicalPowerTradeDto> trades = new ArrayList<>();
+        Instant start = Instant.parse("2025-11-08T00:00:00Z");
+        for (int i = 0; i < 5; i++) {
+            PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+            trade.getTradeHeader().setTradeId("PWR-COPY-" + i);
+            trades.add(trade);
+        }
+        trades.get(4).getTradeDetails().setLineItems(PhysicalLineItemDto.generateSchedule(start,
+                start.plusSeconds(3600), Profile.ONE_MIN, ZoneId.of("UTC"), 1.5, "MWh", 10.0));
+        PhysicalPowerTradeDto packed = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        packed.getTradeHeader().setTradeId("PWR-COPY-PACKED");
+        entityManager.clear();
+        TradeCopyLoader loader = new TradeCopyLoader(entityManagerFactory);
+        loader.setChunkSize(2);
+
+        BulkSaveReport report = loader.loadPhysical(trades);
+        loader.setScheduleStorage(ScheduleStorage.PACKED);
+        BulkSaveReport packedReport = loader.loadPhysical(List.of(packed));
+
+        assertEquals(5, report.trades());
+        assertEquals(3, report.flushes());
+        assertEquals(4 * 4 + 1 + 60 + 1 + 1, report.rows());
+        assertEquals(3, packedReport.rows());
+        for (PhysicalPowerTradeDto trade : List.of(trades.get(1), trades.get(4), packed)) {
+            assertEquals(PhysicalPowerTradeRecord.fromDto(trade), PhysicalPowerTradeRecord.fromDto(
+                    service.findByTradeId(trade.getTradeHeader().getTradeId()).orElseThrow()));
+        }
+        assertEquals(0L, lineItemRows("PWR-COPY-PACKED"));
+        assertThrows(IllegalStateException.class, () -> loader.loadPhysical(List.of(packed)));
+    }
+
+    private void saveCopies(LocalDate tradeDate, String... tradeIds) {
+        entityManager.getTransaction().begin();
+        for (String tradeId : tradeIds) {
+            PhysicalPowerTradeDto copy = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+            copy.getTradeHeader().setTradeId(tradeId);
+            copy.getTradeHeader().setTradeDate(tradeDate);
+            entityManager.clear();
+            dao.save(PhysicalTradeEntity.fromDto(copy));
+            entityManager.flush();
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+    private long rows(String table) {
+        return ((Number) entityManager.createNativeQuery("select count(*) from " + table).getSingleResult())
+                .longValue();
+    }
+
+    private void clear(String table) {
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery("delete from " + table).executeUpdate();
+        entityManager.getTransaction().commit();
+    }
+
+    private long lineItemRows(String tradeId) {
+        return ((Number) entityManager.createNativeQuery(
+                        "select count(*) from physical_trade_line_items where trade_id = ?")
+                .setParameter(1, tradeId)
+                .getSingleResult()).longValue();
+    }
+
     private IDataSet loadDataset(String path) throws Exception {
         try (InputStream inputStream = getClass().getResourceAsStream(path)) {
             if (inputStream == null) {
@@ -0,0 +1,19 @@
+package com.power.base.dao.rdbms.jpa.repository.physical;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Builds a {@link PhysicalTradeDaoJpa} outside a Spring context, for tests of other packages that check what the JPA
+ * reads see of rows written another way.
+ */
+public final class PhysicalTradeDaos {
+
+    private PhysicalTradeDaos() {
+    }
+
+    public static PhysicalTradeDaoJpa over(EntityManager entityManager) {
+        PhysicalTradeDaoJpa dao = new PhysicalTradeDaoJpa();
+        dao.setEntityManager(entityManager);
+        return dao;
+    }
+}
@@ -1,7 +1,16 @@
 package com.power.base.dao.rdbms.jpa.repository.swap;
 
+import com.power.base.dao.rdbms.jpa.persistence.swap.SwapTradeEntity;
+import com.power.base.dao.rdbms.jpa.repository.BulkSaveReport;
+import com.power.base.dao.rdbms.jpa.repository.TradePage;
+import com.power.base.dao.rdbms.jpa.schema.SchemaMigrator;
+import com.power.base.dao.rdbms.jpa.schema.TradeSchema;
 import com.power.base.dao.rdbms.jpa.service.SwapTradeService;
+import com.power.base.dao.rdbms.jpa.service.TradeCopyLoader;
+import com.power.base.datamodel.dto.financials.SwapPeriodDto;
 import com.power.base.datamodel.dto.financials.SwapPowerTradeDto;
+import com.power.base.datamodel.dto.financials.SwapPowerTradeRecord;
+import com.power.base.datamodel.dto.financials.SwapTradeSummary;
 import org.dbunit.IDatabaseTester;
 import org.dbunit.JdbcDatabaseTester;
 import org.dbunit.dataset.IDataSet;
@@ -11,6 +20,8 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 
 import jakarta.persistence.EntityManager;
@@ -18,10 +29,15 @@ import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 
 import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SwapTradeDaoJpaDbUnitTest {
@@ -38,6 +54,7 @@ class SwapTradeDaoJpaDbUnitTest {
     @BeforeAll
     static void initFactory() {
         entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT);
+        new SchemaMigrator(entityManagerFactory).migrate();
     }
 
     @AfterAll
@@ -59,6 +76,9 @@ class SwapTradeDaoJpaDbUnitTest {
         databaseTester.setTearDownOperation(DatabaseOperation.DELETE_ALL);
         databaseTester.setDataSet(loadDataset("/datasets/swap-trades.xml"));
         databaseTester.onSetup();
+        // the fixtures carry their own ids, like rows written before the sequences existed
+        new SchemaMigrator(entityManagerFactory).alignSequences();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
 
         entityManager.clear();
     }
@@ -93,6 +113,239 @@ class SwapTradeDaoJpaDbUnitTest {
         assertEquals("SWAP", trade.getTradeHeader().getTransactionType());
     }
 
+    @Test
+    void searchByCriteriaLoadsPeriodsWithConstantQueryCount() {
+        SwapPowerTradeDto trade = service.findByTradeId("FIN-2025-11-07-001").orElseThrow();
+        entityManager.clear();
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < 5; i++) {
+            trade.getTradeHeader().setTradeId("FIN-SEARCH-" + i);
+            service.persist(trade);
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        SwapTradeSearchCriteria criteria = new SwapTradeSearchCriteria();
+        criteria.setReferenceZone("DE-LU");
+        List<SwapPowerTradeDto> trades = service.searchByCriteria(criteria);
+
+        assertEquals(6, trades.size());
+        trades.forEach(found -> assertEquals(1, found.getFinancialDetails().getPeriods().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void keysetPagesAndStreamVisitEveryTradeOnce() {
+        SwapPowerTradeDto trade = service.findByTradeId("FIN-2025-11-07-001").orElseThrow();
+        entityManager.clear();
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < 2; i++) {
+            trade.getTradeHeader().setTradeId("FIN-PAGE-" + i);
+            service.persist(trade);
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        SwapTradeSearchCriteria criteria = new SwapTradeSearchCriteria();
+        criteria.setReferenceZone("DE-LU");
+
+        TradePage<SwapPowerTradeDto> first = service.searchPage(criteria, null, 2);
+        TradePage<SwapPowerTradeDto> second = service.searchPage(criteria, first.next(), 2);
+
+        assertEquals(List.of("FIN-2025-11-07-001", "FIN-PAGE-0"),
+                first.items().stream().map(found -> found.getTradeHeader().getTradeId()).toList());
+        assertEquals("FIN-PAGE-1", second.items().get(0).getTradeHeader().getTradeId());
+        assertFalse(second.hasNext());
+
+        entityManager.getTransaction().begin();
+        try (Stream<SwapPowerTradeDto> stream = service.streamByCriteria(criteria)) {
+            assertEquals(3, stream.filter(found -> found.getFinancialDetails().getPeriods().size() == 1).count());
+        }
+        entityManager.getTransaction().commit();
+    }
+
+    @Test
+    void searchSummariesProjectsHeaderAndSettlementColumns() {
+        SwapPowerTradeDto trade = service.findByTradeId("FIN-2025-11-07-001").orElseThrow();
+        entityManager.clear();
+
+        SwapTradeSearchCriteria criteria = new SwapTradeSearchCriteria();
+        criteria.setReferenceZone("DE-LU");
+        List<SwapTradeSummary> summaries = service.searchSummaries(criteria);
+
+        assertEquals(1, summaries.size());
+        SwapTradeSummary summary = summaries.get(0);
+        assertEquals("FIN-2025-11-07-001", summary.tradeId());
+        assertEquals(trade.getTradeHeader().getTraderName(), summary.traderName());
+        assertEquals(trade.getSettlementInfo().getTotalNotional(), summary.totalNotional());
+        assertEquals(trade.getSettlementInfo().getFixedPrice(), summary.fixedPrice());
+    }
+
+    @Test
+    void persistAllWritesEveryTrade() {
+        List<SwapPowerTradeDto> trades = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            SwapPowerTradeDto trade = service.findByTradeId("FIN-2025-11-07-001").orElseThrow();
+            trade.getTradeHeader().setTradeId("FIN-BULK-" + i);
+            trades.add(trade);
+        }
+        entityManager.clear();
+        dao.setChunkSize(2);
+
+        entityManager.getTransaction().begin();
+        BulkSaveReport report = service.persistAll(trades);
+        entityManager.getTransaction().commit();
+
+        int periods = trades.get(0).getFinancialDetails().getPeriods().size();
+        assertEquals(3, report.trades());
+        assertEquals(2, report.flushes());
+        assertEquals(3L * (1 + periods), report.rows());
+        assertEquals(periods, service.findByTradeId("FIN-BULK-2").orElseThrow()
+                .getFinancialDetails().getPeriods().size());
+    }
+
+    @Test
+    void persistUpsertsExistingTradeAndReplacesPeriods() {
+        SwapPowerTradeDto trade = service.findByTradeId("FIN-2025-11-07-001").orElseThrow();
+        trade.getTradeHeader().setBookStrategy("Upserted Book");
+        trade.getFinancialDetails().getPeriods().add(new SwapPeriodDto(50, "MW", LocalDate.of(2026, 2, 1),
+                Instant.parse("2026-02-01T00:00:00Z"), LocalDate.of(2026, 2, 28), Instant.parse("2026-02-28T00:00:00Z"),
+                "Monthly", "EEX-DE-BASE", "Base"));
+        entityManager.clear();
+
+        entityManager.getTransaction().begin();
+        SwapPowerTradeDto persisted = service.persist(trade);
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        SwapTradeEntity reloaded = dao.findByTradeId("FIN-2025-11-07-001").orElseThrow();
+        assertEquals(1L, reloaded.getVersion());
+        assertEquals("Upserted Book", reloaded.getHeader().getBookStrategy());
+        assertEquals(2, persisted.getFinancialDetails().getPeriods().size());
+        assertEquals(2, reloaded.getPeriods().size());
+        assertEquals(trade.getSettlementInfo().getFixedPrice(), reloaded.getSettlementInfo().getFixedPrice());
+        assertEquals(trade.getMetadata().isClearable(), reloaded.getMetadata().isClearable());
+        SwapPowerTradeRecord expected = SwapPowerTradeRecord.fromDto(trade);
+        assertEquals(expected.tradeHeader(), reloaded.toRecord().tradeHeader());
+        assertEquals(expected.settlementInfo(), reloaded.toRecord().settlementInfo());
+        assertEquals(expected.metadata(), reloaded.toRecord().metadata());
+    }
+
+    @Test
+    void findByTradeIdServesRepeatReadsFromTheSecondLevelCache() {
+        entityManager.getTransaction().begin();
+        int periods = service.findByTradeId("FIN-2025-11-07-001").orElseThrow()
+                .getFinancialDetails().getPeriods().size();
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        entityManager.getTransaction().begin();
+        SwapPowerTradeDto trade = service.findByTradeId("FIN-2025-11-07-001").orElseThrow();
+        entityManager.getTransaction().commit();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(periods, trade.getFinancialDetails().getPeriods().size());
+        assertEquals(2 + periods, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void archiveBeforeAndDeleteByCriteriaRemoveTradesWithTheirPeriods() {
+        SwapPowerTradeDto trade = service.findByTradeId("FIN-2025-11-07-001").orElseThrow();
+        entityManager.clear();
+        entityManager.getTransaction().begin();
+        trade.getTradeHeader().setTradeDate(LocalDate.parse("2020-03-02"));
+        for (int i = 0; i < 2; i++) {
+            trade.getTradeHeader().setTradeId("FIN-ARCHIVE-" + i);
+            service.persist(trade);
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        TradeSchema.SWAP_TABLES.forEach(table -> clear(TradeSchema.archiveOf(table)));
+
+        entityManager.getTransaction().begin();
+        assertEquals(2L, service.archiveBefore(LocalDate.parse("2021-01-01")));
+        entityManager.getTransaction().commit();
+
+        assertEquals(2L, rows(TradeSchema.archiveOf(TradeSchema.SWAP_TRADES)));
+        assertEquals(2L, rows(TradeSchema.archiveOf("swap_periods")));
+        assertTrue(service.findByTradeId("FIN-ARCHIVE-0").isEmpty());
+
+        SwapTradeSearchCriteria criteria = new SwapTradeSearchCriteria();
+        criteria.setReferenceZone("DE-LU");
+        entityManager.getTransaction().begin();
+        assertEquals(1L, service.deleteByCriteria(criteria));
+        entityManager.getTransaction().commit();
+
+        TradeSchema.SWAP_TABLES.forEach(table -> assertEquals(0L, rows(table)));
+        TradeSchema.SWAP_TABLES.forEach(table -> clear(TradeSchema.archiveOf(table)));
+    }
+
+    @Test
+    void archiveBeforeCopiesTheArchivedColumnsOfATableWithAnAddedColumn() {
+        SwapPowerTradeDto trade = service.findByTradeId("FIN-2025-11-07-001").orElseThrow();
+        entityManager.clear();
+        entityManager.getTransaction().begin();
+        trade.getTradeHeader().setTradeDate(LocalDate.parse("2020-03-02"));
+        trade.getTradeHeader().setTradeId("FIN-ARCHIVE-COLUMN");
+        service.persist(trade);
+        // as hbm2ddl update adds the column of a new attribute to the trade table but not to its archive table
+        entityManager.createNativeQuery("alter table swap_periods add column fixing_source varchar(32)")
+                .executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        TradeSchema.SWAP_TABLES.forEach(table -> clear(TradeSchema.archiveOf(table)));
+
+        try {
+            entityManager.getTransaction().begin();
+            assertEquals(1L, service.archiveBefore(LocalDate.parse("2021-01-01")));
+            entityManager.getTransaction().commit();
+
+            assertEquals(1L, rows(TradeSchema.archiveOf(TradeSchema.SWAP_TRADES)));
+            assertEquals(rows("swap_periods where trade_id = 'FIN-2025-11-07-001'"),
+                    rows(TradeSchema.archiveOf("swap_periods")));
+        } finally {
+            entityManager.getTransaction().begin();
+            entityManager.createNativeQuery("alter table swap_periods drop column fixing_source").executeUpdate();
+            entityManager.getTransaction().commit();
+            TradeSchema.SWAP_TABLES.forEach(table -> clear(TradeSchema.archiveOf(table)));
+        }
+    }
+
+    @Test
+    void copyLoaderWritesSwapsWithTheirPeriods() {
+        List<SwapPowerTradeDto> trades = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            SwapPowerTradeDto trade = service.findByTradeId("FIN-2025-11-07-001").orElseThrow();
+            trade.getTradeHeader().setTradeId("FIN-COPY-" + i);
+            trades.add(trade);
+        }
+        entityManager.clear();
+        TradeCopyLoader loader = new TradeCopyLoader(entityManagerFactory);
+        loader.setChunkSize(2);
+
+        BulkSaveReport report = loader.loadSwaps(trades);
+
+        assertEquals(3, report.trades());
+        assertEquals(2, report.flushes());
+        assertEquals(3 * 2, report.rows());
+        assertEquals(SwapPowerTradeRecord.fromDto(trades.get(2)),
+                SwapPowerTradeRecord.fromDto(service.findByTradeId("FIN-COPY-2").orElseThrow()));
+    }
+
+    private long rows(String table) {
+        return ((Number) entityManager.createNativeQuery("select count(*) from " + table).getSingleResult())
+                .longValue();
+    }
+
+    private void clear(String table) {
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery("delete from " + table).executeUpdate();
+        entityManager.getTransaction().commit();
+    }
+
     private IDataSet loadDataset(String path) throws Exception {
         try (InputStream inputStream = getClass().getResourceAsStream(path)) {
             if (inputStream == null) {
@@ -0,0 +1,139 @@
+package com.power.base.dao.rdbms.jpa.schema;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaMigratorTest {
+
+    private static final String PERSISTENCE_UNIT = "test-pu";
+    private static EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void initFactory() {
+        entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery("drop table if exists " + SchemaMigrator.HISTORY_TABLE).executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.close();
+    }
+
+    @AfterAll
+    static void closeFactory() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+    }
+
+    @Test
+    void migrateAppliesEachVersionOnceAndCreatesTheIndexesAndArchiveTables() {
+        SchemaMigrator migrator = new SchemaMigrator(entityManagerFactory);
+
+        List<SchemaMigration> applied = migrator.migrate();
+
+        assertEquals(List.of(1, 2, 3, 4), applied.stream().map(SchemaMigration::version).toList());
+        assertTrue(migrator.migrate().isEmpty());
+        assertEquals(Set.of(1, 2, 3, 4), migrator.appliedVersions());
+        List<String> indexes = indexNames();
+        TradeSchema.indexes().forEach(index -> assertTrue(indexes.contains(index.name()), index.name()));
+        List<String> tables = tableNames();
+        TradeSchema.PHYSICAL_TABLES.forEach(table -> assertTrue(tables.contains(TradeSchema.archiveOf(table)), table));
+        TradeSchema.SWAP_TABLES.forEach(table -> assertTrue(tables.contains(TradeSchema.archiveOf(table)), table));
+    }
+
+    @Test
+    void migrateRestoresIndexesAndArchiveTablesMissingDespiteTheirHistory() {
+        Map<String, Object> database = Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:schema_restore;DB_CLOSE_DELAY=-1;MODE=LEGACY",
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.cache.use_second_level_cache", "false",
+                "hibernate.cache.use_query_cache", "false");
+        EntityManagerFactory first = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT, database);
+        try {
+            assertEquals(List.of(1, 2, 3, 4), new SchemaMigrator(first).migrate().stream()
+                    .map(SchemaMigration::version).toList());
+            EntityManager entityManager = first.createEntityManager();
+            entityManager.getTransaction().begin();
+            entityManager.createNativeQuery("drop table " + TradeSchema.archiveOf("swap_periods")).executeUpdate();
+            entityManager.getTransaction().commit();
+            entityManager.close();
+        } finally {
+            first.close();
+        }
+
+        // hbm2ddl recreates the trade tables without their indexes, the history table is left alone
+        EntityManagerFactory second = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT, database);
+        try {
+            SchemaMigrator migrator = new SchemaMigrator(second);
+
+            assertEquals(List.of(1, 2, 4), migrator.migrate().stream().map(SchemaMigration::version).toList());
+            assertTrue(migrator.migrate().isEmpty());
+            assertEquals(Set.of(1, 2, 3, 4), migrator.appliedVersions());
+            EntityManager entityManager = second.createEntityManager();
+            try {
+                List<?> indexes = entityManager.createNativeQuery(
+                        "select lower(index_name) from information_schema.indexes").getResultList();
+                TradeSchema.indexes().forEach(index -> assertTrue(indexes.contains(index.name()), index.name()));
+                assertEquals(0L, ((Number) entityManager.createNativeQuery("select count(*) from "
+                        + TradeSchema.archiveOf("swap_periods")).getSingleResult()).longValue());
+            } finally {
+                entityManager.close();
+            }
+        } finally {
+            second.close();
+        }
+    }
+
+    @Test
+    void advisorReportsOnlySearchesNoIndexLeadsWith() {
+        IndexAdvisor advisor = new IndexAdvisor(TradeSchema.indexes());
+
+        advisor.record(TradeSchema.PHYSICAL_TRADES, List.of("commodity"));
+        advisor.record(TradeSchema.PHYSICAL_TRADES, List.of("transaction_type", "commodity"));
+        advisor.record(TradeSchema.PHYSICAL_TRADES, List.of("commodity", "tenant_id"));
+        advisor.record(TradeSchema.SWAP_TRADES, List.of("reference_zone"));
+        advisor.record(TradeSchema.SWAP_TRADES, List.of("trade_time"));
+        advisor.record(TradeSchema.SWAP_TRADES, List.of());
+
+        assertEquals(Set.of("physical_trades[commodity]", "physical_trades[commodity, transaction_type]",
+                "swap_trades[reference_zone]"), advisor.unindexedSearches());
+        assertTrue(advisor.isIndexed(TradeSchema.SWAP_TRADES, List.of("business_unit", "trade_time")));
+        assertFalse(advisor.isIndexed(TradeSchema.PHYSICAL_TRADES, List.of("load_type")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> indexNames() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return (List<String>) entityManager.createNativeQuery(
+                            "select lower(index_name) from information_schema.indexes")
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> tableNames() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return (List<String>) entityManager.createNativeQuery(
+                            "select lower(table_name) from information_schema.tables")
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -1,6 +1,15 @@
 package com.power.base.dao.rdbms.mybatis.repository.physical;
 
+import com.power.base.dao.rdbms.async.TradeLookupExecutor;
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalLineItemEntity;
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalSettlementItemEntity;
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
+import com.power.base.dao.rdbms.jpa.repository.physical.PhysicalTradeDaos;
+import com.power.base.dao.rdbms.jpa.schema.SchemaMigrator;
+import com.power.base.dao.rdbms.jpa.schema.TradeSchema;
+import com.power.base.dao.rdbms.mybatis.service.PhysicalTradeMyBatisAsyncService;
 import com.power.base.dao.rdbms.mybatis.service.PhysicalTradeMyBatisService;
+import com.power.base.datamodel.codec.PhysicalLineItemScheduleCodec;
 import com.power.base.datamodel.dto.common.Profile;
 import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
 import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
@@ -9,13 +18,16 @@ import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.Persistence;
 import org.dbunit.IDatabaseTester;
 import org.dbunit.JdbcDatabaseTester;
 import org.dbunit.dataset.IDataSet;
 import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
 import org.dbunit.operation.DatabaseOperation;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -23,11 +35,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PhysicalTradeMyBatisMapperDbUnitTest {
@@ -39,12 +59,14 @@ class PhysicalTradeMyBatisMapperDbUnitTest {
     private static EntityManagerFactory entityManagerFactory;
 
     private SqlSession sqlSession;
+    private PhysicalTradeMapper mapper;
     private PhysicalTradeMyBatisService service;
     private IDatabaseTester databaseTester;
 
     @BeforeAll
     static void initFactory() throws Exception {
         entityManagerFactory = Persistence.createEntityManagerFactory("test-pu");
+        new SchemaMigrator(entityManagerFactory).migrate();
         try (InputStream inputStream = Resources.getResourceAsStream(CONFIGURATION_RESOURCE)) {
             sqlSessionFactory = new SqlSessionFactoryBuilder().build(inputStream);
         }
@@ -63,7 +85,7 @@ class PhysicalTradeMyBatisMapperDbUnitTest {
     @BeforeEach
     void setUp() throws Exception {
         sqlSession = sqlSessionFactory.openSession(true);
-        PhysicalTradeMapper mapper = sqlSession.getMapper(PhysicalTradeMapper.class);
+        mapper = sqlSession.getMapper(PhysicalTradeMapper.class);
         service = new PhysicalTradeMyBatisService(mapper);
 
         databaseTester = new JdbcDatabaseTester("org.h2.Driver", JDBC_URL, "sa", "");
@@ -71,6 +93,8 @@ class PhysicalTradeMyBatisMapperDbUnitTest {
         databaseTester.setTearDownOperation(DatabaseOperation.DELETE_ALL);
         databaseTester.setDataSet(loadDataset("/datasets/physical-trades.xml"));
         databaseTester.onSetup();
+        // the fixtures carry their own ids, like rows written before the sequences existed
+        new SchemaMigrator(entityManagerFactory).alignSequences();
     }
 
     @AfterEach
@@ -178,6 +202,234 @@ class PhysicalTradeMyBatisMapperDbUnitTest {
         assertEquals("LI-100", reloaded.getSettlementInfo().getSettlementItems().get(0).getReferencedLineItems().get(0));
     }
 
+    @Test
+    void persistAmendmentWritesOnlyChangedRows() {
+        PhysicalPowerTradeDto amendment = service.findByTradeId("PWR-2025-11-07-001")
+                .orElseThrow();
+        amendment.getTradeHeader().setAmendmentIndicator(true);
+        amendment.getTradeDetails().getLineItems().add(new PhysicalLineItemDto(
+                LocalDate.of(2025, 11, 7),
+                Instant.parse("2025-11-07T01:00:00Z"),
+                LocalDate.of(2025, 11, 7),
+                Instant.parse("2025-11-07T02:00:00Z"),
+                "Fri 01:00-02:00",
+                14.0,
+                "MWh",
+                50.0,
+                Profile.ONE_HOUR
+        ));
+        amendment.getSettlementInfo().getSettlementItems().get(0).setInvoiceStatus("Final");
+
+        PhysicalPowerTradeDto persisted = service.persist(amendment);
+        assertTrue(persisted.getTradeHeader().isAmendmentIndicator());
+        assertEquals(2, persisted.getTradeDetails().getLineItems().size());
+        assertEquals(14.0, persisted.getTradeDetails().getLineItems().get(1).getQuantity());
+
+        List<PhysicalLineItemEntity> lineItems = mapper.selectLineItemsByTradeId("PWR-2025-11-07-001");
+        assertEquals(2, lineItems.size());
+        assertEquals(1L, lineItems.get(0).getId());
+        assertEquals(12.5, lineItems.get(0).getQuantity());
+
+        List<PhysicalSettlementItemEntity> settlementItems = mapper.selectSettlementItemsByTradeId("PWR-2025-11-07-001");
+        assertEquals(1, settlementItems.size());
+        assertEquals(1L, settlementItems.get(0).getId());
+        assertEquals("Final", settlementItems.get(0).getInvoiceStatus());
+        assertEquals(List.of("LI-001"), settlementItems.get(0).getReferencedLineItems());
+    }
+
+    @Test
+    void packedTradesReadBackAndAmendmentsRewriteThemAsRows() throws SQLException {
+        String tradeId = "PWR-2025-11-07-001";
+        PhysicalPowerTradeDto stored = service.findByTradeId(tradeId).orElseThrow();
+        try (PreparedStatement statement = sqlSession.getConnection().prepareStatement(
+                "update physical_trades set line_item_schedule = ? where trade_id = ?")) {
+            statement.setBytes(1, PhysicalLineItemScheduleCodec.encode(stored.getTradeDetails().schedule()));
+            statement.setString(2, tradeId);
+            statement.executeUpdate();
+        }
+        mapper.deleteLineItemsByTradeId(tradeId);
+
+        PhysicalPowerTradeDto packed = service.findByTradeId(tradeId).orElseThrow();
+        assertEquals(1, packed.getTradeDetails().getLineItems().size());
+        assertEquals(12.5, packed.getTradeDetails().getLineItems().get(0).getQuantity());
+
+        packed.getTradeHeader().setAmendmentIndicator(true);
+        PhysicalLineItemDto lineItem = packed.getTradeDetails().getLineItems().get(0);
+        lineItem.setQuantity(13.0);
+        packed.getTradeDetails().getLineItems().set(0, lineItem);
+        PhysicalPowerTradeDto persisted = service.persist(packed);
+
+        assertEquals(13.0, persisted.getTradeDetails().getLineItems().get(0).getQuantity());
+        assertEquals(1, mapper.selectLineItemsByTradeId(tradeId).size());
+        assertNull(mapper.findByTradeId(tradeId).orElseThrow().getPackedSchedule());
+    }
+
+    @Test
+    void myBatisAndHibernateTakeIdsFromTheSameSequencesWithoutColliding() throws SQLException {
+        PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        trade.getTradeHeader().setTradeId("PWR-IDS-MYBATIS-1");
+        service.persist(trade);
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            for (String tradeId : List.of("PWR-IDS-JPA-1", "PWR-IDS-JPA-2")) {
+                trade.getTradeHeader().setTradeId(tradeId);
+                entityManager.persist(PhysicalTradeEntity.fromDto(trade));
+            }
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+
+        trade.getTradeHeader().setTradeId("PWR-IDS-MYBATIS-2");
+        service.persist(trade);
+
+        for (String table : List.of("physical_trade_line_items", "physical_settlement_items")) {
+            assertEquals(5L, rows(table), table);
+            assertEquals(5L, count("select count(distinct id) from " + table), table);
+        }
+    }
+
+    @Test
+    void persistKeepsTheTotalQuantityOfTheSummarySearchesInStep() {
+        PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        trade.getTradeHeader().setTradeId("PWR-SUMMARY-MYBATIS");
+        trade.getTradeDetails().setLineItems(PhysicalLineItemDto.generateSchedule(
+                Instant.parse("2025-11-08T00:00:00Z"), Instant.parse("2025-11-08T02:00:00Z"),
+                Profile.FIFTEEN_MIN, ZoneOffset.UTC, 2.5, "MWh", 10.0));
+        service.persist(trade);
+        assertEquals(20.0, summaryTotal("PWR-SUMMARY-MYBATIS"));
+
+        PhysicalPowerTradeDto amendment = service.findByTradeId("PWR-SUMMARY-MYBATIS").orElseThrow();
+        amendment.getTradeHeader().setAmendmentIndicator(true);
+        PhysicalLineItemDto lineItem = amendment.getTradeDetails().getLineItems().get(0);
+        lineItem.setQuantity(5.0);
+        amendment.getTradeDetails().getLineItems().set(0, lineItem);
+        service.persist(amendment);
+        assertEquals(22.5, summaryTotal("PWR-SUMMARY-MYBATIS"));
+    }
+
+    @Test
+    void upsertBumpsTheVersionSoWritersHoldingTheOldOneAreRejected() {
+        String tradeId = "PWR-2025-11-07-001";
+        long readVersion = mapper.findByTradeId(tradeId).orElseThrow().getVersion();
+        PhysicalPowerTradeDto amendment = service.findByTradeId(tradeId).orElseThrow();
+        amendment.getTradeHeader().setAmendmentIndicator(true);
+        amendment.getTradeHeader().setTraderName("Jane Roe");
+
+        service.persist(amendment);
+
+        assertEquals(readVersion + 1, mapper.findByTradeId(tradeId).orElseThrow().getVersion());
+        PhysicalTradeEntity stale = PhysicalTradeEntity.fromDto(amendment);
+        stale.setVersion(readVersion);
+        stale.getHeader().setTraderName("Stale Writer");
+        assertEquals(0, mapper.upsert(stale));
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            assertThrows(OptimisticLockException.class, () -> PhysicalTradeDaos.over(entityManager).save(stale));
+        } finally {
+            entityManager.getTransaction().rollback();
+            entityManager.close();
+        }
+        assertEquals("Jane Roe", service.findByTradeId(tradeId).orElseThrow().getTradeHeader().getTraderName());
+    }
+
+    @Test
+    void archiveBeforeAndDeleteByCriteriaWorkOnWholeTrades() throws SQLException {
+        PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+        trade.getTradeHeader().setTradeDate(LocalDate.of(2020, 6, 1));
+        for (String tradeId : List.of("PWR-ARCHIVE-1", "PWR-ARCHIVE-2")) {
+            trade.getTradeHeader().setTradeId(tradeId);
+            service.persist(trade);
+        }
+        for (String table : TradeSchema.PHYSICAL_TABLES) {
+            update("delete from " + TradeSchema.archiveOf(table));
+        }
+
+        assertEquals(2L, service.archiveBefore(LocalDate.of(2021, 1, 1)));
+
+        assertTrue(service.findByTradeId("PWR-ARCHIVE-1").isEmpty());
+        for (String table : TradeSchema.PHYSICAL_TABLES) {
+            assertEquals(2L, rows(TradeSchema.archiveOf(table)), table);
+        }
+
+        PhysicalTradeSearchCriteria criteria = new PhysicalTradeSearchCriteria();
+        criteria.setMarket("EPEX-SPOT");
+        assertEquals(1L, service.deleteByCriteria(criteria));
+        for (String table : TradeSchema.PHYSICAL_TABLES) {
+            assertEquals(0L, rows(table), table);
+            update("delete from " + TradeSchema.archiveOf(table));
+        }
+    }
+
+    @Test
+    void asyncServiceLooksTradesUpConcurrentlyWithASessionPerCall() {
+        try (TradeLookupExecutor executor = new TradeLookupExecutor(2)) {
+            PhysicalTradeMyBatisAsyncService asyncService =
+                    new PhysicalTradeMyBatisAsyncService(sqlSessionFactory, executor);
+            PhysicalPowerTradeDto trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+            List<String> tradeIds = new ArrayList<>();
+            List<CompletableFuture<PhysicalPowerTradeDto>> persisted = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                trade.getTradeHeader().setTradeId("PWR-ASYNC-" + i);
+                tradeIds.add(trade.getTradeHeader().getTradeId());
+                persisted.add(asyncService.persist(trade));
+                trade = service.findByTradeId("PWR-2025-11-07-001").orElseThrow();
+            }
+            CompletableFuture.allOf(persisted.toArray(CompletableFuture[]::new)).join();
+
+            tradeIds.add(2, "PWR-MISSING");
+            tradeIds.add("PWR-ASYNC-0");
+            Map<String, PhysicalPowerTradeDto> found = asyncService.findByTradeIds(tradeIds).join();
+
+            assertEquals(List.of("PWR-ASYNC-0", "PWR-ASYNC-1", "PWR-ASYNC-2", "PWR-ASYNC-3", "PWR-ASYNC-4",
+                    "PWR-ASYNC-5"), List.copyOf(found.keySet()));
+            assertEquals(1, found.get("PWR-ASYNC-3").getTradeDetails().getLineItems().size());
+            assertEquals("SET-2025-11-07",
+                    found.get("PWR-ASYNC-5").getSettlementInfo().getSettlementItems().get(0).getSettlementId());
+            assertTrue(asyncService.findByTradeId("PWR-MISSING").join().isEmpty());
+        }
+    }
+
+    private double summaryTotal(String tradeId) {
+        // MyBatis writes bypass Hibernate, so neither the entities nor the cached searches know of them
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            // the summary search of the JPA DAO takes its own criteria type
+            var criteria = new com.power.base.dao.rdbms.jpa.repository.physical.PhysicalTradeSearchCriteria();
+            criteria.setTenantId("TENANT_A");
+            return PhysicalTradeDaos.over(entityManager).findSummaries(criteria).stream()
+                    .filter(summary -> summary.tradeId().equals(tradeId))
+                    .findFirst()
+                    .orElseThrow()
+                    .totalQuantity();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private long rows(String table) throws SQLException {
+        return count("select count(*) from " + table);
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Statement statement = sqlSession.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void update(String sql) throws SQLException {
+        try (Statement statement = sqlSession.getConnection().createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+
     private IDataSet loadDataset(String path) throws Exception {
         try (InputStream inputStream = getClass().getResourceAsStream(path)) {
             if (inputStream == null) {
@@ -1,5 +1,7 @@
 package com.power.base.dao.rdbms.mybatis.repository.swap;
 
+import com.power.base.dao.rdbms.jpa.schema.SchemaMigrator;
+import com.power.base.dao.rdbms.jpa.schema.TradeSchema;
 import com.power.base.dao.rdbms.mybatis.service.SwapTradeMyBatisService;
 import com.power.base.datamodel.dto.financials.SwapPeriodDto;
 import com.power.base.datamodel.dto.financials.SwapPowerTradeDto;
@@ -21,6 +23,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.InputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
@@ -43,6 +48,7 @@ class SwapTradeMyBatisMapperDbUnitTest {
     @BeforeAll
     static void initFactory() throws Exception {
         entityManagerFactory = Persistence.createEntityManagerFactory("test-pu");
+        new SchemaMigrator(entityManagerFactory).migrate();
         try (InputStream inputStream = Resources.getResourceAsStream(CONFIGURATION_RESOURCE)) {
             sqlSessionFactory = new SqlSessionFactoryBuilder().build(inputStream);
         }
@@ -69,6 +75,8 @@ class SwapTradeMyBatisMapperDbUnitTest {
         databaseTester.setTearDownOperation(DatabaseOperation.DELETE_ALL);
         databaseTester.setDataSet(loadDataset("/datasets/swap-trades.xml"));
         databaseTester.onSetup();
+        // the fixtures carry their own ids, like rows written before the sequences existed
+        new SchemaMigrator(entityManagerFactory).alignSequences();
     }
 
     @AfterEach
@@ -148,6 +156,48 @@ class SwapTradeMyBatisMapperDbUnitTest {
         assertEquals(200.0, reloaded.getFinancialDetails().getPeriods().get(1).getNotionalQuantity());
     }
 
+    @Test
+    void archiveBeforeAndDeleteByCriteriaWorkOnWholeTrades() throws SQLException {
+        SwapPowerTradeDto trade = service.findByTradeId("FIN-2025-11-07-001").orElseThrow();
+        trade.getTradeHeader().setTradeDate(LocalDate.of(2020, 6, 1));
+        for (String tradeId : List.of("FIN-ARCHIVE-1", "FIN-ARCHIVE-2")) {
+            trade.getTradeHeader().setTradeId(tradeId);
+            service.persist(trade);
+        }
+        for (String table : TradeSchema.SWAP_TABLES) {
+            update("delete from " + TradeSchema.archiveOf(table));
+        }
+
+        assertEquals(2L, service.archiveBefore(LocalDate.of(2021, 1, 1)));
+
+        assertTrue(service.findByTradeId("FIN-ARCHIVE-1").isEmpty());
+        for (String table : TradeSchema.SWAP_TABLES) {
+            assertEquals(2L, rows(TradeSchema.archiveOf(table)), table);
+        }
+
+        SwapTradeSearchCriteria criteria = new SwapTradeSearchCriteria();
+        criteria.setReferenceZone("DE-LU");
+        assertEquals(1L, service.deleteByCriteria(criteria));
+        for (String table : TradeSchema.SWAP_TABLES) {
+            assertEquals(0L, rows(table), table);
+            update("delete from " + TradeSchema.archiveOf(table));
+        }
+    }
+
+    private long rows(String table) throws SQLException {
+        try (Statement statement = sqlSession.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void update(String sql) throws SQLException {
+        try (Statement statement = sqlSession.getConnection().createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+
     private IDataSet loadDataset(String path) throws Exception {
         try (InputStream inputStream = getClass().getResourceAsStream(path)) {
             if (inputStream == null) {
@@ -0,0 +1,193 @@
+package com.power.base.dao.rdbms.routing;
+
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
+import com.power.base.dao.rdbms.jpa.repository.physical.PhysicalTradeDao;
+import com.power.base.dao.rdbms.jpa.repository.physical.PhysicalTradeDaoJpa;
+import com.power.base.dao.rdbms.jpa.schema.SchemaMigrator;
+import com.power.base.dao.rdbms.mybatis.repository.physical.PhysicalTradeMapper;
+import com.power.base.dao.rdbms.mybatis.service.PhysicalTradeMyBatisService;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.dbunit.IDatabaseTester;
+import org.dbunit.JdbcDatabaseTester;
+import org.dbunit.dataset.xml.FlatXmlDataSetBuilder;
+import org.dbunit.operation.DatabaseOperation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts {@link ReplicaRoutingConfig} with JPA and MyBatis on top, over a primary and a replica that differ in one
+ * trade: it was only loaded into the replica, so finding it shows where a read went.
+ */
+class ReplicaRoutingConfigTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing_config_primary;DB_CLOSE_DELAY=-1;MODE=LEGACY";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing_config_replica;DB_CLOSE_DELAY=-1;MODE=LEGACY";
+    private static final String TRADE_ID = "PWR-2025-11-07-001";
+
+    private static final Map<String, Object> NO_SECOND_LEVEL_CACHE = Map.of(
+            "hibernate.cache.use_second_level_cache", "false",
+            "hibernate.cache.use_query_cache", "false");
+
+    private static AnnotationConfigApplicationContext context;
+
+    @BeforeAll
+    static void startContext() throws Exception {
+        createSchema(PRIMARY_URL);
+        createSchema(REPLICA_URL);
+        IDatabaseTester replicaTester = new JdbcDatabaseTester("org.h2.Driver", REPLICA_URL, "sa", "");
+        replicaTester.setSetUpOperation(DatabaseOperation.CLEAN_INSERT);
+        try (InputStream inputStream = ReplicaRoutingConfigTest.class
+                .getResourceAsStream("/datasets/physical-trades.xml")) {
+            replicaTester.setDataSet(new FlatXmlDataSetBuilder().build(inputStream));
+        }
+        replicaTester.onSetup();
+
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "power.datasource.replicas.enabled", "true",
+                "power.datasource.replicas.urls", REPLICA_URL,
+                "power.datasource.replicas.lag-query", "select 0",
+                "power.datasource.replicas.hikari.maximum-pool-size", "2",
+                "spring.datasource.url", PRIMARY_URL,
+                "spring.datasource.username", "sa",
+                "spring.datasource.password", "",
+                "spring.datasource.hikari.maximum-pool-size", "3",
+                "spring.datasource.hikari.pool-name", "primary")));
+        context.register(ReplicaRoutingConfig.class, PersistenceConfig.class);
+        context.refresh();
+    }
+
+    @AfterAll
+    static void closeContext() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void bindsHikariSettingsOfThePrimaryAndReplicaPools() {
+        HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+        assertEquals("primary", primary.getPoolName());
+        assertEquals(3, primary.getMaximumPoolSize());
+
+        List<DataSource> replicas = context.getBean(ReplicaRoutingDataSource.class).replicaDataSources();
+        assertEquals(1, replicas.size());
+        HikariDataSource replica = assertInstanceOf(HikariDataSource.class, replicas.get(0));
+        assertEquals("replica-1", replica.getPoolName());
+        assertEquals(2, replica.getMaximumPoolSize());
+        assertEquals(REPLICA_URL, replica.getJdbcUrl());
+        assertEquals("sa", replica.getUsername());
+    }
+
+    @Test
+    void readOnlyJpaReadsGoToTheReplica() {
+        PhysicalTradeDao dao = context.getBean(PhysicalTradeDao.class);
+
+        assertTrue(dao.findByTradeId(TRADE_ID).isPresent());
+
+        TransactionTemplate readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Optional<PhysicalTradeEntity> fromPrimary = readWrite.execute(status -> dao.findByTradeId(TRADE_ID));
+        assertTrue(fromPrimary.isEmpty());
+    }
+
+    @Test
+    void readOnlyMyBatisReadsGoToTheReplica() {
+        PhysicalTradeMyBatisService service = context.getBean(PhysicalTradeMyBatisService.class);
+
+        Optional<PhysicalPowerTradeDto> trade = service.findByTradeId(TRADE_ID);
+        assertTrue(trade.isPresent());
+        assertEquals("Nord Pool Trading Desk", trade.get().getTradeHeader().getBusinessUnit());
+
+        TransactionTemplate readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Optional<PhysicalPowerTradeDto> fromPrimary = readWrite.execute(status -> service.findByTradeId(TRADE_ID));
+        assertTrue(fromPrimary.isEmpty());
+    }
+
+    private static void createSchema(String url) {
+        Map<String, Object> properties = new HashMap<>(NO_SECOND_LEVEL_CACHE);
+        properties.put("jakarta.persistence.jdbc.url", url);
+        properties.put("hibernate.hbm2ddl.auto", "create");
+        EntityManagerFactory entityManagerFactory = Persistence.createEntityManagerFactory("test-pu", properties);
+        try {
+            new SchemaMigrator(entityManagerFactory).migrate();
+        } finally {
+            entityManagerFactory.close();
+        }
+    }
+
+    /**
+     * JPA and MyBatis over the routing data source, sharing one transaction manager as in the applications.
+     */
+    @Configuration
+    @EnableTransactionManagement
+    static class PersistenceConfig {
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setPackagesToScan("com.power.base.dao.rdbms.jpa.persistence");
+            factory.setDataSource(dataSource);
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.getJpaPropertyMap().putAll(NO_SECOND_LEVEL_CACHE);
+            return factory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        PhysicalTradeDaoJpa physicalTradeDao() {
+            return new PhysicalTradeDaoJpa();
+        }
+
+        @Bean
+        SqlSessionFactoryBean sqlSessionFactory(DataSource dataSource) throws Exception {
+            SqlSessionFactoryBean factory = new SqlSessionFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setMapperLocations(new PathMatchingResourcePatternResolver()
+                    .getResources("classpath:mybatis/*-mapper.xml"));
+            return factory;
+        }
+
+        @Bean
+        PhysicalTradeMyBatisService physicalTradeMyBatisService(SqlSessionTemplate sqlSessionTemplate) {
+            return new PhysicalTradeMyBatisService(sqlSessionTemplate.getMapper(PhysicalTradeMapper.class));
+        }
+
+        @Bean
+        SqlSessionTemplate sqlSessionTemplate(SqlSessionFactory sqlSessionFactory) {
+            return new SqlSessionTemplate(sqlSessionFactory);
+        }
+    }
+}
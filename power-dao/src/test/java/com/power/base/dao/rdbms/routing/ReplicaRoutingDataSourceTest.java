@@ -0,0 +1,101 @@
+package com.power.base.dao.rdbms.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "select seconds from replica_lag";
+
+    private final DataSource primary = database("routing_primary");
+    private final DataSource replicaA = database("routing_replica_a");
+    private final DataSource replicaB = database("routing_replica_b");
+    private final AtomicLong clock = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        setLag(replicaA, 0);
+        setLag(replicaB, 0);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicasInTurnAndWritesToThePrimary() {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, List.of(replicaA, replicaB),
+                Duration.ofSeconds(5), Duration.ofSeconds(1), LAG_QUERY));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        String first = readOnly.execute(status -> databaseName(jdbcTemplate));
+        String second = readOnly.execute(status -> databaseName(jdbcTemplate));
+        String write = readWrite.execute(status -> databaseName(jdbcTemplate));
+
+        assertEquals("ROUTING_REPLICA_A", first);
+        assertEquals("ROUTING_REPLICA_B", second);
+        assertEquals("ROUTING_PRIMARY", write);
+    }
+
+    @Test
+    void laggingAndUnreachableReplicasFallBackToThePrimaryUntilTheNextCheck() throws SQLException {
+        DataSource unreachable = new DriverManagerDataSource("jdbc:unknown:replica");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary,
+                List.of(replicaA, replicaB, unreachable), Duration.ofSeconds(5), Duration.ofSeconds(1), LAG_QUERY,
+                clock::get);
+        setLag(replicaA, 30);
+
+        assertEquals("ROUTING_REPLICA_B", databaseName(routing));
+        assertEquals("ROUTING_REPLICA_B", databaseName(routing));
+        assertEquals(1, routing.usableReplicaCount());
+
+        setLag(replicaB, 30);
+        assertEquals("ROUTING_REPLICA_B", databaseName(routing));
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals("ROUTING_PRIMARY", databaseName(routing));
+
+        setLag(replicaA, 0.5);
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals("ROUTING_REPLICA_A", databaseName(routing));
+    }
+
+    private static DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static void setLag(DataSource replica, double seconds) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+        jdbcTemplate.execute("create table if not exists replica_lag (seconds double precision)");
+        jdbcTemplate.update("delete from replica_lag");
+        jdbcTemplate.update("insert into replica_lag (seconds) values (?)", seconds);
+    }
+
+    private static String databaseName(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+
+    private static String databaseName(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select database()")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
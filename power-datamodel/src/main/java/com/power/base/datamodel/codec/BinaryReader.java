@@ -0,0 +1,219 @@
+package com.power.base.datamodel.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counterpart of {@link BinaryWriter}; every read is bounds checked and truncated or malformed input surfaces as a
+ * {@link CodecException}.
+ */
+final class BinaryReader {
+
+    private final byte[] buffer;
+    private int position;
+    private final List<String> dictionary = new ArrayList<>();
+
+    BinaryReader(byte[] buffer) {
+        if (buffer == null) {
+            throw new CodecException("Payload must not be null");
+        }
+        this.buffer = buffer;
+    }
+
+    static boolean hasHeader(byte[] payload, byte payloadType) {
+        return payload != null
+                && payload.length >= 4
+                && payload[0] == BinaryWriter.MAGIC[0]
+                && payload[1] == BinaryWriter.MAGIC[1]
+                && payload[3] == payloadType;
+    }
+
+    /**
+     * @return the payload version
+     */
+    byte readHeader(byte payloadType, byte maxSupportedVersion) {
+        if (!hasHeader(buffer, payloadType)) {
+            throw new CodecException("Payload is not a binary payload of type " + payloadType);
+        }
+        position = 4;
+        byte version = buffer[2];
+        if (version < 1 || version > maxSupportedVersion) {
+            throw new CodecException("Unsupported payload version " + version);
+        }
+        return version;
+    }
+
+    int readByte() {
+        require(1);
+        return buffer[position++];
+    }
+
+    boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            require(1);
+            byte b = buffer[position++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new CodecException("Malformed varint at offset " + position);
+    }
+
+    int readVarInt() {
+        long value = readVarLong();
+        if (value > 0xFFFFFFFFL) {
+            throw new CodecException("Varint out of int range at offset " + position);
+        }
+        return (int) value;
+    }
+
+    int readCount() {
+        int count = readVarInt();
+        if (count < 0 || count > buffer.length - position) {
+            // every element takes at least one byte, anything larger is corrupt
+            throw new CodecException("Invalid element count " + count + " at offset " + position);
+        }
+        return count;
+    }
+
+    long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    double readDouble() {
+        require(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (buffer[position++] & 0xFFL) << (i * 8);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    double[] readDoubleRuns(int size) {
+        double[] values = new double[size];
+        int i = 0;
+        while (i < size) {
+            int run = readVarInt();
+            if (run <= 0 || run > size - i) {
+                throw new CodecException("Invalid run length " + run + " at offset " + position);
+            }
+            Arrays.fill(values, i, i + run, readDouble());
+            i += run;
+        }
+        return values;
+    }
+
+    Double readNullableDouble() {
+        return readBoolean() ? readDouble() : null;
+    }
+
+    /**
+     * @return the optional double, {@link Double#NaN} when absent
+     */
+    double readOptionalDouble() {
+        return readBoolean() ? readDouble() : Double.NaN;
+    }
+
+    String readString() {
+        int code = readVarInt();
+        if (code == 0) {
+            return null;
+        }
+        if (code == 1) {
+            int length = readVarInt();
+            require(length);
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            dictionary.add(value);
+            return value;
+        }
+        // codes above Integer.MAX_VALUE read as negative ints and are rejected like any other unknown code
+        if (code < 0 || code - 2 >= dictionary.size()) {
+            throw new CodecException("Unknown string reference " + Integer.toUnsignedString(code) + " at offset "
+                    + position);
+        }
+        return dictionary.get(code - 2);
+    }
+
+    LocalDate readDate() {
+        int offset = position;
+        long value = readVarLong();
+        if (value == 0) {
+            return null;
+        }
+        long zigZag = value - 1;
+        try {
+            return LocalDate.ofEpochDay((zigZag >>> 1) ^ -(zigZag & 1));
+        } catch (DateTimeException e) {
+            throw new CodecException("Date out of range at offset " + offset, e);
+        }
+    }
+
+    Instant readInstant(long baseEpochSecond) {
+        int offset = position;
+        int tag = readByte();
+        try {
+            switch (tag) {
+                case 0:
+                    return null;
+                case 1:
+                    return Instant.ofEpochSecond(Math.addExact(baseEpochSecond, readSignedVarLong()));
+                case 2:
+                    long seconds = Math.addExact(baseEpochSecond, readSignedVarLong());
+                    return Instant.ofEpochSecond(seconds, readVarInt());
+                default:
+                    throw new CodecException("Unknown instant tag " + tag + " at offset " + position);
+            }
+        } catch (DateTimeException | ArithmeticException e) {
+            throw new CodecException("Instant out of range at offset " + offset, e);
+        }
+    }
+
+    Instant readInstant() {
+        return readInstant(0L);
+    }
+
+    <E extends Enum<E>> E readEnum(E[] values) {
+        int code = readVarInt();
+        if (code == 0) {
+            return null;
+        }
+        if (code < 0 || code > values.length) {
+            throw new CodecException("Unknown enum code " + Integer.toUnsignedString(code) + " at offset " + position);
+        }
+        return values[code - 1];
+    }
+
+    /**
+     * Consumes and returns every byte after the current position.
+     */
+    byte[] readRemaining() {
+        byte[] remaining = Arrays.copyOfRange(buffer, position, buffer.length);
+        position = buffer.length;
+        return remaining;
+    }
+
+    void requireFullyConsumed() {
+        if (position != buffer.length) {
+            throw new CodecException("Unexpected trailing bytes at offset " + position);
+        }
+    }
+
+    private void require(int length) {
+        if (length < 0 || length > buffer.length - position) {
+            throw new CodecException("Payload truncated at offset " + position);
+        }
+    }
+}
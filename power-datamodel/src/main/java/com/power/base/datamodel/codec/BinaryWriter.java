@@ -0,0 +1,195 @@
+package com.power.base.datamodel.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Growable byte sink with the primitive encodings shared by the codecs.
+ * <p>
+ * Integers are LEB128 varints (zig-zag for signed values), doubles are raw little-endian IEEE-754 bits and strings are
+ * dictionary encoded: the first occurrence is written inline and later occurrences as a back-reference.
+ */
+final class BinaryWriter {
+
+    static final byte[] MAGIC = {'P', 'W'};
+
+    private static final int STRING_NULL = 0;
+    private static final int STRING_INLINE = 1;
+    private static final int STRING_REFERENCE_BASE = 2;
+
+    private byte[] buffer;
+    private int position;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    void writeHeader(byte payloadType, byte version) {
+        writeByte(MAGIC[0]);
+        writeByte(MAGIC[1]);
+        writeByte(version);
+        writeByte(payloadType);
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeDouble(double value) {
+        ensureCapacity(8);
+        long bits = Double.doubleToRawLongBits(value);
+        for (int i = 0; i < 8; i++) {
+            buffer[position++] = (byte) (bits >>> (i * 8));
+        }
+    }
+
+    /**
+     * Writes a column of doubles as (run length, value) pairs; flat schedules collapse to a handful of bytes.
+     */
+    void writeDoubleRuns(int size, IntToDoubleFunction values) {
+        int i = 0;
+        while (i < size) {
+            long bits = Double.doubleToRawLongBits(values.applyAsDouble(i));
+            int run = 1;
+            while (i + run < size && Double.doubleToRawLongBits(values.applyAsDouble(i + run)) == bits) {
+                run++;
+            }
+            writeVarInt(run);
+            writeDouble(Double.longBitsToDouble(bits));
+            i += run;
+        }
+    }
+
+    void writeNullableDouble(Double value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeDouble(value);
+        }
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeVarInt(STRING_NULL);
+            return;
+        }
+        Integer code = dictionary.get(value);
+        if (code != null) {
+            writeVarInt(code + STRING_REFERENCE_BASE);
+            return;
+        }
+        dictionary.put(value, dictionary.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(STRING_INLINE);
+        writeVarInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Writes an optional date as zig-zag epoch day shifted by one, zero meaning {@code null}.
+     */
+    void writeDate(LocalDate value) {
+        if (value == null) {
+            writeVarLong(0);
+        } else {
+            long epochDay = value.toEpochDay();
+            writeVarLong(((epochDay << 1) ^ (epochDay >> 63)) + 1);
+        }
+    }
+
+    /**
+     * Writes an optional instant relative to {@code baseEpochSecond}; a tag byte distinguishes null, whole-second and
+     * sub-second values.
+     */
+    void writeInstant(Instant value, long baseEpochSecond) {
+        if (value == null) {
+            writeByte(0);
+        } else if (value.getNano() == 0) {
+            writeByte(1);
+            writeSignedVarLong(value.getEpochSecond() - baseEpochSecond);
+        } else {
+            writeByte(2);
+            writeSignedVarLong(value.getEpochSecond() - baseEpochSecond);
+            writeVarInt(value.getNano());
+        }
+    }
+
+    /**
+     * Writes a present instant given as epoch millis, in the same form as {@link #writeInstant(Instant, long)}.
+     */
+    void writeEpochMilli(long epochMilli, long baseEpochSecond) {
+        long seconds = Math.floorDiv(epochMilli, 1000L);
+        int nanos = (int) Math.floorMod(epochMilli, 1000L) * 1_000_000;
+        writeByte(nanos == 0 ? 1 : 2);
+        writeSignedVarLong(seconds - baseEpochSecond);
+        if (nanos != 0) {
+            writeVarInt(nanos);
+        }
+    }
+
+    /**
+     * Writes an optional double given as {@link Double#NaN} when absent, in the same form as
+     * {@link #writeNullableDouble(Double)}.
+     */
+    void writeOptionalDouble(double value) {
+        boolean present = !Double.isNaN(value);
+        writeBoolean(present);
+        if (present) {
+            writeDouble(value);
+        }
+    }
+
+    void writeInstant(Instant value) {
+        writeInstant(value, 0L);
+    }
+
+    <E extends Enum<E>> void writeEnum(E value) {
+        writeVarInt(value == null ? 0 : value.ordinal() + 1);
+    }
+
+    void writeBytes(byte[] bytes, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, 0, buffer, position, length);
+        position += length;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = position + additional;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length << 1));
+        }
+    }
+}
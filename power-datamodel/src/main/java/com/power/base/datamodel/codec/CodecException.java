@@ -0,0 +1,15 @@
+package com.power.base.datamodel.codec;
+
+/**
+ * Raised when a payload cannot be encoded or is not a valid binary payload of the expected type and version.
+ */
+public class CodecException extends RuntimeException {
+
+    public CodecException(String message) {
+        super(message);
+    }
+
+    public CodecException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
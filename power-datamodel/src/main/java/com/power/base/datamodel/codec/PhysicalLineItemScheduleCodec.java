@@ -0,0 +1,115 @@
+package com.power.base.datamodel.codec;
+
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Standalone binary form of a {@link PhysicalLineItemSchedule}, for storing a whole schedule in a single column.
+ * <p>
+ * The schedule columns are the ones {@link PowerTradeCodec} embeds in physical trade payloads. Schedules whose columns
+ * exceed {@link #DEFLATE_THRESHOLD} bytes are additionally deflated; the byte after the header records which form
+ * follows, so readers never have to guess.
+ */
+public final class PhysicalLineItemScheduleCodec {
+
+    public static final byte VERSION = 1;
+
+    /**
+     * Encoded column size from which the payload is deflated; smaller schedules rarely shrink enough to pay for it.
+     */
+    public static final int DEFLATE_THRESHOLD = 256;
+
+    static final byte TYPE_SCHEDULE = 4;
+
+    private static final int ENCODING_RAW = 0;
+    private static final int ENCODING_DEFLATE = 1;
+    private static final int MAX_DEFLATE_RATIO = 1032;
+
+    private PhysicalLineItemScheduleCodec() {
+    }
+
+    public static boolean isPayload(byte[] payload) {
+        return BinaryReader.hasHeader(payload, TYPE_SCHEDULE);
+    }
+
+    public static byte[] encode(PhysicalLineItemSchedule schedule) {
+        if (schedule == null) {
+            throw new CodecException("Schedule must not be null");
+        }
+        BinaryWriter columns = new BinaryWriter(16 + schedule.size() * 24);
+        PowerTradeCodec.writeSchedule(columns, schedule);
+        byte[] raw = columns.toByteArray();
+
+        BinaryWriter writer = new BinaryWriter(8 + raw.length);
+        writer.writeHeader(TYPE_SCHEDULE, VERSION);
+        if (raw.length < DEFLATE_THRESHOLD) {
+            writer.writeByte(ENCODING_RAW);
+            writer.writeBytes(raw, raw.length);
+            return writer.toByteArray();
+        }
+        writer.writeByte(ENCODING_DEFLATE);
+        writer.writeVarInt(raw.length);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] chunk = new byte[Math.max(64, raw.length / 2)];
+            while (!deflater.finished()) {
+                writer.writeBytes(chunk, deflater.deflate(chunk));
+            }
+        } finally {
+            deflater.end();
+        }
+        return writer.toByteArray();
+    }
+
+    public static PhysicalLineItemSchedule decode(byte[] payload) {
+        BinaryReader reader = new BinaryReader(payload);
+        reader.readHeader(TYPE_SCHEDULE, VERSION);
+        int encoding = reader.readByte();
+        if (encoding == ENCODING_RAW) {
+            PhysicalLineItemSchedule schedule = PowerTradeCodec.readSchedule(reader);
+            reader.requireFullyConsumed();
+            return schedule;
+        }
+        if (encoding != ENCODING_DEFLATE) {
+            throw new CodecException("Unknown schedule encoding " + encoding);
+        }
+        int rawLength = reader.readVarInt();
+        BinaryReader columns = new BinaryReader(inflate(reader.readRemaining(), rawLength));
+        PhysicalLineItemSchedule schedule = PowerTradeCodec.readSchedule(columns);
+        columns.requireFullyConsumed();
+        return schedule;
+    }
+
+    private static byte[] inflate(byte[] deflated, int rawLength) {
+        if (rawLength < 0 || rawLength / MAX_DEFLATE_RATIO > deflated.length) {
+            // deflate cannot expand a byte more than about a thousandfold, anything beyond is corrupt
+            throw new CodecException("Invalid inflated length " + rawLength);
+        }
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(deflated);
+            int length = 0;
+            while (length < rawLength) {
+                int read = inflater.inflate(raw, length, rawLength - length);
+                if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += read;
+            }
+            if (length != rawLength) {
+                throw new CodecException("Deflated schedule does not match its length " + rawLength);
+            }
+        } catch (DataFormatException e) {
+            throw new CodecException("Malformed deflated schedule", e);
+        } finally {
+            inflater.end();
+        }
+        return raw;
+    }
+}
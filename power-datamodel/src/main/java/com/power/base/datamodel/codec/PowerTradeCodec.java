@@ -0,0 +1,579 @@
+package com.power.base.datamodel.codec;
+
+import com.power.base.datamodel.dto.common.BuySellIndicator;
+import com.power.base.datamodel.dto.common.DocumentType;
+import com.power.base.datamodel.dto.common.PartyDto;
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.financials.SwapMetadataDto;
+import com.power.base.datamodel.dto.financials.SwapPeriodDto;
+import com.power.base.datamodel.dto.financials.SwapPowerTradeDto;
+import com.power.base.datamodel.dto.financials.SwapSettlementInfoDto;
+import com.power.base.datamodel.dto.financials.SwapTradeDetailsDto;
+import com.power.base.datamodel.dto.financials.SwapTradeHeaderDto;
+import com.power.base.datamodel.dto.physicals.LineItemRefs;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
+import com.power.base.datamodel.dto.physicals.PhysicalMetadataDto;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementInfoDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderDto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary codec for {@link PhysicalPowerTradeDto} and {@link SwapPowerTradeDto}.
+ * <p>
+ * Payloads start with a 4 byte header ({@code 'P' 'W' version type}) so readers can tell them apart from legacy JSON
+ * and reject versions they do not understand. The physical schedule is written column by column from its
+ * {@link PhysicalLineItemSchedule}: period starts as varint deltas, period ends relative to their start, quantities
+ * and capacities as run-length encoded double columns and labels/uoms through the shared string dictionary. Period
+ * times are written in epoch millis, so nanoseconds below the millisecond do not survive the codec.
+ */
+public final class PowerTradeCodec {
+
+    /**
+     * Version 2 writes index based settlement references as delta coded ranges; version 1 payloads remain readable.
+     */
+    public static final byte VERSION = 2;
+
+    private static final byte VERSION_LINE_RANGES = 2;
+
+    static final byte TYPE_PHYSICAL = 1;
+    static final byte TYPE_SWAP = 2;
+
+    private static final int HAS_START_TIME = 1;
+    private static final int HAS_END_TIME = 2;
+    private static final int HAS_START_DATE = 4;
+    private static final int HAS_END_DATE = 8;
+
+    private static final DocumentType[] DOCUMENT_TYPES = DocumentType.values();
+    private static final BuySellIndicator[] BUY_SELL_INDICATORS = BuySellIndicator.values();
+    private static final Profile[] PROFILES = Profile.values();
+
+    private PowerTradeCodec() {
+    }
+
+    public static boolean isPhysicalPayload(byte[] payload) {
+        return BinaryReader.hasHeader(payload, TYPE_PHYSICAL);
+    }
+
+    public static boolean isSwapPayload(byte[] payload) {
+        return BinaryReader.hasHeader(payload, TYPE_SWAP);
+    }
+
+    public static byte[] encodePhysical(PhysicalPowerTradeDto dto) {
+        if (dto == null) {
+            throw new CodecException("PhysicalPowerTradeDto must not be null");
+        }
+        PhysicalLineItemSchedule schedule = dto.getTradeDetails() == null
+                ? null
+                : dto.getTradeDetails().schedule();
+        BinaryWriter writer = new BinaryWriter(256 + (schedule == null ? 0 : schedule.size() * 24));
+        writer.writeHeader(TYPE_PHYSICAL, VERSION);
+
+        PhysicalTradeHeaderDto header = dto.getTradeHeader();
+        writer.writeBoolean(header != null);
+        if (header != null) {
+            writer.writeString(header.getTradeId());
+            writer.writeString(header.getTenantId());
+            writer.writeDate(header.getTradeDate());
+            writer.writeInstant(header.getTradeTime());
+            writer.writeEnum(header.getDocumentType());
+            writer.writeString(header.getDocumentVersion());
+            writeParty(writer, header.getBuyerParty());
+            writeParty(writer, header.getSellerParty());
+            writer.writeString(header.getBusinessUnit());
+            writer.writeString(header.getBookStrategy());
+            writer.writeString(header.getTraderName());
+            writer.writeString(header.getAgreementId());
+            writer.writeString(header.getMarket());
+            writer.writeString(header.getCommodity());
+            writer.writeString(header.getTransactionType());
+            writer.writeString(header.getDeliveryPoint());
+            writer.writeString(header.getLoadType());
+            writer.writeEnum(header.getBuySellIndicator());
+            writer.writeBoolean(header.isAmendmentIndicator());
+        }
+
+        writer.writeBoolean(schedule != null);
+        if (schedule != null) {
+            writeSchedule(writer, schedule);
+        }
+
+        PhysicalSettlementInfoDto settlement = dto.getSettlementInfo();
+        writer.writeBoolean(settlement != null);
+        if (settlement != null) {
+            writer.writeDouble(settlement.getTotalVolume());
+            writer.writeString(settlement.getTotalVolumeUom());
+            writer.writeString(settlement.getPricingMechanism());
+            writer.writeDouble(settlement.getSettlementPrice());
+            writer.writeDouble(settlement.getTradePrice());
+            writer.writeString(settlement.getSettlementCurrency());
+            writer.writeString(settlement.getTradeCurrency());
+            writer.writeString(settlement.getSettlementUom());
+            writer.writeString(settlement.getTradeUom());
+            writer.writeDate(settlement.getStartApplicabilityDate());
+            writer.writeInstant(settlement.getStartApplicabilityTime());
+            writer.writeDate(settlement.getEndApplicabilityDate());
+            writer.writeInstant(settlement.getEndApplicabilityTime());
+            writer.writeString(settlement.getPaymentEvent());
+            writer.writeDouble(settlement.getPaymentOffset());
+            writer.writeDouble(settlement.getTotalContractValue());
+            writer.writeDouble(settlement.getRounding());
+            List<PhysicalSettlementItemDto> items = settlement.getSettlementItems();
+            writer.writeVarInt(items == null ? 0 : items.size());
+            if (items != null) {
+                for (PhysicalSettlementItemDto item : items) {
+                    writeSettlementItem(writer, item);
+                }
+            }
+        }
+
+        PhysicalMetadataDto metadata = dto.getMetadata();
+        writer.writeBoolean(metadata != null);
+        if (metadata != null) {
+            writer.writeDate(metadata.getEffectiveDate());
+            writer.writeDate(metadata.getTerminationDate());
+            writer.writeString(metadata.getGoverningLaw());
+        }
+        return writer.toByteArray();
+    }
+
+    public static PhysicalPowerTradeDto decodePhysical(byte[] payload) {
+        BinaryReader reader = new BinaryReader(payload);
+        byte version = reader.readHeader(TYPE_PHYSICAL, VERSION);
+        PhysicalPowerTradeDto dto = new PhysicalPowerTradeDto();
+
+        if (reader.readBoolean()) {
+            PhysicalTradeHeaderDto header = new PhysicalTradeHeaderDto();
+            header.setTradeId(reader.readString());
+            header.setTenantId(reader.readString());
+            header.setTradeDate(reader.readDate());
+            header.setTradeTime(reader.readInstant());
+            header.setDocumentType(reader.readEnum(DOCUMENT_TYPES));
+            header.setDocumentVersion(reader.readString());
+            header.setBuyerParty(readParty(reader));
+            header.setSellerParty(readParty(reader));
+            header.setBusinessUnit(reader.readString());
+            header.setBookStrategy(reader.readString());
+            header.setTraderName(reader.readString());
+            header.setAgreementId(reader.readString());
+            header.setMarket(reader.readString());
+            header.setCommodity(reader.readString());
+            header.setTransactionType(reader.readString());
+            header.setDeliveryPoint(reader.readString());
+            header.setLoadType(reader.readString());
+            header.setBuySellIndicator(reader.readEnum(BUY_SELL_INDICATORS));
+            header.setAmendmentIndicator(reader.readBoolean());
+            dto.setTradeHeader(header);
+        }
+
+        if (reader.readBoolean()) {
+            dto.setTradeDetails(new PhysicalTradeDetailsDto(readSchedule(reader)));
+        }
+
+        if (reader.readBoolean()) {
+            PhysicalSettlementInfoDto settlement = new PhysicalSettlementInfoDto();
+            settlement.setTotalVolume(reader.readDouble());
+            settlement.setTotalVolumeUom(reader.readString());
+            settlement.setPricingMechanism(reader.readString());
+            settlement.setSettlementPrice(reader.readDouble());
+            settlement.setTradePrice(reader.readDouble());
+            settlement.setSettlementCurrency(reader.readString());
+            settlement.setTradeCurrency(reader.readString());
+            settlement.setSettlementUom(reader.readString());
+            settlement.setTradeUom(reader.readString());
+            settlement.setStartApplicabilityDate(reader.readDate());
+            settlement.setStartApplicabilityTime(reader.readInstant());
+            settlement.setEndApplicabilityDate(reader.readDate());
+            settlement.setEndApplicabilityTime(reader.readInstant());
+            settlement.setPaymentEvent(reader.readString());
+            settlement.setPaymentOffset(reader.readDouble());
+            settlement.setTotalContractValue(reader.readDouble());
+            settlement.setRounding(reader.readDouble());
+            int count = reader.readCount();
+            List<PhysicalSettlementItemDto> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(readSettlementItem(reader, version));
+            }
+            settlement.setSettlementItems(items);
+            dto.setSettlementInfo(settlement);
+        }
+
+        if (reader.readBoolean()) {
+            dto.setMetadata(new PhysicalMetadataDto(reader.readDate(), reader.readDate(), reader.readString()));
+        }
+        reader.requireFullyConsumed();
+        return dto;
+    }
+
+    public static byte[] encodeSwap(SwapPowerTradeDto dto) {
+        if (dto == null) {
+            throw new CodecException("SwapPowerTradeDto must not be null");
+        }
+        List<SwapPeriodDto> periods = dto.getFinancialDetails() == null
+                ? null
+                : dto.getFinancialDetails().getPeriods();
+        BinaryWriter writer = new BinaryWriter(256 + (periods == null ? 0 : periods.size() * 48));
+        writer.writeHeader(TYPE_SWAP, VERSION);
+
+        SwapTradeHeaderDto header = dto.getTradeHeader();
+        writer.writeBoolean(header != null);
+        if (header != null) {
+            writer.writeString(header.getTradeId());
+            writer.writeString(header.getTenantId());
+            writer.writeDate(header.getTradeDate());
+            writer.writeInstant(header.getTradeTime());
+            writer.writeEnum(header.getDocumentType());
+            writer.writeString(header.getDocumentVersion());
+            writeParty(writer, header.getBuyerParty());
+            writeParty(writer, header.getSellerParty());
+            writer.writeString(header.getBusinessUnit());
+            writer.writeString(header.getBookStrategy());
+            writer.writeString(header.getTraderName());
+            writer.writeString(header.getAgreementId());
+            writer.writeString(header.getMarket());
+            writer.writeString(header.getCommodity());
+            writer.writeString(header.getTransactionType());
+            writer.writeString(header.getReferenceZone());
+            writer.writeEnum(header.getBuySellIndicator());
+            writer.writeBoolean(header.isAmendmentIndicator());
+        }
+
+        writer.writeBoolean(dto.getFinancialDetails() != null);
+        if (dto.getFinancialDetails() != null) {
+            writer.writeVarInt(periods == null ? 0 : periods.size());
+            if (periods != null) {
+                long previousStart = 0L;
+                for (SwapPeriodDto period : periods) {
+                    writer.writeDouble(period.getNotionalQuantity());
+                    writer.writeString(period.getNotionalUom());
+                    writer.writeDate(period.getTermStartDate());
+                    writer.writeInstant(period.getTermStartTime(), previousStart);
+                    writer.writeDate(period.getTermEndDate());
+                    Instant base = period.getTermStartTime();
+                    writer.writeInstant(period.getTermEndTime(), base == null ? previousStart : base.getEpochSecond());
+                    writer.writeString(period.getPeriodFrequency());
+                    writer.writeString(period.getFixingIndex());
+                    writer.writeString(period.getLoadShape());
+                    if (base != null) {
+                        previousStart = base.getEpochSecond();
+                    }
+                }
+            }
+        }
+
+        SwapSettlementInfoDto settlement = dto.getSettlementInfo();
+        writer.writeBoolean(settlement != null);
+        if (settlement != null) {
+            writer.writeDouble(settlement.getTotalNotional());
+            writer.writeString(settlement.getTotalNotionalUom());
+            writer.writeString(settlement.getPricingMechanism());
+            writer.writeDouble(settlement.getFixedPrice());
+            writer.writeDouble(settlement.getSpread());
+            writer.writeString(settlement.getSettlementCurrency());
+            writer.writeString(settlement.getTradeCurrency());
+            writer.writeString(settlement.getSettlementUom());
+            writer.writeString(settlement.getTradeUom());
+            writer.writeString(settlement.getSettlementType());
+            writer.writeDate(settlement.getSettlementDate());
+            writer.writeDate(settlement.getStartApplicabilityDate());
+            writer.writeInstant(settlement.getStartApplicabilityTime());
+            writer.writeDate(settlement.getEndApplicabilityDate());
+            writer.writeInstant(settlement.getEndApplicabilityTime());
+            writer.writeDouble(settlement.getPaymentOffset());
+            writer.writeDouble(settlement.getTotalExpectedValue());
+            writer.writeDouble(settlement.getRounding());
+        }
+
+        SwapMetadataDto metadata = dto.getMetadata();
+        writer.writeBoolean(metadata != null);
+        if (metadata != null) {
+            writer.writeDate(metadata.getEffectiveDate());
+            writer.writeDate(metadata.getTerminationDate());
+            writer.writeString(metadata.getGoverningLaw());
+            writer.writeBoolean(metadata.isClearable());
+            writer.writeString(metadata.getUti());
+        }
+        return writer.toByteArray();
+    }
+
+    public static SwapPowerTradeDto decodeSwap(byte[] payload) {
+        BinaryReader reader = new BinaryReader(payload);
+        reader.readHeader(TYPE_SWAP, VERSION);
+        SwapPowerTradeDto dto = new SwapPowerTradeDto();
+
+        if (reader.readBoolean()) {
+            SwapTradeHeaderDto header = new SwapTradeHeaderDto();
+            header.setTradeId(reader.readString());
+            header.setTenantId(reader.readString());
+            header.setTradeDate(reader.readDate());
+            header.setTradeTime(reader.readInstant());
+            header.setDocumentType(reader.readEnum(DOCUMENT_TYPES));
+            header.setDocumentVersion(reader.readString());
+            header.setBuyerParty(readParty(reader));
+            header.setSellerParty(readParty(reader));
+            header.setBusinessUnit(reader.readString());
+            header.setBookStrategy(reader.readString());
+            header.setTraderName(reader.readString());
+            header.setAgreementId(reader.readString());
+            header.setMarket(reader.readString());
+            header.setCommodity(reader.readString());
+            header.setTransactionType(reader.readString());
+            header.setReferenceZone(reader.readString());
+            header.setBuySellIndicator(reader.readEnum(BUY_SELL_INDICATORS));
+            header.setAmendmentIndicator(reader.readBoolean());
+            dto.setTradeHeader(header);
+        }
+
+        if (reader.readBoolean()) {
+            int count = reader.readCount();
+            List<SwapPeriodDto> periods = new ArrayList<>(count);
+            long previousStart = 0L;
+            for (int i = 0; i < count; i++) {
+                SwapPeriodDto period = new SwapPeriodDto();
+                period.setNotionalQuantity(reader.readDouble());
+                period.setNotionalUom(reader.readString());
+                period.setTermStartDate(reader.readDate());
+                Instant start = reader.readInstant(previousStart);
+                period.setTermStartTime(start);
+                period.setTermEndDate(reader.readDate());
+                period.setTermEndTime(reader.readInstant(start == null ? previousStart : start.getEpochSecond()));
+                period.setPeriodFrequency(reader.readString());
+                period.setFixingIndex(reader.readString());
+                period.setLoadShape(reader.readString());
+                if (start != null) {
+                    previousStart = start.getEpochSecond();
+                }
+                periods.add(period);
+            }
+            dto.setFinancialDetails(new SwapTradeDetailsDto(periods));
+        }
+
+        if (reader.readBoolean()) {
+            SwapSettlementInfoDto settlement = new SwapSettlementInfoDto();
+            settlement.setTotalNotional(reader.readDouble());
+            settlement.setTotalNotionalUom(reader.readString());
+            settlement.setPricingMechanism(reader.readString());
+            settlement.setFixedPrice(reader.readDouble());
+            settlement.setSpread(reader.readDouble());
+            settlement.setSettlementCurrency(reader.readString());
+            settlement.setTradeCurrency(reader.readString());
+            settlement.setSettlementUom(reader.readString());
+            settlement.setTradeUom(reader.readString());
+            settlement.setSettlementType(reader.readString());
+            settlement.setSettlementDate(reader.readDate());
+            settlement.setStartApplicabilityDate(reader.readDate());
+            settlement.setStartApplicabilityTime(reader.readInstant());
+            settlement.setEndApplicabilityDate(reader.readDate());
+            settlement.setEndApplicabilityTime(reader.readInstant());
+            settlement.setPaymentOffset(reader.readDouble());
+            settlement.setTotalExpectedValue(reader.readDouble());
+            settlement.setRounding(reader.readDouble());
+            dto.setSettlementInfo(settlement);
+        }
+
+        if (reader.readBoolean()) {
+            SwapMetadataDto metadata = new SwapMetadataDto();
+            metadata.setEffectiveDate(reader.readDate());
+            metadata.setTerminationDate(reader.readDate());
+            metadata.setGoverningLaw(reader.readString());
+            metadata.setClearable(reader.readBoolean());
+            metadata.setUti(reader.readString());
+            dto.setMetadata(metadata);
+        }
+        reader.requireFullyConsumed();
+        return dto;
+    }
+
+    static void writeSchedule(BinaryWriter writer, PhysicalLineItemSchedule schedule) {
+        int size = schedule.size();
+        writer.writeVarInt(size);
+        long previousStart = 0L;
+        long previousStartDay = 0L;
+        for (int i = 0; i < size; i++) {
+            boolean hasStart = schedule.hasPeriodStartTime(i);
+            boolean hasEnd = schedule.hasPeriodEndTime(i);
+            LocalDate startDate = schedule.getPeriodStartDate(i);
+            LocalDate endDate = schedule.getPeriodEndDate(i);
+            writer.writeByte((hasStart ? HAS_START_TIME : 0)
+                    | (hasEnd ? HAS_END_TIME : 0)
+                    | (startDate != null ? HAS_START_DATE : 0)
+                    | (endDate != null ? HAS_END_DATE : 0));
+            long start = previousStart;
+            if (hasStart) {
+                start = schedule.getPeriodStartEpochMilli(i);
+                writer.writeSignedVarLong(start - previousStart);
+                previousStart = start;
+            }
+            if (hasEnd) {
+                writer.writeSignedVarLong(schedule.getPeriodEndEpochMilli(i) - start);
+            }
+            long startDay = previousStartDay;
+            if (startDate != null) {
+                startDay = startDate.toEpochDay();
+                writer.writeSignedVarLong(startDay - previousStartDay);
+                previousStartDay = startDay;
+            }
+            if (endDate != null) {
+                writer.writeSignedVarLong(endDate.toEpochDay() - startDay);
+            }
+            writer.writeString(schedule.getDayHour(i));
+            writer.writeString(schedule.getUom(i));
+            writer.writeEnum(schedule.getProfile(i));
+        }
+        writer.writeDoubleRuns(size, schedule::getQuantity);
+        writer.writeDoubleRuns(size, schedule::getCapacity);
+    }
+
+    static PhysicalLineItemSchedule readSchedule(BinaryReader reader) {
+        int size = reader.readCount();
+        int[] presence = new int[size];
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        LocalDate[] startDates = new LocalDate[size];
+        LocalDate[] endDates = new LocalDate[size];
+        String[] dayHours = new String[size];
+        String[] uoms = new String[size];
+        Profile[] profiles = new Profile[size];
+        long previousStart = 0L;
+        long previousStartDay = 0L;
+        for (int i = 0; i < size; i++) {
+            presence[i] = reader.readByte();
+            long start = previousStart;
+            if ((presence[i] & HAS_START_TIME) != 0) {
+                start = previousStart + reader.readSignedVarLong();
+                previousStart = start;
+            }
+            starts[i] = start;
+            if ((presence[i] & HAS_END_TIME) != 0) {
+                ends[i] = start + reader.readSignedVarLong();
+            }
+            long startDay = previousStartDay;
+            if ((presence[i] & HAS_START_DATE) != 0) {
+                startDay = previousStartDay + reader.readSignedVarLong();
+                startDates[i] = LocalDate.ofEpochDay(startDay);
+                previousStartDay = startDay;
+            }
+            if ((presence[i] & HAS_END_DATE) != 0) {
+                endDates[i] = LocalDate.ofEpochDay(startDay + reader.readSignedVarLong());
+            }
+            dayHours[i] = reader.readString();
+            uoms[i] = reader.readString();
+            profiles[i] = reader.readEnum(PROFILES);
+        }
+        double[] quantities = reader.readDoubleRuns(size);
+        double[] capacities = reader.readDoubleRuns(size);
+        PhysicalLineItemSchedule schedule = new PhysicalLineItemSchedule(size);
+        for (int i = 0; i < size; i++) {
+            double capacity = capacities[i];
+            boolean hasStart = (presence[i] & HAS_START_TIME) != 0;
+            boolean hasEnd = (presence[i] & HAS_END_TIME) != 0;
+            if (hasStart && hasEnd) {
+                schedule.add(starts[i], ends[i], startDates[i], endDates[i], dayHours[i], quantities[i], uoms[i],
+                        capacity, profiles[i]);
+            } else {
+                schedule.add(hasStart ? Instant.ofEpochMilli(starts[i]) : null,
+                        hasEnd ? Instant.ofEpochMilli(ends[i]) : null,
+                        startDates[i], endDates[i], dayHours[i], quantities[i], uoms[i], capacity, profiles[i]);
+            }
+        }
+        return schedule;
+    }
+
+    private static void writeSettlementItem(BinaryWriter writer, PhysicalSettlementItemDto item) {
+        writer.writeString(item.getSettlementId());
+        LineItemRefs ranges = item.lineItemRefs();
+        writer.writeBoolean(ranges != null);
+        if (ranges != null) {
+            writer.writeVarInt(ranges.rangeCount());
+            int previousEnd = 0;
+            for (int range = 0; range < ranges.rangeCount(); range++) {
+                writer.writeVarInt(ranges.rangeStart(range) - previousEnd);
+                writer.writeVarInt(ranges.rangeEnd(range) - ranges.rangeStart(range));
+                previousEnd = ranges.rangeEnd(range);
+            }
+        } else {
+            List<String> refs = item.getReferencedLineItems();
+            writer.writeVarInt(refs.size());
+            for (String ref : refs) {
+                writer.writeString(ref);
+            }
+        }
+        writer.writeDate(item.getDeliveryDate());
+        writer.writeDouble(item.getActualQuantity());
+        writer.writeString(item.getUom());
+        writer.writeDouble(item.getSettlementPrice());
+        writer.writeDouble(item.getTradePrice());
+        writer.writeString(item.getSettlementUom());
+        writer.writeString(item.getTradeUom());
+        writer.writeDouble(item.getDeviationAmount());
+        writer.writeDouble(item.getDeviationPenalty());
+        writer.writeDouble(item.getPeriodCashflow());
+        writer.writeString(item.getSettlementCurrency());
+        writer.writeString(item.getTradeCurrency());
+        writer.writeString(item.getInvoiceStatus());
+    }
+
+    private static PhysicalSettlementItemDto readSettlementItem(BinaryReader reader, byte version) {
+        PhysicalSettlementItemDto item = new PhysicalSettlementItemDto();
+        item.setSettlementId(reader.readString());
+        if (version >= VERSION_LINE_RANGES && reader.readBoolean()) {
+            int rangeCount = reader.readCount();
+            int[] bounds = new int[rangeCount * 2];
+            long previousEnd = 0;
+            for (int range = 0; range < rangeCount; range++) {
+                long start = previousEnd + reader.readVarInt();
+                long end = start + reader.readVarInt();
+                if (start < previousEnd || end <= start || end > Integer.MAX_VALUE) {
+                    throw new CodecException("Invalid line item range [" + start + ", " + end + ")");
+                }
+                bounds[2 * range] = (int) start;
+                bounds[2 * range + 1] = (int) end;
+                previousEnd = end;
+            }
+            item.setLineItemRefs(LineItemRefs.ofRanges(bounds));
+        } else {
+            int refCount = reader.readCount();
+            List<String> refs = new ArrayList<>(refCount);
+            for (int i = 0; i < refCount; i++) {
+                refs.add(reader.readString());
+            }
+            item.setReferencedLineItems(refs);
+        }
+        item.setDeliveryDate(reader.readDate());
+        item.setActualQuantity(reader.readDouble());
+        item.setUom(reader.readString());
+        item.setSettlementPrice(reader.readDouble());
+        item.setTradePrice(reader.readDouble());
+        item.setSettlementUom(reader.readString());
+        item.setTradeUom(reader.readString());
+        item.setDeviationAmount(reader.readDouble());
+        item.setDeviationPenalty(reader.readDouble());
+        item.setPeriodCashflow(reader.readDouble());
+        item.setSettlementCurrency(reader.readString());
+        item.setTradeCurrency(reader.readString());
+        item.setInvoiceStatus(reader.readString());
+        return item;
+    }
+
+    private static void writeParty(BinaryWriter writer, PartyDto party) {
+        writer.writeBoolean(party != null);
+        if (party != null) {
+            writer.writeString(party.getId());
+            writer.writeString(party.getName());
+            writer.writeString(party.getRole());
+        }
+    }
+
+    private static PartyDto readParty(BinaryReader reader) {
+        if (!reader.readBoolean()) {
+            return null;
+        }
+        return new PartyDto(reader.readString(), reader.readString(), reader.readString());
+    }
+}
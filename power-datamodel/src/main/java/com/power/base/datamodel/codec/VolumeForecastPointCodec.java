@@ -0,0 +1,158 @@
+package com.power.base.datamodel.codec;
+
+import com.power.base.datamodel.dto.timeser.VolumeForecastPointBlock;
+import com.power.base.datamodel.dto.timeser.VolumeForecastSeriesPointDto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary codec for windows of {@link VolumeForecastSeriesPointDto}, sharing the header and primitive encodings of
+ * {@link PowerTradeCodec}. Interval starts are written as deltas from the previous point and interval ends relative
+ * to their own start, which keeps regular series at a few bytes per timestamp.
+ * <p>
+ * Lists and {@link VolumeForecastPointBlock}s share one wire format; the block methods read and write the columns
+ * directly without materialising point objects.
+ */
+public final class VolumeForecastPointCodec {
+
+    public static final byte VERSION = 1;
+
+    static final byte TYPE_VOLUME_POINTS = 3;
+
+    private VolumeForecastPointCodec() {
+    }
+
+    public static boolean isPayload(byte[] payload) {
+        return BinaryReader.hasHeader(payload, TYPE_VOLUME_POINTS);
+    }
+
+    public static byte[] encode(List<VolumeForecastSeriesPointDto> points) {
+        if (points == null) {
+            throw new CodecException("Point list must not be null");
+        }
+        VolumeForecastPointBlock block = VolumeForecastPointBlock.unwrap(points);
+        if (block != null) {
+            return encode(block);
+        }
+        BinaryWriter writer = new BinaryWriter(16 + points.size() * 32);
+        writer.writeHeader(TYPE_VOLUME_POINTS, VERSION);
+        writer.writeVarInt(points.size());
+        long previousStart = 0L;
+        for (VolumeForecastSeriesPointDto point : points) {
+            writer.writeDate(point.getIntervalDate());
+            Instant start = point.getIntervalStartTime();
+            writer.writeInstant(start, previousStart);
+            long base = start == null ? previousStart : start.getEpochSecond();
+            writer.writeInstant(point.getIntervalEndTime(), base);
+            previousStart = base;
+            writer.writeDouble(point.getForecastVolume());
+            writer.writeDouble(point.getActualVolume());
+            writer.writeString(point.getMeasurementUom());
+            writer.writeString(point.getMeterReadingStatus());
+            writer.writeNullableDouble(point.getConfidenceLowerBound());
+            writer.writeNullableDouble(point.getConfidenceUpperBound());
+            writer.writeNullableDouble(point.getTemperature());
+            writer.writeString(point.getWeatherCondition());
+        }
+        return writer.toByteArray();
+    }
+
+    public static List<VolumeForecastSeriesPointDto> decode(byte[] payload) {
+        BinaryReader reader = new BinaryReader(payload);
+        reader.readHeader(TYPE_VOLUME_POINTS, VERSION);
+        int count = reader.readCount();
+        List<VolumeForecastSeriesPointDto> points = new ArrayList<>(count);
+        long previousStart = 0L;
+        for (int i = 0; i < count; i++) {
+            VolumeForecastSeriesPointDto point = new VolumeForecastSeriesPointDto();
+            point.setIntervalDate(reader.readDate());
+            Instant start = reader.readInstant(previousStart);
+            point.setIntervalStartTime(start);
+            long base = start == null ? previousStart : start.getEpochSecond();
+            point.setIntervalEndTime(reader.readInstant(base));
+            previousStart = base;
+            point.setForecastVolume(reader.readDouble());
+            point.setActualVolume(reader.readDouble());
+            point.setMeasurementUom(reader.readString());
+            point.setMeterReadingStatus(reader.readString());
+            point.setConfidenceLowerBound(reader.readNullableDouble());
+            point.setConfidenceUpperBound(reader.readNullableDouble());
+            point.setTemperature(reader.readNullableDouble());
+            point.setWeatherCondition(reader.readString());
+            points.add(point);
+        }
+        reader.requireFullyConsumed();
+        return points;
+    }
+
+    public static byte[] encode(VolumeForecastPointBlock block) {
+        if (block == null) {
+            throw new CodecException("Point block must not be null");
+        }
+        int size = block.size();
+        BinaryWriter writer = new BinaryWriter(16 + size * 32);
+        writer.writeHeader(TYPE_VOLUME_POINTS, VERSION);
+        writer.writeVarInt(size);
+        long previousStart = 0L;
+        for (int i = 0; i < size; i++) {
+            writer.writeDate(block.getIntervalDate(i));
+            long base = previousStart;
+            if (block.hasIntervalStartTime(i)) {
+                long start = block.getIntervalStartEpochMilli(i);
+                writer.writeEpochMilli(start, previousStart);
+                base = Math.floorDiv(start, 1000L);
+            } else {
+                writer.writeInstant(null, previousStart);
+            }
+            if (block.hasIntervalEndTime(i)) {
+                writer.writeEpochMilli(block.getIntervalEndEpochMilli(i), base);
+            } else {
+                writer.writeInstant(null, base);
+            }
+            previousStart = base;
+            writer.writeDouble(block.getForecastVolume(i));
+            writer.writeDouble(block.getActualVolume(i));
+            writer.writeString(block.getMeasurementUom(i));
+            writer.writeString(block.getMeterReadingStatus(i));
+            writer.writeOptionalDouble(block.getConfidenceLowerBound(i));
+            writer.writeOptionalDouble(block.getConfidenceUpperBound(i));
+            writer.writeOptionalDouble(block.getTemperature(i));
+            writer.writeString(block.getWeatherCondition(i));
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes a payload straight into columns; sub-millisecond instants are truncated to the block precision.
+     */
+    public static VolumeForecastPointBlock decodeBlock(byte[] payload) {
+        BinaryReader reader = new BinaryReader(payload);
+        reader.readHeader(TYPE_VOLUME_POINTS, VERSION);
+        int count = reader.readCount();
+        VolumeForecastPointBlock block = new VolumeForecastPointBlock(count);
+        long previousStart = 0L;
+        for (int i = 0; i < count; i++) {
+            LocalDate date = reader.readDate();
+            Instant start = reader.readInstant(previousStart);
+            long base = start == null ? previousStart : start.getEpochSecond();
+            Instant end = reader.readInstant(base);
+            previousStart = base;
+            double forecastVolume = reader.readDouble();
+            double actualVolume = reader.readDouble();
+            String uom = reader.readString();
+            String status = reader.readString();
+            double lowerBound = reader.readOptionalDouble();
+            double upperBound = reader.readOptionalDouble();
+            double temperature = reader.readOptionalDouble();
+            block.add(start == null ? VolumeForecastPointBlock.NO_TIME : start.toEpochMilli(),
+                    end == null ? VolumeForecastPointBlock.NO_TIME : end.toEpochMilli(),
+                    date, forecastVolume, actualVolume, uom, status, lowerBound, upperBound, temperature,
+                    reader.readString());
+        }
+        reader.requireFullyConsumed();
+        return block;
+    }
+}
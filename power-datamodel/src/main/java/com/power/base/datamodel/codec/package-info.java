@@ -0,0 +1,4 @@
+/**
+ * Compact, versioned binary encodings of the trade and time series DTOs.
+ */
+package com.power.base.datamodel.codec;
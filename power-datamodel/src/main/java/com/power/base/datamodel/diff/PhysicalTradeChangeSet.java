@@ -0,0 +1,130 @@
+package com.power.base.datamodel.diff;
+
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Child level delta between a stored and an incoming physical trade, as computed by {@link PhysicalTradeDiff}.
+ * <p>
+ * Line items are addressed by index: inserted and updated items by their position in the incoming schedule, deleted
+ * items by their position in the stored schedule, and {@link #getStoredIndex(int)} maps every incoming item to its
+ * stored counterpart. Settlement items are keyed by {@code settlementId}. Header, settlement info and metadata are
+ * single rows and are always rewritten by the backends, so they are not part of the change set.
+ */
+public final class PhysicalTradeChangeSet {
+
+    private static final int[] NONE = new int[0];
+
+    private final boolean fullRewrite;
+    private final int[] storedIndexByIncoming;
+    private final int[] insertedLineItems;
+    private final int[] updatedLineItems;
+    private final int[] deletedLineItems;
+    private final List<PhysicalSettlementItemDto> insertedSettlementItems;
+    private final List<PhysicalSettlementItemDto> updatedSettlementItems;
+    private final List<String> deletedSettlementIds;
+
+    PhysicalTradeChangeSet(int[] storedIndexByIncoming,
+                           int[] insertedLineItems,
+                           int[] updatedLineItems,
+                           int[] deletedLineItems,
+                           List<PhysicalSettlementItemDto> insertedSettlementItems,
+                           List<PhysicalSettlementItemDto> updatedSettlementItems,
+                           List<String> deletedSettlementIds) {
+        this.fullRewrite = false;
+        this.storedIndexByIncoming = storedIndexByIncoming;
+        this.insertedLineItems = insertedLineItems;
+        this.updatedLineItems = updatedLineItems;
+        this.deletedLineItems = deletedLineItems;
+        this.insertedSettlementItems = Collections.unmodifiableList(insertedSettlementItems);
+        this.updatedSettlementItems = Collections.unmodifiableList(updatedSettlementItems);
+        this.deletedSettlementIds = Collections.unmodifiableList(deletedSettlementIds);
+    }
+
+    private PhysicalTradeChangeSet() {
+        this.fullRewrite = true;
+        this.storedIndexByIncoming = NONE;
+        this.insertedLineItems = NONE;
+        this.updatedLineItems = NONE;
+        this.deletedLineItems = NONE;
+        this.insertedSettlementItems = List.of();
+        this.updatedSettlementItems = List.of();
+        this.deletedSettlementIds = List.of();
+    }
+
+    static PhysicalTradeChangeSet fullRewrite() {
+        return new PhysicalTradeChangeSet();
+    }
+
+    /**
+     * @return {@code true} when the children cannot be matched by key (missing period starts, duplicate keys or
+     * settlement items without id) and the backend has to replace the whole graph
+     */
+    public boolean requiresFullRewrite() {
+        return fullRewrite;
+    }
+
+    public boolean isEmpty() {
+        return !fullRewrite && changeCount() == 0;
+    }
+
+    public int changeCount() {
+        return insertedLineItems.length + updatedLineItems.length + deletedLineItems.length
+                + insertedSettlementItems.size() + updatedSettlementItems.size() + deletedSettlementIds.size();
+    }
+
+    /**
+     * @return position of the stored line item matching the incoming one, or {@code -1} when it is new
+     */
+    public int getStoredIndex(int incomingIndex) {
+        return storedIndexByIncoming[incomingIndex];
+    }
+
+    /**
+     * @return ascending incoming indexes of line items without a stored counterpart
+     */
+    public int[] getInsertedLineItems() {
+        return insertedLineItems.clone();
+    }
+
+    /**
+     * @return ascending incoming indexes of line items whose stored counterpart differs
+     */
+    public int[] getUpdatedLineItems() {
+        return updatedLineItems.clone();
+    }
+
+    /**
+     * @return ascending stored indexes of line items missing from the incoming trade
+     */
+    public int[] getDeletedLineItems() {
+        return deletedLineItems.clone();
+    }
+
+    public List<PhysicalSettlementItemDto> getInsertedSettlementItems() {
+        return insertedSettlementItems;
+    }
+
+    public List<PhysicalSettlementItemDto> getUpdatedSettlementItems() {
+        return updatedSettlementItems;
+    }
+
+    public List<String> getDeletedSettlementIds() {
+        return deletedSettlementIds;
+    }
+
+    @Override
+    public String toString() {
+        if (fullRewrite) {
+            return "PhysicalTradeChangeSet{fullRewrite}";
+        }
+        return "PhysicalTradeChangeSet{lineItems: +" + insertedLineItems.length
+                + " ~" + updatedLineItems.length
+                + " -" + deletedLineItems.length
+                + ", settlementItems: +" + insertedSettlementItems.size()
+                + " ~" + updatedSettlementItems.size()
+                + " -" + deletedSettlementIds.size() + '}';
+    }
+}
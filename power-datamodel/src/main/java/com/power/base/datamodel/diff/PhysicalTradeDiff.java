@@ -0,0 +1,213 @@
+package com.power.base.datamodel.diff;
+
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Computes the {@link PhysicalTradeChangeSet} between the stored version of a trade and an amendment.
+ * <p>
+ * Line items are keyed by period start. When both schedules are strictly ascending, which is the shape produced by the
+ * schedule generator and by every backend read path, they are matched with a single merge pass; otherwise a hash join
+ * on the start instant is used. Settlement items are keyed by {@code settlementId}.
+ */
+public final class PhysicalTradeDiff {
+
+    private PhysicalTradeDiff() {
+    }
+
+    public static PhysicalTradeChangeSet between(PhysicalPowerTradeDto stored, PhysicalPowerTradeDto incoming) {
+        Objects.requireNonNull(stored, "stored trade must not be null");
+        Objects.requireNonNull(incoming, "incoming trade must not be null");
+
+        PhysicalLineItemSchedule before = scheduleOf(stored);
+        PhysicalLineItemSchedule after = scheduleOf(incoming);
+        if (!hasDistinctStarts(before) || !hasDistinctStarts(after)) {
+            return PhysicalTradeChangeSet.fullRewrite();
+        }
+        Map<String, PhysicalSettlementItemDto> storedSettlements = settlementsById(stored);
+        Map<String, PhysicalSettlementItemDto> incomingSettlements = settlementsById(incoming);
+        if (storedSettlements == null || incomingSettlements == null) {
+            return PhysicalTradeChangeSet.fullRewrite();
+        }
+
+        int[] storedIndexByIncoming = isStrictlyAscending(before) && isStrictlyAscending(after)
+                ? mergeMatch(before, after)
+                : hashMatch(before, after);
+
+        boolean[] storedMatched = new boolean[before.size()];
+        IntList inserted = new IntList();
+        IntList updated = new IntList();
+        for (int i = 0; i < storedIndexByIncoming.length; i++) {
+            int storedIndex = storedIndexByIncoming[i];
+            if (storedIndex < 0) {
+                inserted.add(i);
+            } else {
+                storedMatched[storedIndex] = true;
+                if (!after.sameLineItem(i, before, storedIndex)) {
+                    updated.add(i);
+                }
+            }
+        }
+        IntList deleted = new IntList();
+        for (int i = 0; i < storedMatched.length; i++) {
+            if (!storedMatched[i]) {
+                deleted.add(i);
+            }
+        }
+
+        List<PhysicalSettlementItemDto> insertedSettlements = new ArrayList<>();
+        List<PhysicalSettlementItemDto> updatedSettlements = new ArrayList<>();
+        for (Map.Entry<String, PhysicalSettlementItemDto> entry : incomingSettlements.entrySet()) {
+            PhysicalSettlementItemDto previous = storedSettlements.get(entry.getKey());
+            if (previous == null) {
+                insertedSettlements.add(entry.getValue());
+            } else if (!sameSettlementItem(previous, entry.getValue())) {
+                updatedSettlements.add(entry.getValue());
+            }
+        }
+        List<String> deletedSettlements = new ArrayList<>();
+        for (String settlementId : storedSettlements.keySet()) {
+            if (!incomingSettlements.containsKey(settlementId)) {
+                deletedSettlements.add(settlementId);
+            }
+        }
+
+        return new PhysicalTradeChangeSet(storedIndexByIncoming,
+                inserted.toArray(),
+                updated.toArray(),
+                deleted.toArray(),
+                insertedSettlements,
+                updatedSettlements,
+                deletedSettlements);
+    }
+
+    private static PhysicalLineItemSchedule scheduleOf(PhysicalPowerTradeDto trade) {
+        PhysicalTradeDetailsDto details = trade.getTradeDetails();
+        PhysicalLineItemSchedule schedule = details == null ? null : details.schedule();
+        return schedule == null ? new PhysicalLineItemSchedule(0) : schedule;
+    }
+
+    private static boolean isStrictlyAscending(PhysicalLineItemSchedule schedule) {
+        for (int i = 1; i < schedule.size(); i++) {
+            if (schedule.getPeriodStartEpochMilli(i) <= schedule.getPeriodStartEpochMilli(i - 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasDistinctStarts(PhysicalLineItemSchedule schedule) {
+        if (isStrictlyAscending(schedule)) {
+            return schedule.size() == 0 || schedule.hasPeriodStartTime(0);
+        }
+        HashSet<Long> seen = new HashSet<>(schedule.size() * 2);
+        for (int i = 0; i < schedule.size(); i++) {
+            if (!schedule.hasPeriodStartTime(i) || !seen.add(schedule.getPeriodStartEpochMilli(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] mergeMatch(PhysicalLineItemSchedule before, PhysicalLineItemSchedule after) {
+        int[] matches = new int[after.size()];
+        int i = 0;
+        int j = 0;
+        while (j < after.size()) {
+            long key = after.getPeriodStartEpochMilli(j);
+            while (i < before.size() && before.getPeriodStartEpochMilli(i) < key) {
+                i++;
+            }
+            matches[j++] = i < before.size() && before.getPeriodStartEpochMilli(i) == key ? i : -1;
+        }
+        return matches;
+    }
+
+    private static int[] hashMatch(PhysicalLineItemSchedule before, PhysicalLineItemSchedule after) {
+        Map<Long, Integer> index = new HashMap<>(before.size() * 2);
+        for (int i = 0; i < before.size(); i++) {
+            index.put(before.getPeriodStartEpochMilli(i), i);
+        }
+        int[] matches = new int[after.size()];
+        for (int j = 0; j < after.size(); j++) {
+            matches[j] = index.getOrDefault(after.getPeriodStartEpochMilli(j), -1);
+        }
+        return matches;
+    }
+
+    /**
+     * @return settlement items by id in trade order, or {@code null} when an id is missing or repeated
+     */
+    private static Map<String, PhysicalSettlementItemDto> settlementsById(PhysicalPowerTradeDto trade) {
+        Map<String, PhysicalSettlementItemDto> byId = new LinkedHashMap<>();
+        if (trade.getSettlementInfo() == null || trade.getSettlementInfo().getSettlementItems() == null) {
+            return byId;
+        }
+        for (PhysicalSettlementItemDto item : trade.getSettlementInfo().getSettlementItems()) {
+            if (item == null || item.getSettlementId() == null || byId.putIfAbsent(item.getSettlementId(), item) != null) {
+                return null;
+            }
+        }
+        return byId;
+    }
+
+    private static boolean sameSettlementItem(PhysicalSettlementItemDto a, PhysicalSettlementItemDto b) {
+        return Objects.equals(a.getDeliveryDate(), b.getDeliveryDate())
+                && Double.compare(a.getActualQuantity(), b.getActualQuantity()) == 0
+                && Objects.equals(a.getUom(), b.getUom())
+                && Double.compare(a.getSettlementPrice(), b.getSettlementPrice()) == 0
+                && Double.compare(a.getTradePrice(), b.getTradePrice()) == 0
+                && Objects.equals(a.getSettlementUom(), b.getSettlementUom())
+                && Objects.equals(a.getTradeUom(), b.getTradeUom())
+                && Double.compare(a.getDeviationAmount(), b.getDeviationAmount()) == 0
+                && Double.compare(a.getDeviationPenalty(), b.getDeviationPenalty()) == 0
+                && Double.compare(a.getPeriodCashflow(), b.getPeriodCashflow()) == 0
+                && Objects.equals(a.getSettlementCurrency(), b.getSettlementCurrency())
+                && Objects.equals(a.getTradeCurrency(), b.getTradeCurrency())
+                && Objects.equals(a.getInvoiceStatus(), b.getInvoiceStatus())
+                && sameReferences(a, b);
+    }
+
+    /**
+     * References are compared as sets: the relational backends return them sorted and Dynamo stores them as a string
+     * set, so their order is not meaningful. Index based references compare range by range.
+     */
+    private static boolean sameReferences(PhysicalSettlementItemDto first, PhysicalSettlementItemDto second) {
+        if (first.lineItemRefs() != null && second.lineItemRefs() != null) {
+            return first.lineItemRefs().equals(second.lineItemRefs());
+        }
+        List<String> left = first.getReferencedLineItems();
+        List<String> right = second.getReferencedLineItems();
+        if (left.size() != right.size()) {
+            return false;
+        }
+        return left.equals(right) || new HashSet<>(left).equals(new HashSet<>(right));
+    }
+
+    private static final class IntList {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
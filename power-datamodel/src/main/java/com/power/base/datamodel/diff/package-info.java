@@ -0,0 +1,4 @@
+/**
+ * Minimal change sets between a stored and an amended trade, used to write only the delta.
+ */
+package com.power.base.datamodel.diff;
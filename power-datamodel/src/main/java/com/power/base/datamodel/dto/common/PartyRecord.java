@@ -0,0 +1,31 @@
+package com.power.base.datamodel.dto.common;
+
+import java.io.Serializable;
+
+/**
+ * Immutable counterpart of {@link PartyDto}.
+ */
+public record PartyRecord(String id,
+                          String name,
+                          String role) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static PartyRecord fromDto(PartyDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new PartyRecord(
+                dto.getId(),
+                dto.getName(),
+                dto.getRole());
+    }
+
+    public PartyDto toDto() {
+        PartyDto dto = new PartyDto();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setRole(role);
+        return dto;
+    }
+}
@@ -0,0 +1,143 @@
+package com.power.base.datamodel.dto.common;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * Immutable table of the UTC offsets a zone uses over an epoch-second range.
+ * <p>
+ * The {@link ZoneRules} transitions falling inside the range are resolved once up front, so converting instants to
+ * local wall-clock seconds afterwards is plain array arithmetic. Short (23h) and long (25h) days are represented by the
+ * transition itself; callers walking forwards in time should use a {@link Cursor}, which advances in amortised O(1).
+ */
+public final class ZoneOffsetTable {
+
+    private final ZoneId zoneId;
+    private final long fromEpochSecond;
+    private final long toEpochSecond;
+    private final long[] transitionEpochSeconds;
+    private final int[] offsetSeconds;
+
+    private ZoneOffsetTable(ZoneId zoneId, long fromEpochSecond, long toEpochSecond,
+                            long[] transitionEpochSeconds, int[] offsetSeconds) {
+        this.zoneId = zoneId;
+        this.fromEpochSecond = fromEpochSecond;
+        this.toEpochSecond = toEpochSecond;
+        this.transitionEpochSeconds = transitionEpochSeconds;
+        this.offsetSeconds = offsetSeconds;
+    }
+
+    /**
+     * Resolves the offsets of {@code zoneId} for every instant in {@code [fromEpochSecond, toEpochSecond]}.
+     *
+     * @param zoneId zone to resolve, UTC if null
+     */
+    public static ZoneOffsetTable of(ZoneId zoneId, long fromEpochSecond, long toEpochSecond) {
+        if (toEpochSecond < fromEpochSecond) {
+            throw new IllegalArgumentException("toEpochSecond must not be before fromEpochSecond");
+        }
+        ZoneId effectiveZone = zoneId == null ? ZoneOffset.UTC : zoneId;
+        ZoneRules rules = effectiveZone.getRules();
+        Instant from = Instant.ofEpochSecond(fromEpochSecond);
+
+        long[] transitions = new long[8];
+        int[] offsets = new int[9];
+        offsets[0] = rules.getOffset(from).getTotalSeconds();
+        int count = 0;
+        if (!rules.isFixedOffset()) {
+            ZoneOffsetTransition transition = rules.nextTransition(from);
+            while (transition != null && transition.toEpochSecond() <= toEpochSecond) {
+                if (count == transitions.length) {
+                    transitions = Arrays.copyOf(transitions, count * 2);
+                    offsets = Arrays.copyOf(offsets, count * 2 + 1);
+                }
+                transitions[count] = transition.toEpochSecond();
+                offsets[++count] = transition.getOffsetAfter().getTotalSeconds();
+                transition = rules.nextTransition(transition.getInstant());
+            }
+        }
+        return new ZoneOffsetTable(effectiveZone, fromEpochSecond, toEpochSecond,
+                Arrays.copyOf(transitions, count), Arrays.copyOf(offsets, count + 1));
+    }
+
+    public ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    public int transitionCount() {
+        return transitionEpochSeconds.length;
+    }
+
+    public boolean isFixedOffset() {
+        return transitionEpochSeconds.length == 0;
+    }
+
+    /**
+     * @return offset in seconds at the given instant, found by binary search over the transitions
+     */
+    public int offsetAt(long epochSecond) {
+        return offsetSeconds[indexOf(epochSecond)];
+    }
+
+    public long toLocalEpochSecond(long epochSecond) {
+        return epochSecond + offsetAt(epochSecond);
+    }
+
+    /**
+     * @return a forward-only cursor positioned at {@code epochSecond}
+     */
+    public Cursor cursor(long epochSecond) {
+        return new Cursor(indexOf(epochSecond));
+    }
+
+    private int indexOf(long epochSecond) {
+        checkRange(epochSecond);
+        int index = Arrays.binarySearch(transitionEpochSeconds, epochSecond);
+        // an exact hit means the new offset already applies at that instant
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private void checkRange(long epochSecond) {
+        if (epochSecond < fromEpochSecond || epochSecond > toEpochSecond) {
+            throw new IllegalArgumentException("Epoch second " + epochSecond + " outside resolved range ["
+                    + fromEpochSecond + ", " + toEpochSecond + "]");
+        }
+    }
+
+    /**
+     * Offset lookup for monotonically non-decreasing instants.
+     */
+    public final class Cursor {
+
+        private int index;
+        private long nextTransition;
+
+        private Cursor(int index) {
+            this.index = index;
+            this.nextTransition = nextTransitionAfter(index);
+        }
+
+        public int offsetAt(long epochSecond) {
+            if (epochSecond >= nextTransition) {
+                checkRange(epochSecond);
+                while (index < transitionEpochSeconds.length && transitionEpochSeconds[index] <= epochSecond) {
+                    index++;
+                }
+                nextTransition = nextTransitionAfter(index);
+            }
+            return offsetSeconds[index];
+        }
+
+        public long toLocalEpochSecond(long epochSecond) {
+            return epochSecond + offsetAt(epochSecond);
+        }
+
+        private long nextTransitionAfter(int index) {
+            return index < transitionEpochSeconds.length ? transitionEpochSeconds[index] : Long.MAX_VALUE;
+        }
+    }
+}
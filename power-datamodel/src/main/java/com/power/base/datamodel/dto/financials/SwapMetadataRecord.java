@@ -0,0 +1,38 @@
+package com.power.base.datamodel.dto.financials;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Immutable counterpart of {@link SwapMetadataDto}.
+ */
+public record SwapMetadataRecord(LocalDate effectiveDate,
+                                 LocalDate terminationDate,
+                                 String governingLaw,
+                                 boolean clearable,
+                                 String uti) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static SwapMetadataRecord fromDto(SwapMetadataDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new SwapMetadataRecord(
+                dto.getEffectiveDate(),
+                dto.getTerminationDate(),
+                dto.getGoverningLaw(),
+                dto.isClearable(),
+                dto.getUti());
+    }
+
+    public SwapMetadataDto toDto() {
+        SwapMetadataDto dto = new SwapMetadataDto();
+        dto.setEffectiveDate(effectiveDate);
+        dto.setTerminationDate(terminationDate);
+        dto.setGoverningLaw(governingLaw);
+        dto.setClearable(clearable);
+        dto.setUti(uti);
+        return dto;
+    }
+}
@@ -0,0 +1,142 @@
+package com.power.base.datamodel.dto.financials;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Immutable counterpart of {@link SwapPeriodDto}.
+ */
+public record SwapPeriodRecord(double notionalQuantity,
+                               String notionalUom,
+                               LocalDate termStartDate,
+                               Instant termStartTime,
+                               LocalDate termEndDate,
+                               Instant termEndTime,
+                               String periodFrequency,
+                               String fixingIndex,
+                               String loadShape) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static SwapPeriodRecord fromDto(SwapPeriodDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new SwapPeriodRecord(
+                dto.getNotionalQuantity(),
+                dto.getNotionalUom(),
+                dto.getTermStartDate(),
+                dto.getTermStartTime(),
+                dto.getTermEndDate(),
+                dto.getTermEndTime(),
+                dto.getPeriodFrequency(),
+                dto.getFixingIndex(),
+                dto.getLoadShape());
+    }
+
+    public SwapPeriodDto toDto() {
+        SwapPeriodDto dto = new SwapPeriodDto();
+        dto.setNotionalQuantity(notionalQuantity);
+        dto.setNotionalUom(notionalUom);
+        dto.setTermStartDate(termStartDate);
+        dto.setTermStartTime(termStartTime);
+        dto.setTermEndDate(termEndDate);
+        dto.setTermEndTime(termEndTime);
+        dto.setPeriodFrequency(periodFrequency);
+        dto.setFixingIndex(fixingIndex);
+        dto.setLoadShape(loadShape);
+        return dto;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .notionalQuantity(notionalQuantity)
+                .notionalUom(notionalUom)
+                .termStartDate(termStartDate)
+                .termStartTime(termStartTime)
+                .termEndDate(termEndDate)
+                .termEndTime(termEndTime)
+                .periodFrequency(periodFrequency)
+                .fixingIndex(fixingIndex)
+                .loadShape(loadShape);
+    }
+
+    public static final class Builder {
+
+        private double notionalQuantity;
+        private String notionalUom;
+        private LocalDate termStartDate;
+        private Instant termStartTime;
+        private LocalDate termEndDate;
+        private Instant termEndTime;
+        private String periodFrequency;
+        private String fixingIndex;
+        private String loadShape;
+
+        private Builder() {
+        }
+
+        public Builder notionalQuantity(double notionalQuantity) {
+            this.notionalQuantity = notionalQuantity;
+            return this;
+        }
+
+        public Builder notionalUom(String notionalUom) {
+            this.notionalUom = notionalUom;
+            return this;
+        }
+
+        public Builder termStartDate(LocalDate termStartDate) {
+            this.termStartDate = termStartDate;
+            return this;
+        }
+
+        public Builder termStartTime(Instant termStartTime) {
+            this.termStartTime = termStartTime;
+            return this;
+        }
+
+        public Builder termEndDate(LocalDate termEndDate) {
+            this.termEndDate = termEndDate;
+            return this;
+        }
+
+        public Builder termEndTime(Instant termEndTime) {
+            this.termEndTime = termEndTime;
+            return this;
+        }
+
+        public Builder periodFrequency(String periodFrequency) {
+            this.periodFrequency = periodFrequency;
+            return this;
+        }
+
+        public Builder fixingIndex(String fixingIndex) {
+            this.fixingIndex = fixingIndex;
+            return this;
+        }
+
+        public Builder loadShape(String loadShape) {
+            this.loadShape = loadShape;
+            return this;
+        }
+
+        public SwapPeriodRecord build() {
+            return new SwapPeriodRecord(
+                    notionalQuantity,
+                    notionalUom,
+                    termStartDate,
+                    termStartTime,
+                    termEndDate,
+                    termEndTime,
+                    periodFrequency,
+                    fixingIndex,
+                    loadShape);
+        }
+    }
+}
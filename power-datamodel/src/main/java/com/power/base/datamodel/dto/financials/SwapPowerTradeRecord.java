@@ -0,0 +1,36 @@
+package com.power.base.datamodel.dto.financials;
+
+import java.io.Serializable;
+
+/**
+ * Immutable counterpart of {@link SwapPowerTradeDto}. Records are shallowly immutable and their lists are unmodifiable,
+ * so an instance can be shared across threads and caches without the defensive copies the mutable DTOs
+ * need; {@link #fromDto} and {@link #toDto()} convert at the boundaries that still speak DTOs.
+ */
+public record SwapPowerTradeRecord(SwapTradeHeaderRecord tradeHeader,
+                                   SwapTradeDetailsRecord financialDetails,
+                                   SwapSettlementInfoRecord settlementInfo,
+                                   SwapMetadataRecord metadata) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static SwapPowerTradeRecord fromDto(SwapPowerTradeDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new SwapPowerTradeRecord(
+                SwapTradeHeaderRecord.fromDto(dto.getTradeHeader()),
+                SwapTradeDetailsRecord.fromDto(dto.getFinancialDetails()),
+                SwapSettlementInfoRecord.fromDto(dto.getSettlementInfo()),
+                SwapMetadataRecord.fromDto(dto.getMetadata()));
+    }
+
+    public SwapPowerTradeDto toDto() {
+        SwapPowerTradeDto dto = new SwapPowerTradeDto();
+        dto.setTradeHeader(tradeHeader == null ? null : tradeHeader.toDto());
+        dto.setFinancialDetails(financialDetails == null ? null : financialDetails.toDto());
+        dto.setSettlementInfo(settlementInfo == null ? null : settlementInfo.toDto());
+        dto.setMetadata(metadata == null ? null : metadata.toDto());
+        return dto;
+    }
+}
@@ -0,0 +1,241 @@
+package com.power.base.datamodel.dto.financials;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Immutable counterpart of {@link SwapSettlementInfoDto}.
+ */
+public record SwapSettlementInfoRecord(double totalNotional,
+                                       String totalNotionalUom,
+                                       String pricingMechanism,
+                                       double fixedPrice,
+                                       double spread,
+                                       String settlementCurrency,
+                                       String tradeCurrency,
+                                       String settlementUom,
+                                       String tradeUom,
+                                       String settlementType,
+                                       LocalDate settlementDate,
+                                       LocalDate startApplicabilityDate,
+                                       Instant startApplicabilityTime,
+                                       LocalDate endApplicabilityDate,
+                                       Instant endApplicabilityTime,
+                                       double paymentOffset,
+                                       double totalExpectedValue,
+                                       double rounding) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static SwapSettlementInfoRecord fromDto(SwapSettlementInfoDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new SwapSettlementInfoRecord(
+                dto.getTotalNotional(),
+                dto.getTotalNotionalUom(),
+                dto.getPricingMechanism(),
+                dto.getFixedPrice(),
+                dto.getSpread(),
+                dto.getSettlementCurrency(),
+                dto.getTradeCurrency(),
+                dto.getSettlementUom(),
+                dto.getTradeUom(),
+                dto.getSettlementType(),
+                dto.getSettlementDate(),
+                dto.getStartApplicabilityDate(),
+                dto.getStartApplicabilityTime(),
+                dto.getEndApplicabilityDate(),
+                dto.getEndApplicabilityTime(),
+                dto.getPaymentOffset(),
+                dto.getTotalExpectedValue(),
+                dto.getRounding());
+    }
+
+    public SwapSettlementInfoDto toDto() {
+        SwapSettlementInfoDto dto = new SwapSettlementInfoDto();
+        dto.setTotalNotional(totalNotional);
+        dto.setTotalNotionalUom(totalNotionalUom);
+        dto.setPricingMechanism(pricingMechanism);
+        dto.setFixedPrice(fixedPrice);
+        dto.setSpread(spread);
+        dto.setSettlementCurrency(settlementCurrency);
+        dto.setTradeCurrency(tradeCurrency);
+        dto.setSettlementUom(settlementUom);
+        dto.setTradeUom(tradeUom);
+        dto.setSettlementType(settlementType);
+        dto.setSettlementDate(settlementDate);
+        dto.setStartApplicabilityDate(startApplicabilityDate);
+        dto.setStartApplicabilityTime(startApplicabilityTime);
+        dto.setEndApplicabilityDate(endApplicabilityDate);
+        dto.setEndApplicabilityTime(endApplicabilityTime);
+        dto.setPaymentOffset(paymentOffset);
+        dto.setTotalExpectedValue(totalExpectedValue);
+        dto.setRounding(rounding);
+        return dto;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .totalNotional(totalNotional)
+                .totalNotionalUom(totalNotionalUom)
+                .pricingMechanism(pricingMechanism)
+                .fixedPrice(fixedPrice)
+                .spread(spread)
+                .settlementCurrency(settlementCurrency)
+                .tradeCurrency(tradeCurrency)
+                .settlementUom(settlementUom)
+                .tradeUom(tradeUom)
+                .settlementType(settlementType)
+                .settlementDate(settlementDate)
+                .startApplicabilityDate(startApplicabilityDate)
+                .startApplicabilityTime(startApplicabilityTime)
+                .endApplicabilityDate(endApplicabilityDate)
+                .endApplicabilityTime(endApplicabilityTime)
+                .paymentOffset(paymentOffset)
+                .totalExpectedValue(totalExpectedValue)
+                .rounding(rounding);
+    }
+
+    public static final class Builder {
+
+        private double totalNotional;
+        private String totalNotionalUom;
+        private String pricingMechanism;
+        private double fixedPrice;
+        private double spread;
+        private String settlementCurrency;
+        private String tradeCurrency;
+        private String settlementUom;
+        private String tradeUom;
+        private String settlementType;
+        private LocalDate settlementDate;
+        private LocalDate startApplicabilityDate;
+        private Instant startApplicabilityTime;
+        private LocalDate endApplicabilityDate;
+        private Instant endApplicabilityTime;
+        private double paymentOffset;
+        private double totalExpectedValue;
+        private double rounding;
+
+        private Builder() {
+        }
+
+        public Builder totalNotional(double totalNotional) {
+            this.totalNotional = totalNotional;
+            return this;
+        }
+
+        public Builder totalNotionalUom(String totalNotionalUom) {
+            this.totalNotionalUom = totalNotionalUom;
+            return this;
+        }
+
+        public Builder pricingMechanism(String pricingMechanism) {
+            this.pricingMechanism = pricingMechanism;
+            return this;
+        }
+
+        public Builder fixedPrice(double fixedPrice) {
+            this.fixedPrice = fixedPrice;
+            return this;
+        }
+
+        public Builder spread(double spread) {
+            this.spread = spread;
+            return this;
+        }
+
+        public Builder settlementCurrency(String settlementCurrency) {
+            this.settlementCurrency = settlementCurrency;
+            return this;
+        }
+
+        public Builder tradeCurrency(String tradeCurrency) {
+            this.tradeCurrency = tradeCurrency;
+            return this;
+        }
+
+        public Builder settlementUom(String settlementUom) {
+            this.settlementUom = settlementUom;
+            return this;
+        }
+
+        public Builder tradeUom(String tradeUom) {
+            this.tradeUom = tradeUom;
+            return this;
+        }
+
+        public Builder settlementType(String settlementType) {
+            this.settlementType = settlementType;
+            return this;
+        }
+
+        public Builder settlementDate(LocalDate settlementDate) {
+            this.settlementDate = settlementDate;
+            return this;
+        }
+
+        public Builder startApplicabilityDate(LocalDate startApplicabilityDate) {
+            this.startApplicabilityDate = startApplicabilityDate;
+            return this;
+        }
+
+        public Builder startApplicabilityTime(Instant startApplicabilityTime) {
+            this.startApplicabilityTime = startApplicabilityTime;
+            return this;
+        }
+
+        public Builder endApplicabilityDate(LocalDate endApplicabilityDate) {
+            this.endApplicabilityDate = endApplicabilityDate;
+            return this;
+        }
+
+        public Builder endApplicabilityTime(Instant endApplicabilityTime) {
+            this.endApplicabilityTime = endApplicabilityTime;
+            return this;
+        }
+
+        public Builder paymentOffset(double paymentOffset) {
+            this.paymentOffset = paymentOffset;
+            return this;
+        }
+
+        public Builder totalExpectedValue(double totalExpectedValue) {
+            this.totalExpectedValue = totalExpectedValue;
+            return this;
+        }
+
+        public Builder rounding(double rounding) {
+            this.rounding = rounding;
+            return this;
+        }
+
+        public SwapSettlementInfoRecord build() {
+            return new SwapSettlementInfoRecord(
+                    totalNotional,
+                    totalNotionalUom,
+                    pricingMechanism,
+                    fixedPrice,
+                    spread,
+                    settlementCurrency,
+                    tradeCurrency,
+                    settlementUom,
+                    tradeUom,
+                    settlementType,
+                    settlementDate,
+                    startApplicabilityDate,
+                    startApplicabilityTime,
+                    endApplicabilityDate,
+                    endApplicabilityTime,
+                    paymentOffset,
+                    totalExpectedValue,
+                    rounding);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.power.base.datamodel.dto.financials;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable counterpart of {@link SwapTradeDetailsDto}.
+ */
+public record SwapTradeDetailsRecord(List<SwapPeriodRecord> periods) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public SwapTradeDetailsRecord {
+        periods = periods == null ? List.of() : List.copyOf(periods);
+    }
+
+    public static SwapTradeDetailsRecord fromDto(SwapTradeDetailsDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new SwapTradeDetailsRecord(
+                records(dto.getPeriods()));
+    }
+
+    public SwapTradeDetailsDto toDto() {
+        SwapTradeDetailsDto dto = new SwapTradeDetailsDto();
+        List<SwapPeriodDto> periodDtos = new ArrayList<>(periods.size());
+        for (SwapPeriodRecord period : periods) {
+            periodDtos.add(period.toDto());
+        }
+        dto.setPeriods(periodDtos);
+        return dto;
+    }
+
+    private static List<SwapPeriodRecord> records(List<SwapPeriodDto> dtos) {
+        if (dtos == null) {
+            return List.of();
+        }
+        return dtos.stream()
+                .filter(Objects::nonNull)
+                .map(SwapPeriodRecord::fromDto)
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
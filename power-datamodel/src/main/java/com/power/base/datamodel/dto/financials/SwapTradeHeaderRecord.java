@@ -0,0 +1,245 @@
+package com.power.base.datamodel.dto.financials;
+
+import com.power.base.datamodel.dto.common.BuySellIndicator;
+import com.power.base.datamodel.dto.common.DocumentType;
+import com.power.base.datamodel.dto.common.PartyRecord;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Immutable counterpart of {@link SwapTradeHeaderDto}.
+ */
+public record SwapTradeHeaderRecord(String tradeId,
+                                    String tenantId,
+                                    LocalDate tradeDate,
+                                    Instant tradeTime,
+                                    DocumentType documentType,
+                                    String documentVersion,
+                                    PartyRecord buyerParty,
+                                    PartyRecord sellerParty,
+                                    String businessUnit,
+                                    String bookStrategy,
+                                    String traderName,
+                                    String agreementId,
+                                    String market,
+                                    String commodity,
+                                    String transactionType,
+                                    String referenceZone,
+                                    BuySellIndicator buySellIndicator,
+                                    boolean amendmentIndicator) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static SwapTradeHeaderRecord fromDto(SwapTradeHeaderDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new SwapTradeHeaderRecord(
+                dto.getTradeId(),
+                dto.getTenantId(),
+                dto.getTradeDate(),
+                dto.getTradeTime(),
+                dto.getDocumentType(),
+                dto.getDocumentVersion(),
+                PartyRecord.fromDto(dto.getBuyerParty()),
+                PartyRecord.fromDto(dto.getSellerParty()),
+                dto.getBusinessUnit(),
+                dto.getBookStrategy(),
+                dto.getTraderName(),
+                dto.getAgreementId(),
+                dto.getMarket(),
+                dto.getCommodity(),
+                dto.getTransactionType(),
+                dto.getReferenceZone(),
+                dto.getBuySellIndicator(),
+                dto.isAmendmentIndicator());
+    }
+
+    public SwapTradeHeaderDto toDto() {
+        SwapTradeHeaderDto dto = new SwapTradeHeaderDto();
+        dto.setTradeId(tradeId);
+        dto.setTenantId(tenantId);
+        dto.setTradeDate(tradeDate);
+        dto.setTradeTime(tradeTime);
+        dto.setDocumentType(documentType);
+        dto.setDocumentVersion(documentVersion);
+        dto.setBuyerParty(buyerParty == null ? null : buyerParty.toDto());
+        dto.setSellerParty(sellerParty == null ? null : sellerParty.toDto());
+        dto.setBusinessUnit(businessUnit);
+        dto.setBookStrategy(bookStrategy);
+        dto.setTraderName(traderName);
+        dto.setAgreementId(agreementId);
+        dto.setMarket(market);
+        dto.setCommodity(commodity);
+        dto.setTransactionType(transactionType);
+        dto.setReferenceZone(referenceZone);
+        dto.setBuySellIndicator(buySellIndicator);
+        dto.setAmendmentIndicator(amendmentIndicator);
+        return dto;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .tradeId(tradeId)
+                .tenantId(tenantId)
+                .tradeDate(tradeDate)
+                .tradeTime(tradeTime)
+                .documentType(documentType)
+                .documentVersion(documentVersion)
+                .buyerParty(buyerParty)
+                .sellerParty(sellerParty)
+                .businessUnit(businessUnit)
+                .bookStrategy(bookStrategy)
+                .traderName(traderName)
+                .agreementId(agreementId)
+                .market(market)
+                .commodity(commodity)
+                .transactionType(transactionType)
+                .referenceZone(referenceZone)
+                .buySellIndicator(buySellIndicator)
+                .amendmentIndicator(amendmentIndicator);
+    }
+
+    public static final class Builder {
+
+        private String tradeId;
+        private String tenantId;
+        private LocalDate tradeDate;
+        private Instant tradeTime;
+        private DocumentType documentType;
+        private String documentVersion;
+        private PartyRecord buyerParty;
+        private PartyRecord sellerParty;
+        private String businessUnit;
+        private String bookStrategy;
+        private String traderName;
+        private String agreementId;
+        private String market;
+        private String commodity;
+        private String transactionType;
+        private String referenceZone;
+        private BuySellIndicator buySellIndicator;
+        private boolean amendmentIndicator;
+
+        private Builder() {
+        }
+
+        public Builder tradeId(String tradeId) {
+            this.tradeId = tradeId;
+            return this;
+        }
+
+        public Builder tenantId(String tenantId) {
+            this.tenantId = tenantId;
+            return this;
+        }
+
+        public Builder tradeDate(LocalDate tradeDate) {
+            this.tradeDate = tradeDate;
+            return this;
+        }
+
+        public Builder tradeTime(Instant tradeTime) {
+            this.tradeTime = tradeTime;
+            return this;
+        }
+
+        public Builder documentType(DocumentType documentType) {
+            this.documentType = documentType;
+            return this;
+        }
+
+        public Builder documentVersion(String documentVersion) {
+            this.documentVersion = documentVersion;
+            return this;
+        }
+
+        public Builder buyerParty(PartyRecord buyerParty) {
+            this.buyerParty = buyerParty;
+            return this;
+        }
+
+        public Builder sellerParty(PartyRecord sellerParty) {
+            this.sellerParty = sellerParty;
+            return this;
+        }
+
+        public Builder businessUnit(String businessUnit) {
+            this.businessUnit = businessUnit;
+            return this;
+        }
+
+        public Builder bookStrategy(String bookStrategy) {
+            this.bookStrategy = bookStrategy;
+            return this;
+        }
+
+        public Builder traderName(String traderName) {
+            this.traderName = traderName;
+            return this;
+        }
+
+        public Builder agreementId(String agreementId) {
+            this.agreementId = agreementId;
+            return this;
+        }
+
+        public Builder market(String market) {
+            this.market = market;
+            return this;
+        }
+
+        public Builder commodity(String commodity) {
+            this.commodity = commodity;
+            return this;
+        }
+
+        public Builder transactionType(String transactionType) {
+            this.transactionType = transactionType;
+            return this;
+        }
+
+        public Builder referenceZone(String referenceZone) {
+            this.referenceZone = referenceZone;
+            return this;
+        }
+
+        public Builder buySellIndicator(BuySellIndicator buySellIndicator) {
+            this.buySellIndicator = buySellIndicator;
+            return this;
+        }
+
+        public Builder amendmentIndicator(boolean amendmentIndicator) {
+            this.amendmentIndicator = amendmentIndicator;
+            return this;
+        }
+
+        public SwapTradeHeaderRecord build() {
+            return new SwapTradeHeaderRecord(
+                    tradeId,
+                    tenantId,
+                    tradeDate,
+                    tradeTime,
+                    documentType,
+                    documentVersion,
+                    buyerParty,
+                    sellerParty,
+                    businessUnit,
+                    bookStrategy,
+                    traderName,
+                    agreementId,
+                    market,
+                    commodity,
+                    transactionType,
+                    referenceZone,
+                    buySellIndicator,
+                    amendmentIndicator);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.power.base.datamodel.dto.financials;
+
+import com.power.base.datamodel.dto.common.BuySellIndicator;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Header-level view of a swap trade for list screens: header and settlement totals without the periods.
+ */
+public record SwapTradeSummary(String tradeId,
+                               String tenantId,
+                               LocalDate tradeDate,
+                               Instant tradeTime,
+                               String businessUnit,
+                               String traderName,
+                               String market,
+                               String commodity,
+                               String referenceZone,
+                               BuySellIndicator buySellIndicator,
+                               boolean amendmentIndicator,
+                               Double fixedPrice,
+                               Double totalNotional,
+                               String totalNotionalUom,
+                               String settlementCurrency) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,359 @@
+package com.power.base.datamodel.dto.physicals;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of zero-based line item indexes, held as sorted, disjoint, non-adjacent {@code [start, end)} ranges.
+ * <p>
+ * A settlement item covering an hour of a 1-minute schedule references 60 consecutive line items; here that is one
+ * range instead of 60 strings. The string view ({@link #labels()}) renders each index in the canonical
+ * {@code LINE#0001} form (one-based, at least four digits), which is also the DynamoDB sort key of the line item.
+ * The compact text form ({@link #encode()}) lists the ranges with inclusive bounds, e.g. {@code 0-59,120,125-130}.
+ */
+public final class LineItemRefs implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String LABEL_PREFIX = "LINE#";
+
+    public static final LineItemRefs EMPTY = new LineItemRefs(new int[0]);
+
+    /**
+     * Pairs of {@code start, endExclusive}.
+     */
+    private final int[] bounds;
+
+    private LineItemRefs(int[] bounds) {
+        this.bounds = bounds;
+    }
+
+    public static LineItemRefs of(int... indexes) {
+        if (indexes == null || indexes.length == 0) {
+            return EMPTY;
+        }
+        int[] sorted = indexes.clone();
+        Arrays.sort(sorted);
+        if (sorted[0] < 0) {
+            throw new IllegalArgumentException("Line item index must not be negative: " + sorted[0]);
+        }
+        RangeBuilder builder = new RangeBuilder(4);
+        for (int index : sorted) {
+            builder.add(index, index + 1);
+        }
+        return builder.build();
+    }
+
+    public static LineItemRefs range(int fromInclusive, int toExclusive) {
+        if (fromInclusive < 0 || toExclusive < fromInclusive) {
+            throw new IllegalArgumentException("Invalid line item range [" + fromInclusive + ", " + toExclusive + ")");
+        }
+        return fromInclusive == toExclusive ? EMPTY : new LineItemRefs(new int[]{fromInclusive, toExclusive});
+    }
+
+    /**
+     * @param bounds ascending {@code start, endExclusive} pairs; touching ranges are merged
+     */
+    public static LineItemRefs ofRanges(int... bounds) {
+        if (bounds.length % 2 != 0) {
+            throw new IllegalArgumentException("Range bounds must come in start/end pairs");
+        }
+        RangeBuilder builder = new RangeBuilder(Math.max(2, bounds.length));
+        int previousEnd = 0;
+        for (int i = 0; i < bounds.length; i += 2) {
+            if (bounds[i] < previousEnd || bounds[i + 1] <= bounds[i]) {
+                throw new IllegalArgumentException("Invalid line item range [" + bounds[i] + ", " + bounds[i + 1] + ")");
+            }
+            builder.add(bounds[i], bounds[i + 1]);
+            previousEnd = bounds[i + 1];
+        }
+        return builder.build();
+    }
+
+    public static LineItemRefs fromBitSet(BitSet indexes) {
+        RangeBuilder builder = new RangeBuilder(4);
+        for (int start = indexes.nextSetBit(0); start >= 0; start = indexes.nextSetBit(start)) {
+            int end = indexes.nextClearBit(start);
+            builder.add(start, end);
+            start = end;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Packs labels whose {@link #labels()} view would list them exactly as given, so nothing is reordered or dropped.
+     *
+     * @return the references as ranges, or {@code null} when any label is not in the canonical {@code LINE#nnnn}
+     * form or the labels are not strictly ascending, and the strings have to be kept verbatim
+     */
+    public static LineItemRefs fromLabels(Collection<String> labels) {
+        if (labels == null || labels.isEmpty()) {
+            return EMPTY;
+        }
+        RangeBuilder builder = new RangeBuilder(4);
+        int previous = -1;
+        for (String label : labels) {
+            int index = indexOf(label);
+            if (index <= previous) {
+                return null;
+            }
+            builder.add(index, index + 1);
+            previous = index;
+        }
+        return builder.build();
+    }
+
+    public static String label(int index) {
+        String number = Integer.toString(index + 1);
+        return number.length() >= 4
+                ? LABEL_PREFIX + number
+                : LABEL_PREFIX + "0000".substring(number.length()) + number;
+    }
+
+    /**
+     * @return the zero-based index a canonical label refers to, or {@code -1} for any other string
+     */
+    public static int indexOf(String label) {
+        if (label == null || !label.startsWith(LABEL_PREFIX)) {
+            return -1;
+        }
+        int digits = label.length() - LABEL_PREFIX.length();
+        if (digits < 4 || digits > 10 || (digits > 4 && label.charAt(LABEL_PREFIX.length()) == '0')) {
+            return -1;
+        }
+        long number = 0;
+        for (int i = LABEL_PREFIX.length(); i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number < 1 || number > Integer.MAX_VALUE ? -1 : (int) (number - 1);
+    }
+
+    /**
+     * Parses the output of {@link #encode()}.
+     */
+    public static LineItemRefs parse(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return EMPTY;
+        }
+        RangeBuilder builder = new RangeBuilder(8);
+        int position = 0;
+        int previousEnd = -1;
+        while (position <= encoded.length()) {
+            int comma = encoded.indexOf(',', position);
+            int end = comma < 0 ? encoded.length() : comma;
+            int dash = encoded.indexOf('-', position);
+            try {
+                int first;
+                int last;
+                if (dash >= 0 && dash < end) {
+                    first = Integer.parseInt(encoded, position, dash, 10);
+                    last = Integer.parseInt(encoded, dash + 1, end, 10);
+                } else {
+                    first = Integer.parseInt(encoded, position, end, 10);
+                    last = first;
+                }
+                if (first < 0 || last < first || first <= previousEnd) {
+                    throw new IllegalArgumentException("Unordered line item ranges: " + encoded);
+                }
+                builder.add(first, last + 1);
+                previousEnd = last;
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Malformed line item ranges: " + encoded, ex);
+            }
+            position = end + 1;
+        }
+        return builder.build();
+    }
+
+    public String encode() {
+        StringBuilder builder = new StringBuilder(bounds.length * 4);
+        for (int i = 0; i < bounds.length; i += 2) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(bounds[i]);
+            if (bounds[i + 1] - bounds[i] > 1) {
+                builder.append('-').append(bounds[i + 1] - 1);
+            }
+        }
+        return builder.toString();
+    }
+
+    public boolean isEmpty() {
+        return bounds.length == 0;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (int i = 0; i < bounds.length; i += 2) {
+            count += bounds[i + 1] - bounds[i];
+        }
+        return count;
+    }
+
+    public int rangeCount() {
+        return bounds.length >> 1;
+    }
+
+    public int rangeStart(int range) {
+        return bounds[range << 1];
+    }
+
+    /**
+     * @return the exclusive end of the range
+     */
+    public int rangeEnd(int range) {
+        return bounds[(range << 1) + 1];
+    }
+
+    public boolean contains(int index) {
+        int low = 0;
+        int high = rangeCount() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (index < rangeStart(mid)) {
+                high = mid - 1;
+            } else if (index >= rangeEnd(mid)) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public LineItemRefs with(int index) {
+        if (contains(index)) {
+            return this;
+        }
+        BitSet bits = toBitSet();
+        bits.set(index);
+        return fromBitSet(bits);
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < bounds.length; i += 2) {
+            for (int index = bounds[i]; index < bounds[i + 1]; index++) {
+                action.accept(index);
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] indexes = new int[cardinality()];
+        int[] position = {0};
+        forEach(index -> indexes[position[0]++] = index);
+        return indexes;
+    }
+
+    public BitSet toBitSet() {
+        BitSet bits = new BitSet(bounds.length == 0 ? 0 : bounds[bounds.length - 1]);
+        for (int i = 0; i < bounds.length; i += 2) {
+            bits.set(bounds[i], bounds[i + 1]);
+        }
+        return bits;
+    }
+
+    /**
+     * @return an unmodifiable, ascending view of the canonical labels; labels are rendered on access
+     */
+    public List<String> labels() {
+        return new LabelView(this);
+    }
+
+    /**
+     * @return the references behind a list returned by {@link #labels()}, or {@code null} for any other collection
+     */
+    public static LineItemRefs unwrap(Collection<?> labels) {
+        return labels instanceof LabelView view ? view.refs : null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof LineItemRefs && Arrays.equals(bounds, ((LineItemRefs) other).bounds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bounds);
+    }
+
+    @Override
+    public String toString() {
+        return "LineItemRefs[" + encode() + ']';
+    }
+
+    private Object readResolve() {
+        return bounds.length == 0 ? EMPTY : this;
+    }
+
+    /**
+     * Appends ascending ranges, merging those that touch or overlap the previous one.
+     */
+    private static final class RangeBuilder {
+        private int[] bounds;
+        private int length;
+
+        RangeBuilder(int capacity) {
+            bounds = new int[capacity];
+        }
+
+        void add(int start, int endExclusive) {
+            if (length > 0 && start <= bounds[length - 1]) {
+                bounds[length - 1] = Math.max(bounds[length - 1], endExclusive);
+                return;
+            }
+            if (length == bounds.length) {
+                bounds = Arrays.copyOf(bounds, length << 1);
+            }
+            bounds[length++] = start;
+            bounds[length++] = endExclusive;
+        }
+
+        LineItemRefs build() {
+            return length == 0 ? EMPTY : new LineItemRefs(Arrays.copyOf(bounds, length));
+        }
+    }
+
+    private static final class LabelView extends AbstractList<String> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final LineItemRefs refs;
+        private final int[] offsets;
+
+        private LabelView(LineItemRefs refs) {
+            this.refs = refs;
+            this.offsets = new int[refs.rangeCount() + 1];
+            for (int range = 0; range < refs.rangeCount(); range++) {
+                offsets[range + 1] = offsets[range] + refs.rangeEnd(range) - refs.rangeStart(range);
+            }
+        }
+
+        @Override
+        public String get(int position) {
+            if (position < 0 || position >= size()) {
+                throw new IndexOutOfBoundsException("Index " + position + " out of bounds for length " + size());
+            }
+            int range = Arrays.binarySearch(offsets, position);
+            if (range < 0) {
+                range = -range - 2;
+            }
+            return label(refs.rangeStart(range) + position - offsets[range]);
+        }
+
+        @Override
+        public int size() {
+            return offsets[offsets.length - 1];
+        }
+    }
+}
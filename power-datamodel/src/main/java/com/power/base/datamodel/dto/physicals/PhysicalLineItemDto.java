@@ -6,14 +6,8 @@ import java.io.Serializable;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.TextStyle;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
-import java.util.Objects;
 
 public class PhysicalLineItemDto implements Serializable {
 
@@ -135,6 +129,7 @@ public class PhysicalLineItemDto implements Serializable {
      * @param uom            unit of measure assigned to each generated line item
      * @param capacity       capacity value assigned to each generated line item
      * @return ordered list of {@link PhysicalLineItemDto} instances covering the requested range without gaps
+     * @see PhysicalScheduleGenerator for lazy, streaming or columnar generation of the same segments
      */
     public static List<PhysicalLineItemDto> generateSchedule(Instant startInclusive,
                                                              Instant endExclusive,
@@ -143,57 +138,10 @@ public class PhysicalLineItemDto implements Serializable {
                                                              double quantity,
                                                              String uom,
                                                              double capacity) {
-        Objects.requireNonNull(startInclusive, "startInclusive must not be null");
-        Objects.requireNonNull(endExclusive, "endExclusive must not be null");
-        Objects.requireNonNull(profile, "profile must not be null");
-
-        if (!startInclusive.isBefore(endExclusive)) {
-            throw new IllegalArgumentException("startInclusive must be before endExclusive");
-        }
-
-        var step = profile.getDuration();
-        if (step.isZero() || step.isNegative()) {
-            throw new IllegalArgumentException("Profile duration must be positive");
-        }
-
-        long totalSeconds = endExclusive.getEpochSecond() - startInclusive.getEpochSecond();
-        long stepSeconds = step.getSeconds();
-        if (totalSeconds % stepSeconds != 0) {
-            throw new IllegalArgumentException("Range must be an exact multiple of the profile duration");
-        }
-
-        ZoneId effectiveZone = zoneId == null ? ZoneOffset.UTC : zoneId;
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-
-        List<PhysicalLineItemDto> lineItems = new ArrayList<>();
-        Instant currentStart = startInclusive;
-
-        while (currentStart.isBefore(endExclusive)) {
-            Instant currentEnd = currentStart.plus(step);
-
-            ZonedDateTime startZdt = currentStart.atZone(effectiveZone);
-            ZonedDateTime endZdt = currentEnd.atZone(effectiveZone);
-
-            String dayHour = String.format("%s %s-%s",
-                    startZdt.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH),
-                    startZdt.toLocalTime().format(timeFormatter),
-                    endZdt.toLocalTime().format(timeFormatter));
-
-            PhysicalLineItemDto item = new PhysicalLineItemDto(
-                    startZdt.toLocalDate(),
-                    currentStart,
-                    endZdt.toLocalDate(),
-                    currentEnd,
-                    dayHour,
-                    quantity,
-                    uom,
-                    capacity,
-                    profile
-            );
-            lineItems.add(item);
-            currentStart = currentEnd;
-        }
-
+        PhysicalScheduleGenerator generator = PhysicalScheduleGenerator.of(
+                startInclusive, endExclusive, profile, zoneId, quantity, uom, capacity);
+        List<PhysicalLineItemDto> lineItems = new ArrayList<>(generator.size());
+        generator.spliterator().forEachRemaining(lineItems::add);
         return lineItems;
     }
 }
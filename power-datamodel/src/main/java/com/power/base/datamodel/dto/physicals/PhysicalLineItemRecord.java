@@ -0,0 +1,144 @@
+package com.power.base.datamodel.dto.physicals;
+
+import com.power.base.datamodel.dto.common.Profile;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Immutable counterpart of {@link PhysicalLineItemDto}.
+ */
+public record PhysicalLineItemRecord(LocalDate periodStartDate,
+                                     Instant periodStartTime,
+                                     LocalDate periodEndDate,
+                                     Instant periodEndTime,
+                                     String dayHour,
+                                     double quantity,
+                                     String uom,
+                                     double capacity,
+                                     Profile profile) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static PhysicalLineItemRecord fromDto(PhysicalLineItemDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new PhysicalLineItemRecord(
+                dto.getPeriodStartDate(),
+                dto.getPeriodStartTime(),
+                dto.getPeriodEndDate(),
+                dto.getPeriodEndTime(),
+                dto.getDayHour(),
+                dto.getQuantity(),
+                dto.getUom(),
+                dto.getCapacity(),
+                dto.getProfile());
+    }
+
+    public PhysicalLineItemDto toDto() {
+        PhysicalLineItemDto dto = new PhysicalLineItemDto();
+        dto.setPeriodStartDate(periodStartDate);
+        dto.setPeriodStartTime(periodStartTime);
+        dto.setPeriodEndDate(periodEndDate);
+        dto.setPeriodEndTime(periodEndTime);
+        dto.setDayHour(dayHour);
+        dto.setQuantity(quantity);
+        dto.setUom(uom);
+        dto.setCapacity(capacity);
+        dto.setProfile(profile);
+        return dto;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .periodStartDate(periodStartDate)
+                .periodStartTime(periodStartTime)
+                .periodEndDate(periodEndDate)
+                .periodEndTime(periodEndTime)
+                .dayHour(dayHour)
+                .quantity(quantity)
+                .uom(uom)
+                .capacity(capacity)
+                .profile(profile);
+    }
+
+    public static final class Builder {
+
+        private LocalDate periodStartDate;
+        private Instant periodStartTime;
+        private LocalDate periodEndDate;
+        private Instant periodEndTime;
+        private String dayHour;
+        private double quantity;
+        private String uom;
+        private double capacity;
+        private Profile profile;
+
+        private Builder() {
+        }
+
+        public Builder periodStartDate(LocalDate periodStartDate) {
+            this.periodStartDate = periodStartDate;
+            return this;
+        }
+
+        public Builder periodStartTime(Instant periodStartTime) {
+            this.periodStartTime = periodStartTime;
+            return this;
+        }
+
+        public Builder periodEndDate(LocalDate periodEndDate) {
+            this.periodEndDate = periodEndDate;
+            return this;
+        }
+
+        public Builder periodEndTime(Instant periodEndTime) {
+            this.periodEndTime = periodEndTime;
+            return this;
+        }
+
+        public Builder dayHour(String dayHour) {
+            this.dayHour = dayHour;
+            return this;
+        }
+
+        public Builder quantity(double quantity) {
+            this.quantity = quantity;
+            return this;
+        }
+
+        public Builder uom(String uom) {
+            this.uom = uom;
+            return this;
+        }
+
+        public Builder capacity(double capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Builder profile(Profile profile) {
+            this.profile = profile;
+            return this;
+        }
+
+        public PhysicalLineItemRecord build() {
+            return new PhysicalLineItemRecord(
+                    periodStartDate,
+                    periodStartTime,
+                    periodEndDate,
+                    periodEndTime,
+                    dayHour,
+                    quantity,
+                    uom,
+                    capacity,
+                    profile);
+        }
+    }
+}
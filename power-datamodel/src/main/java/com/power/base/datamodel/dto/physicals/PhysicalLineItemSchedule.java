@@ -0,0 +1,619 @@
+package com.power.base.datamodel.dto.physicals;
+
+import com.power.base.datamodel.dto.common.Profile;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Struct-of-arrays representation of a physical delivery schedule.
+ * <p>
+ * Each line item is stored as one slot across a set of primitive columns (epoch millis, epoch days, quantity and
+ * capacity) while the repeating strings ({@code dayHour} labels and units of measure) are dictionary encoded and the
+ * profile is kept as an enum ordinal. A year of one-minute segments therefore costs a handful of arrays instead of
+ * half a million {@link PhysicalLineItemDto} objects. Instants keep their full precision: the nanoseconds below the
+ * millisecond go into two further columns, allocated only once an instant has any.
+ * <p>
+ * {@link #asList()} exposes a mutable {@link List} view that materialises a {@link PhysicalLineItemDto} per
+ * {@code get} call; mutating a returned element does not write back, use {@code set} on the view instead. The
+ * immutable {@link PhysicalTradeDetailsRecord} keeps a private copy behind a read-only view of
+ * {@link PhysicalLineItemRecord}s, likewise materialised per {@code get}.
+ */
+public class PhysicalLineItemSchedule implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NO_CODE = -1;
+    private static final Profile[] PROFILES = Profile.values();
+
+    private int size;
+    private long[] startEpochMillis;
+    private long[] endEpochMillis;
+    private int[] startNanosOfMilli;
+    private int[] endNanosOfMilli;
+    private int[] startEpochDays;
+    private int[] endEpochDays;
+    private double[] quantities;
+    private double[] capacities;
+    private int[] dayHourCodes;
+    private int[] uomCodes;
+    private byte[] profileCodes;
+
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+
+    public PhysicalLineItemSchedule() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PhysicalLineItemSchedule(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative");
+        }
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Copies the supplied line items into a new columnar schedule.
+     *
+     * @param lineItems line items to copy, {@code null} yields an empty schedule
+     * @return schedule holding one slot per line item, in iteration order
+     */
+    public static PhysicalLineItemSchedule fromLineItems(Collection<? extends PhysicalLineItemDto> lineItems) {
+        if (lineItems == null) {
+            return new PhysicalLineItemSchedule();
+        }
+        if (lineItems instanceof LineItemView view) {
+            return view.schedule().copy();
+        }
+        PhysicalLineItemSchedule schedule = new PhysicalLineItemSchedule(lineItems.size());
+        for (PhysicalLineItemDto lineItem : lineItems) {
+            schedule.add(lineItem);
+        }
+        return schedule;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Appends a line item using already decoded column values.
+     */
+    public void add(long periodStartEpochMilli,
+                    long periodEndEpochMilli,
+                    LocalDate periodStartDate,
+                    LocalDate periodEndDate,
+                    String dayHour,
+                    double quantity,
+                    String uom,
+                    double capacity,
+                    Profile profile) {
+        add(periodStartEpochMilli, periodEndEpochMilli, 0, periodStartDate, periodEndDate, dayHour, quantity, uom,
+                capacity, profile);
+    }
+
+    /**
+     * Appends a line item whose start and end both lie {@code nanosOfMilli} nanoseconds past their epoch millis.
+     */
+    void add(long periodStartEpochMilli,
+             long periodEndEpochMilli,
+             int nanosOfMilli,
+             LocalDate periodStartDate,
+             LocalDate periodEndDate,
+             String dayHour,
+             double quantity,
+             String uom,
+             double capacity,
+             Profile profile) {
+        ensureCapacity(size + 1);
+        write(size++, periodStartEpochMilli, nanosOfMilli, periodEndEpochMilli, nanosOfMilli, periodStartDate,
+                periodEndDate, dayHour, quantity, uom, capacity, profile);
+    }
+
+    public void add(Instant periodStartTime,
+                    Instant periodEndTime,
+                    LocalDate periodStartDate,
+                    LocalDate periodEndDate,
+                    String dayHour,
+                    double quantity,
+                    String uom,
+                    double capacity,
+                    Profile profile) {
+        ensureCapacity(size + 1);
+        write(size++, toEpochMilli(periodStartTime), nanosOfMilli(periodStartTime), toEpochMilli(periodEndTime),
+                nanosOfMilli(periodEndTime), periodStartDate, periodEndDate, dayHour, quantity, uom, capacity, profile);
+    }
+
+    public void add(PhysicalLineItemDto lineItem) {
+        insert(size, lineItem);
+    }
+
+    public void insert(int index, PhysicalLineItemDto lineItem) {
+        Objects.requireNonNull(lineItem, "lineItem must not be null");
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        shift(index, index + 1, size - index);
+        size++;
+        set(index, lineItem);
+    }
+
+    public void set(int index, PhysicalLineItemDto lineItem) {
+        Objects.requireNonNull(lineItem, "lineItem must not be null");
+        checkIndex(index);
+        write(index,
+                toEpochMilli(lineItem.getPeriodStartTime()),
+                nanosOfMilli(lineItem.getPeriodStartTime()),
+                toEpochMilli(lineItem.getPeriodEndTime()),
+                nanosOfMilli(lineItem.getPeriodEndTime()),
+                lineItem.getPeriodStartDate(),
+                lineItem.getPeriodEndDate(),
+                lineItem.getDayHour(),
+                lineItem.getQuantity(),
+                lineItem.getUom(),
+                lineItem.getCapacity(),
+                lineItem.getProfile());
+    }
+
+    public void remove(int index) {
+        checkIndex(index);
+        shift(index + 1, index, size - index - 1);
+        size--;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Releases unused column capacity once the schedule is fully built.
+     */
+    public void trimToSize() {
+        if (startEpochMillis.length != size) {
+            resize(size);
+        }
+    }
+
+    public boolean hasPeriodStartTime(int index) {
+        checkIndex(index);
+        return startEpochMillis[index] != NO_TIME;
+    }
+
+    /**
+     * @return the period start in epoch millis, without the nanoseconds below the millisecond
+     */
+    public long getPeriodStartEpochMilli(int index) {
+        checkIndex(index);
+        return startEpochMillis[index];
+    }
+
+    public Instant getPeriodStartTime(int index) {
+        checkIndex(index);
+        return toInstant(startEpochMillis[index], startNanosOfMilli, index);
+    }
+
+    public boolean hasPeriodEndTime(int index) {
+        checkIndex(index);
+        return endEpochMillis[index] != NO_TIME;
+    }
+
+    /**
+     * @return the period end in epoch millis, without the nanoseconds below the millisecond
+     */
+    public long getPeriodEndEpochMilli(int index) {
+        checkIndex(index);
+        return endEpochMillis[index];
+    }
+
+    public Instant getPeriodEndTime(int index) {
+        checkIndex(index);
+        return toInstant(endEpochMillis[index], endNanosOfMilli, index);
+    }
+
+    public LocalDate getPeriodStartDate(int index) {
+        checkIndex(index);
+        return toLocalDate(startEpochDays[index]);
+    }
+
+    public LocalDate getPeriodEndDate(int index) {
+        checkIndex(index);
+        return toLocalDate(endEpochDays[index]);
+    }
+
+    public String getDayHour(int index) {
+        checkIndex(index);
+        return decode(dayHourCodes[index]);
+    }
+
+    public double getQuantity(int index) {
+        checkIndex(index);
+        return quantities[index];
+    }
+
+    public String getUom(int index) {
+        checkIndex(index);
+        return decode(uomCodes[index]);
+    }
+
+    public double getCapacity(int index) {
+        checkIndex(index);
+        return capacities[index];
+    }
+
+    public Profile getProfile(int index) {
+        checkIndex(index);
+        byte code = profileCodes[index];
+        return code == NO_CODE ? null : PROFILES[code];
+    }
+
+    /**
+     * @return sum of all quantities without materialising line items
+     */
+    public double totalQuantity() {
+        double total = 0d;
+        for (int i = 0; i < size; i++) {
+            total += quantities[i];
+        }
+        return total;
+    }
+
+    /**
+     * Compares one slot of this schedule with a slot of another column by column, without materialising either
+     * line item. Doubles are compared bitwise so that {@code NaN} equals itself.
+     */
+    public boolean sameLineItem(int index, PhysicalLineItemSchedule other, int otherIndex) {
+        checkIndex(index);
+        other.checkIndex(otherIndex);
+        return startEpochMillis[index] == other.startEpochMillis[otherIndex]
+                && endEpochMillis[index] == other.endEpochMillis[otherIndex]
+                && nanosOfMilli(startNanosOfMilli, index) == nanosOfMilli(other.startNanosOfMilli, otherIndex)
+                && nanosOfMilli(endNanosOfMilli, index) == nanosOfMilli(other.endNanosOfMilli, otherIndex)
+                && startEpochDays[index] == other.startEpochDays[otherIndex]
+                && endEpochDays[index] == other.endEpochDays[otherIndex]
+                && Double.doubleToLongBits(quantities[index]) == Double.doubleToLongBits(other.quantities[otherIndex])
+                && Double.doubleToLongBits(capacities[index]) == Double.doubleToLongBits(other.capacities[otherIndex])
+                && profileCodes[index] == other.profileCodes[otherIndex]
+                && Objects.equals(decode(dayHourCodes[index]), other.decode(other.dayHourCodes[otherIndex]))
+                && Objects.equals(decode(uomCodes[index]), other.decode(other.uomCodes[otherIndex]));
+    }
+
+    /**
+     * @return number of distinct strings held by the label/uom dictionary
+     */
+    public int dictionarySize() {
+        return dictionary.size();
+    }
+
+    public PhysicalLineItemDto toLineItem(int index) {
+        checkIndex(index);
+        return new PhysicalLineItemDto(
+                toLocalDate(startEpochDays[index]),
+                toInstant(startEpochMillis[index], startNanosOfMilli, index),
+                toLocalDate(endEpochDays[index]),
+                toInstant(endEpochMillis[index], endNanosOfMilli, index),
+                decode(dayHourCodes[index]),
+                quantities[index],
+                decode(uomCodes[index]),
+                capacities[index],
+                profileCodes[index] == NO_CODE ? null : PROFILES[profileCodes[index]]
+        );
+    }
+
+    public PhysicalLineItemRecord toRecord(int index) {
+        checkIndex(index);
+        return new PhysicalLineItemRecord(
+                toLocalDate(startEpochDays[index]),
+                toInstant(startEpochMillis[index], startNanosOfMilli, index),
+                toLocalDate(endEpochDays[index]),
+                toInstant(endEpochMillis[index], endNanosOfMilli, index),
+                decode(dayHourCodes[index]),
+                quantities[index],
+                decode(uomCodes[index]),
+                capacities[index],
+                profileCodes[index] == NO_CODE ? null : PROFILES[profileCodes[index]]
+        );
+    }
+
+    /**
+     * @return a live, mutable list view backed by this schedule
+     */
+    public List<PhysicalLineItemDto> asList() {
+        return new LineItemView(this);
+    }
+
+    /**
+     * Read-only record view over a copy of {@code lineItems}, or {@code lineItems} itself when it already is one.
+     */
+    static RecordView recordView(List<PhysicalLineItemRecord> lineItems) {
+        if (lineItems instanceof RecordView view) {
+            return view;
+        }
+        PhysicalLineItemSchedule schedule = new PhysicalLineItemSchedule(lineItems == null ? 0 : lineItems.size());
+        if (lineItems != null) {
+            for (PhysicalLineItemRecord lineItem : lineItems) {
+                schedule.add(lineItem.periodStartTime(), lineItem.periodEndTime(), lineItem.periodStartDate(),
+                        lineItem.periodEndDate(), lineItem.dayHour(), lineItem.quantity(), lineItem.uom(),
+                        lineItem.capacity(), lineItem.profile());
+            }
+        }
+        return new RecordView(schedule);
+    }
+
+    /**
+     * Read-only record view over a copy of this schedule.
+     */
+    RecordView recordView() {
+        return new RecordView(copy());
+    }
+
+    public PhysicalLineItemSchedule copy() {
+        PhysicalLineItemSchedule copy = new PhysicalLineItemSchedule(0);
+        copy.size = size;
+        copy.startEpochMillis = Arrays.copyOf(startEpochMillis, size);
+        copy.endEpochMillis = Arrays.copyOf(endEpochMillis, size);
+        copy.startNanosOfMilli = startNanosOfMilli == null ? null : Arrays.copyOf(startNanosOfMilli, size);
+        copy.endNanosOfMilli = endNanosOfMilli == null ? null : Arrays.copyOf(endNanosOfMilli, size);
+        copy.startEpochDays = Arrays.copyOf(startEpochDays, size);
+        copy.endEpochDays = Arrays.copyOf(endEpochDays, size);
+        copy.quantities = Arrays.copyOf(quantities, size);
+        copy.capacities = Arrays.copyOf(capacities, size);
+        copy.dayHourCodes = Arrays.copyOf(dayHourCodes, size);
+        copy.uomCodes = Arrays.copyOf(uomCodes, size);
+        copy.profileCodes = Arrays.copyOf(profileCodes, size);
+        copy.dictionary.addAll(dictionary);
+        copy.dictionaryIndex.putAll(dictionaryIndex);
+        return copy;
+    }
+
+    private void write(int index,
+                       long periodStartEpochMilli,
+                       int periodStartNanosOfMilli,
+                       long periodEndEpochMilli,
+                       int periodEndNanosOfMilli,
+                       LocalDate periodStartDate,
+                       LocalDate periodEndDate,
+                       String dayHour,
+                       double quantity,
+                       String uom,
+                       double capacity,
+                       Profile profile) {
+        startEpochMillis[index] = periodStartEpochMilli;
+        endEpochMillis[index] = periodEndEpochMilli;
+        if (periodStartNanosOfMilli != 0 || periodEndNanosOfMilli != 0 || startNanosOfMilli != null) {
+            if (startNanosOfMilli == null) {
+                startNanosOfMilli = new int[startEpochMillis.length];
+                endNanosOfMilli = new int[startEpochMillis.length];
+            }
+            startNanosOfMilli[index] = periodStartNanosOfMilli;
+            endNanosOfMilli[index] = periodEndNanosOfMilli;
+        }
+        startEpochDays[index] = periodStartDate == null ? NO_DATE : Math.toIntExact(periodStartDate.toEpochDay());
+        endEpochDays[index] = periodEndDate == null ? NO_DATE : Math.toIntExact(periodEndDate.toEpochDay());
+        dayHourCodes[index] = encode(dayHour);
+        quantities[index] = quantity;
+        uomCodes[index] = encode(uom);
+        capacities[index] = capacity;
+        profileCodes[index] = profile == null ? NO_CODE : (byte) profile.ordinal();
+    }
+
+    private int encode(String value) {
+        if (value == null) {
+            return NO_CODE;
+        }
+        Integer code = dictionaryIndex.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(value);
+            dictionaryIndex.put(value, code);
+        }
+        return code;
+    }
+
+    private String decode(int code) {
+        return code == NO_CODE ? null : dictionary.get(code);
+    }
+
+    private static long toEpochMilli(Instant instant) {
+        return instant == null ? NO_TIME : instant.toEpochMilli();
+    }
+
+    private static int nanosOfMilli(Instant instant) {
+        return instant == null ? 0 : instant.getNano() % 1_000_000;
+    }
+
+    private static int nanosOfMilli(int[] column, int index) {
+        return column == null ? 0 : column[index];
+    }
+
+    private static Instant toInstant(long epochMilli, int[] nanosOfMilli, int index) {
+        if (epochMilli == NO_TIME) {
+            return null;
+        }
+        Instant instant = Instant.ofEpochMilli(epochMilli);
+        return nanosOfMilli == null ? instant : instant.plusNanos(nanosOfMilli[index]);
+    }
+
+    private static LocalDate toLocalDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > startEpochMillis.length) {
+            resize(Math.max(required, startEpochMillis.length + (startEpochMillis.length >> 1) + 1));
+        }
+    }
+
+    private void allocate(int capacity) {
+        startEpochMillis = new long[capacity];
+        endEpochMillis = new long[capacity];
+        startEpochDays = new int[capacity];
+        endEpochDays = new int[capacity];
+        quantities = new double[capacity];
+        capacities = new double[capacity];
+        dayHourCodes = new int[capacity];
+        uomCodes = new int[capacity];
+        profileCodes = new byte[capacity];
+    }
+
+    private void resize(int capacity) {
+        startEpochMillis = Arrays.copyOf(startEpochMillis, capacity);
+        endEpochMillis = Arrays.copyOf(endEpochMillis, capacity);
+        if (startNanosOfMilli != null) {
+            startNanosOfMilli = Arrays.copyOf(startNanosOfMilli, capacity);
+            endNanosOfMilli = Arrays.copyOf(endNanosOfMilli, capacity);
+        }
+        startEpochDays = Arrays.copyOf(startEpochDays, capacity);
+        endEpochDays = Arrays.copyOf(endEpochDays, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        capacities = Arrays.copyOf(capacities, capacity);
+        dayHourCodes = Arrays.copyOf(dayHourCodes, capacity);
+        uomCodes = Arrays.copyOf(uomCodes, capacity);
+        profileCodes = Arrays.copyOf(profileCodes, capacity);
+    }
+
+    private void shift(int from, int to, int length) {
+        if (length <= 0) {
+            return;
+        }
+        System.arraycopy(startEpochMillis, from, startEpochMillis, to, length);
+        System.arraycopy(endEpochMillis, from, endEpochMillis, to, length);
+        if (startNanosOfMilli != null) {
+            System.arraycopy(startNanosOfMilli, from, startNanosOfMilli, to, length);
+            System.arraycopy(endNanosOfMilli, from, endNanosOfMilli, to, length);
+        }
+        System.arraycopy(startEpochDays, from, startEpochDays, to, length);
+        System.arraycopy(endEpochDays, from, endEpochDays, to, length);
+        System.arraycopy(quantities, from, quantities, to, length);
+        System.arraycopy(capacities, from, capacities, to, length);
+        System.arraycopy(dayHourCodes, from, dayHourCodes, to, length);
+        System.arraycopy(uomCodes, from, uomCodes, to, length);
+        System.arraycopy(profileCodes, from, profileCodes, to, length);
+    }
+
+    private static final class LineItemView extends AbstractList<PhysicalLineItemDto> implements RandomAccess {
+
+        private final PhysicalLineItemSchedule schedule;
+
+        private LineItemView(PhysicalLineItemSchedule schedule) {
+            this.schedule = schedule;
+        }
+
+        private PhysicalLineItemSchedule schedule() {
+            return schedule;
+        }
+
+        @Override
+        public PhysicalLineItemDto get(int index) {
+            return schedule.toLineItem(index);
+        }
+
+        @Override
+        public int size() {
+            return schedule.size();
+        }
+
+        @Override
+        public PhysicalLineItemDto set(int index, PhysicalLineItemDto element) {
+            PhysicalLineItemDto previous = schedule.toLineItem(index);
+            schedule.set(index, element);
+            return previous;
+        }
+
+        @Override
+        public void add(int index, PhysicalLineItemDto element) {
+            schedule.insert(index, element);
+            modCount++;
+        }
+
+        @Override
+        public PhysicalLineItemDto remove(int index) {
+            PhysicalLineItemDto previous = schedule.toLineItem(index);
+            schedule.remove(index);
+            modCount++;
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            schedule.clear();
+            modCount++;
+        }
+    }
+
+    /**
+     * Unmodifiable list of records over a schedule nothing else holds. Views compare column by column.
+     */
+    static final class RecordView extends AbstractList<PhysicalLineItemRecord> implements RandomAccess, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PhysicalLineItemSchedule schedule;
+
+        private RecordView(PhysicalLineItemSchedule schedule) {
+            this.schedule = schedule;
+        }
+
+        /**
+         * @return a copy of the schedule behind this view
+         */
+        PhysicalLineItemSchedule schedule() {
+            return schedule.copy();
+        }
+
+        @Override
+        public PhysicalLineItemRecord get(int index) {
+            return schedule.toRecord(index);
+        }
+
+        @Override
+        public int size() {
+            return schedule.size();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof RecordView view)) {
+                return super.equals(other);
+            }
+            if (view.size() != size()) {
+                return false;
+            }
+            for (int i = 0; i < size(); i++) {
+                if (!schedule.sameLineItem(i, view.schedule, i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return super.hashCode();
+        }
+    }
+}
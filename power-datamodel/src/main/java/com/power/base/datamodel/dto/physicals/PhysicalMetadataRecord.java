@@ -0,0 +1,32 @@
+package com.power.base.datamodel.dto.physicals;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Immutable counterpart of {@link PhysicalMetadataDto}.
+ */
+public record PhysicalMetadataRecord(LocalDate effectiveDate,
+                                     LocalDate terminationDate,
+                                     String governingLaw) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static PhysicalMetadataRecord fromDto(PhysicalMetadataDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new PhysicalMetadataRecord(
+                dto.getEffectiveDate(),
+                dto.getTerminationDate(),
+                dto.getGoverningLaw());
+    }
+
+    public PhysicalMetadataDto toDto() {
+        PhysicalMetadataDto dto = new PhysicalMetadataDto();
+        dto.setEffectiveDate(effectiveDate);
+        dto.setTerminationDate(terminationDate);
+        dto.setGoverningLaw(governingLaw);
+        return dto;
+    }
+}
@@ -0,0 +1,36 @@
+package com.power.base.datamodel.dto.physicals;
+
+import java.io.Serializable;
+
+/**
+ * Immutable counterpart of {@link PhysicalPowerTradeDto}. Records are shallowly immutable and their lists are
+ * unmodifiable, so an instance can be shared across threads and caches without the defensive copies the mutable
+ * DTOs need; {@link #fromDto} and {@link #toDto()} convert at the boundaries that still speak DTOs.
+ */
+public record PhysicalPowerTradeRecord(PhysicalTradeHeaderRecord tradeHeader,
+                                       PhysicalTradeDetailsRecord tradeDetails,
+                                       PhysicalSettlementInfoRecord settlementInfo,
+                                       PhysicalMetadataRecord metadata) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static PhysicalPowerTradeRecord fromDto(PhysicalPowerTradeDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new PhysicalPowerTradeRecord(
+                PhysicalTradeHeaderRecord.fromDto(dto.getTradeHeader()),
+                PhysicalTradeDetailsRecord.fromDto(dto.getTradeDetails()),
+                PhysicalSettlementInfoRecord.fromDto(dto.getSettlementInfo()),
+                PhysicalMetadataRecord.fromDto(dto.getMetadata()));
+    }
+
+    public PhysicalPowerTradeDto toDto() {
+        PhysicalPowerTradeDto dto = new PhysicalPowerTradeDto();
+        dto.setTradeHeader(tradeHeader == null ? null : tradeHeader.toDto());
+        dto.setTradeDetails(tradeDetails == null ? null : tradeDetails.toDto());
+        dto.setSettlementInfo(settlementInfo == null ? null : settlementInfo.toDto());
+        dto.setMetadata(metadata == null ? null : metadata.toDto());
+        return dto;
+    }
+}
@@ -0,0 +1,332 @@
+package com.power.base.datamodel.dto.physicals;
+
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.common.ZoneOffsetTable;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.TextStyle;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy generator for contiguous physical delivery segments.
+ * <p>
+ * Produces exactly the same segments as {@link PhysicalLineItemDto#generateSchedule} without building the whole
+ * list up front. The zone transitions inside the range are resolved once into a {@link ZoneOffsetTable} and
+ * {@code dayHour} labels are cached per profile, so the hot loop is plain epoch arithmetic with no per-segment
+ * {@code ZonedDateTime}. Segments straddling a DST change get their true wall-clock end, which yields the 23 and 25
+ * hour local days and labels such as {@code "Sun 01:00-03:00"}. Segments can be
+ * consumed as objects through {@link #stream(boolean)} / {@link #iterator()}, or pushed as primitives into a
+ * {@link SegmentSink} or straight into a {@link PhysicalLineItemSchedule}.
+ */
+public final class PhysicalScheduleGenerator implements Iterable<PhysicalLineItemDto> {
+
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int MINUTES_PER_DAY = 1_440;
+    private static final String[] DAY_NAMES = new String[7];
+    private static final String[][] LABEL_CACHE = new String[Profile.values().length][];
+
+    static {
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            DAY_NAMES[dayOfWeek.getValue() - 1] = dayOfWeek.getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+        }
+        for (int i = 0; i < LABEL_CACHE.length; i++) {
+            LABEL_CACHE[i] = new String[7 * MINUTES_PER_DAY];
+        }
+    }
+
+    /**
+     * Primitive callback receiving one segment at a time.
+     */
+    @FunctionalInterface
+    public interface SegmentSink {
+
+        void accept(int index,
+                    long startEpochSecond,
+                    long endEpochSecond,
+                    int nanoOfSecond,
+                    long startEpochDay,
+                    long endEpochDay,
+                    String dayHour);
+    }
+
+    private final Instant startInclusive;
+    private final Profile profile;
+    private final ZoneOffsetTable offsets;
+    private final double quantity;
+    private final String uom;
+    private final double capacity;
+    private final long startEpochSecond;
+    private final int nanoOfSecond;
+    private final long stepSeconds;
+    private final int stepMinutes;
+    private final int segmentCount;
+    private final String[] labels;
+
+    private PhysicalScheduleGenerator(Instant startInclusive,
+                                      Instant endExclusive,
+                                      Profile profile,
+                                      ZoneId zoneId,
+                                      double quantity,
+                                      String uom,
+                                      double capacity) {
+        Objects.requireNonNull(startInclusive, "startInclusive must not be null");
+        Objects.requireNonNull(endExclusive, "endExclusive must not be null");
+        Objects.requireNonNull(profile, "profile must not be null");
+
+        if (!startInclusive.isBefore(endExclusive)) {
+            throw new IllegalArgumentException("startInclusive must be before endExclusive");
+        }
+
+        var step = profile.getDuration();
+        if (step.isZero() || step.isNegative()) {
+            throw new IllegalArgumentException("Profile duration must be positive");
+        }
+
+        long totalSeconds = endExclusive.getEpochSecond() - startInclusive.getEpochSecond();
+        this.stepSeconds = step.getSeconds();
+        if (totalSeconds % stepSeconds != 0) {
+            throw new IllegalArgumentException("Range must be an exact multiple of the profile duration");
+        }
+
+        this.startInclusive = startInclusive;
+        this.profile = profile;
+        this.quantity = quantity;
+        this.uom = uom;
+        this.capacity = capacity;
+        this.startEpochSecond = startInclusive.getEpochSecond();
+        this.nanoOfSecond = startInclusive.getNano();
+        this.stepMinutes = (int) (stepSeconds / 60);
+        // the last segment only fits when the start's sub-second part is below the end's
+        long segments = totalSeconds / stepSeconds + (nanoOfSecond < endExclusive.getNano() ? 1 : 0);
+        this.segmentCount = Math.toIntExact(segments);
+        this.offsets = ZoneOffsetTable.of(zoneId, startEpochSecond, startEpochSecond + segments * stepSeconds);
+        this.labels = LABEL_CACHE[profile.ordinal()];
+    }
+
+    public static PhysicalScheduleGenerator of(Instant startInclusive,
+                                               Instant endExclusive,
+                                               Profile profile,
+                                               ZoneId zoneId,
+                                               double quantity,
+                                               String uom,
+                                               double capacity) {
+        return new PhysicalScheduleGenerator(startInclusive, endExclusive, profile, zoneId, quantity, uom, capacity);
+    }
+
+    public int size() {
+        return segmentCount;
+    }
+
+    /**
+     * Pushes every segment to the sink without allocating line item objects.
+     */
+    public void forEachSegment(SegmentSink sink) {
+        forEachSegment(0, segmentCount, sink);
+    }
+
+    /**
+     * Fills a columnar schedule sized exactly to this generator.
+     */
+    public PhysicalLineItemSchedule toSchedule() {
+        PhysicalLineItemSchedule schedule = new PhysicalLineItemSchedule(segmentCount);
+        long stepMillis = stepSeconds * 1_000L;
+        int nanoMillis = nanoOfSecond / 1_000_000;
+        int nanosOfMilli = nanoOfSecond % 1_000_000;
+        forEachSegment((index, startSecond, endSecond, nano, startDay, endDay, dayHour) -> {
+            long startMillis = startSecond * 1_000L + nanoMillis;
+            schedule.add(startMillis, startMillis + stepMillis, nanosOfMilli, LocalDate.ofEpochDay(startDay),
+                    LocalDate.ofEpochDay(endDay), dayHour, quantity, uom, capacity, profile);
+        });
+        return schedule;
+    }
+
+    public PhysicalLineItemDto segment(int index) {
+        Objects.checkIndex(index, segmentCount);
+        PhysicalLineItemDto[] holder = new PhysicalLineItemDto[1];
+        forEachSegment(index, index + 1, (i, startSecond, endSecond, nano, startDay, endDay, dayHour) ->
+                holder[0] = toLineItem(startSecond, endSecond, startDay, endDay, dayHour));
+        return holder[0];
+    }
+
+    @Override
+    public Iterator<PhysicalLineItemDto> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    @Override
+    public Spliterator<PhysicalLineItemDto> spliterator() {
+        return new SegmentSpliterator(0, segmentCount);
+    }
+
+    /**
+     * @param parallel whether the returned stream may split the range across worker threads, at local midnights
+     */
+    public Stream<PhysicalLineItemDto> stream(boolean parallel) {
+        return StreamSupport.stream(spliterator(), parallel);
+    }
+
+    private void forEachSegment(int fromIndex, int toIndex, SegmentSink sink) {
+        long segmentStart = startEpochSecond + fromIndex * stepSeconds;
+        ZoneOffsetTable.Cursor startCursor = offsets.cursor(segmentStart);
+        ZoneOffsetTable.Cursor endCursor = offsets.cursor(segmentStart + stepSeconds);
+        for (int i = fromIndex; i < toIndex; i++) {
+            long segmentEnd = segmentStart + stepSeconds;
+            long localStart = startCursor.toLocalEpochSecond(segmentStart);
+            long localEnd = endCursor.toLocalEpochSecond(segmentEnd);
+            long startDay = Math.floorDiv(localStart, SECONDS_PER_DAY);
+            long endDay = Math.floorDiv(localEnd, SECONDS_PER_DAY);
+            int startMinute = (int) (Math.floorMod(localStart, SECONDS_PER_DAY) / 60);
+            int endMinute = (int) (Math.floorMod(localEnd, SECONDS_PER_DAY) / 60);
+            int dayOfWeek = (int) Math.floorMod(startDay + 3, 7);
+            sink.accept(i, segmentStart, segmentEnd, nanoOfSecond, startDay, endDay,
+                    label(dayOfWeek, startMinute, endMinute));
+            segmentStart = segmentEnd;
+        }
+    }
+
+    private long localDay(int segment) {
+        return Math.floorDiv(offsets.toLocalEpochSecond(startEpochSecond + segment * stepSeconds), SECONDS_PER_DAY);
+    }
+
+    /**
+     * @return the first segment starting on the same local day as {@code segment}
+     */
+    private int firstSegmentOfDay(int segment) {
+        long localStart = offsets.toLocalEpochSecond(startEpochSecond + segment * stepSeconds);
+        long day = Math.floorDiv(localStart, SECONDS_PER_DAY);
+        int first = (int) Math.max(0, segment - Math.floorMod(localStart, SECONDS_PER_DAY) / stepSeconds);
+        // an offset change earlier in the day moves midnight by the size of the change
+        while (first > 0 && localDay(first - 1) == day) {
+            first--;
+        }
+        while (localDay(first) != day) {
+            first++;
+        }
+        return first;
+    }
+
+    private String label(int dayOfWeek, int startMinute, int endMinute) {
+        if (endMinute != (startMinute + stepMinutes) % MINUTES_PER_DAY) {
+            // segment spans an offset change, the end clock time is not start + step
+            return formatLabel(dayOfWeek, startMinute, endMinute);
+        }
+        int slot = dayOfWeek * MINUTES_PER_DAY + startMinute;
+        String cached = labels[slot];
+        if (cached == null) {
+            cached = formatLabel(dayOfWeek, startMinute, endMinute);
+            labels[slot] = cached;
+        }
+        return cached;
+    }
+
+    private PhysicalLineItemDto toLineItem(long startSecond, long endSecond, long startDay, long endDay, String dayHour) {
+        return new PhysicalLineItemDto(
+                LocalDate.ofEpochDay(startDay),
+                Instant.ofEpochSecond(startSecond, nanoOfSecond),
+                LocalDate.ofEpochDay(endDay),
+                Instant.ofEpochSecond(endSecond, nanoOfSecond),
+                dayHour,
+                quantity,
+                uom,
+                capacity,
+                profile
+        );
+    }
+
+    private static String formatLabel(int dayOfWeek, int startMinute, int endMinute) {
+        char[] chars = new char[15];
+        String dayName = DAY_NAMES[dayOfWeek];
+        dayName.getChars(0, 3, chars, 0);
+        chars[3] = ' ';
+        writeTime(chars, 4, startMinute);
+        chars[9] = '-';
+        writeTime(chars, 10, endMinute);
+        return new String(chars);
+    }
+
+    private static void writeTime(char[] chars, int position, int minuteOfDay) {
+        int hour = minuteOfDay / 60;
+        int minute = minuteOfDay % 60;
+        chars[position] = (char) ('0' + hour / 10);
+        chars[position + 1] = (char) ('0' + hour % 10);
+        chars[position + 2] = ':';
+        chars[position + 3] = (char) ('0' + minute / 10);
+        chars[position + 4] = (char) ('0' + minute % 10);
+    }
+
+    private final class SegmentSpliterator implements Spliterator<PhysicalLineItemDto> {
+
+        private int index;
+        private final int fence;
+
+        private SegmentSpliterator(int index, int fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super PhysicalLineItemDto> action) {
+            if (index >= fence) {
+                return false;
+            }
+            int current = index++;
+            forEachSegment(current, current + 1, (i, startSecond, endSecond, nano, startDay, endDay, dayHour) ->
+                    action.accept(toLineItem(startSecond, endSecond, startDay, endDay, dayHour)));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super PhysicalLineItemDto> action) {
+            int from = index;
+            index = fence;
+            forEachSegment(from, fence, (i, startSecond, endSecond, nano, startDay, endDay, dayHour) ->
+                    action.accept(toLineItem(startSecond, endSecond, startDay, endDay, dayHour)));
+        }
+
+        /**
+         * Splits at the local midnight that starts the day of the middle segment, or at the next one when the
+         * remaining range starts on that day, so every delivery day stays in one piece.
+         */
+        @Override
+        public Spliterator<PhysicalLineItemDto> trySplit() {
+            if (fence - index < 2) {
+                return null;
+            }
+            int middle = index + (fence - index) / 2;
+            int split = firstSegmentOfDay(middle);
+            if (split <= index) {
+                long firstDay = localDay(index);
+                split = middle;
+                while (split < fence && localDay(split) == firstDay) {
+                    split++;
+                }
+            }
+            if (split >= fence) {
+                return null;
+            }
+            SegmentSpliterator prefix = new SegmentSpliterator(index, split);
+            index = split;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+}
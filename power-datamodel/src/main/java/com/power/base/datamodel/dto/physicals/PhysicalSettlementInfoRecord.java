@@ -0,0 +1,271 @@
+package com.power.base.datamodel.dto.physicals;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable counterpart of {@link PhysicalSettlementInfoDto}.
+ */
+public record PhysicalSettlementInfoRecord(double totalVolume,
+                                           String totalVolumeUom,
+                                           String pricingMechanism,
+                                           double settlementPrice,
+                                           double tradePrice,
+                                           String settlementCurrency,
+                                           String tradeCurrency,
+                                           String settlementUom,
+                                           String tradeUom,
+                                           LocalDate startApplicabilityDate,
+                                           Instant startApplicabilityTime,
+                                           LocalDate endApplicabilityDate,
+                                           Instant endApplicabilityTime,
+                                           String paymentEvent,
+                                           double paymentOffset,
+                                           double totalContractValue,
+                                           double rounding,
+                                           List<PhysicalSettlementItemRecord> settlementItems) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public PhysicalSettlementInfoRecord {
+        settlementItems = settlementItems == null ? List.of() : List.copyOf(settlementItems);
+    }
+
+    public static PhysicalSettlementInfoRecord fromDto(PhysicalSettlementInfoDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new PhysicalSettlementInfoRecord(
+                dto.getTotalVolume(),
+                dto.getTotalVolumeUom(),
+                dto.getPricingMechanism(),
+                dto.getSettlementPrice(),
+                dto.getTradePrice(),
+                dto.getSettlementCurrency(),
+                dto.getTradeCurrency(),
+                dto.getSettlementUom(),
+                dto.getTradeUom(),
+                dto.getStartApplicabilityDate(),
+                dto.getStartApplicabilityTime(),
+                dto.getEndApplicabilityDate(),
+                dto.getEndApplicabilityTime(),
+                dto.getPaymentEvent(),
+                dto.getPaymentOffset(),
+                dto.getTotalContractValue(),
+                dto.getRounding(),
+                records(dto.getSettlementItems()));
+    }
+
+    public PhysicalSettlementInfoDto toDto() {
+        PhysicalSettlementInfoDto dto = new PhysicalSettlementInfoDto();
+        dto.setTotalVolume(totalVolume);
+        dto.setTotalVolumeUom(totalVolumeUom);
+        dto.setPricingMechanism(pricingMechanism);
+        dto.setSettlementPrice(settlementPrice);
+        dto.setTradePrice(tradePrice);
+        dto.setSettlementCurrency(settlementCurrency);
+        dto.setTradeCurrency(tradeCurrency);
+        dto.setSettlementUom(settlementUom);
+        dto.setTradeUom(tradeUom);
+        dto.setStartApplicabilityDate(startApplicabilityDate);
+        dto.setStartApplicabilityTime(startApplicabilityTime);
+        dto.setEndApplicabilityDate(endApplicabilityDate);
+        dto.setEndApplicabilityTime(endApplicabilityTime);
+        dto.setPaymentEvent(paymentEvent);
+        dto.setPaymentOffset(paymentOffset);
+        dto.setTotalContractValue(totalContractValue);
+        dto.setRounding(rounding);
+        List<PhysicalSettlementItemDto> settlementItemDtos = new ArrayList<>(settlementItems.size());
+        for (PhysicalSettlementItemRecord settlementItem : settlementItems) {
+            settlementItemDtos.add(settlementItem.toDto());
+        }
+        dto.setSettlementItems(settlementItemDtos);
+        return dto;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .totalVolume(totalVolume)
+                .totalVolumeUom(totalVolumeUom)
+                .pricingMechanism(pricingMechanism)
+                .settlementPrice(settlementPrice)
+                .tradePrice(tradePrice)
+                .settlementCurrency(settlementCurrency)
+                .tradeCurrency(tradeCurrency)
+                .settlementUom(settlementUom)
+                .tradeUom(tradeUom)
+                .startApplicabilityDate(startApplicabilityDate)
+                .startApplicabilityTime(startApplicabilityTime)
+                .endApplicabilityDate(endApplicabilityDate)
+                .endApplicabilityTime(endApplicabilityTime)
+                .paymentEvent(paymentEvent)
+                .paymentOffset(paymentOffset)
+                .totalContractValue(totalContractValue)
+                .rounding(rounding)
+                .settlementItems(settlementItems);
+    }
+
+    private static List<PhysicalSettlementItemRecord> records(List<PhysicalSettlementItemDto> dtos) {
+        if (dtos == null) {
+            return List.of();
+        }
+        return dtos.stream()
+                .filter(Objects::nonNull)
+                .map(PhysicalSettlementItemRecord::fromDto)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    public static final class Builder {
+
+        private double totalVolume;
+        private String totalVolumeUom;
+        private String pricingMechanism;
+        private double settlementPrice;
+        private double tradePrice;
+        private String settlementCurrency;
+        private String tradeCurrency;
+        private String settlementUom;
+        private String tradeUom;
+        private LocalDate startApplicabilityDate;
+        private Instant startApplicabilityTime;
+        private LocalDate endApplicabilityDate;
+        private Instant endApplicabilityTime;
+        private String paymentEvent;
+        private double paymentOffset;
+        private double totalContractValue;
+        private double rounding;
+        private List<PhysicalSettlementItemRecord> settlementItems = List.of();
+
+        private Builder() {
+        }
+
+        public Builder totalVolume(double totalVolume) {
+            this.totalVolume = totalVolume;
+            return this;
+        }
+
+        public Builder totalVolumeUom(String totalVolumeUom) {
+            this.totalVolumeUom = totalVolumeUom;
+            return this;
+        }
+
+        public Builder pricingMechanism(String pricingMechanism) {
+            this.pricingMechanism = pricingMechanism;
+            return this;
+        }
+
+        public Builder settlementPrice(double settlementPrice) {
+            this.settlementPrice = settlementPrice;
+            return this;
+        }
+
+        public Builder tradePrice(double tradePrice) {
+            this.tradePrice = tradePrice;
+            return this;
+        }
+
+        public Builder settlementCurrency(String settlementCurrency) {
+            this.settlementCurrency = settlementCurrency;
+            return this;
+        }
+
+        public Builder tradeCurrency(String tradeCurrency) {
+            this.tradeCurrency = tradeCurrency;
+            return this;
+        }
+
+        public Builder settlementUom(String settlementUom) {
+            this.settlementUom = settlementUom;
+            return this;
+        }
+
+        public Builder tradeUom(String tradeUom) {
+            this.tradeUom = tradeUom;
+            return this;
+        }
+
+        public Builder startApplicabilityDate(LocalDate startApplicabilityDate) {
+            this.startApplicabilityDate = startApplicabilityDate;
+            return this;
+        }
+
+        public Builder startApplicabilityTime(Instant startApplicabilityTime) {
+            this.startApplicabilityTime = startApplicabilityTime;
+            return this;
+        }
+
+        public Builder endApplicabilityDate(LocalDate endApplicabilityDate) {
+            this.endApplicabilityDate = endApplicabilityDate;
+            return this;
+        }
+
+        public Builder endApplicabilityTime(Instant endApplicabilityTime) {
+            this.endApplicabilityTime = endApplicabilityTime;
+            return this;
+        }
+
+        public Builder paymentEvent(String paymentEvent) {
+            this.paymentEvent = paymentEvent;
+            return this;
+        }
+
+        public Builder paymentOffset(double paymentOffset) {
+            this.paymentOffset = paymentOffset;
+            return this;
+        }
+
+        public Builder totalContractValue(double totalContractValue) {
+            this.totalContractValue = totalContractValue;
+            return this;
+        }
+
+        public Builder rounding(double rounding) {
+            this.rounding = rounding;
+            return this;
+        }
+
+        public Builder settlementItems(List<PhysicalSettlementItemRecord> settlementItems) {
+            this.settlementItems = settlementItems;
+            return this;
+        }
+
+        public Builder addSettlementItem(PhysicalSettlementItemRecord settlementItem) {
+            if (!(settlementItems instanceof ArrayList)) {
+                settlementItems = settlementItems == null ? new ArrayList<>() : new ArrayList<>(settlementItems);
+            }
+            settlementItems.add(settlementItem);
+            return this;
+        }
+
+        public PhysicalSettlementInfoRecord build() {
+            return new PhysicalSettlementInfoRecord(
+                    totalVolume,
+                    totalVolumeUom,
+                    pricingMechanism,
+                    settlementPrice,
+                    tradePrice,
+                    settlementCurrency,
+                    tradeCurrency,
+                    settlementUom,
+                    tradeUom,
+                    startApplicabilityDate,
+                    startApplicabilityTime,
+                    endApplicabilityDate,
+                    endApplicabilityTime,
+                    paymentEvent,
+                    paymentOffset,
+                    totalContractValue,
+                    rounding,
+                    settlementItems);
+        }
+    }
+}
@@ -11,6 +11,10 @@ public class PhysicalSettlementItemDto implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private String settlementId;
+    /**
+     * Index form of the references; {@code null} when they are free-form strings held in {@link #referencedLineItems}.
+     */
+    private LineItemRefs lineItemRefs = LineItemRefs.EMPTY;
     private List<String> referencedLineItems = new ArrayList<>();
     private LocalDate deliveryDate;
     private double actualQuantity;
@@ -45,9 +49,7 @@ public class PhysicalSettlementItemDto implements Serializable {
                              String tradeCurrency,
                                      String invoiceStatus) {
         this.settlementId = settlementId;
-        if (referencedLineItems != null) {
-            this.referencedLineItems = new ArrayList<>(referencedLineItems);
-        }
+        setReferencedLineItems(referencedLineItems);
         this.deliveryDate = deliveryDate;
         this.actualQuantity = actualQuantity;
         this.uom = uom;
@@ -71,21 +73,60 @@ public class PhysicalSettlementItemDto implements Serializable {
         this.settlementId = settlementId;
     }
 
+    /**
+     * @return the references as strings; index based references are rendered as {@code LINE#nnnn} labels on access
+     */
     public List<String> getReferencedLineItems() {
-        return Collections.unmodifiableList(referencedLineItems);
+        return lineItemRefs != null
+                ? lineItemRefs.labels()
+                : Collections.unmodifiableList(referencedLineItems);
     }
 
+    /**
+     * Stores ascending canonical {@code LINE#nnnn} labels as index ranges and anything else verbatim, so the labels
+     * read back in the order they were given.
+     */
     public void setReferencedLineItems(List<String> referencedLineItems) {
-        this.referencedLineItems = referencedLineItems == null ? new ArrayList<>() : new ArrayList<>(referencedLineItems);
+        LineItemRefs refs = LineItemRefs.fromLabels(referencedLineItems);
+        if (refs != null) {
+            setLineItemRefs(refs);
+        } else {
+            this.lineItemRefs = null;
+            this.referencedLineItems = new ArrayList<>(referencedLineItems);
+        }
+    }
+
+    /**
+     * @return the references as line item index ranges, or {@code null} when they are free-form strings
+     */
+    public LineItemRefs lineItemRefs() {
+        return lineItemRefs;
+    }
+
+    public void setLineItemRefs(LineItemRefs lineItemRefs) {
+        this.lineItemRefs = lineItemRefs == null ? LineItemRefs.EMPTY : lineItemRefs;
+        this.referencedLineItems = new ArrayList<>();
     }
 
     public void addReferencedLineItem(String lineItemId) {
-        if (lineItemId != null && !lineItemId.isEmpty()) {
-            this.referencedLineItems.add(lineItemId);
+        if (lineItemId == null || lineItemId.isEmpty()) {
+            return;
+        }
+        if (lineItemRefs != null) {
+            int index = LineItemRefs.indexOf(lineItemId);
+            if (index >= 0 && (lineItemRefs.isEmpty()
+                    || index >= lineItemRefs.rangeEnd(lineItemRefs.rangeCount() - 1))) {
+                lineItemRefs = lineItemRefs.with(index);
+                return;
+            }
+            referencedLineItems = new ArrayList<>(lineItemRefs.labels());
+            lineItemRefs = null;
         }
+        this.referencedLineItems.add(lineItemId);
     }
 
     public void clearReferencedLineItems() {
+        this.lineItemRefs = LineItemRefs.EMPTY;
         this.referencedLineItems.clear();
     }
 
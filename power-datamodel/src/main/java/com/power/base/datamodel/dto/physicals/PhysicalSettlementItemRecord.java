@@ -0,0 +1,239 @@
+package com.power.base.datamodel.dto.physicals;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable counterpart of {@link PhysicalSettlementItemDto}. Canonical {@code LINE#nnnn} references are held
+ * as a {@link LineItemRefs} label view, so they stay index ranges however the record was built.
+ */
+public record PhysicalSettlementItemRecord(String settlementId,
+                                           List<String> referencedLineItems,
+                                           LocalDate deliveryDate,
+                                           double actualQuantity,
+                                           String uom,
+                                           double settlementPrice,
+                                           double tradePrice,
+                                           String settlementUom,
+                                           String tradeUom,
+                                           double deviationAmount,
+                                           double deviationPenalty,
+                                           double periodCashflow,
+                                           String settlementCurrency,
+                                           String tradeCurrency,
+                                           String invoiceStatus) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public PhysicalSettlementItemRecord {
+        if (LineItemRefs.unwrap(referencedLineItems) == null) {
+            LineItemRefs refs = LineItemRefs.fromLabels(referencedLineItems);
+            referencedLineItems = refs != null ? refs.labels() : List.copyOf(referencedLineItems);
+        }
+    }
+
+    public static PhysicalSettlementItemRecord fromDto(PhysicalSettlementItemDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new PhysicalSettlementItemRecord(
+                dto.getSettlementId(),
+                dto.lineItemRefs() != null ? dto.lineItemRefs().labels() : dto.getReferencedLineItems(),
+                dto.getDeliveryDate(),
+                dto.getActualQuantity(),
+                dto.getUom(),
+                dto.getSettlementPrice(),
+                dto.getTradePrice(),
+                dto.getSettlementUom(),
+                dto.getTradeUom(),
+                dto.getDeviationAmount(),
+                dto.getDeviationPenalty(),
+                dto.getPeriodCashflow(),
+                dto.getSettlementCurrency(),
+                dto.getTradeCurrency(),
+                dto.getInvoiceStatus());
+    }
+
+    public PhysicalSettlementItemDto toDto() {
+        PhysicalSettlementItemDto dto = new PhysicalSettlementItemDto();
+        dto.setSettlementId(settlementId);
+        LineItemRefs refs = lineItemRefs();
+        if (refs != null) {
+            dto.setLineItemRefs(refs);
+        } else {
+            dto.setReferencedLineItems(referencedLineItems);
+        }
+        dto.setDeliveryDate(deliveryDate);
+        dto.setActualQuantity(actualQuantity);
+        dto.setUom(uom);
+        dto.setSettlementPrice(settlementPrice);
+        dto.setTradePrice(tradePrice);
+        dto.setSettlementUom(settlementUom);
+        dto.setTradeUom(tradeUom);
+        dto.setDeviationAmount(deviationAmount);
+        dto.setDeviationPenalty(deviationPenalty);
+        dto.setPeriodCashflow(periodCashflow);
+        dto.setSettlementCurrency(settlementCurrency);
+        dto.setTradeCurrency(tradeCurrency);
+        dto.setInvoiceStatus(invoiceStatus);
+        return dto;
+    }
+
+    /**
+     * @return the references as line item index ranges, or {@code null} when they are free-form strings
+     */
+    public LineItemRefs lineItemRefs() {
+        return LineItemRefs.unwrap(referencedLineItems);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .settlementId(settlementId)
+                .referencedLineItems(referencedLineItems)
+                .deliveryDate(deliveryDate)
+                .actualQuantity(actualQuantity)
+                .uom(uom)
+                .settlementPrice(settlementPrice)
+                .tradePrice(tradePrice)
+                .settlementUom(settlementUom)
+                .tradeUom(tradeUom)
+                .deviationAmount(deviationAmount)
+                .deviationPenalty(deviationPenalty)
+                .periodCashflow(periodCashflow)
+                .settlementCurrency(settlementCurrency)
+                .tradeCurrency(tradeCurrency)
+                .invoiceStatus(invoiceStatus);
+    }
+
+    public static final class Builder {
+
+        private String settlementId;
+        private List<String> referencedLineItems = List.of();
+        private LocalDate deliveryDate;
+        private double actualQuantity;
+        private String uom;
+        private double settlementPrice;
+        private double tradePrice;
+        private String settlementUom;
+        private String tradeUom;
+        private double deviationAmount;
+        private double deviationPenalty;
+        private double periodCashflow;
+        private String settlementCurrency;
+        private String tradeCurrency;
+        private String invoiceStatus;
+
+        private Builder() {
+        }
+
+        public Builder settlementId(String settlementId) {
+            this.settlementId = settlementId;
+            return this;
+        }
+
+        public Builder referencedLineItems(List<String> referencedLineItems) {
+            this.referencedLineItems = referencedLineItems;
+            return this;
+        }
+
+        public Builder deliveryDate(LocalDate deliveryDate) {
+            this.deliveryDate = deliveryDate;
+            return this;
+        }
+
+        public Builder actualQuantity(double actualQuantity) {
+            this.actualQuantity = actualQuantity;
+            return this;
+        }
+
+        public Builder uom(String uom) {
+            this.uom = uom;
+            return this;
+        }
+
+        public Builder settlementPrice(double settlementPrice) {
+            this.settlementPrice = settlementPrice;
+            return this;
+        }
+
+        public Builder tradePrice(double tradePrice) {
+            this.tradePrice = tradePrice;
+            return this;
+        }
+
+        public Builder settlementUom(String settlementUom) {
+            this.settlementUom = settlementUom;
+            return this;
+        }
+
+        public Builder tradeUom(String tradeUom) {
+            this.tradeUom = tradeUom;
+            return this;
+        }
+
+        public Builder deviationAmount(double deviationAmount) {
+            this.deviationAmount = deviationAmount;
+            return this;
+        }
+
+        public Builder deviationPenalty(double deviationPenalty) {
+            this.deviationPenalty = deviationPenalty;
+            return this;
+        }
+
+        public Builder periodCashflow(double periodCashflow) {
+            this.periodCashflow = periodCashflow;
+            return this;
+        }
+
+        public Builder settlementCurrency(String settlementCurrency) {
+            this.settlementCurrency = settlementCurrency;
+            return this;
+        }
+
+        public Builder tradeCurrency(String tradeCurrency) {
+            this.tradeCurrency = tradeCurrency;
+            return this;
+        }
+
+        public Builder invoiceStatus(String invoiceStatus) {
+            this.invoiceStatus = invoiceStatus;
+            return this;
+        }
+
+        public Builder addReferencedLineItem(String lineItemId) {
+            if (!(referencedLineItems instanceof ArrayList)) {
+                referencedLineItems = referencedLineItems == null
+                        ? new ArrayList<>()
+                        : new ArrayList<>(referencedLineItems);
+            }
+            referencedLineItems.add(lineItemId);
+            return this;
+        }
+
+        public PhysicalSettlementItemRecord build() {
+            return new PhysicalSettlementItemRecord(
+                    settlementId,
+                    referencedLineItems,
+                    deliveryDate,
+                    actualQuantity,
+                    uom,
+                    settlementPrice,
+                    tradePrice,
+                    settlementUom,
+                    tradeUom,
+                    deviationAmount,
+                    deviationPenalty,
+                    periodCashflow,
+                    settlementCurrency,
+                    tradeCurrency,
+                    invoiceStatus);
+        }
+    }
+}
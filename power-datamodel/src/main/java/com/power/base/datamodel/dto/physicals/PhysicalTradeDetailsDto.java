@@ -1,29 +1,45 @@
 package com.power.base.datamodel.dto.physicals;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.List;
 
 public class PhysicalTradeDetailsDto implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
-    private List<PhysicalLineItemDto> lineItems = new ArrayList<>();
+    private PhysicalLineItemSchedule schedule = new PhysicalLineItemSchedule();
 
     public PhysicalTradeDetailsDto() {
     }
 
     public PhysicalTradeDetailsDto(List<PhysicalLineItemDto> lineItems) {
-        this.lineItems = lineItems;
+        this.schedule = PhysicalLineItemSchedule.fromLineItems(lineItems);
     }
 
+    public PhysicalTradeDetailsDto(PhysicalLineItemSchedule schedule) {
+        setSchedule(schedule);
+    }
+
+    /**
+     * @return a live list view over the columnar {@link #schedule()}; elements are materialised on access
+     */
     public List<PhysicalLineItemDto> getLineItems() {
-        return lineItems;
+        return schedule.asList();
     }
 
     public void setLineItems(List<PhysicalLineItemDto> lineItems) {
-        this.lineItems = lineItems;
+        this.schedule = PhysicalLineItemSchedule.fromLineItems(lineItems);
     }
-}
 
+    /**
+     * Columnar form of the line items. Deliberately not a bean getter so JSON payloads keep exposing
+     * {@code lineItems} only.
+     */
+    public PhysicalLineItemSchedule schedule() {
+        return schedule;
+    }
 
+    public void setSchedule(PhysicalLineItemSchedule schedule) {
+        this.schedule = schedule == null ? new PhysicalLineItemSchedule() : schedule;
+    }
+}
@@ -0,0 +1,37 @@
+package com.power.base.datamodel.dto.physicals;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Immutable counterpart of {@link PhysicalTradeDetailsDto}. The line items stay in a private columnar
+ * {@link PhysicalLineItemSchedule}; {@link #lineItems()} is a read-only view that materialises a
+ * {@link PhysicalLineItemRecord} per {@code get}, so holding the record costs a handful of arrays however long the
+ * schedule is.
+ */
+public record PhysicalTradeDetailsRecord(List<PhysicalLineItemRecord> lineItems) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public PhysicalTradeDetailsRecord {
+        lineItems = PhysicalLineItemSchedule.recordView(lineItems);
+    }
+
+    /**
+     * Copies {@code schedule} column by column; later changes to it do not reach the record.
+     */
+    public static PhysicalTradeDetailsRecord of(PhysicalLineItemSchedule schedule) {
+        return new PhysicalTradeDetailsRecord(schedule.recordView());
+    }
+
+    public static PhysicalTradeDetailsRecord fromDto(PhysicalTradeDetailsDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return of(dto.schedule());
+    }
+
+    public PhysicalTradeDetailsDto toDto() {
+        return new PhysicalTradeDetailsDto(((PhysicalLineItemSchedule.RecordView) lineItems).schedule());
+    }
+}
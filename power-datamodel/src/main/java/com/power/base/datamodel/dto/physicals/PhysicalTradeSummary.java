@@ -0,0 +1,30 @@
+package com.power.base.datamodel.dto.physicals;
+
+import com.power.base.datamodel.dto.common.BuySellIndicator;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Header-level view of a physical trade for list screens: no line items or settlement items, only the header columns
+ * and the total scheduled quantity stored with the trade. {@code totalQuantity} is {@code null} for trades written
+ * before it was maintained.
+ */
+public record PhysicalTradeSummary(String tradeId,
+                                   String tenantId,
+                                   LocalDate tradeDate,
+                                   Instant tradeTime,
+                                   String businessUnit,
+                                   String traderName,
+                                   String market,
+                                   String commodity,
+                                   String deliveryPoint,
+                                   BuySellIndicator buySellIndicator,
+                                   boolean amendmentIndicator,
+                                   Double tradePrice,
+                                   String tradeCurrency,
+                                   Double totalQuantity) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+}
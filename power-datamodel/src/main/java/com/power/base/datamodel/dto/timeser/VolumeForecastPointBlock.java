@@ -0,0 +1,496 @@
+package com.power.base.datamodel.dto.timeser;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Struct-of-arrays representation of the points of a volume forecast series.
+ * <p>
+ * Each point is one slot across primitive columns: interval start/end as epoch millis, the interval date as epoch
+ * day, forecast and actual volumes, and the optional confidence bounds and temperature as doubles where
+ * {@link Double#NaN} stands for {@code null}. Units, meter reading statuses and weather conditions repeat on nearly
+ * every point and are dictionary encoded. A day-ahead 15-minute series thus costs a dozen arrays instead of 96
+ * {@link VolumeForecastSeriesPointDto} objects with their boxed doubles. Instants are held at millisecond precision.
+ * <p>
+ * {@link #asList()} exposes a mutable {@link List} view that materialises a {@link VolumeForecastSeriesPointDto}
+ * per {@code get} call; mutating a returned element does not write back, use {@code set} on the view instead.
+ */
+public class VolumeForecastPointBlock implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Epoch millis value of an absent interval start or end time.
+     */
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NO_CODE = -1;
+
+    private int size;
+    private long[] startEpochMillis;
+    private long[] endEpochMillis;
+    private int[] intervalEpochDays;
+    private double[] forecastVolumes;
+    private double[] actualVolumes;
+    private double[] confidenceLowerBounds;
+    private double[] confidenceUpperBounds;
+    private double[] temperatures;
+    private int[] uomCodes;
+    private int[] statusCodes;
+    private int[] weatherCodes;
+
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+
+    public VolumeForecastPointBlock() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public VolumeForecastPointBlock(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative");
+        }
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Copies the supplied points into a new block, skipping {@code null} elements.
+     *
+     * @param points points to copy, {@code null} yields an empty block
+     * @return block holding one slot per point, in iteration order
+     */
+    public static VolumeForecastPointBlock fromPoints(Collection<? extends VolumeForecastSeriesPointDto> points) {
+        if (points == null) {
+            return new VolumeForecastPointBlock();
+        }
+        VolumeForecastPointBlock backing = unwrap(points);
+        if (backing != null) {
+            return backing.copy();
+        }
+        VolumeForecastPointBlock block = new VolumeForecastPointBlock(points.size());
+        for (VolumeForecastSeriesPointDto point : points) {
+            if (point != null) {
+                block.add(point);
+            }
+        }
+        return block;
+    }
+
+    /**
+     * @return the block behind a list returned by {@link #asList()}, or {@code null} for any other collection
+     */
+    public static VolumeForecastPointBlock unwrap(Collection<?> points) {
+        return points instanceof PointView view ? view.block() : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Appends a point using already decoded column values; pass {@link #NO_TIME} for absent times and
+     * {@link Double#NaN} for absent bounds or temperature.
+     */
+    public void add(long intervalStartEpochMilli,
+                    long intervalEndEpochMilli,
+                    LocalDate intervalDate,
+                    double forecastVolume,
+                    double actualVolume,
+                    String measurementUom,
+                    String meterReadingStatus,
+                    double confidenceLowerBound,
+                    double confidenceUpperBound,
+                    double temperature,
+                    String weatherCondition) {
+        ensureCapacity(size + 1);
+        write(size++, intervalStartEpochMilli, intervalEndEpochMilli, intervalDate, forecastVolume, actualVolume,
+                measurementUom, meterReadingStatus, confidenceLowerBound, confidenceUpperBound, temperature,
+                weatherCondition);
+    }
+
+    public void add(Instant intervalStartTime,
+                    Instant intervalEndTime,
+                    LocalDate intervalDate,
+                    double forecastVolume,
+                    double actualVolume,
+                    String measurementUom,
+                    String meterReadingStatus,
+                    Double confidenceLowerBound,
+                    Double confidenceUpperBound,
+                    Double temperature,
+                    String weatherCondition) {
+        add(toEpochMilli(intervalStartTime), toEpochMilli(intervalEndTime), intervalDate, forecastVolume,
+                actualVolume, measurementUom, meterReadingStatus, toDouble(confidenceLowerBound),
+                toDouble(confidenceUpperBound), toDouble(temperature), weatherCondition);
+    }
+
+    public void add(VolumeForecastSeriesPointDto point) {
+        insert(size, point);
+    }
+
+    public void insert(int index, VolumeForecastSeriesPointDto point) {
+        Objects.requireNonNull(point, "point must not be null");
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        shift(index, index + 1, size - index);
+        size++;
+        set(index, point);
+    }
+
+    public void set(int index, VolumeForecastSeriesPointDto point) {
+        Objects.requireNonNull(point, "point must not be null");
+        checkIndex(index);
+        write(index,
+                toEpochMilli(point.getIntervalStartTime()),
+                toEpochMilli(point.getIntervalEndTime()),
+                point.getIntervalDate(),
+                point.getForecastVolume(),
+                point.getActualVolume(),
+                point.getMeasurementUom(),
+                point.getMeterReadingStatus(),
+                toDouble(point.getConfidenceLowerBound()),
+                toDouble(point.getConfidenceUpperBound()),
+                toDouble(point.getTemperature()),
+                point.getWeatherCondition());
+    }
+
+    public void remove(int index) {
+        checkIndex(index);
+        shift(index + 1, index, size - index - 1);
+        size--;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Releases unused column capacity once the block is fully built.
+     */
+    public void trimToSize() {
+        if (startEpochMillis.length != size) {
+            resize(size);
+        }
+    }
+
+    public boolean hasIntervalStartTime(int index) {
+        checkIndex(index);
+        return startEpochMillis[index] != NO_TIME;
+    }
+
+    public long getIntervalStartEpochMilli(int index) {
+        checkIndex(index);
+        return startEpochMillis[index];
+    }
+
+    public Instant getIntervalStartTime(int index) {
+        checkIndex(index);
+        return toInstant(startEpochMillis[index]);
+    }
+
+    public boolean hasIntervalEndTime(int index) {
+        checkIndex(index);
+        return endEpochMillis[index] != NO_TIME;
+    }
+
+    public long getIntervalEndEpochMilli(int index) {
+        checkIndex(index);
+        return endEpochMillis[index];
+    }
+
+    public Instant getIntervalEndTime(int index) {
+        checkIndex(index);
+        return toInstant(endEpochMillis[index]);
+    }
+
+    public LocalDate getIntervalDate(int index) {
+        checkIndex(index);
+        return toLocalDate(intervalEpochDays[index]);
+    }
+
+    public double getForecastVolume(int index) {
+        checkIndex(index);
+        return forecastVolumes[index];
+    }
+
+    public double getActualVolume(int index) {
+        checkIndex(index);
+        return actualVolumes[index];
+    }
+
+    public String getMeasurementUom(int index) {
+        checkIndex(index);
+        return decode(uomCodes[index]);
+    }
+
+    public String getMeterReadingStatus(int index) {
+        checkIndex(index);
+        return decode(statusCodes[index]);
+    }
+
+    /**
+     * @return the lower bound, {@link Double#NaN} when absent
+     */
+    public double getConfidenceLowerBound(int index) {
+        checkIndex(index);
+        return confidenceLowerBounds[index];
+    }
+
+    /**
+     * @return the upper bound, {@link Double#NaN} when absent
+     */
+    public double getConfidenceUpperBound(int index) {
+        checkIndex(index);
+        return confidenceUpperBounds[index];
+    }
+
+    /**
+     * @return the temperature, {@link Double#NaN} when absent
+     */
+    public double getTemperature(int index) {
+        checkIndex(index);
+        return temperatures[index];
+    }
+
+    public String getWeatherCondition(int index) {
+        checkIndex(index);
+        return decode(weatherCodes[index]);
+    }
+
+    /**
+     * @return number of distinct strings held by the uom/status/weather dictionary
+     */
+    public int dictionarySize() {
+        return dictionary.size();
+    }
+
+    public VolumeForecastSeriesPointDto toPoint(int index) {
+        checkIndex(index);
+        VolumeForecastSeriesPointDto point = new VolumeForecastSeriesPointDto();
+        point.setIntervalDate(toLocalDate(intervalEpochDays[index]));
+        point.setIntervalStartTime(toInstant(startEpochMillis[index]));
+        point.setIntervalEndTime(toInstant(endEpochMillis[index]));
+        point.setForecastVolume(forecastVolumes[index]);
+        point.setActualVolume(actualVolumes[index]);
+        point.setMeasurementUom(decode(uomCodes[index]));
+        point.setMeterReadingStatus(decode(statusCodes[index]));
+        point.setConfidenceLowerBound(toBoxed(confidenceLowerBounds[index]));
+        point.setConfidenceUpperBound(toBoxed(confidenceUpperBounds[index]));
+        point.setTemperature(toBoxed(temperatures[index]));
+        point.setWeatherCondition(decode(weatherCodes[index]));
+        return point;
+    }
+
+    /**
+     * @return a live, mutable list view backed by this block
+     */
+    public List<VolumeForecastSeriesPointDto> asList() {
+        return new PointView(this);
+    }
+
+    public VolumeForecastPointBlock copy() {
+        VolumeForecastPointBlock copy = new VolumeForecastPointBlock(0);
+        copy.size = size;
+        copy.startEpochMillis = Arrays.copyOf(startEpochMillis, size);
+        copy.endEpochMillis = Arrays.copyOf(endEpochMillis, size);
+        copy.intervalEpochDays = Arrays.copyOf(intervalEpochDays, size);
+        copy.forecastVolumes = Arrays.copyOf(forecastVolumes, size);
+        copy.actualVolumes = Arrays.copyOf(actualVolumes, size);
+        copy.confidenceLowerBounds = Arrays.copyOf(confidenceLowerBounds, size);
+        copy.confidenceUpperBounds = Arrays.copyOf(confidenceUpperBounds, size);
+        copy.temperatures = Arrays.copyOf(temperatures, size);
+        copy.uomCodes = Arrays.copyOf(uomCodes, size);
+        copy.statusCodes = Arrays.copyOf(statusCodes, size);
+        copy.weatherCodes = Arrays.copyOf(weatherCodes, size);
+        copy.dictionary.addAll(dictionary);
+        copy.dictionaryIndex.putAll(dictionaryIndex);
+        return copy;
+    }
+
+    private void write(int index,
+                       long intervalStartEpochMilli,
+                       long intervalEndEpochMilli,
+                       LocalDate intervalDate,
+                       double forecastVolume,
+                       double actualVolume,
+                       String measurementUom,
+                       String meterReadingStatus,
+                       double confidenceLowerBound,
+                       double confidenceUpperBound,
+                       double temperature,
+                       String weatherCondition) {
+        startEpochMillis[index] = intervalStartEpochMilli;
+        endEpochMillis[index] = intervalEndEpochMilli;
+        intervalEpochDays[index] = intervalDate == null ? NO_DATE : Math.toIntExact(intervalDate.toEpochDay());
+        forecastVolumes[index] = forecastVolume;
+        actualVolumes[index] = actualVolume;
+        uomCodes[index] = encode(measurementUom);
+        statusCodes[index] = encode(meterReadingStatus);
+        confidenceLowerBounds[index] = confidenceLowerBound;
+        confidenceUpperBounds[index] = confidenceUpperBound;
+        temperatures[index] = temperature;
+        weatherCodes[index] = encode(weatherCondition);
+    }
+
+    private int encode(String value) {
+        if (value == null) {
+            return NO_CODE;
+        }
+        Integer code = dictionaryIndex.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(value);
+            dictionaryIndex.put(value, code);
+        }
+        return code;
+    }
+
+    private String decode(int code) {
+        return code == NO_CODE ? null : dictionary.get(code);
+    }
+
+    private static long toEpochMilli(Instant instant) {
+        return instant == null ? NO_TIME : instant.toEpochMilli();
+    }
+
+    private static Instant toInstant(long epochMilli) {
+        return epochMilli == NO_TIME ? null : Instant.ofEpochMilli(epochMilli);
+    }
+
+    private static LocalDate toLocalDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static double toDouble(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    private static Double toBoxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > startEpochMillis.length) {
+            resize(Math.max(required, startEpochMillis.length + (startEpochMillis.length >> 1) + 1));
+        }
+    }
+
+    private void allocate(int capacity) {
+        startEpochMillis = new long[capacity];
+        endEpochMillis = new long[capacity];
+        intervalEpochDays = new int[capacity];
+        forecastVolumes = new double[capacity];
+        actualVolumes = new double[capacity];
+        confidenceLowerBounds = new double[capacity];
+        confidenceUpperBounds = new double[capacity];
+        temperatures = new double[capacity];
+        uomCodes = new int[capacity];
+        statusCodes = new int[capacity];
+        weatherCodes = new int[capacity];
+    }
+
+    private void resize(int capacity) {
+        startEpochMillis = Arrays.copyOf(startEpochMillis, capacity);
+        endEpochMillis = Arrays.copyOf(endEpochMillis, capacity);
+        intervalEpochDays = Arrays.copyOf(intervalEpochDays, capacity);
+        forecastVolumes = Arrays.copyOf(forecastVolumes, capacity);
+        actualVolumes = Arrays.copyOf(actualVolumes, capacity);
+        confidenceLowerBounds = Arrays.copyOf(confidenceLowerBounds, capacity);
+        confidenceUpperBounds = Arrays.copyOf(confidenceUpperBounds, capacity);
+        temperatures = Arrays.copyOf(temperatures, capacity);
+        uomCodes = Arrays.copyOf(uomCodes, capacity);
+        statusCodes = Arrays.copyOf(statusCodes, capacity);
+        weatherCodes = Arrays.copyOf(weatherCodes, capacity);
+    }
+
+    private void shift(int from, int to, int length) {
+        if (length <= 0) {
+            return;
+        }
+        System.arraycopy(startEpochMillis, from, startEpochMillis, to, length);
+        System.arraycopy(endEpochMillis, from, endEpochMillis, to, length);
+        System.arraycopy(intervalEpochDays, from, intervalEpochDays, to, length);
+        System.arraycopy(forecastVolumes, from, forecastVolumes, to, length);
+        System.arraycopy(actualVolumes, from, actualVolumes, to, length);
+        System.arraycopy(confidenceLowerBounds, from, confidenceLowerBounds, to, length);
+        System.arraycopy(confidenceUpperBounds, from, confidenceUpperBounds, to, length);
+        System.arraycopy(temperatures, from, temperatures, to, length);
+        System.arraycopy(uomCodes, from, uomCodes, to, length);
+        System.arraycopy(statusCodes, from, statusCodes, to, length);
+        System.arraycopy(weatherCodes, from, weatherCodes, to, length);
+    }
+
+    private static final class PointView extends AbstractList<VolumeForecastSeriesPointDto> implements RandomAccess {
+
+        private final VolumeForecastPointBlock block;
+
+        private PointView(VolumeForecastPointBlock block) {
+            this.block = block;
+        }
+
+        private VolumeForecastPointBlock block() {
+            return block;
+        }
+
+        @Override
+        public VolumeForecastSeriesPointDto get(int index) {
+            return block.toPoint(index);
+        }
+
+        @Override
+        public int size() {
+            return block.size();
+        }
+
+        @Override
+        public VolumeForecastSeriesPointDto set(int index, VolumeForecastSeriesPointDto element) {
+            VolumeForecastSeriesPointDto previous = block.toPoint(index);
+            block.set(index, element);
+            return previous;
+        }
+
+        @Override
+        public void add(int index, VolumeForecastSeriesPointDto element) {
+            block.insert(index, element);
+            modCount++;
+        }
+
+        @Override
+        public VolumeForecastSeriesPointDto remove(int index) {
+            VolumeForecastSeriesPointDto previous = block.toPoint(index);
+            block.remove(index);
+            modCount++;
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            block.clear();
+            modCount++;
+        }
+    }
+}
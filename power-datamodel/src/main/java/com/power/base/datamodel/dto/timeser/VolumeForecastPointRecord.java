@@ -0,0 +1,164 @@
+package com.power.base.datamodel.dto.timeser;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Immutable counterpart of {@link VolumeForecastSeriesPointDto}.
+ */
+public record VolumeForecastPointRecord(LocalDate intervalDate,
+                                        Instant intervalStartTime,
+                                        Instant intervalEndTime,
+                                        double forecastVolume,
+                                        double actualVolume,
+                                        String measurementUom,
+                                        String meterReadingStatus,
+                                        Double confidenceLowerBound,
+                                        Double confidenceUpperBound,
+                                        Double temperature,
+                                        String weatherCondition) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static VolumeForecastPointRecord fromDto(VolumeForecastSeriesPointDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new VolumeForecastPointRecord(
+                dto.getIntervalDate(),
+                dto.getIntervalStartTime(),
+                dto.getIntervalEndTime(),
+                dto.getForecastVolume(),
+                dto.getActualVolume(),
+                dto.getMeasurementUom(),
+                dto.getMeterReadingStatus(),
+                dto.getConfidenceLowerBound(),
+                dto.getConfidenceUpperBound(),
+                dto.getTemperature(),
+                dto.getWeatherCondition());
+    }
+
+    public VolumeForecastSeriesPointDto toDto() {
+        VolumeForecastSeriesPointDto dto = new VolumeForecastSeriesPointDto();
+        dto.setIntervalDate(intervalDate);
+        dto.setIntervalStartTime(intervalStartTime);
+        dto.setIntervalEndTime(intervalEndTime);
+        dto.setForecastVolume(forecastVolume);
+        dto.setActualVolume(actualVolume);
+        dto.setMeasurementUom(measurementUom);
+        dto.setMeterReadingStatus(meterReadingStatus);
+        dto.setConfidenceLowerBound(confidenceLowerBound);
+        dto.setConfidenceUpperBound(confidenceUpperBound);
+        dto.setTemperature(temperature);
+        dto.setWeatherCondition(weatherCondition);
+        return dto;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .intervalDate(intervalDate)
+                .intervalStartTime(intervalStartTime)
+                .intervalEndTime(intervalEndTime)
+                .forecastVolume(forecastVolume)
+                .actualVolume(actualVolume)
+                .measurementUom(measurementUom)
+                .meterReadingStatus(meterReadingStatus)
+                .confidenceLowerBound(confidenceLowerBound)
+                .confidenceUpperBound(confidenceUpperBound)
+                .temperature(temperature)
+                .weatherCondition(weatherCondition);
+    }
+
+    public static final class Builder {
+
+        private LocalDate intervalDate;
+        private Instant intervalStartTime;
+        private Instant intervalEndTime;
+        private double forecastVolume;
+        private double actualVolume;
+        private String measurementUom;
+        private String meterReadingStatus;
+        private Double confidenceLowerBound;
+        private Double confidenceUpperBound;
+        private Double temperature;
+        private String weatherCondition;
+
+        private Builder() {
+        }
+
+        public Builder intervalDate(LocalDate intervalDate) {
+            this.intervalDate = intervalDate;
+            return this;
+        }
+
+        public Builder intervalStartTime(Instant intervalStartTime) {
+            this.intervalStartTime = intervalStartTime;
+            return this;
+        }
+
+        public Builder intervalEndTime(Instant intervalEndTime) {
+            this.intervalEndTime = intervalEndTime;
+            return this;
+        }
+
+        public Builder forecastVolume(double forecastVolume) {
+            this.forecastVolume = forecastVolume;
+            return this;
+        }
+
+        public Builder actualVolume(double actualVolume) {
+            this.actualVolume = actualVolume;
+            return this;
+        }
+
+        public Builder measurementUom(String measurementUom) {
+            this.measurementUom = measurementUom;
+            return this;
+        }
+
+        public Builder meterReadingStatus(String meterReadingStatus) {
+            this.meterReadingStatus = meterReadingStatus;
+            return this;
+        }
+
+        public Builder confidenceLowerBound(Double confidenceLowerBound) {
+            this.confidenceLowerBound = confidenceLowerBound;
+            return this;
+        }
+
+        public Builder confidenceUpperBound(Double confidenceUpperBound) {
+            this.confidenceUpperBound = confidenceUpperBound;
+            return this;
+        }
+
+        public Builder temperature(Double temperature) {
+            this.temperature = temperature;
+            return this;
+        }
+
+        public Builder weatherCondition(String weatherCondition) {
+            this.weatherCondition = weatherCondition;
+            return this;
+        }
+
+        public VolumeForecastPointRecord build() {
+            return new VolumeForecastPointRecord(
+                    intervalDate,
+                    intervalStartTime,
+                    intervalEndTime,
+                    forecastVolume,
+                    actualVolume,
+                    measurementUom,
+                    meterReadingStatus,
+                    confidenceLowerBound,
+                    confidenceUpperBound,
+                    temperature,
+                    weatherCondition);
+        }
+    }
+}
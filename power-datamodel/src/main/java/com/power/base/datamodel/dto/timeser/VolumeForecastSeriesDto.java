@@ -3,7 +3,6 @@ package com.power.base.datamodel.dto.timeser;
 import java.io.Serializable;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -33,7 +32,7 @@ public class VolumeForecastSeriesDto implements Serializable {
     private Instant createdTime;
     private Instant lastUpdatedTime;
     private String forecaster;
-    private List<VolumeForecastSeriesPointDto> dataPoints = new ArrayList<>();
+    private VolumeForecastPointBlock points = new VolumeForecastPointBlock();
 
     public VolumeForecastSeriesDto() {
     }
@@ -182,22 +181,36 @@ public class VolumeForecastSeriesDto implements Serializable {
         this.forecaster = forecaster;
     }
 
+    /**
+     * @return a read-only view over the columnar {@link #points()}; elements are materialised on access
+     */
     public List<VolumeForecastSeriesPointDto> getDataPoints() {
-        return Collections.unmodifiableList(dataPoints);
+        return Collections.unmodifiableList(points.asList());
     }
 
     public void setDataPoints(List<VolumeForecastSeriesPointDto> dataPoints) {
-        this.dataPoints = dataPoints == null ? new ArrayList<>() : new ArrayList<>(dataPoints);
+        this.points = VolumeForecastPointBlock.fromPoints(dataPoints);
     }
 
     public void addDataPoint(VolumeForecastSeriesPointDto point) {
         if (point != null) {
-            this.dataPoints.add(point);
+            this.points.add(point);
         }
     }
 
     public void clearDataPoints() {
-        this.dataPoints.clear();
+        this.points.clear();
+    }
+
+    /**
+     * Columnar form of the data points. Deliberately not a bean getter so JSON payloads keep exposing
+     * {@code dataPoints} only.
+     */
+    public VolumeForecastPointBlock points() {
+        return points;
     }
-}
 
+    public void setPoints(VolumeForecastPointBlock points) {
+        this.points = points == null ? new VolumeForecastPointBlock() : points;
+    }
+}
@@ -0,0 +1,297 @@
+package com.power.base.datamodel.dto.timeser;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable counterpart of {@link VolumeForecastSeriesDto}. Conversion reads and writes the columnar
+ * {@link VolumeForecastPointBlock} directly rather than materialising intermediate point DTOs.
+ */
+public record VolumeForecastSeriesRecord(String tenantId,
+                                         String forecastId,
+                                         String externalReference,
+                                         String assetId,
+                                         String assetName,
+                                         String assetType,
+                                         String isoRegion,
+                                         String marketZone,
+                                         String balancingAuthority,
+                                         String meterId,
+                                         String meterName,
+                                         String location,
+                                         String timeZone,
+                                         String volumeUom,
+                                         LocalDate forecastDate,
+                                         Instant createdTime,
+                                         Instant lastUpdatedTime,
+                                         String forecaster,
+                                         List<VolumeForecastPointRecord> dataPoints) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public VolumeForecastSeriesRecord {
+        dataPoints = dataPoints == null ? List.of() : List.copyOf(dataPoints);
+    }
+
+    public static VolumeForecastSeriesRecord fromDto(VolumeForecastSeriesDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new VolumeForecastSeriesRecord(
+                dto.getTenantId(),
+                dto.getForecastId(),
+                dto.getExternalReference(),
+                dto.getAssetId(),
+                dto.getAssetName(),
+                dto.getAssetType(),
+                dto.getIsoRegion(),
+                dto.getMarketZone(),
+                dto.getBalancingAuthority(),
+                dto.getMeterId(),
+                dto.getMeterName(),
+                dto.getLocation(),
+                dto.getTimeZone(),
+                dto.getVolumeUom(),
+                dto.getForecastDate(),
+                dto.getCreatedTime(),
+                dto.getLastUpdatedTime(),
+                dto.getForecaster(),
+                records(dto.points()));
+    }
+
+    public VolumeForecastSeriesDto toDto() {
+        VolumeForecastSeriesDto dto = new VolumeForecastSeriesDto();
+        dto.setTenantId(tenantId);
+        dto.setForecastId(forecastId);
+        dto.setExternalReference(externalReference);
+        dto.setAssetId(assetId);
+        dto.setAssetName(assetName);
+        dto.setAssetType(assetType);
+        dto.setIsoRegion(isoRegion);
+        dto.setMarketZone(marketZone);
+        dto.setBalancingAuthority(balancingAuthority);
+        dto.setMeterId(meterId);
+        dto.setMeterName(meterName);
+        dto.setLocation(location);
+        dto.setTimeZone(timeZone);
+        dto.setVolumeUom(volumeUom);
+        dto.setForecastDate(forecastDate);
+        dto.setCreatedTime(createdTime);
+        dto.setLastUpdatedTime(lastUpdatedTime);
+        dto.setForecaster(forecaster);
+        VolumeForecastPointBlock block = new VolumeForecastPointBlock(dataPoints.size());
+        for (VolumeForecastPointRecord point : dataPoints) {
+            block.add(point.intervalStartTime(), point.intervalEndTime(), point.intervalDate(),
+                    point.forecastVolume(), point.actualVolume(), point.measurementUom(),
+                    point.meterReadingStatus(), point.confidenceLowerBound(), point.confidenceUpperBound(),
+                    point.temperature(), point.weatherCondition());
+        }
+        dto.setPoints(block);
+        return dto;
+    }
+
+    private static List<VolumeForecastPointRecord> records(VolumeForecastPointBlock block) {
+        VolumeForecastPointRecord[] points = new VolumeForecastPointRecord[block.size()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new VolumeForecastPointRecord(
+                    block.getIntervalDate(i),
+                    block.getIntervalStartTime(i),
+                    block.getIntervalEndTime(i),
+                    block.getForecastVolume(i),
+                    block.getActualVolume(i),
+                    block.getMeasurementUom(i),
+                    block.getMeterReadingStatus(i),
+                    optional(block.getConfidenceLowerBound(i)),
+                    optional(block.getConfidenceUpperBound(i)),
+                    optional(block.getTemperature(i)),
+                    block.getWeatherCondition(i));
+        }
+        return List.of(points);
+    }
+
+    private static Double optional(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .tenantId(tenantId)
+                .forecastId(forecastId)
+                .externalReference(externalReference)
+                .assetId(assetId)
+                .assetName(assetName)
+                .assetType(assetType)
+                .isoRegion(isoRegion)
+                .marketZone(marketZone)
+                .balancingAuthority(balancingAuthority)
+                .meterId(meterId)
+                .meterName(meterName)
+                .location(location)
+                .timeZone(timeZone)
+                .volumeUom(volumeUom)
+                .forecastDate(forecastDate)
+                .createdTime(createdTime)
+                .lastUpdatedTime(lastUpdatedTime)
+                .forecaster(forecaster)
+                .dataPoints(dataPoints);
+    }
+
+    public static final class Builder {
+
+        private String tenantId;
+        private String forecastId;
+        private String externalReference;
+        private String assetId;
+        private String assetName;
+        private String assetType;
+        private String isoRegion;
+        private String marketZone;
+        private String balancingAuthority;
+        private String meterId;
+        private String meterName;
+        private String location;
+        private String timeZone;
+        private String volumeUom;
+        private LocalDate forecastDate;
+        private Instant createdTime;
+        private Instant lastUpdatedTime;
+        private String forecaster;
+        private List<VolumeForecastPointRecord> dataPoints = List.of();
+
+        private Builder() {
+        }
+
+        public Builder tenantId(String tenantId) {
+            this.tenantId = tenantId;
+            return this;
+        }
+
+        public Builder forecastId(String forecastId) {
+            this.forecastId = forecastId;
+            return this;
+        }
+
+        public Builder externalReference(String externalReference) {
+            this.externalReference = externalReference;
+            return this;
+        }
+
+        public Builder assetId(String assetId) {
+            this.assetId = assetId;
+            return this;
+        }
+
+        public Builder assetName(String assetName) {
+            this.assetName = assetName;
+            return this;
+        }
+
+        public Builder assetType(String assetType) {
+            this.assetType = assetType;
+            return this;
+        }
+
+        public Builder isoRegion(String isoRegion) {
+            this.isoRegion = isoRegion;
+            return this;
+        }
+
+        public Builder marketZone(String marketZone) {
+            this.marketZone = marketZone;
+            return this;
+        }
+
+        public Builder balancingAuthority(String balancingAuthority) {
+            this.balancingAuthority = balancingAuthority;
+            return this;
+        }
+
+        public Builder meterId(String meterId) {
+            this.meterId = meterId;
+            return this;
+        }
+
+        public Builder meterName(String meterName) {
+            this.meterName = meterName;
+            return this;
+        }
+
+        public Builder location(String location) {
+            this.location = location;
+            return this;
+        }
+
+        public Builder timeZone(String timeZone) {
+            this.timeZone = timeZone;
+            return this;
+        }
+
+        public Builder volumeUom(String volumeUom) {
+            this.volumeUom = volumeUom;
+            return this;
+        }
+
+        public Builder forecastDate(LocalDate forecastDate) {
+            this.forecastDate = forecastDate;
+            return this;
+        }
+
+        public Builder createdTime(Instant createdTime) {
+            this.createdTime = createdTime;
+            return this;
+        }
+
+        public Builder lastUpdatedTime(Instant lastUpdatedTime) {
+            this.lastUpdatedTime = lastUpdatedTime;
+            return this;
+        }
+
+        public Builder forecaster(String forecaster) {
+            this.forecaster = forecaster;
+            return this;
+        }
+
+        public Builder dataPoints(List<VolumeForecastPointRecord> dataPoints) {
+            this.dataPoints = dataPoints;
+            return this;
+        }
+
+        public Builder addDataPoint(VolumeForecastPointRecord point) {
+            if (!(dataPoints instanceof ArrayList)) {
+                dataPoints = dataPoints == null ? new ArrayList<>() : new ArrayList<>(dataPoints);
+            }
+            dataPoints.add(point);
+            return this;
+        }
+
+        public VolumeForecastSeriesRecord build() {
+            return new VolumeForecastSeriesRecord(
+                    tenantId,
+                    forecastId,
+                    externalReference,
+                    assetId,
+                    assetName,
+                    assetType,
+                    isoRegion,
+                    marketZone,
+                    balancingAuthority,
+                    meterId,
+                    meterName,
+                    location,
+                    timeZone,
+                    volumeUom,
+                    forecastDate,
+                    createdTime,
+                    lastUpdatedTime,
+                    forecaster,
+                    dataPoints);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.power.base.datamodel.intern;
+
+import java.io.Serializable;
+
+/**
+ * Point-in-time counters of a {@link StringInterner}.
+ */
+public final class InternerStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long hits;
+    private final long misses;
+    private final long rejected;
+    private final long bypassed;
+    private final int entries;
+    private final long bytesSaved;
+
+    InternerStats(long hits, long misses, long rejected, long bypassed, int entries, long bytesSaved) {
+        this.hits = hits;
+        this.misses = misses;
+        this.rejected = rejected;
+        this.bypassed = bypassed;
+        this.entries = entries;
+        this.bytesSaved = bytesSaved;
+    }
+
+    /**
+     * Lookups answered with an existing canonical instance.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Lookups that admitted a new entry.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Lookups of unseen values turned away because the dictionary was full.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Lookups skipped because the value exceeded the maximum length.
+     */
+    public long getBypassed() {
+        return bypassed;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * Estimated bytes of duplicate strings made unreachable by handing out canonical instances.
+     */
+    public long getBytesSaved() {
+        return bytesSaved;
+    }
+
+    public long getLookups() {
+        return hits + misses + rejected + bypassed;
+    }
+
+    public double getHitRate() {
+        long lookups = getLookups();
+        return lookups == 0 ? 0d : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "InternerStats{hits=" + hits
+                + ", misses=" + misses
+                + ", rejected=" + rejected
+                + ", bypassed=" + bypassed
+                + ", entries=" + entries
+                + ", bytesSaved=" + bytesSaved + '}';
+    }
+}
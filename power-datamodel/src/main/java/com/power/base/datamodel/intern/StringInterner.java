@@ -0,0 +1,127 @@
+package com.power.base.datamodel.intern;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe dictionary handing out one canonical instance per distinct string.
+ * <p>
+ * Mappers route repeated values (units, currencies, markets, tenant ids, {@code dayHour} labels, ...) through
+ * {@link #shared()} so that millions of loaded line items reference a few hundred strings instead of holding their
+ * own copies. The dictionary never evicts: once {@code maxEntries} values are admitted, unseen values are returned
+ * unchanged, and values longer than {@code maxLength} bypass it entirely since they are unlikely to repeat. Unlike
+ * {@link String#intern()} the entries live on the regular heap and the hit rate and estimated bytes saved are
+ * observable through {@link #stats()}.
+ */
+public final class StringInterner {
+
+    public static final int DEFAULT_MAX_ENTRIES = 65_536;
+    public static final int DEFAULT_MAX_LENGTH = 64;
+
+    private static final StringInterner SHARED = new StringInterner(
+            Integer.getInteger("power.intern.maxEntries", DEFAULT_MAX_ENTRIES),
+            Integer.getInteger("power.intern.maxLength", DEFAULT_MAX_LENGTH));
+
+    private final int maxEntries;
+    private final int maxLength;
+    private final ConcurrentHashMap<String, String> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    public StringInterner(int maxEntries, int maxLength) {
+        if (maxEntries <= 0 || maxLength <= 0) {
+            throw new IllegalArgumentException("maxEntries and maxLength must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * The process wide dictionary; bounds can be tuned with the {@code power.intern.maxEntries} and
+     * {@code power.intern.maxLength} system properties.
+     */
+    public static StringInterner shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return the canonical instance equal to {@code value}, or {@code value} itself when it is new and the
+     * dictionary is full or the value is too long; {@code null} stays {@code null}
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.length() > maxLength) {
+            bypassed.increment();
+            return value;
+        }
+        String canonical = entries.get(value);
+        if (canonical != null) {
+            return hit(value, canonical);
+        }
+        if (size.incrementAndGet() > maxEntries) {
+            size.decrementAndGet();
+            rejected.increment();
+            return value;
+        }
+        canonical = entries.putIfAbsent(value, value);
+        if (canonical != null) {
+            size.decrementAndGet();
+            return hit(value, canonical);
+        }
+        misses.increment();
+        return value;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public InternerStats stats() {
+        return new InternerStats(hits.sum(), misses.sum(), rejected.sum(), bypassed.sum(), size.get(),
+                bytesSaved.sum());
+    }
+
+    /**
+     * Drops all entries and resets the counters; canonical instances already handed out stay valid.
+     */
+    public void clear() {
+        entries.clear();
+        size.set(0);
+        hits.reset();
+        misses.reset();
+        rejected.reset();
+        bypassed.reset();
+        bytesSaved.reset();
+    }
+
+    private String hit(String value, String canonical) {
+        hits.increment();
+        if (canonical != value) {
+            bytesSaved.add(estimatedSize(value));
+        }
+        return canonical;
+    }
+
+    /**
+     * Shallow size of a compact Latin-1 string on a 64-bit JVM with compressed oops: a 24 byte {@code String}
+     * plus a 16 byte array header and the padded payload.
+     */
+    static long estimatedSize(String value) {
+        return 24L + ((16L + value.length() + 7L) & ~7L);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Shared canonical instances for the low-cardinality strings repeated across loaded trades and series.
+ */
+package com.power.base.datamodel.intern;
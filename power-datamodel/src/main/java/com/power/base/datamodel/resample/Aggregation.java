@@ -0,0 +1,12 @@
+package com.power.base.datamodel.resample;
+
+/**
+ * How the samples falling into one bucket are combined. {@link #SUM} suits energy quantities, {@link #MEAN} and
+ * {@link #MAX} suit capacities.
+ */
+public enum Aggregation {
+    SUM,
+    MEAN,
+    MAX,
+    MIN
+}
@@ -0,0 +1,354 @@
+package com.power.base.datamodel.resample;
+
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
+import com.power.base.datamodel.dto.physicals.PhysicalScheduleGenerator;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
+import com.power.base.datamodel.dto.timeser.VolumeForecastPointBlock;
+import com.power.base.datamodel.dto.timeser.VolumeForecastSeriesDto;
+import com.power.base.datamodel.dto.timeser.VolumeForecastSeriesPointDto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Resamples schedules and forecast series from a fine {@link Profile} into coarser buckets, e.g. one-minute
+ * segments into quarter hours or quarter hours into hours.
+ * <p>
+ * The engine works on primitive start/value columns. When the samples are evenly spaced and the source step divides
+ * the bucket width (the usual case for generated schedules) every bucket is a contiguous slice reduced by an unrolled
+ * loop with independent accumulators, which breaks the dependency chain of a single running sum. Irregular input with
+ * gaps falls back to a per-sample scatter. Buckets are aligned to the wall-clock grid of the given zone so that
+ * hourly buckets start on the local hour even for half-hour offsets.
+ */
+public final class ProfileResampler {
+
+    private ProfileResampler() {
+    }
+
+    /**
+     * Aggregates {@code values[0, length)} into buckets of {@code stepMillis} starting at {@code originEpochMilli}.
+     * Each sample is attributed to the bucket containing its start; starts must be ascending and not before the
+     * origin.
+     */
+    public static ResampledSeries resample(long[] startEpochMillis,
+                                           double[] values,
+                                           int length,
+                                           long originEpochMilli,
+                                           long stepMillis,
+                                           Aggregation aggregation) {
+        Objects.requireNonNull(startEpochMillis, "startEpochMillis must not be null");
+        Objects.requireNonNull(values, "values must not be null");
+        Objects.requireNonNull(aggregation, "aggregation must not be null");
+        if (stepMillis <= 0) {
+            throw new IllegalArgumentException("stepMillis must be positive");
+        }
+        if (length < 0 || length > startEpochMillis.length || length > values.length) {
+            throw new IllegalArgumentException("length exceeds the supplied arrays");
+        }
+        if (length == 0) {
+            return new ResampledSeries(originEpochMilli, stepMillis, new double[0], new int[0]);
+        }
+        if (startEpochMillis[0] < originEpochMilli) {
+            throw new IllegalArgumentException("First sample starts before the origin");
+        }
+        long sourceStep = uniformStep(startEpochMillis, length);
+        if (sourceStep > 0
+                && stepMillis % sourceStep == 0
+                && (startEpochMillis[0] - originEpochMilli) % sourceStep == 0) {
+            return resampleUniform(startEpochMillis[0], sourceStep, values, length, originEpochMilli, stepMillis,
+                    aggregation);
+        }
+        return resampleIrregular(startEpochMillis, values, length, originEpochMilli, stepMillis, aggregation);
+    }
+
+    /**
+     * Resamples a physical schedule to {@code target}: quantities are summed and capacities averaged.
+     */
+    public static PhysicalTradeDetailsDto resample(PhysicalTradeDetailsDto details, Profile target, ZoneId zoneId) {
+        return resample(details, target, zoneId, Aggregation.MEAN);
+    }
+
+    /**
+     * Resamples a physical schedule to {@code target}, summing quantities and combining capacities with
+     * {@code capacityAggregation}. Buckets without line items are omitted from the result. Every line item must
+     * have a start time, fit inside a single bucket and share the same unit of measure.
+     */
+    public static PhysicalTradeDetailsDto resample(PhysicalTradeDetailsDto details,
+                                                   Profile target,
+                                                   ZoneId zoneId,
+                                                   Aggregation capacityAggregation) {
+        Objects.requireNonNull(details, "details must not be null");
+        Objects.requireNonNull(target, "target must not be null");
+        Objects.requireNonNull(zoneId, "zoneId must not be null");
+        PhysicalLineItemSchedule schedule = details.schedule();
+        int size = schedule.size();
+        if (size == 0) {
+            return new PhysicalTradeDetailsDto(new PhysicalLineItemSchedule());
+        }
+
+        long stepMillis = target.getDuration().toMillis();
+        String uom = schedule.getUom(0);
+        long[] starts = new long[size];
+        double[] quantities = new double[size];
+        double[] capacities = new double[size];
+        for (int i = 0; i < size; i++) {
+            if (!schedule.hasPeriodStartTime(i)) {
+                throw new IllegalArgumentException("Line item " + i + " has no period start time");
+            }
+            if (!Objects.equals(uom, schedule.getUom(i))) {
+                throw new IllegalArgumentException("Line item " + i + " uses unit " + schedule.getUom(i)
+                        + " but the schedule uses " + uom);
+            }
+            starts[i] = schedule.getPeriodStartEpochMilli(i);
+            quantities[i] = schedule.getQuantity(i);
+            capacities[i] = schedule.getCapacity(i);
+        }
+
+        long origin = alignedOrigin(starts[0], stepMillis, zoneId);
+        for (int i = 0; i < size; i++) {
+            if (schedule.hasPeriodEndTime(i)
+                    && Math.floorDiv(schedule.getPeriodEndEpochMilli(i) - 1 - origin, stepMillis)
+                    != Math.floorDiv(starts[i] - origin, stepMillis)) {
+                throw new IllegalArgumentException("Line item " + i + " does not fit into a single " + target
+                        + " bucket");
+            }
+        }
+        ResampledSeries summedQuantities = resample(starts, quantities, size, origin, stepMillis, Aggregation.SUM);
+        ResampledSeries combinedCapacities = resample(starts, capacities, size, origin, stepMillis,
+                capacityAggregation);
+
+        int buckets = summedQuantities.size();
+        PhysicalLineItemSchedule result = new PhysicalLineItemSchedule(buckets);
+        Instant from = Instant.ofEpochMilli(origin);
+        PhysicalScheduleGenerator.of(from, from.plusMillis(buckets * stepMillis), target, zoneId, 0d, uom, 0d)
+                .forEachSegment((index, startSecond, endSecond, nano, startDay, endDay, dayHour) -> {
+                    if (summedQuantities.getCount(index) > 0) {
+                        long bucketStart = summedQuantities.getBucketStartEpochMilli(index);
+                        result.add(bucketStart, bucketStart + stepMillis, LocalDate.ofEpochDay(startDay),
+                                LocalDate.ofEpochDay(endDay), dayHour, summedQuantities.getValue(index), uom,
+                                combinedCapacities.getValue(index), target);
+                    }
+                });
+        result.trimToSize();
+        return new PhysicalTradeDetailsDto(result);
+    }
+
+    /**
+     * Resamples the forecast and actual volumes of a series to {@code target} by summing them.
+     */
+    public static List<VolumeForecastSeriesPointDto> resample(VolumeForecastSeriesDto series, Profile target) {
+        return resample(series, target, Aggregation.SUM);
+    }
+
+    /**
+     * Resamples the forecast and actual volumes of a series to {@code target}. Buckets are aligned in the series
+     * time zone (UTC when unset) and buckets without points are omitted. Readings that do not aggregate
+     * meaningfully (status, confidence bounds, weather) are not carried over.
+     */
+    public static List<VolumeForecastSeriesPointDto> resample(VolumeForecastSeriesDto series,
+                                                              Profile target,
+                                                              Aggregation aggregation) {
+        Objects.requireNonNull(series, "series must not be null");
+        Objects.requireNonNull(target, "target must not be null");
+        VolumeForecastPointBlock points = series.points();
+        int size = points.size();
+        if (size == 0) {
+            return new ArrayList<>();
+        }
+
+        ZoneId zoneId = series.getTimeZone() == null ? ZoneOffset.UTC : ZoneId.of(series.getTimeZone());
+        long stepMillis = target.getDuration().toMillis();
+        long[] starts = new long[size];
+        double[] forecast = new double[size];
+        double[] actual = new double[size];
+        for (int i = 0; i < size; i++) {
+            if (!points.hasIntervalStartTime(i)) {
+                throw new IllegalArgumentException("Data point " + i + " has no interval start time");
+            }
+            starts[i] = points.getIntervalStartEpochMilli(i);
+            forecast[i] = points.getForecastVolume(i);
+            actual[i] = points.getActualVolume(i);
+        }
+
+        long origin = alignedOrigin(starts[0], stepMillis, zoneId);
+        ResampledSeries forecastBuckets = resample(starts, forecast, size, origin, stepMillis, aggregation);
+        ResampledSeries actualBuckets = resample(starts, actual, size, origin, stepMillis, aggregation);
+        String uom = points.getMeasurementUom(0) != null
+                ? points.getMeasurementUom(0)
+                : series.getVolumeUom();
+
+        List<VolumeForecastSeriesPointDto> result = new ArrayList<>();
+        for (int b = 0; b < forecastBuckets.size(); b++) {
+            if (forecastBuckets.getCount(b) == 0) {
+                continue;
+            }
+            Instant start = forecastBuckets.getBucketStart(b);
+            VolumeForecastSeriesPointDto point = new VolumeForecastSeriesPointDto();
+            point.setIntervalDate(LocalDate.ofInstant(start, zoneId));
+            point.setIntervalStartTime(start);
+            point.setIntervalEndTime(start.plusMillis(stepMillis));
+            point.setForecastVolume(forecastBuckets.getValue(b));
+            point.setActualVolume(actualBuckets.getValue(b));
+            point.setMeasurementUom(uom);
+            result.add(point);
+        }
+        return result;
+    }
+
+    /**
+     * @return the start of the bucket containing {@code epochMilli} on the wall-clock grid of {@code zoneId}
+     */
+    static long alignedOrigin(long epochMilli, long stepMillis, ZoneId zoneId) {
+        long offsetMillis = zoneId.getRules().getOffset(Instant.ofEpochMilli(epochMilli)).getTotalSeconds() * 1_000L;
+        return epochMilli - Math.floorMod(epochMilli + offsetMillis, stepMillis);
+    }
+
+    private static long uniformStep(long[] starts, int length) {
+        if (length < 2) {
+            return -1;
+        }
+        long step = starts[1] - starts[0];
+        if (step <= 0) {
+            return -1;
+        }
+        for (int i = 2; i < length; i++) {
+            if (starts[i] - starts[i - 1] != step) {
+                return -1;
+            }
+        }
+        return step;
+    }
+
+    private static ResampledSeries resampleUniform(long firstStart,
+                                                   long sourceStep,
+                                                   double[] values,
+                                                   int length,
+                                                   long originEpochMilli,
+                                                   long stepMillis,
+                                                   Aggregation aggregation) {
+        int factor = Math.toIntExact(stepMillis / sourceStep);
+        long offset = firstStart - originEpochMilli;
+        int firstBucket = Math.toIntExact(offset / stepMillis);
+        int phase = (int) ((offset % stepMillis) / sourceStep);
+        int bucketCount = Math.toIntExact(firstBucket + ((long) phase + length + factor - 1) / factor);
+
+        double[] out = new double[bucketCount];
+        int[] counts = new int[bucketCount];
+        double empty = emptyValue(aggregation);
+        for (int b = 0; b < firstBucket; b++) {
+            out[b] = empty;
+        }
+        int from = 0;
+        int to = Math.min(length, factor - phase);
+        for (int b = firstBucket; b < bucketCount; b++) {
+            out[b] = reduce(values, from, to, aggregation);
+            counts[b] = to - from;
+            from = to;
+            to = Math.min(length, to + factor);
+        }
+        return new ResampledSeries(originEpochMilli, stepMillis, out, counts);
+    }
+
+    private static ResampledSeries resampleIrregular(long[] starts,
+                                                     double[] values,
+                                                     int length,
+                                                     long originEpochMilli,
+                                                     long stepMillis,
+                                                     Aggregation aggregation) {
+        for (int i = 1; i < length; i++) {
+            if (starts[i] < starts[i - 1]) {
+                throw new IllegalArgumentException("Sample starts must be ascending, sample " + i + " is not");
+            }
+        }
+        int bucketCount = Math.toIntExact((starts[length - 1] - originEpochMilli) / stepMillis + 1);
+        double[] out = new double[bucketCount];
+        int[] counts = new int[bucketCount];
+        for (int i = 0; i < length; i++) {
+            int b = (int) ((starts[i] - originEpochMilli) / stepMillis);
+            double value = values[i];
+            if (counts[b]++ == 0) {
+                out[b] = value;
+            } else {
+                out[b] = switch (aggregation) {
+                    case SUM, MEAN -> out[b] + value;
+                    case MAX -> Math.max(out[b], value);
+                    case MIN -> Math.min(out[b], value);
+                };
+            }
+        }
+        double empty = emptyValue(aggregation);
+        for (int b = 0; b < bucketCount; b++) {
+            if (counts[b] == 0) {
+                out[b] = empty;
+            } else if (aggregation == Aggregation.MEAN) {
+                out[b] /= counts[b];
+            }
+        }
+        return new ResampledSeries(originEpochMilli, stepMillis, out, counts);
+    }
+
+    private static double emptyValue(Aggregation aggregation) {
+        return aggregation == Aggregation.SUM ? 0d : Double.NaN;
+    }
+
+    private static double reduce(double[] values, int from, int to, Aggregation aggregation) {
+        return switch (aggregation) {
+            case SUM -> sum(values, from, to);
+            case MEAN -> sum(values, from, to) / (to - from);
+            case MAX -> max(values, from, to);
+            case MIN -> min(values, from, to);
+        };
+    }
+
+    private static double sum(double[] values, int from, int to) {
+        double s0 = 0d;
+        double s1 = 0d;
+        double s2 = 0d;
+        double s3 = 0d;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += values[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static double max(double[] values, int from, int to) {
+        double m0 = values[from];
+        double m1 = m0;
+        int i = from + 1;
+        for (; i + 1 < to; i += 2) {
+            m0 = Math.max(m0, values[i]);
+            m1 = Math.max(m1, values[i + 1]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.max(m0, values[i]);
+        }
+        return Math.max(m0, m1);
+    }
+
+    private static double min(double[] values, int from, int to) {
+        double m0 = values[from];
+        double m1 = m0;
+        int i = from + 1;
+        for (; i + 1 < to; i += 2) {
+            m0 = Math.min(m0, values[i]);
+            m1 = Math.min(m1, values[i + 1]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.min(m0, values[i]);
+        }
+        return Math.min(m0, m1);
+    }
+}
@@ -0,0 +1,56 @@
+package com.power.base.datamodel.resample;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Result of a resampling run: one aggregated value per fixed-width bucket starting at {@link #getOriginEpochMilli()}.
+ * Buckets without samples have a count of zero and hold {@code 0} for {@link Aggregation#SUM} and {@code NaN}
+ * otherwise.
+ */
+public final class ResampledSeries {
+
+    private final long originEpochMilli;
+    private final long stepMillis;
+    private final double[] values;
+    private final int[] counts;
+
+    ResampledSeries(long originEpochMilli, long stepMillis, double[] values, int[] counts) {
+        this.originEpochMilli = originEpochMilli;
+        this.stepMillis = stepMillis;
+        this.values = values;
+        this.counts = counts;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public long getOriginEpochMilli() {
+        return originEpochMilli;
+    }
+
+    public long getStepMillis() {
+        return stepMillis;
+    }
+
+    public long getBucketStartEpochMilli(int index) {
+        return originEpochMilli + index * stepMillis;
+    }
+
+    public Instant getBucketStart(int index) {
+        return Instant.ofEpochMilli(getBucketStartEpochMilli(index));
+    }
+
+    public double getValue(int index) {
+        return values[index];
+    }
+
+    public int getCount(int index) {
+        return counts[index];
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(values, values.length);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Aggregation of fine grained schedules and forecast series into coarser {@code Profile} buckets.
+ */
+package com.power.base.datamodel.resample;
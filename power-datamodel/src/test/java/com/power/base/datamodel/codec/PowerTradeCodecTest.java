@@ -0,0 +1,274 @@
+package com.power.base.datamodel.codec;
+
+import com.power.base.datamodel.dto.common.BuySellIndicator;
+import com.power.base.datamodel.dto.common.DocumentType;
+import com.power.base.datamodel.dto.common.PartyDto;
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.financials.SwapMetadataDto;
+import com.power.base.datamodel.dto.financials.SwapPeriodDto;
+import com.power.base.datamodel.dto.financials.SwapPowerTradeDto;
+import com.power.base.datamodel.dto.financials.SwapSettlementInfoDto;
+import com.power.base.datamodel.dto.financials.SwapTradeDetailsDto;
+import com.power.base.datamodel.dto.financials.SwapTradeHeaderDto;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
+import com.power.base.datamodel.dto.physicals.PhysicalMetadataDto;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementInfoDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderDto;
+import com.power.base.datamodel.dto.timeser.VolumeForecastPointBlock;
+import com.power.base.datamodel.dto.timeser.VolumeForecastSeriesPointDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PowerTradeCodecTest {
+
+    @Test
+    void physicalTrade_roundTripsAllFields() {
+        PhysicalPowerTradeDto trade = buildPhysicalTrade(96);
+
+        PhysicalPowerTradeDto decoded = PowerTradeCodec.decodePhysical(PowerTradeCodec.encodePhysical(trade));
+
+        assertThat(decoded).usingRecursiveComparison().ignoringFields("tradeDetails").isEqualTo(trade);
+        assertThat(decoded.getTradeDetails().getLineItems())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(trade.getTradeDetails().getLineItems());
+    }
+
+    @Test
+    void physicalTrade_roundTripsNullsAndSparseLineItems() {
+        PhysicalPowerTradeDto trade = new PhysicalPowerTradeDto();
+        trade.setTradeHeader(new PhysicalTradeHeaderDto());
+        PhysicalLineItemDto sparse = new PhysicalLineItemDto();
+        sparse.setQuantity(-1.5);
+        PhysicalLineItemDto dated = new PhysicalLineItemDto(LocalDate.of(1969, 12, 31), null,
+                null, Instant.parse("1969-12-31T23:00:00Z"), null, Double.MIN_VALUE, "MWh", 0d, null);
+        trade.setTradeDetails(new PhysicalTradeDetailsDto(Arrays.asList(sparse, dated)));
+
+        PhysicalPowerTradeDto decoded = PowerTradeCodec.decodePhysical(PowerTradeCodec.encodePhysical(trade));
+
+        assertThat(decoded.getSettlementInfo()).isNull();
+        assertThat(decoded.getMetadata()).isNull();
+        assertThat(decoded.getTradeHeader()).usingRecursiveComparison().isEqualTo(trade.getTradeHeader());
+        assertThat(decoded.getTradeDetails().getLineItems())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(trade.getTradeDetails().getLineItems());
+    }
+
+    @Test
+    void physicalTrade_isSmallerThanJavaSerialization() throws Exception {
+        PhysicalPowerTradeDto trade = buildPhysicalTrade(24 * 4 * 31);
+
+        byte[] encoded = PowerTradeCodec.encodePhysical(trade);
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(trade);
+        }
+
+        assertThat(encoded.length).isLessThan(serialized.size() / 2);
+    }
+
+    @Test
+    void swapTrade_roundTripsAllFields() {
+        SwapPowerTradeDto trade = buildSwapTrade();
+
+        SwapPowerTradeDto decoded = PowerTradeCodec.decodeSwap(PowerTradeCodec.encodeSwap(trade));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(trade);
+    }
+
+    @Test
+    void volumePoints_roundTrip() {
+        VolumeForecastSeriesPointDto point = new VolumeForecastSeriesPointDto();
+        point.setIntervalDate(LocalDate.of(2025, 11, 10));
+        point.setIntervalStartTime(Instant.parse("2025-11-10T00:00:00Z"));
+        point.setIntervalEndTime(Instant.parse("2025-11-10T00:15:00Z"));
+        point.setForecastVolume(12.5);
+        point.setActualVolume(11.75);
+        point.setMeasurementUom("MWh");
+        point.setMeterReadingStatus("ACTUAL");
+        point.setConfidenceLowerBound(10.0);
+        point.setTemperature(-3.5);
+        point.setWeatherCondition("Snow");
+        VolumeForecastSeriesPointDto empty = new VolumeForecastSeriesPointDto();
+        List<VolumeForecastSeriesPointDto> points = Arrays.asList(point, empty);
+
+        List<VolumeForecastSeriesPointDto> decoded = VolumeForecastPointCodec.decode(VolumeForecastPointCodec.encode(points));
+
+        assertThat(decoded).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(points);
+
+        VolumeForecastPointBlock block = VolumeForecastPointBlock.fromPoints(points);
+        assertThat(VolumeForecastPointCodec.encode(block)).isEqualTo(VolumeForecastPointCodec.encode(points));
+        assertThat(VolumeForecastPointCodec.decodeBlock(VolumeForecastPointCodec.encode(points)).asList())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(points);
+    }
+
+    @Test
+    void lineItemSchedule_roundTripsRawAndDeflated() {
+        PhysicalLineItemSchedule small = buildPhysicalTrade(4).getTradeDetails().schedule();
+        PhysicalLineItemSchedule month = buildPhysicalTrade(24 * 4 * 31).getTradeDetails().schedule();
+
+        byte[] smallPayload = PhysicalLineItemScheduleCodec.encode(small);
+        byte[] monthPayload = PhysicalLineItemScheduleCodec.encode(month);
+
+        assertThat(PhysicalLineItemScheduleCodec.isPayload(monthPayload)).isTrue();
+        assertThat(PowerTradeCodec.isPhysicalPayload(monthPayload)).isFalse();
+        assertThat(smallPayload[4]).isZero();
+        assertThat(monthPayload[4]).isEqualTo((byte) 1);
+        assertThat(PhysicalLineItemScheduleCodec.decode(smallPayload).asList())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(small.asList());
+        assertThat(PhysicalLineItemScheduleCodec.decode(monthPayload).asList())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(month.asList());
+        assertThat(monthPayload.length).isLessThan(month.size() * 3);
+        assertThatThrownBy(() -> PhysicalLineItemScheduleCodec.decode(
+                Arrays.copyOf(monthPayload, monthPayload.length - 8)))
+                .isInstanceOf(CodecException.class);
+    }
+
+    @Test
+    void decode_rejectsForeignTruncatedAndFutureVersionPayloads() {
+        byte[] physical = PowerTradeCodec.encodePhysical(buildPhysicalTrade(4));
+        byte[] futureVersion = physical.clone();
+        futureVersion[2] = (byte) (PowerTradeCodec.VERSION + 1);
+
+        assertThat(PowerTradeCodec.isPhysicalPayload(physical)).isTrue();
+        assertThat(PowerTradeCodec.isSwapPayload(physical)).isFalse();
+        assertThatThrownBy(() -> PowerTradeCodec.decodeSwap(physical)).isInstanceOf(CodecException.class);
+        assertThatThrownBy(() -> PowerTradeCodec.decodePhysical(Arrays.copyOf(physical, physical.length - 3)))
+                .isInstanceOf(CodecException.class);
+        assertThatThrownBy(() -> PowerTradeCodec.decodePhysical(futureVersion))
+                .isInstanceOf(CodecException.class)
+                .hasMessageContaining("version");
+        assertThatThrownBy(() -> PowerTradeCodec.decodePhysical("[]".getBytes()))
+                .isInstanceOf(CodecException.class);
+    }
+
+    @Test
+    void reader_rejectsNegativeAndUnknownStringAndEnumCodes() {
+        // 0xFFFFFFFF and 0x80000000 as varints, which fit an int only as -1 and Integer.MIN_VALUE
+        byte[] minusOne = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        byte[] minValue = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x08};
+
+        for (byte[] code : List.of(minusOne, minValue, new byte[]{2})) {
+            assertThatThrownBy(() -> new BinaryReader(code).readString())
+                    .isInstanceOf(CodecException.class)
+                    .hasMessageContaining("Unknown string reference");
+        }
+        for (byte[] code : List.of(minusOne, minValue, new byte[]{(byte) (Profile.values().length + 1)})) {
+            assertThatThrownBy(() -> new BinaryReader(code).readEnum(Profile.values()))
+                    .isInstanceOf(CodecException.class)
+                    .hasMessageContaining("Unknown enum code");
+        }
+        assertThat(new BinaryReader(new byte[]{(byte) Profile.values().length}).readEnum(Profile.values()))
+                .isEqualTo(Profile.values()[Profile.values().length - 1]);
+    }
+
+    @Test
+    void reader_rejectsDatesOutsideTheLocalDateRange() {
+        BinaryWriter writer = new BinaryWriter(16);
+        writer.writeVarLong(((LocalDate.MAX.toEpochDay() + 1) << 1) + 1);
+
+        assertThatThrownBy(() -> new BinaryReader(writer.toByteArray()).readDate())
+                .isInstanceOf(CodecException.class)
+                .hasMessageContaining("Date out of range at offset 0");
+    }
+
+    @Test
+    void reader_rejectsInstantsOutsideTheInstantRange() {
+        BinaryWriter seconds = new BinaryWriter(16);
+        seconds.writeByte(1);
+        seconds.writeSignedVarLong(Instant.MAX.getEpochSecond() + 1);
+        BinaryWriter overflow = new BinaryWriter(16);
+        overflow.writeByte(2);
+        overflow.writeSignedVarLong(Long.MAX_VALUE);
+        overflow.writeVarInt(0);
+
+        assertThatThrownBy(() -> new BinaryReader(seconds.toByteArray()).readInstant())
+                .isInstanceOf(CodecException.class)
+                .hasMessageContaining("Instant out of range at offset 0");
+        assertThatThrownBy(() -> new BinaryReader(overflow.toByteArray()).readInstant(1L))
+                .isInstanceOf(CodecException.class)
+                .hasMessageContaining("Instant out of range at offset 0");
+    }
+
+    private PhysicalPowerTradeDto buildPhysicalTrade(int lineItemCount) {
+        PhysicalTradeHeaderDto header = new PhysicalTradeHeaderDto("PWR-CODEC-1", "TENANT_A",
+                LocalDate.of(2025, 11, 7), Instant.parse("2025-11-07T14:30:00.123456789Z"),
+                DocumentType.CONFIRMATION, "1.0",
+                new PartyDto("10X1001A1001A450F6", "Utility EU Ltd", "Buyer"),
+                new PartyDto("10XFR-ENTSOE-0000000A", "GenCo US Inc", "Seller"),
+                "Nord Pool Trading Desk", "Physical Hedging Book", "John Doe (TRDR-456)", "EFET-2023-001",
+                "EPEX-SPOT", "Power", "FOR", "DE-LU", "Base Load", BuySellIndicator.SELL, true);
+
+        Instant start = Instant.parse("2025-10-25T22:00:00Z");
+        List<PhysicalLineItemDto> lineItems = new ArrayList<>(PhysicalLineItemDto.generateSchedule(start,
+                start.plus(Profile.FIFTEEN_MIN.getDuration().multipliedBy(lineItemCount)), Profile.FIFTEEN_MIN,
+                ZoneId.of("Europe/Berlin"), 12.5, "MWh", 50.0));
+        for (int i = 0; i < lineItems.size(); i += 7) {
+            lineItems.get(i).setQuantity(i * 0.1);
+        }
+
+        PhysicalSettlementItemDto settlementItem = new PhysicalSettlementItemDto("SET-1",
+                List.of("LINE#0001", "LINE#0002"), LocalDate.of(2025, 11, 7), 1198.5, "MWh", 75.5, 74.25,
+                "EUR/MWh", "EUR/MWh", 1.5, 0.25, 90462.75, "EUR", "EUR", "Provisional");
+        PhysicalSettlementInfoDto settlementInfo = new PhysicalSettlementInfoDto(33600.0, "MWh", "Fixed", 75.5,
+                75.5, "EUR", "EUR", "EUR/MWh", "EUR/MWh", LocalDate.of(2025, 11, 7), null,
+                LocalDate.of(2025, 11, 14), Instant.parse("2025-11-14T00:00:00Z"), "Schedule_Date", 5,
+                2536800.0, 2, List.of(settlementItem));
+
+        return new PhysicalPowerTradeDto(header, new PhysicalTradeDetailsDto(lineItems), settlementInfo,
+                new PhysicalMetadataDto(LocalDate.of(2025, 11, 7), LocalDate.of(2025, 11, 14), "EU (German Law)"));
+    }
+
+    private SwapPowerTradeDto buildSwapTrade() {
+        SwapTradeHeaderDto header = new SwapTradeHeaderDto();
+        header.setTradeId("SWP-CODEC-1");
+        header.setTenantId("TENANT_A");
+        header.setTradeDate(LocalDate.of(2025, 11, 7));
+        header.setTradeTime(Instant.parse("2025-11-07T09:15:00Z"));
+        header.setDocumentType(DocumentType.TRADE);
+        header.setBuyerParty(new PartyDto("B1", "Buyer", "Buyer"));
+        header.setMarket("EEX");
+        header.setReferenceZone("DE-LU");
+        header.setBuySellIndicator(BuySellIndicator.BUY);
+
+        List<SwapPeriodDto> periods = new ArrayList<>();
+        Instant periodStart = Instant.parse("2026-01-01T00:00:00Z");
+        for (int i = 0; i < 12; i++) {
+            Instant periodEnd = periodStart.plusSeconds(30L * 86400);
+            periods.add(new SwapPeriodDto(100 + i, "MW", LocalDate.of(2026, 1, 1).plusDays(30L * i), periodStart,
+                    LocalDate.of(2026, 1, 31).plusDays(30L * i), periodEnd, "Monthly", "EEX-DE-BASE", "Base"));
+            periodStart = periodEnd;
+        }
+
+        SwapSettlementInfoDto settlementInfo = new SwapSettlementInfoDto();
+        settlementInfo.setTotalNotional(1266);
+        settlementInfo.setSettlementType("Cash");
+        settlementInfo.setSettlementDate(LocalDate.of(2027, 1, 5));
+        settlementInfo.setFixedPrice(81.2);
+        settlementInfo.setSettlementCurrency("EUR");
+
+        SwapMetadataDto metadata = new SwapMetadataDto();
+        metadata.setClearable(true);
+        metadata.setUti("UTI-123");
+        metadata.setEffectiveDate(LocalDate.of(2026, 1, 1));
+
+        return new SwapPowerTradeDto(header, new SwapTradeDetailsDto(periods), settlementInfo, metadata);
+    }
+}
@@ -0,0 +1,130 @@
+package com.power.base.datamodel.diff;
+
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementInfoDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhysicalTradeDiffTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final long BASE = 1_762_473_600_000L;
+
+    @Test
+    void between_identicalTradesIsEmpty() {
+        PhysicalTradeChangeSet changes = PhysicalTradeDiff.between(trade(hours(0, 4)), trade(hours(0, 4)));
+
+        assertThat(changes.requiresFullRewrite()).isFalse();
+        assertThat(changes.isEmpty()).isTrue();
+        for (int i = 0; i < 4; i++) {
+            assertThat(changes.getStoredIndex(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void between_classifiesLineItemsByPeriodStart() {
+        PhysicalLineItemSchedule stored = hours(0, 4);
+        PhysicalLineItemSchedule incoming = new PhysicalLineItemSchedule();
+        addHour(incoming, 1, 10.0);
+        addHour(incoming, 2, 42.0);
+        addHour(incoming, 3, 10.0);
+        addHour(incoming, 4, 10.0);
+
+        PhysicalTradeChangeSet changes = PhysicalTradeDiff.between(trade(stored), trade(incoming));
+
+        assertThat(changes.getDeletedLineItems()).containsExactly(0);
+        assertThat(changes.getUpdatedLineItems()).containsExactly(1);
+        assertThat(changes.getInsertedLineItems()).containsExactly(3);
+        assertThat(changes.getStoredIndex(0)).isEqualTo(1);
+        assertThat(changes.getStoredIndex(3)).isEqualTo(-1);
+        assertThat(changes.changeCount()).isEqualTo(3);
+    }
+
+    @Test
+    void between_matchesUnorderedSchedulesByHash() {
+        PhysicalLineItemSchedule incoming = new PhysicalLineItemSchedule();
+        addHour(incoming, 2, 10.0);
+        addHour(incoming, 0, 10.0);
+        addHour(incoming, 1, 11.0);
+
+        PhysicalTradeChangeSet changes = PhysicalTradeDiff.between(trade(hours(0, 3)), trade(incoming));
+
+        assertThat(changes.getStoredIndex(0)).isEqualTo(2);
+        assertThat(changes.getStoredIndex(1)).isEqualTo(0);
+        assertThat(changes.getUpdatedLineItems()).containsExactly(2);
+        assertThat(changes.getInsertedLineItems()).isEmpty();
+        assertThat(changes.getDeletedLineItems()).isEmpty();
+    }
+
+    @Test
+    void between_keysSettlementItemsById() {
+        PhysicalPowerTradeDto stored = trade(hours(0, 1), settlement("SET-1", "Pending", "LI-1", "LI-2"),
+                settlement("SET-2", "Pending"));
+        PhysicalPowerTradeDto incoming = trade(hours(0, 1), settlement("SET-1", "Pending", "LI-2", "LI-1"),
+                settlement("SET-2", "Final"), settlement("SET-3", "Pending"));
+
+        PhysicalTradeChangeSet changes = PhysicalTradeDiff.between(stored, incoming);
+
+        assertThat(changes.getUpdatedSettlementItems())
+                .extracting(PhysicalSettlementItemDto::getSettlementId)
+                .containsExactly("SET-2");
+        assertThat(changes.getInsertedSettlementItems())
+                .extracting(PhysicalSettlementItemDto::getSettlementId)
+                .containsExactly("SET-3");
+        assertThat(changes.getDeletedSettlementIds()).isEmpty();
+
+        PhysicalTradeChangeSet removal = PhysicalTradeDiff.between(incoming, stored);
+        assertThat(removal.getDeletedSettlementIds()).containsExactly("SET-3");
+    }
+
+    @Test
+    void between_duplicateKeysRequireFullRewrite() {
+        PhysicalLineItemSchedule duplicated = hours(0, 2);
+        addHour(duplicated, 0, 10.0);
+
+        assertThat(PhysicalTradeDiff.between(trade(hours(0, 2)), trade(duplicated)).requiresFullRewrite()).isTrue();
+        assertThat(PhysicalTradeDiff.between(trade(hours(0, 1), settlement("SET-1", "Pending"),
+                settlement("SET-1", "Final")), trade(hours(0, 1))).requiresFullRewrite()).isTrue();
+    }
+
+    private static PhysicalLineItemSchedule hours(int from, int to) {
+        PhysicalLineItemSchedule schedule = new PhysicalLineItemSchedule();
+        for (int hour = from; hour < to; hour++) {
+            addHour(schedule, hour, 10.0);
+        }
+        return schedule;
+    }
+
+    private static void addHour(PhysicalLineItemSchedule schedule, int hour, double quantity) {
+        LocalDate day = LocalDate.of(2025, 11, 7);
+        schedule.add(BASE + hour * HOUR, BASE + (hour + 1) * HOUR, day, day,
+                "H" + hour, quantity, "MWh", 50.0, Profile.ONE_HOUR);
+    }
+
+    private static PhysicalSettlementItemDto settlement(String id, String invoiceStatus, String... lineRefs) {
+        PhysicalSettlementItemDto item = new PhysicalSettlementItemDto();
+        item.setSettlementId(id);
+        item.setReferencedLineItems(new ArrayList<>(List.of(lineRefs)));
+        item.setActualQuantity(10.0);
+        item.setInvoiceStatus(invoiceStatus);
+        return item;
+    }
+
+    private static PhysicalPowerTradeDto trade(PhysicalLineItemSchedule schedule, PhysicalSettlementItemDto... items) {
+        PhysicalTradeHeaderDto header = new PhysicalTradeHeaderDto();
+        header.setTradeId("PWR-DIFF-1");
+        PhysicalSettlementInfoDto settlementInfo = new PhysicalSettlementInfoDto();
+        settlementInfo.setSettlementItems(new ArrayList<>(List.of(items)));
+        return new PhysicalPowerTradeDto(header, new PhysicalTradeDetailsDto(schedule), settlementInfo, null);
+    }
+}
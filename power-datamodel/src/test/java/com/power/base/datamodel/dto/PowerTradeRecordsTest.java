@@ -0,0 +1,222 @@
+package com.power.base.datamodel.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.power.base.datamodel.dto.common.BuySellIndicator;
+import com.power.base.datamodel.dto.common.DocumentType;
+import com.power.base.datamodel.dto.common.PartyDto;
+import com.power.base.datamodel.dto.common.PartyRecord;
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.financials.SwapMetadataDto;
+import com.power.base.datamodel.dto.financials.SwapPeriodDto;
+import com.power.base.datamodel.dto.financials.SwapPowerTradeDto;
+import com.power.base.datamodel.dto.financials.SwapPowerTradeRecord;
+import com.power.base.datamodel.dto.financials.SwapTradeDetailsDto;
+import com.power.base.datamodel.dto.financials.SwapTradeHeaderDto;
+import com.power.base.datamodel.dto.physicals.LineItemRefs;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemRecord;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemSchedule;
+import com.power.base.datamodel.dto.physicals.PhysicalMetadataDto;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeRecord;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementInfoDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemRecord;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsRecord;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderRecord;
+import com.power.base.datamodel.dto.timeser.VolumeForecastSeriesDto;
+import com.power.base.datamodel.dto.timeser.VolumeForecastSeriesPointDto;
+import com.power.base.datamodel.dto.timeser.VolumeForecastSeriesRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PowerTradeRecordsTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void physicalTrade_roundTripsThroughDtoWithoutCopyingLists() throws Exception {
+        PhysicalPowerTradeDto dto = buildPhysicalTrade();
+
+        PhysicalPowerTradeRecord trade = PhysicalPowerTradeRecord.fromDto(dto);
+
+        assertThat(trade.toDto()).usingRecursiveComparison().isEqualTo(dto);
+        assertThat(trade.tradeDetails().lineItems()).hasSize(8);
+        PhysicalSettlementItemRecord item = trade.settlementInfo().settlementItems().get(0);
+        assertThat(item.lineItemRefs()).isEqualTo(LineItemRefs.range(0, 2));
+        assertThatThrownBy(() -> trade.settlementInfo().settlementItems().add(item))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        PhysicalPowerTradeRecord copy = new PhysicalPowerTradeRecord(trade.tradeHeader(),
+                new PhysicalTradeDetailsRecord(trade.tradeDetails().lineItems()),
+                trade.settlementInfo(), trade.metadata());
+        assertThat(copy.tradeDetails().lineItems()).isSameAs(trade.tradeDetails().lineItems());
+        assertThat(item.toBuilder().build().referencedLineItems()).isSameAs(item.referencedLineItems());
+        assertThat(copy).isEqualTo(trade);
+        assertThat(javaRoundTrip(trade)).isEqualTo(trade);
+    }
+
+    @Test
+    void physicalTradeDetails_keepAColumnarCopyBehindAReadOnlyView() throws Exception {
+        PhysicalTradeDetailsDto dto = buildPhysicalTrade().getTradeDetails();
+        PhysicalLineItemSchedule schedule = dto.schedule();
+
+        PhysicalTradeDetailsRecord details = PhysicalTradeDetailsRecord.of(schedule);
+        PhysicalLineItemRecord first = details.lineItems().get(0);
+        schedule.remove(0);
+
+        assertThat(details.lineItems()).hasSize(8);
+        assertThat(details.lineItems().get(0)).isEqualTo(first);
+        assertThat(first).isEqualTo(PhysicalLineItemRecord.fromDto(buildPhysicalTrade().getTradeDetails()
+                .getLineItems().get(0)));
+        assertThatThrownBy(() -> details.lineItems().remove(0)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> details.lineItems().set(0, first)).isInstanceOf(UnsupportedOperationException.class);
+
+        PhysicalTradeDetailsRecord fromRecords = new PhysicalTradeDetailsRecord(new ArrayList<>(details.lineItems()));
+        assertThat(fromRecords).isEqualTo(details);
+        assertThat(fromRecords.hashCode()).isEqualTo(details.hashCode());
+        assertThat(details.lineItems()).isEqualTo(List.copyOf(details.lineItems()));
+        assertThat(javaRoundTrip(details)).isEqualTo(details);
+
+        PhysicalTradeDetailsDto copy = details.toDto();
+        copy.schedule().remove(0);
+        assertThat(details.lineItems()).hasSize(8);
+        assertThat(new PhysicalTradeDetailsRecord(null).lineItems()).isEmpty();
+    }
+
+    @Test
+    void builders_deriveAmendedRecordsAndKeepRangesForCanonicalReferences() {
+        PhysicalTradeHeaderRecord header = PhysicalTradeHeaderRecord.builder()
+                .tradeId("PWR-REC-1")
+                .buyerParty(new PartyRecord("B1", "Buyer", "Buyer"))
+                .buySellIndicator(BuySellIndicator.BUY)
+                .build();
+        PhysicalSettlementItemRecord item = PhysicalSettlementItemRecord.builder()
+                .settlementId("SET-1")
+                .addReferencedLineItem("LINE#0001")
+                .addReferencedLineItem("LINE#0002")
+                .build();
+
+        PhysicalTradeHeaderRecord amended = header.toBuilder().amendmentIndicator(true).build();
+
+        assertThat(amended.tradeId()).isEqualTo("PWR-REC-1");
+        assertThat(amended.amendmentIndicator()).isTrue();
+        assertThat(header.amendmentIndicator()).isFalse();
+        assertThat(item.lineItemRefs()).isEqualTo(LineItemRefs.range(0, 2));
+        assertThat(item.toBuilder().addReferencedLineItem("LI-EXTERNAL").build().lineItemRefs()).isNull();
+        assertThat(item.toDto().lineItemRefs()).isEqualTo(LineItemRefs.range(0, 2));
+    }
+
+    @Test
+    void jackson_writesTheDtoShapeAndReadsRecordsBack() throws Exception {
+        PhysicalPowerTradeDto physicalDto = buildPhysicalTrade();
+        PhysicalPowerTradeRecord physical = PhysicalPowerTradeRecord.fromDto(physicalDto);
+        SwapPowerTradeRecord swap = SwapPowerTradeRecord.fromDto(buildSwapTrade());
+
+        String json = MAPPER.writeValueAsString(physical);
+
+        assertThat(MAPPER.readTree(json)).isEqualTo(MAPPER.readTree(MAPPER.writeValueAsString(physicalDto)));
+        assertThat(MAPPER.readValue(json, PhysicalPowerTradeRecord.class)).isEqualTo(physical);
+        assertThat(MAPPER.readValue(MAPPER.writeValueAsString(swap), SwapPowerTradeRecord.class)).isEqualTo(swap);
+    }
+
+    @Test
+    void forecastSeries_convertsColumnarPoints() {
+        VolumeForecastSeriesDto series = new VolumeForecastSeriesDto();
+        series.setForecastId("FC-1");
+        series.setTenantId("TENANT_A");
+        for (int slot = 0; slot < 4; slot++) {
+            VolumeForecastSeriesPointDto point = new VolumeForecastSeriesPointDto();
+            point.setIntervalStartTime(Instant.parse("2025-11-10T00:00:00Z").plusSeconds(900L * slot));
+            point.setForecastVolume(slot);
+            point.setMeasurementUom("MWh");
+            point.setTemperature(slot == 0 ? null : -1.5);
+            series.addDataPoint(point);
+        }
+
+        VolumeForecastSeriesRecord record = VolumeForecastSeriesRecord.fromDto(series);
+
+        assertThat(record.dataPoints()).hasSize(4);
+        assertThat(record.dataPoints().get(0).temperature()).isNull();
+        assertThat(record.dataPoints().get(3).temperature()).isEqualTo(-1.5);
+        VolumeForecastSeriesDto converted = record.toDto();
+        assertThat(converted.getForecastId()).isEqualTo("FC-1");
+        assertThat(converted.getDataPoints())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(series.getDataPoints());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T javaRoundTrip(T value) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+    private static PhysicalPowerTradeDto buildPhysicalTrade() {
+        PhysicalTradeHeaderDto header = new PhysicalTradeHeaderDto("PWR-REC-1", "TENANT_A",
+                LocalDate.of(2025, 11, 7), Instant.parse("2025-11-07T14:30:00Z"),
+                DocumentType.CONFIRMATION, "1.0",
+                new PartyDto("10X1001A1001A450F6", "Utility EU Ltd", "Buyer"),
+                new PartyDto("10XFR-ENTSOE-0000000A", "GenCo US Inc", "Seller"),
+                "Nord Pool Trading Desk", "Physical Hedging Book", "John Doe (TRDR-456)", "EFET-2023-001",
+                "EPEX-SPOT", "Power", "FOR", "DE-LU", "Base Load", BuySellIndicator.SELL, false);
+
+        Instant start = Instant.parse("2025-11-06T23:00:00Z");
+        List<PhysicalLineItemDto> lineItems = PhysicalLineItemDto.generateSchedule(start,
+                start.plus(Profile.FIFTEEN_MIN.getDuration().multipliedBy(8)), Profile.FIFTEEN_MIN,
+                ZoneId.of("Europe/Berlin"), 12.5, "MWh", 50.0);
+
+        PhysicalSettlementItemDto settlementItem = new PhysicalSettlementItemDto("SET-1",
+                List.of("LINE#0001", "LINE#0002"), LocalDate.of(2025, 11, 7), 25.0, "MWh", 75.5, 74.25,
+                "EUR/MWh", "EUR/MWh", 1.5, 0.25, 1887.5, "EUR", "EUR", "Provisional");
+        PhysicalSettlementItemDto freeForm = new PhysicalSettlementItemDto("SET-2",
+                List.of("LI-EXTERNAL"), LocalDate.of(2025, 11, 7), 75.0, "MWh", 75.5, 74.25,
+                "EUR/MWh", "EUR/MWh", 0, 0, 5662.5, "EUR", "EUR", "Final");
+        PhysicalSettlementInfoDto settlementInfo = new PhysicalSettlementInfoDto(100.0, "MWh", "Fixed", 75.5,
+                75.5, "EUR", "EUR", "EUR/MWh", "EUR/MWh", LocalDate.of(2025, 11, 7), null,
+                LocalDate.of(2025, 11, 14), Instant.parse("2025-11-14T00:00:00Z"), "Schedule_Date", 5,
+                7550.0, 2, List.of(settlementItem, freeForm));
+
+        return new PhysicalPowerTradeDto(header, new PhysicalTradeDetailsDto(lineItems), settlementInfo,
+                new PhysicalMetadataDto(LocalDate.of(2025, 11, 7), LocalDate.of(2025, 11, 14), "EU (German Law)"));
+    }
+
+    private static SwapPowerTradeDto buildSwapTrade() {
+        SwapTradeHeaderDto header = new SwapTradeHeaderDto();
+        header.setTradeId("SWP-REC-1");
+        header.setTradeDate(LocalDate.of(2025, 11, 7));
+        header.setBuyerParty(new PartyDto("B1", "Buyer", "Buyer"));
+        header.setReferenceZone("DE-LU");
+        header.setBuySellIndicator(BuySellIndicator.BUY);
+
+        List<SwapPeriodDto> periods = new ArrayList<>();
+        periods.add(new SwapPeriodDto(100, "MW", LocalDate.of(2026, 1, 1), Instant.parse("2026-01-01T00:00:00Z"),
+                LocalDate.of(2026, 1, 31), Instant.parse("2026-01-31T00:00:00Z"), "Monthly", "EEX-DE-BASE", "Base"));
+
+        SwapMetadataDto metadata = new SwapMetadataDto();
+        metadata.setClearable(true);
+        metadata.setUti("UTI-123");
+
+        return new SwapPowerTradeDto(header, new SwapTradeDetailsDto(periods), null, metadata);
+    }
+}
@@ -0,0 +1,121 @@
+package com.power.base.datamodel.dto.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ZoneOffsetTableTest {
+
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+    private static final ZoneId ADELAIDE = ZoneId.of("Australia/Adelaide");
+    private static final ZoneId LORD_HOWE = ZoneId.of("Australia/Lord_Howe");
+
+    @Test
+    void springDay_has23HoursWithTheNewOffsetFromTheTransition() {
+        ZoneOffsetTable table = localDay(BERLIN, LocalDate.of(2025, 3, 30));
+        long from = epochSecond("2025-03-29T23:00:00Z");
+        long transition = epochSecond("2025-03-30T01:00:00Z");
+
+        assertThat(epochSecond("2025-03-30T22:00:00Z") - from).isEqualTo(23 * 3_600);
+        assertThat(table.transitionCount()).isEqualTo(1);
+        assertThat(table.offsetAt(transition - 1)).isEqualTo(3_600);
+        assertThat(table.offsetAt(transition)).isEqualTo(7_200);
+        // 01:59:59 is followed by 03:00:00
+        assertThat(table.toLocalEpochSecond(transition) - table.toLocalEpochSecond(transition - 1))
+                .isEqualTo(3_601);
+        assertMatchesZoneRules(table, BERLIN, from, epochSecond("2025-03-30T22:00:00Z"));
+    }
+
+    @Test
+    void autumnDay_has25HoursWithTheRepeatedHour() {
+        ZoneOffsetTable table = localDay(BERLIN, LocalDate.of(2025, 10, 26));
+        long from = epochSecond("2025-10-25T22:00:00Z");
+        long transition = epochSecond("2025-10-26T01:00:00Z");
+
+        assertThat(epochSecond("2025-10-26T23:00:00Z") - from).isEqualTo(25 * 3_600);
+        assertThat(table.transitionCount()).isEqualTo(1);
+        assertThat(table.offsetAt(transition - 1)).isEqualTo(7_200);
+        assertThat(table.offsetAt(transition)).isEqualTo(3_600);
+        // 02:59:59 is followed by 02:00:00 again
+        assertThat(table.toLocalEpochSecond(transition) - table.toLocalEpochSecond(transition - 1))
+                .isEqualTo(1 - 3_600);
+        assertMatchesZoneRules(table, BERLIN, from, epochSecond("2025-10-26T23:00:00Z"));
+    }
+
+    @Test
+    void halfHourZones_resolveTheirOffsetsAndChanges() {
+        ZoneOffsetTable adelaide = localDay(ADELAIDE, LocalDate.of(2025, 10, 5));
+        assertThat(adelaide.transitionCount()).isEqualTo(1);
+        assertThat(adelaide.offsetAt(epochSecond("2025-10-04T14:30:00Z"))).isEqualTo(34_200);
+        assertThat(adelaide.offsetAt(epochSecond("2025-10-05T13:29:59Z"))).isEqualTo(37_800);
+        assertMatchesZoneRules(adelaide, ADELAIDE, epochSecond("2025-10-04T14:30:00Z"),
+                epochSecond("2025-10-05T13:30:00Z"));
+
+        // Lord Howe moves its clocks by half an hour, a 23.5 hour day
+        ZoneOffsetTable lordHowe = localDay(LORD_HOWE, LocalDate.of(2025, 10, 5));
+        long transition = epochSecond("2025-10-04T15:30:00Z");
+        assertThat(lordHowe.offsetAt(transition - 1)).isEqualTo(37_800);
+        assertThat(lordHowe.offsetAt(transition)).isEqualTo(39_600);
+        assertMatchesZoneRules(lordHowe, LORD_HOWE, epochSecond("2025-10-04T13:30:00Z"),
+                epochSecond("2025-10-05T13:00:00Z"));
+
+        ZoneOffsetTable kolkata = ZoneOffsetTable.of(ZoneId.of("Asia/Kolkata"), 0, epochSecond("2025-12-31T00:00:00Z"));
+        assertThat(kolkata.isFixedOffset()).isTrue();
+        assertThat(kolkata.offsetAt(epochSecond("2025-06-01T00:00:00Z"))).isEqualTo(19_800);
+    }
+
+    @Test
+    void cursor_followsEveryTransitionOfAYear() {
+        long from = epochSecond("2025-01-01T00:00:00Z");
+        long to = epochSecond("2026-01-01T00:00:00Z");
+        ZoneOffsetTable table = ZoneOffsetTable.of(LORD_HOWE, from, to);
+
+        assertThat(table.transitionCount()).isEqualTo(2);
+        assertMatchesZoneRules(table, LORD_HOWE, from, to);
+    }
+
+    @Test
+    void of_treatsNullAsUtcAndRejectsInstantsOutsideTheRange() {
+        ZoneOffsetTable table = ZoneOffsetTable.of(null, 100, 200);
+
+        assertThat(table.getZoneId()).isEqualTo(ZoneOffset.UTC);
+        assertThat(table.toLocalEpochSecond(150)).isEqualTo(150);
+        assertThatThrownBy(() -> table.offsetAt(201)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> table.cursor(99)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ZoneOffsetTable.of(BERLIN, 200, 100)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ZoneOffsetTable localDay(ZoneId zone, LocalDate day) {
+        return ZoneOffsetTable.of(zone, day.atStartOfDay(zone).toEpochSecond(),
+                day.plusDays(1).atStartOfDay(zone).toEpochSecond());
+    }
+
+    /**
+     * Compares the table and a cursor walking forwards with the zone's own rules at every quarter hour and the second
+     * before the next, which brackets every transition on a quarter hour.
+     */
+    private static void assertMatchesZoneRules(ZoneOffsetTable table, ZoneId zone, long from, long to) {
+        ZoneRules rules = zone.getRules();
+        ZoneOffsetTable.Cursor cursor = table.cursor(from);
+        for (long second = from; second <= to; second += 900) {
+            for (long probe : new long[]{second, Math.min(to, second + 899)}) {
+                int expected = rules.getOffset(Instant.ofEpochSecond(probe)).getTotalSeconds();
+                assertThat(table.offsetAt(probe)).as("offset at %s", Instant.ofEpochSecond(probe))
+                        .isEqualTo(expected);
+            }
+            assertThat(cursor.offsetAt(second)).as("cursor offset at %s", Instant.ofEpochSecond(second))
+                    .isEqualTo(rules.getOffset(Instant.ofEpochSecond(second)).getTotalSeconds());
+        }
+    }
+
+    private static long epochSecond(String instant) {
+        return Instant.parse(instant).getEpochSecond();
+    }
+}
@@ -0,0 +1,83 @@
+package com.power.base.datamodel.dto.physicals;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LineItemRefsTest {
+
+    @Test
+    void of_mergesConsecutiveIndexesIntoRanges() {
+        LineItemRefs refs = LineItemRefs.of(5, 0, 1, 2, 3, 2, 7, 6);
+
+        assertThat(refs.rangeCount()).isEqualTo(2);
+        assertThat(refs.cardinality()).isEqualTo(7);
+        assertThat(refs.toArray()).containsExactly(0, 1, 2, 3, 5, 6, 7);
+        assertThat(refs.contains(4)).isFalse();
+        assertThat(refs.contains(6)).isTrue();
+        assertThat(refs.with(4)).isEqualTo(LineItemRefs.range(0, 8));
+        assertThat(LineItemRefs.fromBitSet(refs.toBitSet())).isEqualTo(refs);
+        assertThat(LineItemRefs.fromBitSet(new BitSet())).isSameAs(LineItemRefs.EMPTY);
+    }
+
+    @Test
+    void labels_renderCanonicalSortKeysAndRoundTrip() {
+        LineItemRefs refs = LineItemRefs.ofRanges(0, 3, 9998, 10000);
+
+        assertThat(refs.labels()).containsExactly("LINE#0001", "LINE#0002", "LINE#0003", "LINE#9999", "LINE#10000");
+        assertThat(LineItemRefs.fromLabels(refs.labels())).isEqualTo(refs);
+        assertThat(LineItemRefs.fromLabels(List.of("LINE#0001", "LI-002"))).isNull();
+        assertThat(LineItemRefs.indexOf("LINE#001")).isEqualTo(-1);
+        assertThat(LineItemRefs.indexOf("LINE#00010")).isEqualTo(-1);
+        assertThat(LineItemRefs.indexOf("LINE#0000")).isEqualTo(-1);
+    }
+
+    @Test
+    void encode_andParseRoundTrip() {
+        LineItemRefs refs = LineItemRefs.ofRanges(0, 60, 120, 121, 125, 131);
+
+        assertThat(refs.encode()).isEqualTo("0-59,120,125-130");
+        assertThat(LineItemRefs.parse(refs.encode())).isEqualTo(refs);
+        assertThat(LineItemRefs.parse("")).isSameAs(LineItemRefs.EMPTY);
+        assertThatThrownBy(() -> LineItemRefs.parse("5,3")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LineItemRefs.parse("1-x")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void settlementItem_keepsFreeFormReferencesVerbatim() {
+        PhysicalSettlementItemDto item = new PhysicalSettlementItemDto();
+        item.setReferencedLineItems(List.of("LINE#0001", "LINE#0002"));
+        assertThat(item.lineItemRefs()).isEqualTo(LineItemRefs.range(0, 2));
+
+        item.addReferencedLineItem("LI-EXTERNAL");
+
+        assertThat(item.lineItemRefs()).isNull();
+        assertThat(item.getReferencedLineItems()).containsExactly("LINE#0001", "LINE#0002", "LI-EXTERNAL");
+    }
+
+    @Test
+    void settlementItem_keepsTheOrderAndDuplicatesOfCanonicalLabels() {
+        PhysicalSettlementItemDto item = new PhysicalSettlementItemDto();
+        item.setReferencedLineItems(List.of("LINE#0002", "LINE#0001"));
+        assertThat(item.lineItemRefs()).isNull();
+        assertThat(item.getReferencedLineItems()).containsExactly("LINE#0002", "LINE#0001");
+
+        item.setReferencedLineItems(List.of("LINE#0001", "LINE#0001"));
+        assertThat(item.getReferencedLineItems()).containsExactly("LINE#0001", "LINE#0001");
+
+        item.setReferencedLineItems(List.of("LINE#0001", "LINE#0003"));
+        item.addReferencedLineItem("LINE#0004");
+        assertThat(item.lineItemRefs()).isEqualTo(LineItemRefs.ofRanges(0, 1, 2, 4));
+        item.addReferencedLineItem("LINE#0002");
+        assertThat(item.lineItemRefs()).isNull();
+        assertThat(item.getReferencedLineItems()).containsExactly("LINE#0001", "LINE#0003", "LINE#0004", "LINE#0002");
+
+        assertThat(LineItemRefs.fromLabels(List.of("LINE#0003", "LINE#0001"))).isNull();
+        assertThat(LineItemRefs.fromLabels(List.of("LINE#0001", "LINE#0002", "LINE#0005")))
+                .isEqualTo(LineItemRefs.ofRanges(0, 2, 4, 5));
+    }
+}
@@ -0,0 +1,155 @@
+package com.power.base.datamodel.dto.physicals;
+
+import com.power.base.datamodel.dto.common.Profile;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PhysicalLineItemScheduleTest {
+
+    private static final Instant START = Instant.parse("2025-11-07T00:00:00Z");
+
+    @Test
+    void addSetAndRemove_keepEverySlotInOrder() {
+        PhysicalLineItemSchedule schedule = new PhysicalLineItemSchedule(1);
+        schedule.add(lineItem(0, 10.0));
+        schedule.add(lineItem(1, 11.0));
+        schedule.add(lineItem(2, 12.0));
+
+        schedule.set(1, lineItem(1, 21.0));
+        schedule.insert(0, lineItem(5, 15.0));
+        schedule.remove(2);
+
+        assertThat(schedule.size()).isEqualTo(3);
+        assertThat(describe(schedule.asList())).containsExactly(
+                describe(lineItem(5, 15.0)), describe(lineItem(0, 10.0)), describe(lineItem(2, 12.0)));
+        assertThat(schedule.totalQuantity()).isEqualTo(37.0);
+        assertThat(schedule.dictionarySize()).isEqualTo(5);
+        assertThatThrownBy(() -> schedule.remove(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> schedule.insert(4, lineItem(0, 1.0))).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void asList_isALiveViewThatWritesThrough() {
+        PhysicalLineItemSchedule schedule = new PhysicalLineItemSchedule();
+        List<PhysicalLineItemDto> view = schedule.asList();
+
+        schedule.add(lineItem(0, 10.0));
+        assertThat(view).hasSize(1);
+
+        view.add(lineItem(1, 11.0));
+        view.add(0, lineItem(2, 12.0));
+        PhysicalLineItemDto replaced = view.set(2, lineItem(3, 13.0));
+        PhysicalLineItemDto removed = view.remove(0);
+
+        assertThat(describe(replaced)).isEqualTo(describe(lineItem(1, 11.0)));
+        assertThat(describe(removed)).isEqualTo(describe(lineItem(2, 12.0)));
+        assertThat(schedule.size()).isEqualTo(2);
+        assertThat(schedule.getQuantity(1)).isEqualTo(13.0);
+
+        // elements are copies, changing one leaves the schedule as it was
+        view.get(0).setQuantity(99.0);
+        assertThat(schedule.getQuantity(0)).isEqualTo(10.0);
+
+        view.clear();
+        assertThat(schedule.isEmpty()).isTrue();
+    }
+
+    @Test
+    void fromLineItems_roundTripsEveryFieldIncludingNullsAndNanoseconds() {
+        List<PhysicalLineItemDto> lineItems = new ArrayList<>();
+        lineItems.add(lineItem(0, 10.0));
+        PhysicalLineItemDto precise = lineItem(1, 11.0);
+        precise.setPeriodStartTime(Instant.parse("2025-11-07T01:00:00.123456789Z"));
+        precise.setPeriodEndTime(Instant.parse("2025-11-07T02:00:00.000000001Z"));
+        lineItems.add(precise);
+        lineItems.add(new PhysicalLineItemDto());
+        PhysicalLineItemDto beforeEpoch = lineItem(2, 12.0);
+        beforeEpoch.setPeriodStartTime(Instant.parse("1969-12-31T23:59:59.999999999Z"));
+        lineItems.add(beforeEpoch);
+
+        PhysicalLineItemSchedule schedule = PhysicalLineItemSchedule.fromLineItems(lineItems);
+
+        assertThat(describe(schedule.asList())).isEqualTo(describe(lineItems));
+        assertThat(describe(PhysicalLineItemSchedule.fromLineItems(schedule.asList()).asList()))
+                .isEqualTo(describe(lineItems));
+        assertThat(schedule.getPeriodStartEpochMilli(1)).isEqualTo(
+                Instant.parse("2025-11-07T01:00:00.123Z").toEpochMilli());
+        assertThat(schedule.hasPeriodStartTime(2)).isFalse();
+        assertThat(schedule.getProfile(2)).isNull();
+        assertThat(PhysicalLineItemSchedule.fromLineItems(null).isEmpty()).isTrue();
+    }
+
+    @Test
+    void nanoseconds_followSlotsWhenTheyMove() {
+        PhysicalLineItemSchedule schedule = new PhysicalLineItemSchedule();
+        schedule.add(lineItem(0, 10.0));
+        schedule.add(lineItem(1, 11.0));
+        PhysicalLineItemDto precise = lineItem(2, 12.0);
+        precise.setPeriodStartTime(precise.getPeriodStartTime().plusNanos(500));
+        schedule.insert(1, precise);
+        schedule.remove(0);
+
+        assertThat(schedule.getPeriodStartTime(0)).isEqualTo(START.plusSeconds(7_200).plusNanos(500));
+        assertThat(schedule.getPeriodStartTime(1)).isEqualTo(START.plusSeconds(3_600));
+
+        schedule.set(0, lineItem(2, 12.0));
+        assertThat(schedule.getPeriodStartTime(0)).isEqualTo(START.plusSeconds(7_200));
+    }
+
+    @Test
+    void copyAndSameLineItem_compareColumnByColumn() {
+        PhysicalLineItemSchedule schedule = PhysicalLineItemSchedule.fromLineItems(
+                List.of(lineItem(0, 10.0), lineItem(1, 11.0)));
+        PhysicalLineItemSchedule copy = schedule.copy();
+        copy.set(1, lineItem(1, 11.5));
+
+        assertThat(schedule.sameLineItem(0, copy, 0)).isTrue();
+        assertThat(schedule.sameLineItem(1, copy, 1)).isFalse();
+        assertThat(schedule.getQuantity(1)).isEqualTo(11.0);
+
+        PhysicalLineItemDto precise = lineItem(0, 10.0);
+        precise.setPeriodEndTime(precise.getPeriodEndTime().plusNanos(1));
+        copy.set(0, precise);
+        assertThat(schedule.sameLineItem(0, copy, 0)).isFalse();
+
+        schedule.trimToSize();
+        assertThat(schedule.sameLineItem(1, PhysicalLineItemSchedule.fromLineItems(List.of(lineItem(1, 11.0))), 0))
+                .isTrue();
+    }
+
+    @Test
+    void generatorSchedule_keepsSubMillisecondStarts() {
+        Instant start = Instant.parse("2025-11-07T00:00:00.000250Z");
+
+        PhysicalLineItemSchedule schedule = PhysicalScheduleGenerator.of(start, start.plusSeconds(7_200),
+                Profile.ONE_HOUR, ZoneOffset.UTC, 1.0, "MWh", 1.0).toSchedule();
+
+        assertThat(schedule.getPeriodStartTime(1)).isEqualTo(start.plusSeconds(3_600));
+        assertThat(schedule.getPeriodEndTime(1)).isEqualTo(start.plusSeconds(7_200));
+    }
+
+    private static PhysicalLineItemDto lineItem(int hour, double quantity) {
+        Instant start = START.plusSeconds(hour * 3_600L);
+        LocalDate day = LocalDate.of(2025, 11, 7);
+        return new PhysicalLineItemDto(day, start, day, start.plusSeconds(3_600),
+                String.format("Fri %02d:00-%02d:00", hour, hour + 1), quantity, "MWh", 50.0, Profile.ONE_HOUR);
+    }
+
+    private static List<String> describe(List<PhysicalLineItemDto> lineItems) {
+        return lineItems.stream().map(PhysicalLineItemScheduleTest::describe).toList();
+    }
+
+    private static String describe(PhysicalLineItemDto item) {
+        return item.getPeriodStartDate() + " " + item.getPeriodStartTime() + " " + item.getPeriodEndDate() + " "
+                + item.getPeriodEndTime() + " " + item.getDayHour() + " " + item.getQuantity() + " " + item.getUom()
+                + " " + item.getCapacity() + " " + item.getProfile();
+    }
+}
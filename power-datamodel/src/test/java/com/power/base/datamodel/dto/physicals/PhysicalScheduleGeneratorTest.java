@@ -0,0 +1,222 @@
+package com.power.base.datamodel.dto.physicals;
+
+import com.power.base.datamodel.dto.common.Profile;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhysicalScheduleGeneratorTest {
+
+    private static final List<ZoneId> ZONES = Arrays.asList(null, ZoneOffset.UTC, ZoneId.of("Europe/Berlin"),
+            ZoneId.of("America/New_York"), ZoneId.of("Asia/Kolkata"), ZoneId.of("Australia/Adelaide"),
+            ZoneId.of("Australia/Lord_Howe"));
+
+    @Test
+    void generateSchedule_matchesTheLegacyScheduleForEveryProfileAndZone() {
+        // spring changes in Europe and the US, autumn changes in Australia, and back
+        List<Instant[]> ranges = List.of(
+                new Instant[]{Instant.parse("2025-03-06T10:00:00Z"), Instant.parse("2025-03-11T10:00:00Z")},
+                new Instant[]{Instant.parse("2025-03-28T00:00:00Z"), Instant.parse("2025-04-08T00:00:00Z")},
+                new Instant[]{Instant.parse("2025-10-03T13:30:00Z"), Instant.parse("2025-10-07T13:30:00Z")},
+                new Instant[]{Instant.parse("2025-10-24T22:00:00Z"), Instant.parse("2025-11-04T22:00:00Z")});
+        for (Profile profile : Profile.values()) {
+            for (ZoneId zone : ZONES) {
+                for (Instant[] range : ranges) {
+                    assertSameSchedule(range[0], range[1], profile, zone);
+                }
+            }
+        }
+    }
+
+    @Test
+    void generateSchedule_matchesTheLegacyScheduleForSubSecondStarts() {
+        Instant start = Instant.parse("2025-10-26T00:00:00.250Z");
+        for (Profile profile : Profile.values()) {
+            assertSameSchedule(start, start.plus(profile.getDuration().multipliedBy(48)), profile,
+                    ZoneId.of("Europe/Berlin"));
+        }
+    }
+
+    @Test
+    void parallelStream_keepsTheSequentialOrder() {
+        PhysicalScheduleGenerator generator = PhysicalScheduleGenerator.of(Instant.parse("2025-03-20T05:00:00Z"),
+                Instant.parse("2025-04-10T05:00:00Z"), Profile.FIFTEEN_MIN, ZoneId.of("Europe/Berlin"), 1.0, "MWh",
+                1.0);
+
+        List<String> sequential = generator.stream(false).map(PhysicalScheduleGeneratorTest::describe).toList();
+        List<String> parallel = generator.stream(true).map(PhysicalScheduleGeneratorTest::describe).toList();
+
+        assertThat(parallel).isEqualTo(sequential);
+    }
+
+    @Test
+    void trySplit_splitsAtLocalMidnightsAcrossShortAndLongDays() {
+        ZoneId berlin = ZoneId.of("Europe/Berlin");
+        // 23 hour and 25 hour days in the middle of the range
+        for (String date : List.of("2025-03-30", "2025-10-26")) {
+            LocalDate day = LocalDate.parse(date);
+            PhysicalScheduleGenerator generator = PhysicalScheduleGenerator.of(
+                    day.minusDays(1).atTime(6, 0).atZone(berlin).toInstant(),
+                    day.plusDays(2).atTime(18, 0).atZone(berlin).toInstant(), Profile.ONE_HOUR, berlin, 1.0, "MWh",
+                    1.0);
+
+            List<List<PhysicalLineItemDto>> pieces = split(generator.spliterator());
+
+            assertThat(pieces).allSatisfy(piece -> assertThat(piece.stream()
+                    .map(PhysicalLineItemDto::getPeriodStartDate).distinct().count()).isEqualTo(1));
+            assertThat(pieces.stream().map(List::size).toList()).containsExactly(18, day.equals(LocalDate.parse(
+                    "2025-03-30")) ? 23 : 25, 24, 18);
+            assertThat(pieces.subList(1, pieces.size()))
+                    .allSatisfy(piece -> assertThat(piece.get(0).getDayHour()).endsWith(" 00:00-01:00"));
+        }
+    }
+
+    @Test
+    void trySplit_splitsAtLocalMidnightsInAHalfHourZone() {
+        ZoneId kolkata = ZoneId.of("Asia/Kolkata");
+        PhysicalScheduleGenerator generator = PhysicalScheduleGenerator.of(Instant.parse("2025-06-01T00:00:00Z"),
+                Instant.parse("2025-06-04T00:00:00Z"), Profile.FIFTEEN_MIN, kolkata, 1.0, "MWh", 1.0);
+
+        List<List<PhysicalLineItemDto>> pieces = split(generator.spliterator());
+
+        // 05:30 local on the first day to 05:30 on the last
+        assertThat(pieces.stream().map(List::size).toList()).containsExactly(74, 96, 96, 22);
+        assertThat(pieces.subList(1, pieces.size()))
+                .allSatisfy(piece -> assertThat(piece.get(0).getDayHour()).endsWith(" 00:00-00:15"));
+    }
+
+    @Test
+    void trySplit_leavesASingleDayWhole() {
+        ZoneId berlin = ZoneId.of("Europe/Berlin");
+        PhysicalScheduleGenerator generator = PhysicalScheduleGenerator.of(
+                LocalDate.of(2025, 10, 26).atStartOfDay(berlin).toInstant(),
+                LocalDate.of(2025, 10, 27).atStartOfDay(berlin).toInstant(), Profile.ONE_MIN, berlin, 1.0, "MWh",
+                1.0);
+
+        assertThat(generator.spliterator().trySplit()).isNull();
+    }
+
+    @Test
+    void forEachSegment_walksA23HourSpringDay() {
+        List<String> segments = walk(LocalDate.of(2025, 3, 30), ZoneId.of("Europe/Berlin"), 23);
+
+        assertThat(segments.subList(0, 3)).containsExactly(
+                "2025-03-30 Sun 00:00-01:00 2025-03-30",
+                "2025-03-30 Sun 01:00-03:00 2025-03-30",
+                "2025-03-30 Sun 03:00-04:00 2025-03-30");
+        assertThat(segments.get(22)).isEqualTo("2025-03-30 Sun 23:00-00:00 2025-03-31");
+    }
+
+    @Test
+    void forEachSegment_walksA25HourAutumnDay() {
+        List<String> segments = walk(LocalDate.of(2025, 10, 26), ZoneId.of("Europe/Berlin"), 25);
+
+        assertThat(segments.subList(1, 4)).containsExactly(
+                "2025-10-26 Sun 01:00-02:00 2025-10-26",
+                "2025-10-26 Sun 02:00-02:00 2025-10-26",
+                "2025-10-26 Sun 02:00-03:00 2025-10-26");
+        assertThat(segments.get(24)).isEqualTo("2025-10-26 Sun 23:00-00:00 2025-10-27");
+    }
+
+    @Test
+    void forEachSegment_walksAHalfHourChange() {
+        // Lord Howe moves from +10:30 to +11:00 at 02:00, so the day has 23.5 hours
+        List<String> segments = walk(LocalDate.of(2025, 10, 5), ZoneId.of("Australia/Lord_Howe"), 24);
+
+        assertThat(segments.subList(0, 3)).containsExactly(
+                "2025-10-05 Sun 00:00-01:00 2025-10-05",
+                "2025-10-05 Sun 01:00-02:30 2025-10-05",
+                "2025-10-05 Sun 02:30-03:30 2025-10-05");
+        assertThat(segments.get(23)).isEqualTo("2025-10-05 Sun 23:30-00:30 2025-10-06");
+
+        List<String> adelaide = walk(LocalDate.of(2025, 10, 5), ZoneId.of("Australia/Adelaide"), 23);
+        assertThat(adelaide.get(1)).isEqualTo("2025-10-05 Sun 01:00-03:00 2025-10-05");
+        assertThat(adelaide.get(22)).isEqualTo("2025-10-05 Sun 23:00-00:00 2025-10-06");
+    }
+
+    /**
+     * Walks {@code hours} hourly segments from local midnight of {@code day}.
+     */
+    private static List<String> walk(LocalDate day, ZoneId zone, int hours) {
+        Instant start = day.atStartOfDay(zone).toInstant();
+        List<String> segments = new ArrayList<>();
+        PhysicalScheduleGenerator.of(start, start.plusSeconds(hours * 3_600L), Profile.ONE_HOUR, zone, 1.0, "MWh", 1.0)
+                .forEachSegment((index, startSecond, endSecond, nano, startDay, endDay, dayHour) ->
+                        segments.add(LocalDate.ofEpochDay(startDay) + " " + dayHour + " "
+                                + LocalDate.ofEpochDay(endDay)));
+        return segments;
+    }
+
+    /**
+     * Splits recursively until no piece splits any further and returns the pieces in encounter order.
+     */
+    private static List<List<PhysicalLineItemDto>> split(Spliterator<PhysicalLineItemDto> spliterator) {
+        List<List<PhysicalLineItemDto>> pieces = new ArrayList<>();
+        Spliterator<PhysicalLineItemDto> prefix = spliterator.trySplit();
+        if (prefix != null) {
+            pieces.addAll(split(prefix));
+            pieces.addAll(split(spliterator));
+        } else {
+            List<PhysicalLineItemDto> piece = new ArrayList<>();
+            spliterator.forEachRemaining(piece::add);
+            pieces.add(piece);
+        }
+        return pieces;
+    }
+
+    private static void assertSameSchedule(Instant start, Instant end, Profile profile, ZoneId zone) {
+        List<String> expected = legacyGenerateSchedule(start, end, profile, zone).stream()
+                .map(PhysicalScheduleGeneratorTest::describe).collect(Collectors.toList());
+
+        List<String> actual = PhysicalLineItemDto.generateSchedule(start, end, profile, zone, 12.5, "MWh", 50.0)
+                .stream().map(PhysicalScheduleGeneratorTest::describe).collect(Collectors.toList());
+
+        assertThat(actual).as("%s in %s from %s", profile, zone, start).isEqualTo(expected);
+    }
+
+    private static String describe(PhysicalLineItemDto item) {
+        return item.getPeriodStartDate() + " " + item.getPeriodStartTime() + " " + item.getPeriodEndDate() + " "
+                + item.getPeriodEndTime() + " " + item.getDayHour() + " " + item.getQuantity() + " " + item.getUom()
+                + " " + item.getCapacity() + " " + item.getProfile();
+    }
+
+    /**
+     * The eager implementation {@link PhysicalLineItemDto#generateSchedule} had before the lazy generator.
+     */
+    private static List<PhysicalLineItemDto> legacyGenerateSchedule(Instant startInclusive, Instant endExclusive,
+                                                                    Profile profile, ZoneId zoneId) {
+        var step = profile.getDuration();
+        ZoneId effectiveZone = zoneId == null ? ZoneOffset.UTC : zoneId;
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+
+        List<PhysicalLineItemDto> lineItems = new ArrayList<>();
+        Instant currentStart = startInclusive;
+        while (currentStart.isBefore(endExclusive)) {
+            Instant currentEnd = currentStart.plus(step);
+            ZonedDateTime startZdt = currentStart.atZone(effectiveZone);
+            ZonedDateTime endZdt = currentEnd.atZone(effectiveZone);
+            String dayHour = String.format("%s %s-%s",
+                    startZdt.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH),
+                    startZdt.toLocalTime().format(timeFormatter),
+                    endZdt.toLocalTime().format(timeFormatter));
+            lineItems.add(new PhysicalLineItemDto(startZdt.toLocalDate(), currentStart, endZdt.toLocalDate(),
+                    currentEnd, dayHour, 12.5, "MWh", 50.0, profile));
+            currentStart = currentEnd;
+        }
+        return lineItems;
+    }
+}
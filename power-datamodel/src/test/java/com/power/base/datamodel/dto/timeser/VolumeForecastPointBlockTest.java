@@ -0,0 +1,80 @@
+package com.power.base.datamodel.dto.timeser;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VolumeForecastPointBlockTest {
+
+    @Test
+    void fromPoints_roundTripsValuesAndNullOptionalReadings() {
+        VolumeForecastSeriesPointDto full = point(0, 12.5);
+        full.setConfidenceLowerBound(10.0);
+        full.setConfidenceUpperBound(15.0);
+        full.setTemperature(-3.5);
+        full.setWeatherCondition("Snow");
+        VolumeForecastSeriesPointDto sparse = new VolumeForecastSeriesPointDto();
+
+        VolumeForecastPointBlock block = VolumeForecastPointBlock.fromPoints(Arrays.asList(full, null, sparse));
+
+        assertThat(block.size()).isEqualTo(2);
+        assertThat(block.getConfidenceUpperBound(0)).isEqualTo(15.0);
+        assertThat(block.getTemperature(1)).isNaN();
+        assertThat(block.hasIntervalStartTime(1)).isFalse();
+        assertThat(block.asList())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(full, sparse);
+    }
+
+    @Test
+    void repeatedStringsShareOneDictionaryEntry() {
+        VolumeForecastPointBlock block = new VolumeForecastPointBlock();
+        for (int i = 0; i < 96; i++) {
+            block.add(point(i, i));
+        }
+
+        assertThat(block.dictionarySize()).isEqualTo(2);
+        assertThat(block.getMeasurementUom(95)).isEqualTo("MWh");
+        assertThat(block.getIntervalEndTime(95)).isEqualTo(Instant.parse("2025-11-11T00:00:00Z"));
+    }
+
+    @Test
+    void seriesDto_keepsListApiOverColumnarPoints() {
+        VolumeForecastSeriesDto series = new VolumeForecastSeriesDto();
+        series.setDataPoints(new ArrayList<>(List.of(point(0, 1.0), point(1, 2.0))));
+        series.addDataPoint(point(2, 3.0));
+        series.addDataPoint(null);
+
+        assertThat(series.getDataPoints()).hasSize(3);
+        assertThat(series.getDataPoints().get(2).getForecastVolume()).isEqualTo(3.0);
+        assertThat(VolumeForecastPointBlock.unwrap(series.points().asList())).isSameAs(series.points());
+
+        List<VolumeForecastSeriesPointDto> view = series.points().asList();
+        VolumeForecastSeriesPointDto amended = view.get(1);
+        amended.setActualVolume(7.0);
+        view.set(1, amended);
+        view.remove(0);
+
+        assertThat(series.getDataPoints())
+                .extracting(VolumeForecastSeriesPointDto::getActualVolume)
+                .containsExactly(7.0, 0d);
+    }
+
+    private static VolumeForecastSeriesPointDto point(int slot, double forecast) {
+        Instant start = Instant.parse("2025-11-10T00:00:00Z").plusSeconds(900L * slot);
+        VolumeForecastSeriesPointDto point = new VolumeForecastSeriesPointDto();
+        point.setIntervalDate(LocalDate.of(2025, 11, 10));
+        point.setIntervalStartTime(start);
+        point.setIntervalEndTime(start.plusSeconds(900));
+        point.setForecastVolume(forecast);
+        point.setMeasurementUom("MWh");
+        point.setMeterReadingStatus("FORECAST");
+        return point;
+    }
+}
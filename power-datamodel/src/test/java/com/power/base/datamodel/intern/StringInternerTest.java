@@ -0,0 +1,81 @@
+package com.power.base.datamodel.intern;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StringInternerTest {
+
+    @Test
+    void intern_returnsCanonicalInstanceAndCountsSavedBytes() {
+        StringInterner interner = new StringInterner(16, 64);
+        String first = new String("MWh");
+        String second = new String("MWh");
+
+        assertThat(interner.intern(first)).isSameAs(first);
+        assertThat(interner.intern(second)).isSameAs(first);
+        assertThat(interner.intern(null)).isNull();
+
+        InternerStats stats = interner.stats();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getEntries()).isEqualTo(1);
+        assertThat(stats.getHitRate()).isEqualTo(0.5);
+        assertThat(stats.getBytesSaved()).isEqualTo(StringInterner.estimatedSize(second));
+    }
+
+    @Test
+    void intern_stopsAdmittingWhenFullAndBypassesLongValues() {
+        StringInterner interner = new StringInterner(2, 8);
+        interner.intern("EUR");
+        interner.intern("USD");
+        String gbp = new String("GBP");
+        String longValue = "a value longer than eight";
+
+        assertThat(interner.intern(gbp)).isSameAs(gbp);
+        assertThat(interner.intern(new String("GBP"))).isNotSameAs(gbp);
+        assertThat(interner.intern(longValue)).isSameAs(longValue);
+        assertThat(interner.size()).isEqualTo(2);
+        assertThat(interner.stats().getRejected()).isEqualTo(2);
+        assertThat(interner.stats().getBypassed()).isEqualTo(1);
+
+        interner.clear();
+        assertThat(interner.intern(gbp)).isSameAs(gbp);
+        assertThat(interner.stats().getLookups()).isEqualTo(1);
+    }
+
+    @Test
+    void intern_isConsistentAcrossThreads() throws Exception {
+        StringInterner interner = new StringInterner(64, 64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    List<String> canonical = new ArrayList<>();
+                    for (int i = 0; i < 10_000; i++) {
+                        canonical.add(interner.intern(new String("Sun 0" + (i % 10) + ":00-0" + (i % 10) + ":15")));
+                    }
+                    return canonical;
+                }));
+            }
+            List<String> reference = results.get(0).get();
+            for (Future<List<String>> result : results) {
+                List<String> values = result.get();
+                for (int i = 0; i < values.size(); i++) {
+                    assertThat(values.get(i)).isSameAs(reference.get(i));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(interner.size()).isEqualTo(10);
+        assertThat(interner.stats().getHits() + interner.stats().getMisses()).isEqualTo(40_000);
+    }
+}
@@ -0,0 +1,123 @@
+package com.power.base.datamodel.resample;
+
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
+import com.power.base.datamodel.dto.timeser.VolumeForecastSeriesDto;
+import com.power.base.datamodel.dto.timeser.VolumeForecastSeriesPointDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ProfileResamplerTest {
+
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    @Test
+    void resample_uniformSamplesWithLeadingPartialBucket() {
+        long minute = 60_000L;
+        long[] starts = new long[7];
+        double[] values = new double[7];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = (3 + i) * minute;
+            values[i] = i + 1;
+        }
+
+        ResampledSeries sum = ProfileResampler.resample(starts, values, starts.length, 0L, 5 * minute, Aggregation.SUM);
+        ResampledSeries max = ProfileResampler.resample(starts, values, starts.length, 0L, 5 * minute, Aggregation.MAX);
+        ResampledSeries mean = ProfileResampler.resample(starts, values, starts.length, 0L, 5 * minute,
+                Aggregation.MEAN);
+
+        assertThat(sum.toArray()).containsExactly(3d, 25d);
+        assertThat(max.toArray()).containsExactly(2d, 7d);
+        assertThat(mean.toArray()).containsExactly(1.5d, 5d);
+        assertThat(sum.getCount(0)).isEqualTo(2);
+        assertThat(sum.getCount(1)).isEqualTo(5);
+    }
+
+    @Test
+    void resample_irregularSamplesLeaveEmptyBuckets() {
+        long[] starts = {0L, 10L, 35L, 39L};
+        double[] values = {1d, 2d, 4d, 8d};
+
+        ResampledSeries sum = ProfileResampler.resample(starts, values, starts.length, 0L, 10L, Aggregation.SUM);
+        ResampledSeries min = ProfileResampler.resample(starts, values, starts.length, 0L, 10L, Aggregation.MIN);
+
+        assertThat(sum.toArray()).containsExactly(1d, 2d, 0d, 12d);
+        assertThat(min.getValue(2)).isNaN();
+        assertThat(min.getValue(3)).isEqualTo(4d);
+        assertThatThrownBy(() -> ProfileResampler.resample(new long[]{10L, 0L}, values, 2, 0L, 10L,
+                Aggregation.SUM)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void resample_physicalQuarterHoursToHoursOverDstChange() {
+        Instant start = LocalDate.of(2025, 10, 26).atStartOfDay(BERLIN).toInstant();
+        Instant end = LocalDate.of(2025, 10, 27).atStartOfDay(BERLIN).toInstant();
+        List<PhysicalLineItemDto> lineItems = new ArrayList<>(PhysicalLineItemDto.generateSchedule(start, end,
+                Profile.FIFTEEN_MIN, BERLIN, 2.5, "MWh", 10.0));
+        lineItems.get(0).setCapacity(30.0);
+
+        PhysicalTradeDetailsDto hourly = ProfileResampler.resample(new PhysicalTradeDetailsDto(lineItems),
+                Profile.ONE_HOUR, BERLIN, Aggregation.MAX);
+
+        List<PhysicalLineItemDto> buckets = hourly.getLineItems();
+        assertThat(buckets).hasSize(25);
+        assertThat(buckets).allSatisfy(bucket -> {
+            assertThat(bucket.getQuantity()).isEqualTo(10.0);
+            assertThat(bucket.getProfile()).isEqualTo(Profile.ONE_HOUR);
+            assertThat(bucket.getUom()).isEqualTo("MWh");
+        });
+        assertThat(buckets.get(0).getCapacity()).isEqualTo(30.0);
+        assertThat(buckets.get(1).getCapacity()).isEqualTo(10.0);
+        assertThat(buckets.get(0).getPeriodStartTime()).isEqualTo(start);
+        assertThat(buckets.get(2).getDayHour()).isEqualTo("Sun 02:00-02:00");
+        assertThat(buckets.get(24).getPeriodEndTime()).isEqualTo(end);
+    }
+
+    @Test
+    void resample_physicalRejectsLineItemsWiderThanTarget() {
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        PhysicalTradeDetailsDto details = new PhysicalTradeDetailsDto(PhysicalLineItemDto.generateSchedule(start,
+                start.plusSeconds(7200), Profile.ONE_HOUR, BERLIN, 1.0, "MWh", 1.0));
+
+        assertThatThrownBy(() -> ProfileResampler.resample(details, Profile.FIFTEEN_MIN, BERLIN))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("single");
+    }
+
+    @Test
+    void resample_forecastSeriesAlignsToSeriesTimeZone() {
+        VolumeForecastSeriesDto series = new VolumeForecastSeriesDto();
+        series.setTimeZone("Asia/Kolkata");
+        series.setVolumeUom("MWh");
+        Instant start = Instant.parse("2025-06-01T00:00:00Z");
+        for (int i = 0; i < 8; i++) {
+            VolumeForecastSeriesPointDto point = new VolumeForecastSeriesPointDto();
+            point.setIntervalStartTime(start.plusSeconds(i * 900L));
+            point.setIntervalEndTime(start.plusSeconds((i + 1) * 900L));
+            point.setForecastVolume(0.1 * (i + 1));
+            point.setActualVolume(1.0);
+            series.addDataPoint(point);
+        }
+
+        List<VolumeForecastSeriesPointDto> hourly = ProfileResampler.resample(series, Profile.ONE_HOUR);
+
+        assertThat(hourly).hasSize(3);
+        assertThat(hourly.get(0).getIntervalStartTime()).isEqualTo(Instant.parse("2025-05-31T23:30:00Z"));
+        assertThat(hourly.get(0).getForecastVolume()).isCloseTo(0.3, within(1e-12));
+        assertThat(hourly.get(1).getForecastVolume()).isCloseTo(1.8, within(1e-12));
+        assertThat(hourly.get(1).getActualVolume()).isEqualTo(4.0);
+        assertThat(hourly.get(2).getActualVolume()).isEqualTo(2.0);
+        assertThat(hourly.get(0).getIntervalDate()).isEqualTo(LocalDate.of(2025, 6, 1));
+        assertThat(hourly.get(0).getMeasurementUom()).isEqualTo("MWh");
+    }
+}
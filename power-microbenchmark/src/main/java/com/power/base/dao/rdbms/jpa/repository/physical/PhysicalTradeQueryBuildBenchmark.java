@@ -0,0 +1,88 @@
+package com.power.base.dao.rdbms.jpa.repository.physical;
+
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning search criteria into an executable query, without running it: the Criteria API tree rebuilt on
+ * every call against the per-shape JPQL reused by {@link PhysicalTradeQueryShape}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class PhysicalTradeQueryBuildBenchmark {
+
+    private static final String PERSISTENCE_UNIT = "test-pu";
+
+    @Param({"tenant", "desk-and-window"})
+    private String shape;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private PhysicalTradeSearchCriteria criteria;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT);
+        entityManager = entityManagerFactory.createEntityManager();
+        criteria = new PhysicalTradeSearchCriteria();
+        criteria.setTenantId("TENANT_A");
+        if (shape.equals("desk-and-window")) {
+            criteria.setBusinessUnit("Nord Pool Trading Desk");
+            criteria.setTraderName("John Doe (TRDR-456)");
+            criteria.setMarket("EPEX-SPOT");
+            criteria.setTradeTimeFrom(Instant.parse("2025-11-07T00:00:00Z"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public TypedQuery<PhysicalTradeEntity> criteriaApiPerCall() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PhysicalTradeEntity> query = cb.createQuery(PhysicalTradeEntity.class);
+        Root<PhysicalTradeEntity> root = query.from(PhysicalTradeEntity.class);
+        List<Predicate> predicates = new ArrayList<>();
+        criteria.getTenantId()
+                .ifPresent(tenant -> predicates.add(cb.equal(root.get("header").get("tenantId"), tenant)));
+        criteria.getBusinessUnit()
+                .ifPresent(bu -> predicates.add(cb.equal(root.get("header").get("businessUnit"), bu)));
+        criteria.getMarket()
+                .ifPresent(market -> predicates.add(cb.equal(root.get("header").get("market"), market)));
+        criteria.getTraderName()
+                .ifPresent(trader -> predicates.add(cb.equal(root.get("header").get("traderName"), trader)));
+        if (criteria.getTradeTimeFrom().isPresent() || criteria.getTradeTimeTo().isPresent()) {
+            Instant from = criteria.getTradeTimeFrom().orElse(Instant.MIN);
+            Instant to = criteria.getTradeTimeTo().orElse(Instant.MAX);
+            predicates.add(cb.between(root.get("header").get("tradeTime"), from, to));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(query);
+    }
+
+    @Benchmark
+    public TypedQuery<PhysicalTradeEntity> cachedQueryShape() {
+        PhysicalTradeQueryShape queryShape = PhysicalTradeQueryShape.of(criteria);
+        return queryShape.bind(entityManager.createQuery(queryShape.search(), PhysicalTradeEntity.class), criteria);
+    }
+}
@@ -0,0 +1,221 @@
+package com.power.base.dao.rdbms.jpa.repository.physical;
+
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
+import com.power.base.dao.rdbms.jpa.repository.BulkSaveReport;
+import com.power.base.dao.rdbms.jpa.service.TradeCopyLoader;
+import com.power.base.datamodel.dto.common.BuySellIndicator;
+import com.power.base.datamodel.dto.common.DocumentType;
+import com.power.base.datamodel.dto.common.PartyDto;
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalMetadataDto;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementInfoDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Persistence;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backfills the same physical trades through {@link PhysicalTradeDaoJpa#saveAll} and {@link TradeCopyLoader}. The
+ * tables are emptied before every invocation, so both start from the same state.
+ * <p>
+ * By default both run against in-memory H2, where the loader falls back to {@code CSVREAD} and is only a few times
+ * faster. The binary COPY path, and the order of magnitude it is expected to gain, need a PostgreSQL database:
+ * {@code -p jdbcUrl=jdbc:postgresql://localhost/power -p jdbcUser=power -p jdbcPassword=...}. Its trade tables are
+ * recreated by Hibernate and dropped at the end.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class TradeCopyLoaderBenchmark {
+
+    private static final String PERSISTENCE_UNIT = "test-pu";
+    private static EntityManagerFactory entityManagerFactory;
+
+    @Param({"200"})
+    private int tradeCount;
+
+    @Param({"24"})
+    private int lineItemsPerTrade;
+
+    @Param({""})
+    private String jdbcUrl;
+
+    @Param({""})
+    private String jdbcUser;
+
+    @Param({""})
+    private String jdbcPassword;
+
+    private List<PhysicalPowerTradeDto> trades;
+    private TradeCopyLoader copyLoader;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        if (entityManagerFactory == null) {
+            entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT, connectionProperties());
+        }
+        copyLoader = new TradeCopyLoader(entityManagerFactory);
+        trades = new ArrayList<>(tradeCount);
+        for (int i = 0; i < tradeCount; i++) {
+            trades.add(createTestTrade("PWR-COPY-" + i));
+        }
+    }
+
+    private Map<String, Object> connectionProperties() {
+        if (jdbcUrl.isEmpty()) {
+            return Map.of();
+        }
+        return Map.of(
+                "jakarta.persistence.jdbc.driver", "org.postgresql.Driver",
+                "jakarta.persistence.jdbc.url", jdbcUrl,
+                "jakarta.persistence.jdbc.user", jdbcUser,
+                "jakarta.persistence.jdbc.password", jdbcPassword,
+                "hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTables() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        EntityTransaction tx = entityManager.getTransaction();
+        tx.begin();
+        try {
+            entityManager.createNativeQuery("DELETE FROM physical_settlement_line_refs").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM physical_settlement_items").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM physical_trade_line_items").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM physical_trades").executeUpdate();
+            tx.commit();
+        } catch (Exception e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw new RuntimeException("Failed to clear the trade tables", e);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
+            entityManagerFactory.close();
+        }
+    }
+
+    @Benchmark
+    public BulkSaveReport benchmarkJpaSaveAll() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        PhysicalTradeDaoJpa dao = new PhysicalTradeDaoJpa();
+        dao.setEntityManager(entityManager);
+        EntityTransaction tx = entityManager.getTransaction();
+        tx.begin();
+        try {
+            BulkSaveReport report = dao.saveAll(trades.stream().map(PhysicalTradeEntity::fromDto).toList());
+            tx.commit();
+            return report;
+        } catch (Exception e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw new RuntimeException("JPA saveAll benchmark failed", e);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public BulkSaveReport benchmarkCopyLoader() {
+        return copyLoader.loadPhysical(trades);
+    }
+
+    private PhysicalPowerTradeDto createTestTrade(String tradeId) {
+        PhysicalTradeHeaderDto header = new PhysicalTradeHeaderDto();
+        header.setTradeId(tradeId);
+        header.setTenantId("TENANT_A");
+        header.setTradeDate(LocalDate.of(2025, 11, 7));
+        header.setTradeTime(Instant.parse("2025-11-07T14:30:00Z"));
+        header.setDocumentType(DocumentType.CONFIRMATION);
+        header.setDocumentVersion("1.0");
+        header.setBuyerParty(new PartyDto("10X1001A1001A450F6", "Utility EU Ltd", "Buyer"));
+        header.setSellerParty(new PartyDto("10XFR-ENTSOE-0000000A", "GenCo US Inc", "Seller"));
+        header.setBusinessUnit("Nord Pool Trading Desk");
+        header.setBookStrategy("Physical Hedging Book");
+        header.setTraderName("John Doe (TRDR-456)");
+        header.setAgreementId("EFET-2023-001");
+        header.setMarket("EPEX-SPOT");
+        header.setCommodity("Power");
+        header.setTransactionType("FOR");
+        header.setDeliveryPoint("DE-LU");
+        header.setLoadType("Base Load");
+        header.setBuySellIndicator(BuySellIndicator.BUY);
+        header.setAmendmentIndicator(false);
+
+        Instant deliveryStart = Instant.parse("2025-11-07T00:00:00Z");
+        List<PhysicalLineItemDto> lineItems = PhysicalLineItemDto.generateSchedule(deliveryStart,
+                deliveryStart.plus(Profile.ONE_HOUR.getDuration().multipliedBy(lineItemsPerTrade)),
+                Profile.ONE_HOUR, ZoneId.of("UTC"), 12.5, "MWh", 50.0);
+        PhysicalTradeDetailsDto details = new PhysicalTradeDetailsDto(lineItems);
+
+        PhysicalSettlementItemDto settlementItem = new PhysicalSettlementItemDto(
+                "SET-2025-11-07",
+                List.of("LI-001"),
+                LocalDate.of(2025, 11, 7),
+                1198.5,
+                "MWh",
+                75.50,
+                75.50,
+                "EUR/MWh",
+                "EUR/MWh",
+                0.0,
+                0.0,
+                90462.75,
+                "EUR",
+                "EUR",
+                "Provisional"
+        );
+        PhysicalSettlementInfoDto settlementInfo = new PhysicalSettlementInfoDto(
+                33600.0,
+                "MWh",
+                "Fixed",
+                75.50,
+                75.50,
+                "EUR",
+                "EUR",
+                "EUR/MWh",
+                "EUR/MWh",
+                LocalDate.of(2025, 11, 7),
+                null,
+                LocalDate.of(2025, 11, 14),
+                null,
+                "Schedule_Date",
+                5,
+                2536800.00,
+                2,
+                List.of(settlementItem)
+        );
+
+        PhysicalMetadataDto metadata = new PhysicalMetadataDto(
+                LocalDate.of(2025, 11, 7),
+                LocalDate.of(2025, 11, 14),
+                "EU (German Law)"
+        );
+
+        return new PhysicalPowerTradeDto(header, details, settlementInfo, metadata);
+    }
+}
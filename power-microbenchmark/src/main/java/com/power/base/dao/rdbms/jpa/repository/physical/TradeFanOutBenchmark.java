@@ -0,0 +1,211 @@
+package com.power.base.dao.rdbms.jpa.repository.physical;
+
+import com.power.base.dao.rdbms.async.TradeLookupExecutor;
+import com.power.base.dao.rdbms.jpa.persistence.physical.PhysicalTradeEntity;
+import com.power.base.datamodel.dto.common.BuySellIndicator;
+import com.power.base.datamodel.dto.common.DocumentType;
+import com.power.base.datamodel.dto.common.PartyDto;
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalMetadataDto;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementInfoDto;
+import com.power.base.datamodel.dto.physicals.PhysicalSettlementItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Persistence;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads a portfolio of physical trades one lookup after the other and fanned out over {@link TradeLookupExecutor},
+ * the way the async trade services' {@code findByTradeIds} does. Every lookup has an entity manager and transaction
+ * of its own, like a service call. The in-memory database answers without a network round trip, so
+ * {@code roundTripMillis} adds one to every lookup to model a database server.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class TradeFanOutBenchmark {
+
+    private static final String PERSISTENCE_UNIT = "test-pu";
+    private static EntityManagerFactory entityManagerFactory;
+
+    @Param({"50"})
+    private int tradeCount;
+
+    @Param({"10"})
+    private int maxConcurrency;
+
+    @Param({"0", "2"})
+    private int roundTripMillis;
+
+    private List<String> tradeIds;
+    private TradeLookupExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        if (entityManagerFactory == null) {
+            entityManagerFactory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT);
+        }
+        executor = new TradeLookupExecutor(maxConcurrency);
+        tradeIds = new ArrayList<>(tradeCount);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        EntityTransaction tx = entityManager.getTransaction();
+        tx.begin();
+        try {
+            entityManager.createNativeQuery("DELETE FROM physical_settlement_line_refs").executeUpdate();
+            entityManager.createQuery("DELETE FROM PhysicalSettlementItemEntity").executeUpdate();
+            entityManager.createQuery("DELETE FROM PhysicalLineItemEntity").executeUpdate();
+            entityManager.createQuery("DELETE FROM PhysicalTradeEntity").executeUpdate();
+            for (int i = 0; i < tradeCount; i++) {
+                String tradeId = "PWR-FANOUT-" + i;
+                entityManager.persist(PhysicalTradeEntity.fromDto(createTestTrade(tradeId)));
+                tradeIds.add(tradeId);
+            }
+            tx.commit();
+        } catch (Exception e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw new RuntimeException("Failed to setup test data", e);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        executor.close();
+        if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
+            entityManagerFactory.close();
+        }
+    }
+
+    @Benchmark
+    public Map<String, PhysicalPowerTradeDto> benchmarkSequentialLookups() {
+        Map<String, PhysicalPowerTradeDto> trades = new LinkedHashMap<>();
+        for (String tradeId : tradeIds) {
+            findByTradeId(tradeId).ifPresent(trade -> trades.put(tradeId, trade));
+        }
+        return trades;
+    }
+
+    @Benchmark
+    public Map<String, PhysicalPowerTradeDto> benchmarkFanOutLookups() {
+        return executor.findAll(tradeIds, this::findByTradeId).join();
+    }
+
+    private Optional<PhysicalPowerTradeDto> findByTradeId(String tradeId) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        PhysicalTradeDaoJpa dao = new PhysicalTradeDaoJpa();
+        dao.setEntityManager(entityManager);
+        EntityTransaction tx = entityManager.getTransaction();
+        tx.begin();
+        try {
+            if (roundTripMillis > 0) {
+                Thread.sleep(roundTripMillis);
+            }
+            Optional<PhysicalPowerTradeDto> trade = dao.findByTradeId(tradeId).map(PhysicalTradeEntity::toDto);
+            tx.commit();
+            return trade;
+        } catch (Exception e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw new RuntimeException("Lookup of " + tradeId + " failed", e);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private PhysicalPowerTradeDto createTestTrade(String tradeId) {
+        PhysicalTradeHeaderDto header = new PhysicalTradeHeaderDto();
+        header.setTradeId(tradeId);
+        header.setTenantId("TENANT_A");
+        header.setTradeDate(LocalDate.of(2025, 11, 7));
+        header.setTradeTime(Instant.parse("2025-11-07T14:30:00Z"));
+        header.setDocumentType(DocumentType.CONFIRMATION);
+        header.setDocumentVersion("1.0");
+        header.setBuyerParty(new PartyDto("10X1001A1001A450F6", "Utility EU Ltd", "Buyer"));
+        header.setSellerParty(new PartyDto("10XFR-ENTSOE-0000000A", "GenCo US Inc", "Seller"));
+        header.setBusinessUnit("Nord Pool Trading Desk");
+        header.setBookStrategy("Physical Hedging Book");
+        header.setTraderName("John Doe (TRDR-456)");
+        header.setAgreementId("EFET-2023-001");
+        header.setMarket("EPEX-SPOT");
+        header.setCommodity("Power");
+        header.setTransactionType("FOR");
+        header.setDeliveryPoint("DE-LU");
+        header.setLoadType("Base Load");
+        header.setBuySellIndicator(BuySellIndicator.BUY);
+        header.setAmendmentIndicator(false);
+
+        Instant deliveryStart = Instant.parse("2025-11-07T00:00:00Z");
+        List<PhysicalLineItemDto> lineItems = PhysicalLineItemDto.generateSchedule(deliveryStart,
+                deliveryStart.plus(Profile.ONE_HOUR.getDuration().multipliedBy(24)),
+                Profile.ONE_HOUR, ZoneId.of("UTC"), 12.5, "MWh", 50.0);
+        PhysicalTradeDetailsDto details = new PhysicalTradeDetailsDto(lineItems);
+
+        PhysicalSettlementItemDto settlementItem = new PhysicalSettlementItemDto(
+                "SET-2025-11-07",
+                List.of("LI-001"),
+                LocalDate.of(2025, 11, 7),
+                1198.5,
+                "MWh",
+                75.50,
+                75.50,
+                "EUR/MWh",
+                "EUR/MWh",
+                0.0,
+                0.0,
+                90462.75,
+                "EUR",
+                "EUR",
+                "Provisional"
+        );
+        PhysicalSettlementInfoDto settlementInfo = new PhysicalSettlementInfoDto(
+                33600.0,
+                "MWh",
+                "Fixed",
+                75.50,
+                75.50,
+                "EUR",
+                "EUR",
+                "EUR/MWh",
+                "EUR/MWh",
+                LocalDate.of(2025, 11, 7),
+                null,
+                LocalDate.of(2025, 11, 14),
+                null,
+                "Schedule_Date",
+                5,
+                2536800.00,
+                2,
+                List.of(settlementItem)
+        );
+
+        PhysicalMetadataDto metadata = new PhysicalMetadataDto(
+                LocalDate.of(2025, 11, 7),
+                LocalDate.of(2025, 11, 14),
+                "EU (German Law)"
+        );
+
+        return new PhysicalPowerTradeDto(header, details, settlementInfo, metadata);
+    }
+}
@@ -0,0 +1,102 @@
+package com.power.base.datamodel.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.power.base.datamodel.dto.common.BuySellIndicator;
+import com.power.base.datamodel.dto.common.DocumentType;
+import com.power.base.datamodel.dto.common.PartyDto;
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalPowerTradeDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeHeaderDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class PowerTradeCodecBenchmark {
+
+    @Param({"96", "2976", "35040"})
+    private int lineItemCount;
+
+    private ObjectMapper objectMapper;
+    private PhysicalPowerTradeDto trade;
+    private byte[] binaryPayload;
+    private byte[] jsonPayload;
+    private byte[] serializedPayload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+
+        PhysicalTradeHeaderDto header = new PhysicalTradeHeaderDto("PWR-BENCH-1", "TENANT_A",
+                LocalDate.of(2025, 1, 1), Instant.parse("2025-01-01T08:00:00Z"), DocumentType.CONFIRMATION, "1.0",
+                new PartyDto("BUYER-1", "Utility EU Ltd", "Buyer"), new PartyDto("SELLER-1", "GenCo Inc", "Seller"),
+                "Trading Desk", "Hedging Book", "Trader", "EFET-1", "EPEX-SPOT", "Power", "FOR", "DE-LU",
+                "Base Load", BuySellIndicator.BUY, false);
+        Instant start = Instant.parse("2024-12-31T23:00:00Z");
+        Instant end = start.plus(Profile.FIFTEEN_MIN.getDuration().multipliedBy(lineItemCount));
+        PhysicalTradeDetailsDto details = new PhysicalTradeDetailsDto(PhysicalLineItemDto.generateSchedule(start, end,
+                Profile.FIFTEEN_MIN, ZoneId.of("Europe/Berlin"), 12.5, "MWh", 50.0));
+        trade = new PhysicalPowerTradeDto(header, details, null, null);
+
+        binaryPayload = PowerTradeCodec.encodePhysical(trade);
+        jsonPayload = objectMapper.writeValueAsBytes(trade);
+        serializedPayload = serialize(trade);
+    }
+
+    @Benchmark
+    public byte[] benchmarkBinaryEncode() {
+        return PowerTradeCodec.encodePhysical(trade);
+    }
+
+    @Benchmark
+    public PhysicalPowerTradeDto benchmarkBinaryDecode() {
+        return PowerTradeCodec.decodePhysical(binaryPayload);
+    }
+
+    @Benchmark
+    public byte[] benchmarkJsonEncode() throws IOException {
+        return objectMapper.writeValueAsBytes(trade);
+    }
+
+    @Benchmark
+    public PhysicalPowerTradeDto benchmarkJsonDecode() throws IOException {
+        return objectMapper.readValue(jsonPayload, PhysicalPowerTradeDto.class);
+    }
+
+    @Benchmark
+    public byte[] benchmarkJavaSerializationEncode() throws IOException {
+        return serialize(trade);
+    }
+
+    @Benchmark
+    public Object benchmarkJavaSerializationDecode() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serializedPayload))) {
+            return in.readObject();
+        }
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+}
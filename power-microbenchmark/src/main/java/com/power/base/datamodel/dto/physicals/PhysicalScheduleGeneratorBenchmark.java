@@ -0,0 +1,107 @@
+package com.power.base.datamodel.dto.physicals;
+
+import com.power.base.datamodel.dto.common.Profile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class PhysicalScheduleGeneratorBenchmark {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Instant END = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Param({"ONE_MIN", "FIFTEEN_MIN", "ONE_HOUR"})
+    private Profile profile;
+
+    @Benchmark
+    public List<PhysicalLineItemDto> benchmarkLegacyGenerateSchedule() {
+        return legacyGenerateSchedule(START, END, profile, ZONE, 12.5, "MWh", 50.0);
+    }
+
+    @Benchmark
+    public List<PhysicalLineItemDto> benchmarkGenerateSchedule() {
+        return PhysicalLineItemDto.generateSchedule(START, END, profile, ZONE, 12.5, "MWh", 50.0);
+    }
+
+    @Benchmark
+    public PhysicalLineItemSchedule benchmarkGenerateColumnarSchedule() {
+        return PhysicalScheduleGenerator.of(START, END, profile, ZONE, 12.5, "MWh", 50.0).toSchedule();
+    }
+
+    @Benchmark
+    public void benchmarkForEachSegment(Blackhole blackhole) {
+        PhysicalScheduleGenerator.of(START, END, profile, ZONE, 12.5, "MWh", 50.0)
+                .forEachSegment((index, startSecond, endSecond, nano, startDay, endDay, dayHour) -> {
+                    blackhole.consume(startSecond);
+                    blackhole.consume(startDay);
+                    blackhole.consume(dayHour);
+                });
+    }
+
+    @Benchmark
+    public double benchmarkParallelStream() {
+        return PhysicalScheduleGenerator.of(START, END, profile, ZONE, 12.5, "MWh", 50.0)
+                .stream(true)
+                .mapToDouble(PhysicalLineItemDto::getQuantity)
+                .sum();
+    }
+
+    /**
+     * The eager implementation generateSchedule used before the lazy generator, kept as the baseline.
+     */
+    private static List<PhysicalLineItemDto> legacyGenerateSchedule(Instant startInclusive,
+                                                                    Instant endExclusive,
+                                                                    Profile profile,
+                                                                    ZoneId zoneId,
+                                                                    double quantity,
+                                                                    String uom,
+                                                                    double capacity) {
+        var step = profile.getDuration();
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+
+        List<PhysicalLineItemDto> lineItems = new ArrayList<>();
+        Instant currentStart = startInclusive;
+
+        while (currentStart.isBefore(endExclusive)) {
+            Instant currentEnd = currentStart.plus(step);
+
+            ZonedDateTime startZdt = currentStart.atZone(zoneId);
+            ZonedDateTime endZdt = currentEnd.atZone(zoneId);
+
+            String dayHour = String.format("%s %s-%s",
+                    startZdt.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH),
+                    startZdt.toLocalTime().format(timeFormatter),
+                    endZdt.toLocalTime().format(timeFormatter));
+
+            lineItems.add(new PhysicalLineItemDto(
+                    startZdt.toLocalDate(),
+                    currentStart,
+                    endZdt.toLocalDate(),
+                    currentEnd,
+                    dayHour,
+                    quantity,
+                    uom,
+                    capacity,
+                    profile
+            ));
+            currentStart = currentEnd;
+        }
+        return lineItems;
+    }
+}
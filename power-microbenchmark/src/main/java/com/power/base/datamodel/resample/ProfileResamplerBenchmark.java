@@ -0,0 +1,80 @@
+package com.power.base.datamodel.resample;
+
+import com.power.base.datamodel.dto.common.Profile;
+import com.power.base.datamodel.dto.physicals.PhysicalLineItemDto;
+import com.power.base.datamodel.dto.physicals.PhysicalScheduleGenerator;
+import com.power.base.datamodel.dto.physicals.PhysicalTradeDetailsDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class ProfileResamplerBenchmark {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+    private static final Instant START = Instant.parse("2024-12-31T23:00:00Z");
+
+    @Param({"1", "3"})
+    private int years;
+
+    @Param({"FIFTEEN_MIN", "ONE_HOUR"})
+    private Profile target;
+
+    private PhysicalTradeDetailsDto details;
+    private long[] starts;
+    private double[] quantities;
+    private long origin;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Instant end = START.atZone(ZONE).plusYears(years).toInstant();
+        details = new PhysicalTradeDetailsDto(
+                PhysicalScheduleGenerator.of(START, end, Profile.ONE_MIN, ZONE, 0.25, "MWh", 15.0).toSchedule());
+        int size = details.schedule().size();
+        starts = new long[size];
+        quantities = new double[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = details.schedule().getPeriodStartEpochMilli(i);
+            quantities[i] = details.schedule().getQuantity(i) + (i % 7) * 0.01;
+        }
+        origin = ProfileResampler.alignedOrigin(starts[0], target.getDuration().toMillis(), ZONE);
+    }
+
+    @Benchmark
+    public ResampledSeries benchmarkPrimitiveSum() {
+        return ProfileResampler.resample(starts, quantities, starts.length, origin, target.getDuration().toMillis(),
+                Aggregation.SUM);
+    }
+
+    @Benchmark
+    public ResampledSeries benchmarkPrimitiveMax() {
+        return ProfileResampler.resample(starts, quantities, starts.length, origin, target.getDuration().toMillis(),
+                Aggregation.MAX);
+    }
+
+    @Benchmark
+    public PhysicalTradeDetailsDto benchmarkPhysicalSchedule() {
+        return ProfileResampler.resample(details, target, ZONE);
+    }
+
+    @Benchmark
+    public Map<Long, Double> benchmarkGroupingByLineItems() {
+        long stepMillis = target.getDuration().toMillis();
+        List<PhysicalLineItemDto> lineItems = details.getLineItems();
+        return lineItems.stream().collect(Collectors.groupingBy(
+                item -> Math.floorDiv(item.getPeriodStartTime().toEpochMilli() - origin, stepMillis),
+                TreeMap::new,
+                Collectors.summingDouble(PhysicalLineItemDto::getQuantity)));
+    }
+}
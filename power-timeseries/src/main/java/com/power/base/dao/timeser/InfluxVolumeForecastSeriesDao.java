@@ -12,8 +12,10 @@ import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
 import com.influxdb.query.FluxRecord;
 import com.influxdb.query.FluxTable;
+import com.power.base.datamodel.dto.timeser.VolumeForecastPointBlock;
 import com.power.base.datamodel.dto.timeser.VolumeForecastSeriesDto;
 import com.power.base.datamodel.dto.timeser.VolumeForecastSeriesPointDto;
+import com.power.base.datamodel.intern.StringInterner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.CollectionUtils;
@@ -70,16 +72,12 @@ public class InfluxVolumeForecastSeriesDao implements VolumeForecastSeriesDao {
         if (series == null) {
             throw new InfluxTimeSeriesDaoException("Series payload must not be null");
         }
-        if (CollectionUtils.isEmpty(series.getDataPoints())) {
+        if (series.points().isEmpty()) {
             throw new InfluxTimeSeriesDaoException("At least one data point is required to persist a series");
         }
         try {
-            Instant created = Optional.ofNullable(series.getCreatedTime()).orElseGet(Instant::now);
-            Instant updated = Optional.ofNullable(series.getLastUpdatedTime()).orElseGet(Instant::now);
-            List<Point> points = series.getDataPoints().stream()
-                    .filter(Objects::nonNull)
-                    .map(point -> buildPoint(series, point, created, updated))
-                    .collect(Collectors.toList());
+            List<Point> points = new ArrayList<>(series.points().size());
+            addPoints(series, points);
 
             WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking();
             writeApi.writePoints(bucket, org, points);
@@ -96,15 +94,10 @@ public class InfluxVolumeForecastSeriesDao implements VolumeForecastSeriesDao {
         try {
             List<Point> batchPoints = new ArrayList<>();
             for (VolumeForecastSeriesDto series : seriesList) {
-                if (series == null || CollectionUtils.isEmpty(series.getDataPoints())) {
+                if (series == null || series.points().isEmpty()) {
                     continue;
                 }
-                Instant created = Optional.ofNullable(series.getCreatedTime()).orElseGet(Instant::now);
-                Instant updated = Optional.ofNullable(series.getLastUpdatedTime()).orElseGet(Instant::now);
-                batchPoints.addAll(series.getDataPoints().stream()
-                        .filter(Objects::nonNull)
-                        .map(point -> buildPoint(series, point, created, updated))
-                        .collect(Collectors.toList()));
+                addPoints(series, batchPoints);
             }
             if (!batchPoints.isEmpty()) {
                 influxDBClient.getWriteApiBlocking().writePoints(bucket, org, batchPoints);
@@ -148,9 +141,7 @@ public class InfluxVolumeForecastSeriesDao implements VolumeForecastSeriesDao {
         validateKey(tenantId, "tenantId");
         validateKey(forecastId, "forecastId");
         String flux = buildQuery(tenantId, forecastId, startInclusive, endExclusive);
-        return executeQuery(flux).stream()
-                .map(this::mapPoint)
-                .collect(Collectors.toList());
+        return mapPoints(executeQuery(flux)).asList();
     }
 
     @Override
@@ -185,9 +176,12 @@ public class InfluxVolumeForecastSeriesDao implements VolumeForecastSeriesDao {
                 function.getFluxFunction(),
                 measure.getFieldName());
 
-        return executeQuery(flux).stream()
-                .map(record -> mapAggregatedPoint(record, measure))
-                .collect(Collectors.toList());
+        List<FluxRecord> records = executeQuery(flux);
+        VolumeForecastPointBlock block = new VolumeForecastPointBlock(records.size());
+        for (FluxRecord record : records) {
+            appendAggregatedPoint(block, record, measure);
+        }
+        return block.asList();
     }
 
     @Override
@@ -218,9 +212,7 @@ public class InfluxVolumeForecastSeriesDao implements VolumeForecastSeriesDao {
             });
         }
         flux.append(" |> pivot(rowKey:[\"_time\"], columnKey:[\"_field\"], valueColumn:\"_value\") |> sort(columns:[\"_time\"])");
-        return executeQuery(flux.toString()).stream()
-                .map(this::mapPoint)
-                .collect(Collectors.toList());
+        return mapPoints(executeQuery(flux.toString())).asList();
     }
 
     @Override
@@ -269,15 +261,25 @@ public class InfluxVolumeForecastSeriesDao implements VolumeForecastSeriesDao {
         }
     }
 
+    private void addPoints(VolumeForecastSeriesDto series, List<Point> target) {
+        Instant created = Optional.ofNullable(series.getCreatedTime()).orElseGet(Instant::now);
+        Instant updated = Optional.ofNullable(series.getLastUpdatedTime()).orElseGet(Instant::now);
+        VolumeForecastPointBlock block = series.points();
+        for (int i = 0; i < block.size(); i++) {
+            target.add(buildPoint(series, block, i, created, updated));
+        }
+    }
+
     private Point buildPoint(VolumeForecastSeriesDto series,
-                             VolumeForecastSeriesPointDto pointDto,
+                             VolumeForecastPointBlock block,
+                             int index,
                              Instant created,
                              Instant updated) {
-        if (pointDto.getIntervalStartTime() == null) {
+        if (!block.hasIntervalStartTime(index)) {
             throw new InfluxTimeSeriesDaoException("Interval start time is required for every data point");
         }
         Point point = Point.measurement(MEASUREMENT)
-                .time(pointDto.getIntervalStartTime(), WritePrecision.NS);
+                .time(block.getIntervalStartTime(index), WritePrecision.NS);
 
         addTag(point, "tenantId", series.getTenantId());
         addTag(point, "forecastId", series.getForecastId());
@@ -296,18 +298,18 @@ public class InfluxVolumeForecastSeriesDao implements VolumeForecastSeriesDao {
         addTag(point, "forecaster", series.getForecaster());
         addTag(point, "forecastDate", formatDate(series.getForecastDate()));
 
-        addTag(point, "intervalDate", formatDate(pointDto.getIntervalDate()));
-        addTag(point, "measurementUom", pointDto.getMeasurementUom());
-        addTag(point, "meterReadingStatus", pointDto.getMeterReadingStatus());
-        addTag(point, "weatherCondition", pointDto.getWeatherCondition());
-
-        point.addField(FIELD_FORECAST_VOLUME, pointDto.getForecastVolume());
-        point.addField(FIELD_ACTUAL_VOLUME, pointDto.getActualVolume());
-        addField(point, FIELD_CONFIDENCE_LOW, pointDto.getConfidenceLowerBound());
-        addField(point, FIELD_CONFIDENCE_HIGH, pointDto.getConfidenceUpperBound());
-        addField(point, FIELD_TEMPERATURE, pointDto.getTemperature());
-        if (pointDto.getIntervalEndTime() != null) {
-            point.addField(FIELD_INTERVAL_END, toEpochMillis(pointDto.getIntervalEndTime()));
+        addTag(point, "intervalDate", formatDate(block.getIntervalDate(index)));
+        addTag(point, "measurementUom", block.getMeasurementUom(index));
+        addTag(point, "meterReadingStatus", block.getMeterReadingStatus(index));
+        addTag(point, "weatherCondition", block.getWeatherCondition(index));
+
+        point.addField(FIELD_FORECAST_VOLUME, block.getForecastVolume(index));
+        point.addField(FIELD_ACTUAL_VOLUME, block.getActualVolume(index));
+        addField(point, FIELD_CONFIDENCE_LOW, block.getConfidenceLowerBound(index));
+        addField(point, FIELD_CONFIDENCE_HIGH, block.getConfidenceUpperBound(index));
+        addField(point, FIELD_TEMPERATURE, block.getTemperature(index));
+        if (block.hasIntervalEndTime(index)) {
+            point.addField(FIELD_INTERVAL_END, block.getIntervalEndEpochMilli(index));
         }
         point.addField(FIELD_CREATED, toEpochMillis(created));
         point.addField(FIELD_UPDATED, toEpochMillis(updated));
@@ -337,43 +339,46 @@ public class InfluxVolumeForecastSeriesDao implements VolumeForecastSeriesDao {
         dto.setCreatedTime(instantFromField(head, FIELD_CREATED));
         dto.setLastUpdatedTime(instantFromField(head, FIELD_UPDATED));
 
-        List<VolumeForecastSeriesPointDto> points = records.stream()
-                .map(this::mapPoint)
-                .collect(Collectors.toList());
-        dto.setDataPoints(points);
+        dto.setPoints(mapPoints(records));
         return dto;
     }
 
-    private VolumeForecastSeriesPointDto mapPoint(FluxRecord record) {
-        VolumeForecastSeriesPointDto point = new VolumeForecastSeriesPointDto();
-        point.setIntervalDate(parseDate(getString(record, "intervalDate")));
-        point.setIntervalStartTime(record.getTime());
-        point.setIntervalEndTime(instantFromField(record, FIELD_INTERVAL_END));
-        point.setMeasurementUom(getString(record, "measurementUom"));
-        point.setMeterReadingStatus(getString(record, "meterReadingStatus"));
-        point.setWeatherCondition(getString(record, "weatherCondition"));
-        point.setForecastVolume(doubleValue(record, FIELD_FORECAST_VOLUME, 0d));
-        point.setActualVolume(doubleValue(record, FIELD_ACTUAL_VOLUME, 0d));
-        point.setConfidenceLowerBound(doubleObject(record, FIELD_CONFIDENCE_LOW));
-        point.setConfidenceUpperBound(doubleObject(record, FIELD_CONFIDENCE_HIGH));
-        point.setTemperature(doubleObject(record, FIELD_TEMPERATURE));
-        return point;
+    /**
+     * Fills the columnar block straight from the pivoted records, without an intermediate point object per row.
+     */
+    private VolumeForecastPointBlock mapPoints(List<FluxRecord> records) {
+        VolumeForecastPointBlock block = new VolumeForecastPointBlock(records.size());
+        for (FluxRecord record : records) {
+            block.add(record.getTime(),
+                    instantFromField(record, FIELD_INTERVAL_END),
+                    parseDate(getString(record, "intervalDate")),
+                    doubleValue(record, FIELD_FORECAST_VOLUME, 0d),
+                    doubleValue(record, FIELD_ACTUAL_VOLUME, 0d),
+                    StringInterner.shared().intern(getString(record, "measurementUom")),
+                    StringInterner.shared().intern(getString(record, "meterReadingStatus")),
+                    doubleValue(record, FIELD_CONFIDENCE_LOW, Double.NaN),
+                    doubleValue(record, FIELD_CONFIDENCE_HIGH, Double.NaN),
+                    doubleValue(record, FIELD_TEMPERATURE, Double.NaN),
+                    StringInterner.shared().intern(getString(record, "weatherCondition")));
+        }
+        return block;
     }
 
-    private VolumeForecastSeriesPointDto mapAggregatedPoint(FluxRecord record, AggregateMeasure measure) {
-        VolumeForecastSeriesPointDto point = new VolumeForecastSeriesPointDto();
+    private void appendAggregatedPoint(VolumeForecastPointBlock block, FluxRecord record, AggregateMeasure measure) {
         Instant time = record.getTime();
-        point.setIntervalStartTime(time);
-        if (time != null) {
-            point.setIntervalDate(time.atZone(ZoneOffset.UTC).toLocalDate());
-        }
-        Double value = doubleObject(record, measure.getFieldName());
-        if (measure == AggregateMeasure.ACTUAL) {
-            point.setActualVolume(value == null ? 0d : value);
-        } else {
-            point.setForecastVolume(value == null ? 0d : value);
-        }
-        return point;
+        double value = doubleValue(record, measure.getFieldName(), 0d);
+        boolean actual = measure == AggregateMeasure.ACTUAL;
+        block.add(time == null ? VolumeForecastPointBlock.NO_TIME : time.toEpochMilli(),
+                VolumeForecastPointBlock.NO_TIME,
+                time == null ? null : time.atZone(ZoneOffset.UTC).toLocalDate(),
+                actual ? 0d : value,
+                actual ? value : 0d,
+                null,
+                null,
+                Double.NaN,
+                Double.NaN,
+                Double.NaN,
+                null);
     }
 
     private List<FluxRecord> executeQuery(String flux) {
@@ -416,8 +421,8 @@ public class InfluxVolumeForecastSeriesDao implements VolumeForecastSeriesDao {
         }
     }
 
-    private static void addField(Point point, String name, Double value) {
-        if (value != null) {
+    private static void addField(Point point, String name, double value) {
+        if (!Double.isNaN(value)) {
             point.addField(name, value);
         }
     }
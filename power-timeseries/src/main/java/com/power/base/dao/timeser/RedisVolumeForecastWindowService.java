@@ -2,6 +2,7 @@ package com.power.base.dao.timeser;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.power.base.datamodel.codec.VolumeForecastPointCodec;
 import com.power.base.datamodel.dto.timeser.VolumeForecastSeriesPointDto;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -13,6 +14,7 @@ import org.springframework.util.StringUtils;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -63,9 +65,9 @@ public class RedisVolumeForecastWindowService implements VolumeForecastWindowSer
         try {
             String cached = ops.get(key);
             if (cached != null) {
-                return objectMapper.readValue(cached, POINT_LIST_TYPE);
+                return decode(cached);
             }
-        } catch (IOException ex) {
+        } catch (IOException | RuntimeException ex) {
             // Corrupt cache entry; evict and fall back to source of truth
             redisTemplate.delete(key);
         }
@@ -77,7 +79,8 @@ public class RedisVolumeForecastWindowService implements VolumeForecastWindowSer
         }
 
         try {
-            String payload = objectMapper.writeValueAsString(points);
+            // block backed windows from the DAO are encoded column by column
+            String payload = Base64.getEncoder().encodeToString(VolumeForecastPointCodec.encode(points));
             ops.set(key, payload, cacheProperties.getTtl().toMillis(), TimeUnit.MILLISECONDS);
         } catch (Exception ex) {
             // Cache failures must not break reads; log at caller side if needed
@@ -99,6 +102,17 @@ public class RedisVolumeForecastWindowService implements VolumeForecastWindowSer
         redisTemplate.delete(key);
     }
 
+    /**
+     * Entries are Base64 encoded {@link VolumeForecastPointCodec} payloads, decoded straight into a columnar block;
+     * JSON arrays written by earlier versions are still accepted until they expire.
+     */
+    private List<VolumeForecastSeriesPointDto> decode(String cached) throws IOException {
+        if (cached.startsWith("[")) {
+            return objectMapper.readValue(cached, POINT_LIST_TYPE);
+        }
+        return VolumeForecastPointCodec.decodeBlock(Base64.getDecoder().decode(cached)).asList();
+    }
+
     private String buildKey(String tenantId,
                             String forecastId,
                             Instant startInclusive,
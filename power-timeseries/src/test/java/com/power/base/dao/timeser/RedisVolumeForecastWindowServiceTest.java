@@ -1,6 +1,7 @@
 package com.power.base.dao.timeser;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.power.base.datamodel.codec.VolumeForecastPointCodec;
 import com.power.base.datamodel.dto.timeser.VolumeForecastSeriesPointDto;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +12,7 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 
@@ -87,6 +89,38 @@ class RedisVolumeForecastWindowServiceTest {
         verify(seriesDao, times(0)).queryRange(any(), any(), any(), any());
     }
 
+    @Test
+    void getWindowRoundTripsBinaryPayload() {
+        Instant start = Instant.parse("2025-11-10T00:00:00Z");
+        Instant end = Instant.parse("2025-11-11T00:00:00Z");
+
+        VolumeForecastSeriesPointDto point = new VolumeForecastSeriesPointDto();
+        point.setIntervalStartTime(start);
+        point.setIntervalEndTime(start.plusSeconds(900));
+        point.setForecastVolume(20.0);
+        point.setMeasurementUom("MWh");
+        when(valueOperations.get(any(String.class))).thenReturn(null);
+        when(seriesDao.queryRange("TENANT", "FRC-1", start, end))
+                .thenReturn(Collections.singletonList(point));
+
+        service.getWindow("TENANT", "FRC-1", start, end);
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(any(String.class), payload.capture(), any(Long.class), any());
+        assertThat(VolumeForecastPointCodec.isPayload(Base64.getDecoder().decode(payload.getValue()))).isTrue();
+
+        when(valueOperations.get(any(String.class))).thenReturn(payload.getValue());
+
+        List<VolumeForecastSeriesPointDto> result =
+                service.getWindow("TENANT", "FRC-1", start, end);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getForecastVolume()).isEqualTo(20.0);
+        assertThat(result.get(0).getIntervalEndTime()).isEqualTo(start.plusSeconds(900));
+        assertThat(result.get(0).getMeasurementUom()).isEqualTo("MWh");
+        verify(seriesDao, times(1)).queryRange("TENANT", "FRC-1", start, end);
+    }
+
     @Test
     void evictWindowDeletesKey() {
         Instant start = Instant.parse("2025-11-10T00:00:00Z");